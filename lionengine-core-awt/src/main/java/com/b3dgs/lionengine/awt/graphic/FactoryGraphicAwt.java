@@ -33,6 +33,7 @@ import com.b3dgs.lionengine.graphic.Screen;
 import com.b3dgs.lionengine.graphic.Text;
 import com.b3dgs.lionengine.graphic.TextStyle;
 import com.b3dgs.lionengine.graphic.Transform;
+import com.b3dgs.lionengine.graphic.Transparency;
 
 /**
  * Graphic factory implementation.
@@ -122,6 +123,14 @@ public final class FactoryGraphicAwt implements FactoryGraphic
         return buffer;
     }
 
+    @Override
+    public ImageBuffer createImageBuffer(int width, int height, Transparency transparency)
+    {
+        Check.notNull(transparency);
+
+        return new ImageBufferAwt(ToolsAwt.createImage(width, height, ToolsAwt.getTransparency(transparency)));
+    }
+
     @Override
     public ImageBuffer getImageBuffer(Media media)
     {
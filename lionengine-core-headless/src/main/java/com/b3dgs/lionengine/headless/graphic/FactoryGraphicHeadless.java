@@ -114,6 +114,12 @@ public final class FactoryGraphicHeadless implements FactoryGraphic
         return buffer;
     }
 
+    @Override
+    public ImageBuffer createImageBuffer(int width, int height, Transparency transparency)
+    {
+        return new ImageBufferHeadless(width, height, transparency);
+    }
+
     @Override
     public ImageBuffer getImageBuffer(Media media)
     {
@@ -89,6 +89,7 @@ public abstract class Engine
             engine.close();
             started = false;
             Verbose.info(ENGINE_TERMINATED);
+            Verbose.flush();
             engine.postClose();
             engine = null;
         }
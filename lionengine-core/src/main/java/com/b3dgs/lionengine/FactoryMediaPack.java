@@ -0,0 +1,470 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Media factory serving resources from a single memory-mapped pack file, built with
+ * {@link #pack(File, File)}.
+ * <p>
+ * Packed paths are found by binary search in the sorted pack index, and created medias are cached by path, so each
+ * path is resolved once. {@link Media#getInputStream()} reads directly from the mapped region, without copy or
+ * extraction. Paths not found in pack, and all outputs, are handled by the delegate factory. There is one cache per
+ * delegate context (separator with resources directory or loader), so packed medias always delegate to the context
+ * they were created with.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public class FactoryMediaPack implements FactoryMedia
+{
+    /** Format identifier. */
+    public static final int MAGIC = 0x4C50_414B;
+    /** Format version. */
+    public static final byte VERSION = 1;
+    /** Invalid format error. */
+    static final String ERROR_FORMAT = "Invalid pack format: ";
+    /** Pack too big error. */
+    static final String ERROR_SIZE = "Pack is limited to 2GB: ";
+    /** Path too long error. */
+    static final String ERROR_PATH = "Pack path is limited to 65535 bytes: ";
+    /** Path separator in pack. */
+    private static final String SEPARATOR = Constant.SLASH;
+
+    /**
+     * Pack all files of a directory and its sub directories in a single file. Data are saved this way:
+     * 
+     * <pre>
+     * <code>(int)</code> {@link #MAGIC}
+     * <code>(byte)</code> {@link #VERSION}
+     * <code>(int)</code> entries number
+     * for each entry, sorted by path
+     *   <code>(short)</code> path length in bytes
+     *   <code>(byte[])</code> UTF-8 path relative to directory, with <code>/</code> separator
+     *   <code>(int)</code> data offset from file start
+     *   <code>(int)</code> data length
+     * for each entry
+     *   data
+     * </pre>
+     * 
+     * @param directory The resources directory (must not be <code>null</code>).
+     * @param output The output pack file (must not be <code>null</code>).
+     * @throws IOException If error on reading or writing, or if a path or the pack is too big.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public static void pack(File directory, File output) throws IOException
+    {
+        Check.notNull(directory);
+        Check.notNull(output);
+
+        final Path root = directory.toPath();
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(root))
+        {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        final String[] paths = new String[files.size()];
+        for (int i = 0; i < paths.length; i++)
+        {
+            paths[i] = root.relativize(files.get(i)).toString().replace(File.separator, SEPARATOR);
+        }
+        Arrays.sort(paths);
+
+        final byte[][] names = new byte[paths.length][];
+        long offset = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+        for (int i = 0; i < paths.length; i++)
+        {
+            names[i] = paths[i].getBytes(StandardCharsets.UTF_8);
+            if (names[i].length > 0xFFFF)
+            {
+                throw new IOException(ERROR_PATH + paths[i]);
+            }
+            offset += Short.BYTES + names[i].length + Integer.BYTES * 2;
+        }
+
+        try (FileChannel channel = FileChannel.open(output.toPath(),
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE))
+        {
+            // Data first, as index stores the lengths actually copied
+            channel.position(offset);
+            final int[] offsets = new int[paths.length];
+            final int[] lengths = new int[paths.length];
+            final OutputStream data = new BufferedOutputStream(Channels.newOutputStream(channel));
+            for (int i = 0; i < paths.length; i++)
+            {
+                final long length = Files.copy(new File(directory, paths[i]).toPath(), data);
+                if (offset + length > Integer.MAX_VALUE)
+                {
+                    throw new IOException(ERROR_SIZE + output.getPath());
+                }
+                offsets[i] = (int) offset;
+                lengths[i] = (int) length;
+                offset += length;
+            }
+            data.flush();
+
+            channel.position(0L);
+            final OutputStream index = new BufferedOutputStream(Channels.newOutputStream(channel));
+            final DataOutputStream out = new DataOutputStream(index);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(paths.length);
+            for (int i = 0; i < paths.length; i++)
+            {
+                out.writeShort(names[i].length);
+                out.write(names[i]);
+                out.writeInt(offsets[i]);
+                out.writeInt(lengths[i]);
+            }
+            out.flush();
+        }
+    }
+
+    /** Sources by delegate context. */
+    private final ConcurrentMap<List<Object>, Source> sources = new ConcurrentHashMap<>();
+    /** Delegate factory for medias not in pack. */
+    private final FactoryMedia delegate;
+    /** Mapped pack. */
+    private final ByteBuffer data;
+    /** Sorted paths. */
+    private final String[] paths;
+    /** Data offsets by path index. */
+    private final int[] offsets;
+    /** Data lengths by path index. */
+    private final int[] lengths;
+    /** Last used source, checked before sources lookup. */
+    private volatile Source last;
+
+    /**
+     * Create factory, using {@link FactoryMediaDefault} for medias not in pack.
+     * 
+     * @param pack The pack file (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument or unable to read pack.
+     */
+    public FactoryMediaPack(File pack)
+    {
+        this(pack, new FactoryMediaDefault());
+    }
+
+    /**
+     * Create factory.
+     * 
+     * @param pack The pack file (must not be <code>null</code>).
+     * @param delegate The factory used for medias not in pack (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments or unable to read pack.
+     */
+    public FactoryMediaPack(File pack, FactoryMedia delegate)
+    {
+        super();
+
+        Check.notNull(pack);
+        Check.notNull(delegate);
+
+        this.delegate = delegate;
+        try (FileChannel channel = FileChannel.open(pack.toPath(), StandardOpenOption.READ))
+        {
+            if (channel.size() > Integer.MAX_VALUE)
+            {
+                throw new IOException(ERROR_SIZE + pack.getPath());
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+            if (data.getInt() != MAGIC || data.get() != VERSION)
+            {
+                throw new IOException(ERROR_FORMAT + pack.getPath());
+            }
+            final int count = data.getInt();
+            paths = new String[count];
+            offsets = new int[count];
+            lengths = new int[count];
+            for (int i = 0; i < count; i++)
+            {
+                final byte[] path = new byte[data.getShort() & 0xFFFF];
+                data.get(path);
+                paths[i] = new String(path, StandardCharsets.UTF_8);
+                offsets[i] = data.getInt();
+                lengths[i] = data.getInt();
+                if (offsets[i] < 0 || lengths[i] < 0 || offsets[i] > data.capacity() - lengths[i])
+                {
+                    throw new IOException(ERROR_FORMAT + pack.getPath());
+                }
+            }
+            data.rewind();
+        }
+        catch (final IOException | RuntimeException exception)
+        {
+            throw new LionEngineException(exception, ERROR_FORMAT + pack.getPath());
+        }
+    }
+
+    /**
+     * Get entry data, as a read only view of the mapped pack.
+     * 
+     * @param index The entry index.
+     * @return The entry data.
+     */
+    ByteBuffer getData(int index)
+    {
+        final ByteBuffer buffer = data.asReadOnlyBuffer();
+        buffer.position(offsets[index]);
+        buffer.limit(offsets[index] + lengths[index]);
+        return buffer.slice();
+    }
+
+    /**
+     * Get packed medias directly inside a directory.
+     * 
+     * @param directory The directory path.
+     * @param source The source of directory.
+     * @return The packed medias, empty if none.
+     */
+    Collection<Media> getMedias(String directory, Source source)
+    {
+        final String prefix = getDirectoryPrefix(directory);
+        final Set<String> children = new LinkedHashSet<>();
+        for (int i = getFirst(prefix); i < paths.length && paths[i].startsWith(prefix); i++)
+        {
+            final int end = paths[i].indexOf(SEPARATOR, prefix.length());
+            if (end < 0)
+            {
+                children.add(paths[i]);
+            }
+            else
+            {
+                children.add(paths[i].substring(0, end));
+            }
+        }
+        final List<Media> medias = new ArrayList<>(children.size());
+        for (final String child : children)
+        {
+            medias.add(createPacked(child, source));
+        }
+        return medias;
+    }
+
+    /**
+     * Get the directory prefix.
+     * 
+     * @param directory The directory path.
+     * @return The prefix of its children paths.
+     */
+    private static String getDirectoryPrefix(String directory)
+    {
+        if (directory.isEmpty() || directory.endsWith(SEPARATOR))
+        {
+            return directory;
+        }
+        return directory + SEPARATOR;
+    }
+
+    /**
+     * Get the first sorted path index which is superior or equal to the value.
+     * 
+     * @param value The value to search.
+     * @return The first index, {@link #paths} length if none.
+     */
+    private int getFirst(String value)
+    {
+        final int index = Arrays.binarySearch(paths, value);
+        if (index < 0)
+        {
+            return -index - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Get the source of a delegate context, created on first use. Last used source is returned without lookup.
+     * 
+     * @param separator The delegate path separator.
+     * @param resourcesDir The delegate resources directory (<code>null</code> if loader).
+     * @param loader The delegate class loader (<code>null</code> if resources directory).
+     * @return The context source.
+     */
+    private Source getSource(String separator, String resourcesDir, Class<?> loader)
+    {
+        final Source current = last;
+        if (current != null && current.is(separator, resourcesDir, loader))
+        {
+            return current;
+        }
+        final Source source = sources.computeIfAbsent(Arrays.asList(separator, resourcesDir, loader),
+                                                      k -> new Source(delegate, separator, resourcesDir, loader));
+        last = source;
+        return source;
+    }
+
+    /**
+     * Create a packed media.
+     * 
+     * @param path The media path.
+     * @param source The media source.
+     * @return The packed media, <code>null</code> if not in pack.
+     */
+    private Media createPacked(String path, Source source)
+    {
+        final Media cached = source.cache.get(path);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        final int index = Arrays.binarySearch(paths, path);
+        final Media media;
+        if (index >= 0)
+        {
+            media = new MediaPack(this, path, index, source);
+        }
+        else
+        {
+            final String prefix = getDirectoryPrefix(path);
+            final int first = getFirst(prefix);
+            if (first < paths.length && paths[first].startsWith(prefix))
+            {
+                media = new MediaPack(this, path, MediaPack.DIRECTORY, source);
+            }
+            else
+            {
+                return null;
+            }
+        }
+        final Media previous = source.cache.putIfAbsent(path, media);
+        if (previous != null)
+        {
+            return previous;
+        }
+        return media;
+    }
+
+    /*
+     * FactoryMedia
+     */
+
+    @Override
+    public Media create(String separator, String resourcesDir, String... path)
+    {
+        final Source source = getSource(separator, resourcesDir, null);
+        final Media media = createPacked(UtilFolder.getPathSeparator(SEPARATOR, path), source);
+        if (media != null)
+        {
+            return media;
+        }
+        return delegate.create(separator, resourcesDir, path);
+    }
+
+    @Override
+    public Media create(String separator, Class<?> loader, String... path)
+    {
+        final Source source = getSource(separator, null, loader);
+        final Media media = createPacked(UtilFolder.getPathSeparator(SEPARATOR, path), source);
+        if (media != null)
+        {
+            return media;
+        }
+        return delegate.create(separator, loader, path);
+    }
+
+    /**
+     * Packed medias created for a delegate context.
+     */
+    static final class Source
+    {
+        /** Created medias by path. */
+        private final ConcurrentMap<String, Media> cache = new ConcurrentHashMap<>();
+        /** Delegate factory, used for file and output access. */
+        private final FactoryMedia delegate;
+        /** Delegate path separator. */
+        private final String separator;
+        /** Delegate resources directory (<code>null</code> if loader). */
+        private final String resourcesDir;
+        /** Delegate class loader (<code>null</code> if resources directory). */
+        private final Class<?> loader;
+
+        /**
+         * Create source.
+         * 
+         * @param delegate The delegate factory, used for file and output access.
+         * @param separator The delegate path separator.
+         * @param resourcesDir The delegate resources directory (<code>null</code> if loader).
+         * @param loader The delegate class loader (<code>null</code> if resources directory).
+         */
+        Source(FactoryMedia delegate, String separator, String resourcesDir, Class<?> loader)
+        {
+            super();
+
+            this.delegate = delegate;
+            this.separator = separator;
+            this.resourcesDir = resourcesDir;
+            this.loader = loader;
+        }
+
+        /**
+         * Check if source is of delegate context.
+         * 
+         * @param separator The delegate path separator.
+         * @param resourcesDir The delegate resources directory (<code>null</code> if loader).
+         * @param loader The delegate class loader (<code>null</code> if resources directory).
+         * @return <code>true</code> if same context, <code>false</code> else.
+         */
+        boolean is(String separator, String resourcesDir, Class<?> loader)
+        {
+            return this.loader == loader
+                   && Objects.equals(this.separator, separator)
+                   && Objects.equals(this.resourcesDir, resourcesDir);
+        }
+
+        /**
+         * Get the delegate media.
+         * 
+         * @param path The media path.
+         * @return The delegate media.
+         */
+        Media getDelegate(String path)
+        {
+            if (loader != null)
+            {
+                return delegate.create(separator, loader, path);
+            }
+            return delegate.create(separator, resourcesDir, path);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * Media stored in a {@link FactoryMediaPack} pack file. Input is read from the mapped pack, file and output access are
+ * delegated.
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+final class MediaPack implements Media
+{
+    /** Directory index. */
+    static final int DIRECTORY = -1;
+    /** No parent. */
+    private static final String NO_PARENT = Constant.EMPTY_STRING;
+
+    /** Pack reference. */
+    private final FactoryMediaPack pack;
+    /** Media path. */
+    private final String path;
+    /** Media parent path. */
+    private final String parent;
+    /** Media name. */
+    private final String name;
+    /** Entry index in pack, {@link #DIRECTORY} if directory. */
+    private final int index;
+    /** Media source, providing delegate. */
+    private final FactoryMediaPack.Source source;
+    /** Delegate media, lazily created. */
+    private volatile Media delegate;
+
+    /**
+     * Internal constructor.
+     * 
+     * @param pack The pack reference.
+     * @param path The media path.
+     * @param index The entry index in pack, {@link #DIRECTORY} if directory.
+     * @param source The media source, providing delegate used for file and output access.
+     */
+    MediaPack(FactoryMediaPack pack, String path, int index, FactoryMediaPack.Source source)
+    {
+        super();
+
+        this.pack = pack;
+        this.path = path;
+        this.index = index;
+        this.source = source;
+
+        final int separator = path.lastIndexOf(Constant.SLASH);
+        if (separator > -1)
+        {
+            parent = path.substring(0, separator);
+        }
+        else
+        {
+            parent = NO_PARENT;
+        }
+        name = path.substring(separator + 1);
+    }
+
+    /**
+     * Get the delegate media.
+     * 
+     * @return The delegate media.
+     */
+    private Media getDelegate()
+    {
+        Media media = delegate;
+        if (media == null)
+        {
+            media = source.getDelegate(path);
+            delegate = media;
+        }
+        return media;
+    }
+
+    /*
+     * Media
+     */
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public String getPath()
+    {
+        return path;
+    }
+
+    @Override
+    public String getParentPath()
+    {
+        return parent;
+    }
+
+    @Override
+    public File getFile()
+    {
+        return getDelegate().getFile();
+    }
+
+    @Override
+    public Collection<Media> getMedias()
+    {
+        if (index != DIRECTORY)
+        {
+            throw new LionEngineException(this, MediaDefault.ERROR_PATH_DIR);
+        }
+        return pack.getMedias(path, source);
+    }
+
+    @Override
+    public InputStream getInputStream()
+    {
+        if (index == DIRECTORY)
+        {
+            throw new LionEngineException(this, MediaDefault.ERROR_OPEN_MEDIA);
+        }
+        return new BufferInputStream(pack.getData(index));
+    }
+
+    @Override
+    public OutputStream getOutputStream()
+    {
+        return getDelegate().getOutputStream();
+    }
+
+    @Override
+    public boolean exists()
+    {
+        return true;
+    }
+
+    /*
+     * Object
+     */
+
+    @Override
+    public int hashCode()
+    {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + path.hashCode();
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || object.getClass() != getClass())
+        {
+            return false;
+        }
+        final MediaPack media = (MediaPack) object;
+        return path.equals(media.path);
+    }
+
+    @Override
+    public String toString()
+    {
+        return path;
+    }
+
+    /**
+     * Input stream reading a buffer, without copy.
+     */
+    private static final class BufferInputStream extends InputStream
+    {
+        /** Unsigned byte mask. */
+        private static final int MASK = 0xFF;
+
+        /** Buffer to read. */
+        private final ByteBuffer buffer;
+        /** Marked position. */
+        private int mark;
+
+        /**
+         * Create stream.
+         * 
+         * @param buffer The buffer to read.
+         */
+        BufferInputStream(ByteBuffer buffer)
+        {
+            super();
+
+            this.buffer = buffer;
+        }
+
+        /*
+         * InputStream
+         */
+
+        @Override
+        public int read()
+        {
+            if (buffer.hasRemaining())
+            {
+                return buffer.get() & MASK;
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length)
+        {
+            if (length == 0)
+            {
+                return 0;
+            }
+            if (!buffer.hasRemaining())
+            {
+                return -1;
+            }
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n)
+        {
+            final int count = (int) Math.max(0L, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available()
+        {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported()
+        {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int limit)
+        {
+            mark = buffer.position();
+        }
+
+        @Override
+        public synchronized void reset()
+        {
+            buffer.position(mark);
+        }
+    }
+}
@@ -37,11 +37,11 @@ public final class Medias
     /** Path separator. */
     private static final String SEPARATOR = Constant.SLASH;
     /** Factory media implementation. */
-    private static FactoryMedia factoryMedia = new FactoryMediaDefault();
+    private static volatile FactoryMedia factoryMedia = new FactoryMediaDefault();
     /** Resources directory. */
-    private static String resourcesDir = Constant.EMPTY_STRING;
+    private static volatile String resourcesDir = Constant.EMPTY_STRING;
     /** Class loader. */
-    private static Optional<Class<?>> loader = Optional.empty();
+    private static volatile Optional<Class<?>> loader = Optional.empty();
 
     /**
      * Create a media.
@@ -50,13 +50,15 @@ public final class Medias
      * @return The media instance.
      * @throws LionEngineException If path is <code>null</code>.
      */
-    public static synchronized Media create(String... path)
+    public static Media create(String... path)
     {
-        if (loader.isPresent())
+        final FactoryMedia factory = factoryMedia;
+        final Optional<Class<?>> current = loader;
+        if (current.isPresent())
         {
-            return factoryMedia.create(SEPARATOR, loader.get(), path);
+            return factory.create(SEPARATOR, current.get(), path);
         }
-        return factoryMedia.create(SEPARATOR, resourcesDir, path);
+        return factory.create(SEPARATOR, resourcesDir, path);
     }
 
     /**
@@ -130,7 +132,7 @@ public final class Medias
         Check.notNull(extension);
         Check.notNull(folder);
 
-        if (!loader.isPresent())
+        if (!loader.isPresent() || folder instanceof MediaPack)
         {
             return getFilesByExtension(folder, extension);
         }
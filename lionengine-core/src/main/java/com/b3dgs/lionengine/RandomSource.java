@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+/**
+ * Represents a seedable random numbers stream, which can be split in independent streams.
+ * <p>
+ * A stream is not thread safe: use {@link #split()} to give each world, thread or task its own stream. Splitting is
+ * deterministic, so the same seed and the same splits always produce the same numbers.
+ * </p>
+ * 
+ * @see UtilRandom
+ */
+public interface RandomSource
+{
+    /**
+     * Set the seed, restarting the stream.
+     * 
+     * @param seed The seed value.
+     */
+    void setSeed(long seed);
+
+    /**
+     * Create a new independent stream, and advance this one so they do not overlap.
+     * 
+     * @return The new stream.
+     */
+    RandomSource split();
+
+    /**
+     * Get next integer value on full integer range.
+     * 
+     * @return The next value.
+     */
+    int nextInt();
+
+    /**
+     * Get next integer value from an interval.
+     * 
+     * @param min The minimum value.
+     * @param max The maximum value (superior or equal to min).
+     * @return A value between min inclusive and max inclusive.
+     * @throws LionEngineException If invalid arguments.
+     */
+    int nextInt(int min, int max);
+
+    /**
+     * Get next long value on full long range.
+     * 
+     * @return The next value.
+     */
+    long nextLong();
+
+    /**
+     * Get next boolean value.
+     * 
+     * @return The next value.
+     */
+    boolean nextBoolean();
+
+    /**
+     * Get next double value.
+     * 
+     * @return The next value (between 0.0 inclusive and 1.0 exclusive).
+     */
+    double nextDouble();
+
+    /**
+     * Fill array with values from an interval.
+     * 
+     * @param values The array to fill (must not be <code>null</code>).
+     * @param min The minimum value.
+     * @param max The maximum value (superior or equal to min).
+     * @throws LionEngineException If invalid arguments.
+     */
+    void fill(int[] values, int min, int max);
+
+    /**
+     * Fill array with double values.
+     * 
+     * @param values The array to fill (must not be <code>null</code>), between 0.0 inclusive and 1.0 exclusive.
+     * @throws LionEngineException If invalid argument.
+     */
+    void fill(double[] values);
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+/**
+ * Fast non cryptographic random source, based on the xoshiro256** generator (period of 2^256 - 1).
+ * <p>
+ * State is seeded with SplitMix64 from a 64 bits seed. {@link #split()} gives the current state to the new stream
+ * and jumps this one 2^128 steps ahead, so split streams never overlap.
+ * </p>
+ */
+public class RandomSourceXoshiro implements RandomSource
+{
+    /** Unsigned integer mask. */
+    private static final long MASK = 0xFFFF_FFFFL;
+    /** Double unit. */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    /** SplitMix64 increment. */
+    private static final long GOLDEN = 0x9E37_79B9_7F4A_7C15L;
+    /** Jump polynomial, equivalent to 2^128 calls to {@link #nextLong()}. */
+    private static final long[] JUMP =
+    {
+        0x180E_C6D3_3CFD_0ABAL, 0xD5A6_1266_F0C9_392CL, 0xA958_2618_E03F_C9AAL, 0x39AB_DC45_29B1_661CL
+    };
+
+    /**
+     * Mix value (SplitMix64 output function).
+     * 
+     * @param value The value to mix.
+     * @return The mixed value.
+     */
+    private static long mix(long value)
+    {
+        long z = value;
+        z = (z ^ z >>> 30) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ z >>> 27) * 0x94D0_49BB_1331_11EBL;
+        return z ^ z >>> 31;
+    }
+
+    /** State 0. */
+    private long s0;
+    /** State 1. */
+    private long s1;
+    /** State 2. */
+    private long s2;
+    /** State 3. */
+    private long s3;
+
+    /**
+     * Create random source.
+     * 
+     * @param seed The seed value.
+     */
+    public RandomSourceXoshiro(long seed)
+    {
+        super();
+
+        setSeed(seed);
+    }
+
+    /**
+     * Create random source from state.
+     * 
+     * @param s0 The state 0.
+     * @param s1 The state 1.
+     * @param s2 The state 2.
+     * @param s3 The state 3.
+     */
+    private RandomSourceXoshiro(long s0, long s1, long s2, long s3)
+    {
+        super();
+
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    /**
+     * Jump state 2^128 steps ahead.
+     */
+    private void jump()
+    {
+        long j0 = 0L;
+        long j1 = 0L;
+        long j2 = 0L;
+        long j3 = 0L;
+        for (final long jump : JUMP)
+        {
+            for (int b = 0; b < Long.SIZE; b++)
+            {
+                if ((jump & 1L << b) != 0L)
+                {
+                    j0 ^= s0;
+                    j1 ^= s1;
+                    j2 ^= s2;
+                    j3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+        s0 = j0;
+        s1 = j1;
+        s2 = j2;
+        s3 = j3;
+    }
+
+    /**
+     * Get next value in range, without bias (Lemire method).
+     * 
+     * @param range The range size (between 1 and 2^32 included).
+     * @return The value between 0 inclusive and range exclusive.
+     */
+    private int nextBounded(long range)
+    {
+        long m = (nextLong() >>> Integer.SIZE) * range;
+        long low = m & MASK;
+        if (low < range)
+        {
+            final long threshold = (MASK + 1L - range) % range;
+            while (low < threshold)
+            {
+                m = (nextLong() >>> Integer.SIZE) * range;
+                low = m & MASK;
+            }
+        }
+        return (int) (m >>> Integer.SIZE);
+    }
+
+    /*
+     * RandomSource
+     */
+
+    @Override
+    public final void setSeed(long seed)
+    {
+        s0 = mix(seed + GOLDEN);
+        s1 = mix(seed + GOLDEN * 2L);
+        s2 = mix(seed + GOLDEN * 3L);
+        s3 = mix(seed + GOLDEN * 4L);
+    }
+
+    @Override
+    public RandomSource split()
+    {
+        final RandomSource split = new RandomSourceXoshiro(s0, s1, s2, s3);
+        jump();
+        return split;
+    }
+
+    @Override
+    public int nextInt()
+    {
+        return (int) (nextLong() >>> Integer.SIZE);
+    }
+
+    @Override
+    public int nextInt(int min, int max)
+    {
+        Check.inferiorOrEqual(min, max);
+
+        return min + nextBounded((long) max - min + 1L);
+    }
+
+    @Override
+    public long nextLong()
+    {
+        final long result = Long.rotateLeft(s1 * 5L, 7) * 9L;
+        final long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    @Override
+    public boolean nextBoolean()
+    {
+        return nextLong() < 0L;
+    }
+
+    @Override
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public void fill(int[] values, int min, int max)
+    {
+        Check.notNull(values);
+        Check.inferiorOrEqual(min, max);
+
+        final long range = (long) max - min + 1L;
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = min + nextBounded(range);
+        }
+    }
+
+    @Override
+    public void fill(double[] values)
+    {
+        Check.notNull(values);
+
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = (nextLong() >>> 11) * DOUBLE_UNIT;
+        }
+    }
+}
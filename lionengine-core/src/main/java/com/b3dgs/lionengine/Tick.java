@@ -18,9 +18,15 @@ package com.b3dgs.lionengine;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.PriorityQueue;
+import java.util.Queue;
 
 /**
  * Handle tick measure, in updated frames number.
+ * <p>
+ * Delayed actions are kept in a queue sorted by trigger tick, so an update only visits the actions which are due.
+ * Actions sharing the same trigger tick are executed in their adding order.
+ * </p>
  */
 public final class Tick implements Updatable
 {
@@ -34,10 +40,12 @@ public final class Tick implements Updatable
 
     /** Actions to add. */
     private final Collection<TickActionDelayed> toAdd = new ArrayList<>();
-    /** Actions. */
-    private final Collection<TickActionDelayed> actions = new ArrayList<>();
-    /** Actions executed. */
-    private final Collection<TickActionDelayed> toRemove = new ArrayList<>();
+    /** Actions sorted by trigger tick. */
+    private final Queue<TickActionDelayed> actions = new PriorityQueue<>(TickActionDelayed::compare);
+    /** Actions adding counter, used to keep adding order on same trigger tick. */
+    private long sequence;
+    /** Cancelled actions still queued. */
+    private int cancelled;
     /** Current tick. */
     private long currentTicks;
     /** Update. */
@@ -60,11 +68,50 @@ public final class Tick implements Updatable
      * 
      * @param action The action to execute (must not be <code>null</code>).
      * @param tickDelay The tick delay used as trigger.
+     * @return The action handle, which can be used to cancel action before its execution.
      * @throws LionEngineException If invalid argument.
      */
-    public void addAction(TickAction action, long tickDelay)
+    public TickActionHandle addAction(TickAction action, long tickDelay)
     {
-        toAdd.add(new TickActionDelayed(action, currentTicks + tickDelay));
+        final TickActionDelayed delayed = new TickActionDelayed(this, action, currentTicks + tickDelay, sequence++);
+        toAdd.add(delayed);
+        return delayed;
+    }
+
+    /**
+     * Get the number of pending actions, not executed nor cancelled.
+     * 
+     * @return The pending actions number.
+     */
+    public int getActionsPending()
+    {
+        int pending = actions.size() - cancelled;
+        for (final TickActionDelayed action : toAdd)
+        {
+            if (!action.isCancelled())
+            {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Notify an action has been cancelled. Queued cancelled actions are purged once they represent half of the queue.
+     * 
+     * @param action The cancelled action.
+     */
+    void notifyCancelled(TickActionDelayed action)
+    {
+        if (!toAdd.remove(action))
+        {
+            cancelled++;
+            if (cancelled > actions.size() / 2)
+            {
+                actions.removeIf(TickActionDelayed::isCancelled);
+                cancelled = 0;
+            }
+        }
     }
 
     /**
@@ -193,55 +240,91 @@ public final class Tick implements Updatable
             toAdd.clear();
         }
 
-        for (final TickActionDelayed action : actions)
+        while (!actions.isEmpty() && elapsed(actions.peek().getDelay()))
         {
-            if (elapsed(action.getDelay()))
+            final TickActionDelayed action = actions.poll();
+            if (action.isCancelled())
             {
-                action.getAction().execute();
-                toRemove.add(action);
+                cancelled--;
+            }
+            else
+            {
+                action.execute();
             }
-        }
-
-        if (!toRemove.isEmpty())
-        {
-            actions.removeAll(toRemove);
-            toRemove.clear();
         }
     }
 
     /**
      * Delayed tick action data.
      */
-    private static final class TickActionDelayed
+    private static final class TickActionDelayed implements TickActionHandle
     {
+        /**
+         * Compare actions by trigger tick, then by adding order.
+         * 
+         * @param a The first action.
+         * @param b The second action.
+         * @return The comparison result.
+         */
+        private static int compare(TickActionDelayed a, TickActionDelayed b)
+        {
+            final int compare = Long.compare(a.delay, b.delay);
+            if (compare == 0)
+            {
+                return Long.compare(a.sequence, b.sequence);
+            }
+            return compare;
+        }
+
+        /** Tick owner. */
+        private final Tick tick;
         /** Action reference. */
         private final TickAction action;
         /** Tick delay trigger. */
         private final long delay;
+        /** Adding order. */
+        private final long sequence;
+        /** Pending flag. */
+        private boolean pending = true;
+        /** Cancelled flag. */
+        private boolean cancelled;
 
         /**
          * Create delayed action data.
          * 
+         * @param tick The tick owner.
          * @param action The action reference (must not be <code>null</code>).
          * @param delay The tick delay.
+         * @param sequence The adding order.
          * @throws LionEngineException If invalid argument.
          */
-        private TickActionDelayed(TickAction action, long delay)
+        private TickActionDelayed(Tick tick, TickAction action, long delay, long sequence)
         {
             Check.notNull(action);
 
+            this.tick = tick;
             this.action = action;
             this.delay = delay;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Execute action.
+         */
+        void execute()
+        {
+            pending = false;
+            action.execute();
         }
 
         /**
-         * Get action reference.
+         * Check if action has been cancelled.
          * 
-         * @return The action reference.
+         * @return <code>true</code> if cancelled, <code>false</code> else.
          */
-        public TickAction getAction()
+        boolean isCancelled()
         {
-            return action;
+            return cancelled;
         }
 
         /**
@@ -253,5 +336,26 @@ public final class Tick implements Updatable
         {
             return delay;
         }
+
+        /*
+         * TickActionHandle
+         */
+
+        @Override
+        public void cancel()
+        {
+            if (pending)
+            {
+                pending = false;
+                cancelled = true;
+                tick.notifyCancelled(this);
+            }
+        }
+
+        @Override
+        public boolean isPending()
+        {
+            return pending;
+        }
     }
 }
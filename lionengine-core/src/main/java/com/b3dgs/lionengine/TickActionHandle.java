@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+/**
+ * Represents a scheduled {@link TickAction}, allowing to cancel it before its execution.
+ * 
+ * @see Tick#addAction(TickAction, long)
+ */
+public interface TickActionHandle
+{
+    /**
+     * Cancel action. Does nothing if action has already been executed or cancelled.
+     */
+    void cancel();
+
+    /**
+     * Check if action is still waiting for its execution.
+     * 
+     * @return <code>true</code> if not yet executed nor cancelled, <code>false</code> else.
+     */
+    boolean isPending();
+}
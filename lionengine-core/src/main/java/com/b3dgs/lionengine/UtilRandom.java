@@ -16,24 +16,90 @@
  */
 package com.b3dgs.lionengine;
 
-import java.util.Random;
+import java.security.SecureRandom;
 
 /**
  * Random utility class implementation.
+ * <p>
+ * Delegates to a global {@link RandomSource} ({@link RandomSourceXoshiro} by default, seeded from
+ * {@link SecureRandom}). Each thread uses its own stream, split from the global one on its first use after a seed or
+ * source change, so calls are never contended. With a single thread, {@link #setSeed(long)} makes the values
+ * deterministic. Worlds or tasks needing their own deterministic stream should use {@link #split()}.
+ * </p>
  */
 public final class UtilRandom
 {
-    /** The random utility instance. */
-    private static final Random RANDOM = new java.security.SecureRandom();
+    /** Global source lock. */
+    private static final Object LOCK = new Object();
+    /** Thread streams. */
+    private static final ThreadLocal<Stream> STREAMS = ThreadLocal.withInitial(Stream::new);
+    /** Global source, split for each thread stream. */
+    private static RandomSource source = new RandomSourceXoshiro(new SecureRandom().nextLong());
+    /** Global source generation, changed on each seed or source change. */
+    private static volatile int generation;
 
     /**
-     * Set the seed.
+     * Set the global random source. Thread streams are split again from it on their next use.
+     * 
+     * @param random The random source (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public static void setRandom(RandomSource random)
+    {
+        Check.notNull(random);
+
+        synchronized (LOCK)
+        {
+            source = random;
+            generation++;
+        }
+    }
+
+    /**
+     * Set the seed of the global random source. Thread streams are split again from it on their next use.
      * 
      * @param seed The seed value.
      */
     public static void setSeed(long seed)
     {
-        RANDOM.setSeed(seed);
+        synchronized (LOCK)
+        {
+            source.setSeed(seed);
+            generation++;
+        }
+    }
+
+    /**
+     * Create a new independent stream from the global random source.
+     * 
+     * @return The new stream.
+     */
+    public static RandomSource split()
+    {
+        synchronized (LOCK)
+        {
+            return source.split();
+        }
+    }
+
+    /**
+     * Get the current thread stream.
+     * 
+     * @return The current thread stream.
+     */
+    public static RandomSource get()
+    {
+        final Stream stream = STREAMS.get();
+        final int current = generation;
+        if (stream.random == null || stream.generation != current)
+        {
+            synchronized (LOCK)
+            {
+                stream.random = source.split();
+                stream.generation = generation;
+            }
+        }
+        return stream.random;
     }
 
     /**
@@ -43,7 +109,7 @@ public final class UtilRandom
      */
     public static int getRandomInteger()
     {
-        return RANDOM.nextInt();
+        return get().nextInt();
     }
 
     /**
@@ -80,9 +146,7 @@ public final class UtilRandom
      */
     public static int getRandomInteger(int min, int max)
     {
-        Check.inferiorOrEqual(min, max);
-
-        return min + RANDOM.nextInt(max + 1 - min);
+        return get().nextInt(min, max);
     }
 
     /**
@@ -92,7 +156,7 @@ public final class UtilRandom
      */
     public static boolean getRandomBoolean()
     {
-        return RANDOM.nextBoolean();
+        return get().nextBoolean();
     }
 
     /**
@@ -102,7 +166,7 @@ public final class UtilRandom
      */
     public static double getRandomDouble()
     {
-        return RANDOM.nextDouble();
+        return get().nextDouble();
     }
 
     /**
@@ -112,4 +176,23 @@ public final class UtilRandom
     {
         throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
     }
+
+    /**
+     * Thread stream.
+     */
+    private static final class Stream
+    {
+        /** Stream random, <code>null</code> if not split yet. */
+        private RandomSource random;
+        /** Global source generation when split. */
+        private int generation;
+
+        /**
+         * Create stream.
+         */
+        Stream()
+        {
+            super();
+        }
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Variable length integer utility.
+ * <p>
+ * Values are written by group of 7 bits, lowest first, the highest bit of each byte being set if another byte follows
+ * (one byte up to 127, five bytes at most). Signed values are zigzag encoded before, so small negative values stay
+ * short.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class UtilVarint
+{
+    /** Maximum encoded length in bytes. */
+    public static final int MAX_LENGTH = 5;
+    /** Invalid encoding error. */
+    static final String ERROR_LENGTH = "Variable length integer is too long";
+    /** Payload bits per byte. */
+    private static final int BITS = 7;
+    /** Payload mask. */
+    private static final int MASK = 0x7F;
+    /** Continuation flag. */
+    private static final int MORE = 0x80;
+    /** Last byte shift. */
+    private static final int SHIFT_MAX = BITS * (MAX_LENGTH - 1);
+
+    /**
+     * Zigzag encode a signed value, mapping small negative and positive values to small unsigned values.
+     * 
+     * @param value The signed value.
+     * @return The encoded value.
+     */
+    public static int encodeSigned(int value)
+    {
+        return value << 1 ^ value >> Integer.SIZE - 1;
+    }
+
+    /**
+     * Zigzag decode a signed value.
+     * 
+     * @param value The encoded value.
+     * @return The signed value.
+     */
+    public static int decodeSigned(int value)
+    {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Write an unsigned variable length integer.
+     * 
+     * @param out The output (must not be <code>null</code>).
+     * @param value The value to write (negative values use {@link #MAX_LENGTH} bytes).
+     * @throws IOException If error on writing.
+     */
+    public static void write(OutputStream out, int value) throws IOException
+    {
+        int remaining = value;
+        while ((remaining & ~MASK) != 0)
+        {
+            out.write(remaining & MASK | MORE);
+            remaining >>>= BITS;
+        }
+        out.write(remaining);
+    }
+
+    /**
+     * Write an unsigned variable length integer to a byte array output.
+     * 
+     * @param out The output (must not be <code>null</code>).
+     * @param value The value to write (negative values use {@link #MAX_LENGTH} bytes).
+     */
+    public static void write(ByteArrayOutputStream out, int value)
+    {
+        try
+        {
+            write((OutputStream) out, value);
+        }
+        catch (final IOException exception)
+        {
+            // Cannot happen with a byte array
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Write a signed variable length integer (zigzag encoded).
+     * 
+     * @param out The output (must not be <code>null</code>).
+     * @param value The value to write.
+     * @throws IOException If error on writing.
+     */
+    public static void writeSigned(OutputStream out, int value) throws IOException
+    {
+        write(out, encodeSigned(value));
+    }
+
+    /**
+     * Write a signed variable length integer (zigzag encoded) to a byte array output.
+     * 
+     * @param out The output (must not be <code>null</code>).
+     * @param value The value to write.
+     */
+    public static void writeSigned(ByteArrayOutputStream out, int value)
+    {
+        write(out, encodeSigned(value));
+    }
+
+    /**
+     * Read an unsigned variable length integer.
+     * 
+     * @param in The input (must not be <code>null</code>).
+     * @return The read value.
+     * @throws EOFException If input ends before value end.
+     * @throws IOException If error on reading, or value longer than {@link #MAX_LENGTH}.
+     */
+    public static int read(InputStream in) throws IOException
+    {
+        int value = 0;
+        for (int shift = 0; shift <= SHIFT_MAX; shift += BITS)
+        {
+            final int current = in.read();
+            if (current < 0)
+            {
+                throw new EOFException();
+            }
+            value |= (current & MASK) << shift;
+            if ((current & MORE) == 0)
+            {
+                return value;
+            }
+        }
+        throw new IOException(ERROR_LENGTH);
+    }
+
+    /**
+     * Read an unsigned variable length integer.
+     * 
+     * @param in The input (must not be <code>null</code>).
+     * @return The read value.
+     * @throws EOFException If input ends before value end.
+     * @throws IOException If value longer than {@link #MAX_LENGTH}.
+     */
+    public static int read(ByteBuffer in) throws IOException
+    {
+        int value = 0;
+        for (int shift = 0; shift <= SHIFT_MAX; shift += BITS)
+        {
+            if (!in.hasRemaining())
+            {
+                throw new EOFException();
+            }
+            final int current = in.get();
+            value |= (current & MASK) << shift;
+            if ((current & MORE) == 0)
+            {
+                return value;
+            }
+        }
+        throw new IOException(ERROR_LENGTH);
+    }
+
+    /**
+     * Read a signed variable length integer (zigzag encoded).
+     * 
+     * @param in The input (must not be <code>null</code>).
+     * @return The read value.
+     * @throws EOFException If input ends before value end.
+     * @throws IOException If error on reading, or value longer than {@link #MAX_LENGTH}.
+     */
+    public static int readSigned(InputStream in) throws IOException
+    {
+        return decodeSigned(read(in));
+    }
+
+    /**
+     * Read a signed variable length integer (zigzag encoded).
+     * 
+     * @param in The input (must not be <code>null</code>).
+     * @return The read value.
+     * @throws EOFException If input ends before value end.
+     * @throws IOException If value longer than {@link #MAX_LENGTH}.
+     */
+    public static int readSigned(ByteBuffer in) throws IOException
+    {
+        return decodeSigned(read(in));
+    }
+
+    /**
+     * Private constructor.
+     */
+    private UtilVarint()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
@@ -17,10 +17,10 @@
 package com.b3dgs.lionengine;
 
 import java.io.IOException;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Locale;
+import java.util.Set;
 import java.util.logging.FileHandler;
 import java.util.logging.Formatter;
 import java.util.logging.Handler;
@@ -30,6 +30,10 @@ import java.util.logging.Logger;
 /**
  * Level of verbosity.
  * <p>
+ * Records are written synchronously on the calling thread by default. An asynchronous mode can be enabled with
+ * {@link #setAsync(int)}, where records are queued without blocking and written by a background thread.
+ * </p>
+ * <p>
  * This class is Thread-Safe.
  * </p>
  */
@@ -62,8 +66,13 @@ public enum Verbose
     private static final String ERROR_LOG_FILE = "Unable to set log file !";
     /** Error formatter. */
     private static final String ERROR_FORMATTER = "Unable to set logger formatter due to security exception !";
+    /** Maximum asynchronous pending records. */
+    private static final int MAX_ASYNC = 1 << 20;
+
     /** Verbose flag. */
-    private static final Collection<Verbose> LEVELS = EnumSet.allOf(Verbose.class);
+    private static volatile Set<Verbose> levels = EnumSet.allOf(Verbose.class);
+    /** Asynchronous writer (<code>null</code> if synchronous). */
+    private static volatile VerboseWriter writer;
 
     /**
      * Configure verbose.
@@ -81,13 +90,13 @@ public enum Verbose
      * @throws LionEngineException If invalid argument.
      * @see Verbose#INFORMATION
      */
-    public static synchronized void info(String... message)
+    public static void info(String... message)
     {
         Check.notNull(message);
 
-        if (LEVELS.contains(INFORMATION))
+        if (levels.contains(INFORMATION))
         {
-            LOGGER.logp(Level.INFO, null, null, getMessage(message));
+            log(Level.INFO, null, null, null, message);
         }
     }
 
@@ -97,13 +106,13 @@ public enum Verbose
      * @param message The list of messages (must not be <code>null</code>).
      * @see Verbose#WARNING
      */
-    public static synchronized void warning(String... message)
+    public static void warning(String... message)
     {
         Check.notNull(message);
 
-        if (LEVELS.contains(WARNING))
+        if (levels.contains(WARNING))
         {
-            LOGGER.logp(Level.WARNING, null, null, getMessage(message));
+            log(Level.WARNING, null, null, null, message);
         }
     }
 
@@ -115,15 +124,15 @@ public enum Verbose
      * @param message The list of messages (must not be <code>null</code>).
      * @see Verbose#WARNING
      */
-    public static synchronized void warning(Class<?> clazz, String function, String... message)
+    public static void warning(Class<?> clazz, String function, String... message)
     {
         Check.notNull(clazz);
         Check.notNull(function);
         Check.notNull(message);
 
-        if (LEVELS.contains(WARNING))
+        if (levels.contains(WARNING))
         {
-            LOGGER.logp(Level.WARNING, clazz.getName(), function, getMessage(message));
+            log(Level.WARNING, clazz.getName(), function, null, message);
         }
     }
 
@@ -135,15 +144,15 @@ public enum Verbose
      * @param message The list of messages (must not be <code>null</code>).
      * @see Verbose#CRITICAL
      */
-    public static synchronized void critical(Class<?> clazz, String function, String... message)
+    public static void critical(Class<?> clazz, String function, String... message)
     {
         Check.notNull(clazz);
         Check.notNull(function);
         Check.notNull(message);
 
-        if (LEVELS.contains(CRITICAL))
+        if (levels.contains(CRITICAL))
         {
-            LOGGER.logp(Level.SEVERE, clazz.getName(), function, getMessage(message));
+            log(Level.SEVERE, clazz.getName(), function, null, message);
         }
     }
 
@@ -154,14 +163,14 @@ public enum Verbose
      * @param message The list of messages (must not be <code>null</code>).
      * @see Verbose#CRITICAL
      */
-    public static synchronized void exception(Throwable exception, String... message)
+    public static void exception(Throwable exception, String... message)
     {
         Check.notNull(exception);
         Check.notNull(message);
 
-        if (LEVELS.contains(CRITICAL))
+        if (levels.contains(CRITICAL))
         {
-            LOGGER.logp(Level.SEVERE, null, null, getMessage(message), exception);
+            log(Level.SEVERE, null, null, exception, message);
         }
     }
 
@@ -174,8 +183,121 @@ public enum Verbose
     {
         Check.notNull(verboses);
 
-        LEVELS.clear();
-        Collections.addAll(LEVELS, verboses);
+        final Set<Verbose> current = EnumSet.noneOf(Verbose.class);
+        Collections.addAll(current, verboses);
+        levels = current;
+    }
+
+    /**
+     * Set the asynchronous mode. Records are stored without blocking in a bounded buffer, and written by a background
+     * thread. When the buffer is full, records are dropped and counted (see {@link #getDropped()}).
+     * <p>
+     * Pending records are written before switching mode, and records logged during the switch are written
+     * synchronously.
+     * </p>
+     * 
+     * @param capacity The maximum pending records, rounded up to a power of two, <code>0</code> for synchronous mode
+     *            (must be between 0 and 1048576).
+     * @throws LionEngineException If invalid argument.
+     */
+    public static synchronized void setAsync(int capacity)
+    {
+        Check.superiorOrEqual(capacity, 0);
+        Check.inferiorOrEqual(capacity, MAX_ASYNC);
+
+        final VerboseWriter old = writer;
+        if (old != null)
+        {
+            writer = null;
+            old.stop();
+        }
+        if (capacity > 0)
+        {
+            final VerboseWriter current = new VerboseWriter(LOGGER, capacity);
+            current.start();
+            writer = current;
+        }
+    }
+
+    /**
+     * Check if asynchronous mode is enabled.
+     * 
+     * @return <code>true</code> if asynchronous, <code>false</code> if synchronous.
+     */
+    public static boolean isAsync()
+    {
+        return writer != null;
+    }
+
+    /**
+     * Get the number of records dropped since asynchronous mode has been enabled.
+     * 
+     * @return The dropped records number, <code>0</code> if synchronous.
+     */
+    public static long getDropped()
+    {
+        final VerboseWriter current = writer;
+        if (current != null)
+        {
+            return current.getDropped();
+        }
+        return 0L;
+    }
+
+    /**
+     * Wait for pending records to be written in asynchronous mode, and flush outputs.
+     */
+    public static void flush()
+    {
+        final VerboseWriter current = writer;
+        if (current != null)
+        {
+            current.flush();
+        }
+        else
+        {
+            for (final Handler handler : LOGGER.getHandlers())
+            {
+                handler.flush();
+            }
+        }
+    }
+
+    /**
+     * Log record, synchronously or asynchronously depending of current mode.
+     * 
+     * @param level The record level.
+     * @param clazz The class name (can be <code>null</code>).
+     * @param function The function name (can be <code>null</code>).
+     * @param exception The exception (can be <code>null</code>).
+     * @param message The list of messages.
+     */
+    private static void log(Level level, String clazz, String function, Throwable exception, String... message)
+    {
+        final VerboseWriter current = writer;
+        if (current == null
+            || !current.offer(level, clazz, function, exception, message) && current.isClosed())
+        {
+            logSync(level, clazz, function, exception, message);
+        }
+    }
+
+    /**
+     * Log record on caller thread.
+     * 
+     * @param level The record level.
+     * @param clazz The class name (can be <code>null</code>).
+     * @param function The function name (can be <code>null</code>).
+     * @param exception The exception (can be <code>null</code>).
+     * @param message The list of messages.
+     */
+    private static synchronized void logSync(Level level,
+                                             String clazz,
+                                             String function,
+                                             Throwable exception,
+                                             String... message)
+    {
+        LOGGER.logp(level, clazz, function, getMessage(message), exception);
     }
 
     /**
@@ -19,7 +19,7 @@ package com.b3dgs.lionengine;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.text.DateFormat;
-import java.util.Calendar;
+import java.util.Date;
 import java.util.logging.Formatter;
 import java.util.logging.LogRecord;
 
@@ -37,13 +37,14 @@ final class VerboseFormatter extends Formatter
     private static final String AT = " at ";
 
     /**
-     * Append date.
+     * Append record date.
      * 
      * @param message The message builder.
+     * @param event The log record.
      */
-    private static void appendDate(StringBuilder message)
+    private static void appendDate(StringBuilder message, LogRecord event)
     {
-        final String date = DATE_TIME_FORMAT.format(Calendar.getInstance().getTime());
+        final String date = DATE_TIME_FORMAT.format(new Date(event.getMillis()));
         message.append(date);
         message.append(Constant.SPACE);
     }
@@ -118,7 +119,7 @@ final class VerboseFormatter extends Formatter
     public String format(LogRecord event)
     {
         final StringBuilder message = new StringBuilder(Constant.HUNDRED);
-        appendDate(message);
+        appendDate(message, event);
         appendLevel(message, event);
         appendFunction(message, event);
         message.append(event.getMessage()).append(System.lineSeparator());
@@ -0,0 +1,378 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous verbose writer.
+ * <p>
+ * Records are stored by any thread in a bounded lock-free ring buffer, without formatting, and drained by a single
+ * daemon thread which builds the messages and publishes them to the logger handlers. When the buffer is full, records
+ * are dropped and counted. Once stopped, records are refused, so they can be written by caller.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+final class VerboseWriter implements Runnable
+{
+    /** Writer thread name. */
+    private static final String THREAD_NAME = Constant.ENGINE_NAME + " Verbose";
+    /** Idle wait in nano seconds. */
+    private static final long IDLE_NANO = 5_000_000L;
+    /** Flush wait in nano seconds. */
+    private static final long FLUSH_NANO = 100_000L;
+    /** Flush and stop timeout in milli seconds. */
+    private static final long TIMEOUT_MILLI = Constant.ONE_SECOND_IN_MILLI;
+    /** Closed flag, set on claim position once stopped. */
+    private static final long CLOSED = Long.MIN_VALUE;
+    /** Dropped records warning. */
+    private static final String WARNING_DROPPED = "Records dropped: ";
+
+    /**
+     * Get the power of two capacity.
+     * 
+     * @param capacity The requested capacity.
+     * @return The power of two capacity.
+     */
+    private static int getCapacity(int capacity)
+    {
+        return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    /**
+     * Get the concatenated message.
+     * 
+     * @param message The list of messages.
+     * @return The concatenated message.
+     */
+    private static String getMessage(String... message)
+    {
+        final StringBuilder builder = new StringBuilder();
+        for (final String element : message)
+        {
+            builder.append(element);
+        }
+        return builder.toString();
+    }
+
+    /** Logger reference. */
+    private final Logger logger;
+    /** Slots mask. */
+    private final int mask;
+    /** Slots sequence, used to publish slot between producers and consumer. */
+    private final AtomicLongArray sequences;
+    /** Records level. */
+    private final Level[] levels;
+    /** Records class name. */
+    private final String[] classes;
+    /** Records function name. */
+    private final String[] functions;
+    /** Records exception. */
+    private final Throwable[] exceptions;
+    /** Records messages, concatenated by writer. */
+    private final String[][] messages;
+    /** Records time in milli. */
+    private final long[] times;
+    /** Next position to claim. */
+    private final AtomicLong tail = new AtomicLong();
+    /** Dropped records counter. */
+    private final AtomicLong dropped = new AtomicLong();
+    /** Writer thread. */
+    private final Thread thread;
+    /** Next position to write, only updated by writer. */
+    private volatile long head;
+    /** Running flag. */
+    private volatile boolean running = true;
+    /** Dropped records already reported, only used by writer. */
+    private long reported;
+
+    /**
+     * Create writer. Must be started with {@link #start()}.
+     * 
+     * @param logger The logger reference.
+     * @param capacity The maximum pending records, rounded up to power of two (must be strictly positive).
+     */
+    VerboseWriter(Logger logger, int capacity)
+    {
+        super();
+
+        this.logger = logger;
+
+        final int size = getCapacity(capacity);
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+        {
+            sequences.set(i, i);
+        }
+        levels = new Level[size];
+        classes = new String[size];
+        functions = new String[size];
+        exceptions = new Throwable[size];
+        messages = new String[size][];
+        times = new long[size];
+
+        thread = new Thread(this, THREAD_NAME);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Start writer thread.
+     */
+    void start()
+    {
+        thread.start();
+    }
+
+    /**
+     * Stop writer thread once pending records are written. Records offered after are refused.
+     */
+    void stop()
+    {
+        final long end = close();
+        running = false;
+        LockSupport.unpark(thread);
+        try
+        {
+            thread.join(TIMEOUT_MILLI);
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        if (!thread.isAlive())
+        {
+            // Records claimed before closing may still be in publication
+            final long timeout = System.currentTimeMillis() + TIMEOUT_MILLI;
+            drain();
+            while (head < end && System.currentTimeMillis() < timeout)
+            {
+                LockSupport.parkNanos(FLUSH_NANO);
+                drain();
+            }
+            flushHandlers();
+        }
+    }
+
+    /**
+     * Check if writer has been stopped, and refuses records.
+     * 
+     * @return <code>true</code> if stopped, <code>false</code> else.
+     */
+    boolean isClosed()
+    {
+        return tail.get() < 0L;
+    }
+
+    /**
+     * Store record without blocking. Record is dropped if buffer is full.
+     * 
+     * @param level The record level.
+     * @param clazz The class name (can be <code>null</code>).
+     * @param function The function name (can be <code>null</code>).
+     * @param exception The exception (can be <code>null</code>).
+     * @param message The messages to concatenate.
+     * @return <code>true</code> if stored, <code>false</code> if dropped or closed (see {@link #isClosed()}).
+     */
+    boolean offer(Level level, String clazz, String function, Throwable exception, String... message)
+    {
+        long pos = tail.get();
+        int index;
+        while (true)
+        {
+            if (pos < 0L)
+            {
+                return false;
+            }
+            index = (int) pos & mask;
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0L)
+            {
+                if (tail.compareAndSet(pos, pos + 1L))
+                {
+                    break;
+                }
+                pos = tail.get();
+            }
+            else if (diff < 0L)
+            {
+                dropped.incrementAndGet();
+                return false;
+            }
+            else
+            {
+                pos = tail.get();
+            }
+        }
+
+        levels[index] = level;
+        classes[index] = clazz;
+        functions[index] = function;
+        exceptions[index] = exception;
+        messages[index] = message;
+        times[index] = System.currentTimeMillis();
+        sequences.set(index, pos + 1L);
+
+        return true;
+    }
+
+    /**
+     * Wait until all records stored before this call are written, and flush logger handlers.
+     */
+    void flush()
+    {
+        if (Thread.currentThread() != thread)
+        {
+            final long target = tail.get();
+            final long timeout = System.currentTimeMillis() + TIMEOUT_MILLI;
+            while (head < target && thread.isAlive() && System.currentTimeMillis() < timeout)
+            {
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(FLUSH_NANO);
+            }
+        }
+        flushHandlers();
+    }
+
+    /**
+     * Get the dropped records number.
+     * 
+     * @return The dropped records number.
+     */
+    long getDropped()
+    {
+        return dropped.get();
+    }
+
+    /**
+     * Close claim position, refusing next records.
+     * 
+     * @return The end position, excluded.
+     */
+    private long close()
+    {
+        long pos = tail.get();
+        while (!tail.compareAndSet(pos, pos | CLOSED))
+        {
+            pos = tail.get();
+        }
+        return pos & ~CLOSED;
+    }
+
+    /**
+     * Create the log record of a published slot, keeping its publication time.
+     * 
+     * @param index The slot index.
+     * @return The log record.
+     */
+    // setMillis is deprecated since Java 9 in favor of setInstant, which is not available in Java 8
+    @SuppressWarnings("deprecation")
+    private LogRecord createRecord(int index)
+    {
+        final LogRecord record = new LogRecord(levels[index], getMessage(messages[index]));
+        record.setSourceClassName(classes[index]);
+        record.setSourceMethodName(functions[index]);
+        record.setThrown(exceptions[index]);
+        record.setMillis(times[index]);
+        record.setLoggerName(logger.getName());
+        return record;
+    }
+
+    /**
+     * Write all published records.
+     * 
+     * @return The written records number.
+     */
+    private int drain()
+    {
+        int count = 0;
+        long pos = head;
+        while (true)
+        {
+            final int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1L)
+            {
+                break;
+            }
+            final LogRecord record = createRecord(index);
+
+            classes[index] = null;
+            functions[index] = null;
+            exceptions[index] = null;
+            messages[index] = null;
+            sequences.set(index, pos + mask + 1L);
+            pos++;
+
+            logger.log(record);
+            count++;
+        }
+        head = pos;
+        reportDropped();
+
+        return count;
+    }
+
+    /**
+     * Write dropped records number if changed since last report.
+     */
+    private void reportDropped()
+    {
+        final long current = dropped.get();
+        if (current > reported)
+        {
+            logger.logp(Level.WARNING, null, null, WARNING_DROPPED + (current - reported));
+            reported = current;
+        }
+    }
+
+    /**
+     * Flush logger handlers.
+     */
+    private void flushHandlers()
+    {
+        for (final Handler handler : logger.getHandlers())
+        {
+            handler.flush();
+        }
+    }
+
+    /*
+     * Runnable
+     */
+
+    @Override
+    public void run()
+    {
+        while (running)
+        {
+            if (drain() == 0)
+            {
+                LockSupport.parkNanos(this, IDLE_NANO);
+            }
+        }
+        drain();
+        flushHandlers();
+    }
+}
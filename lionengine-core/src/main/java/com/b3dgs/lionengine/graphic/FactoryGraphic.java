@@ -80,6 +80,17 @@ public interface FactoryGraphic
      */
     ImageBuffer createImageBuffer(int width, int height, ColorRgba transparency);
 
+    /**
+     * Create an image buffer with undefined pixels, to be filled with {@link ImageBuffer#setRgb}.
+     * 
+     * @param width The image width (must be strictly positive).
+     * @param height The image height (must be strictly positive).
+     * @param transparency The image transparency (must not be <code>null</code>).
+     * @return The image buffer.
+     * @throws LionEngineException If invalid arguments.
+     */
+    ImageBuffer createImageBuffer(int width, int height, Transparency transparency);
+
     /**
      * Get an image buffer from an image file.
      * 
@@ -31,6 +31,8 @@ public final class Graphics
 {
     /** Factory graphic implementation. */
     private static volatile FactoryGraphic factoryGraphic;
+    /** Decoded images cache, <code>null</code> if disabled. */
+    private static volatile ImageCache imageCache;
 
     /**
      * Set the graphic factory used.
@@ -42,6 +44,16 @@ public final class Graphics
         Graphics.factoryGraphic = factoryGraphic;
     }
 
+    /**
+     * Set the decoded images cache used by {@link #getImageBuffer(Media)}. Disabled by default.
+     * 
+     * @param imageCache The images cache, <code>null</code> to disable.
+     */
+    public static void setImageCache(ImageCache imageCache)
+    {
+        Graphics.imageCache = imageCache;
+    }
+
     /**
      * Create a screen.
      * 
@@ -128,14 +140,34 @@ public final class Graphics
     }
 
     /**
-     * Get an image buffer from an image file.
+     * Create an image buffer with undefined pixels.
+     * 
+     * @param width The image width (must be strictly positive).
+     * @param height The image height (must be strictly positive).
+     * @param transparency The image transparency (must not be <code>null</code>).
+     * @return The image buffer.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public static ImageBuffer createImageBuffer(int width, int height, Transparency transparency)
+    {
+        return factoryGraphic.createImageBuffer(width, height, transparency);
+    }
+
+    /**
+     * Get an image buffer from an image file. Uses the decoded images cache if set.
      * 
      * @param media The image media (must not be <code>null</code>).
      * @return The created image buffer from file.
      * @throws LionEngineException If an error occurred when reading the image.
+     * @see #setImageCache(ImageCache)
      */
     public static ImageBuffer getImageBuffer(Media media)
     {
+        final ImageCache cache = imageCache;
+        if (cache != null)
+        {
+            return cache.getImageBuffer(factoryGraphic, media);
+        }
         return factoryGraphic.getImageBuffer(media);
     }
 
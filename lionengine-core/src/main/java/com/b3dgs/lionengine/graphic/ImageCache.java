@@ -0,0 +1,544 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.UtilChecksum;
+import com.b3dgs.lionengine.Verbose;
+
+/**
+ * Decoded images cache. The first load of an image decodes it with the {@link FactoryGraphic}, and stores its pixels
+ * in a raw cache file. Next loads map the cache file and copy its pixels in a new {@link ImageBuffer}, skipping image
+ * decoding.
+ * <p>
+ * A cache file is used only if its checksum is valid, and if its source is unchanged: same modification date, or
+ * else same content hash. The content hash is computed while the source is decoded, so the source is read once. Cache
+ * files are saved this way:
+ * </p>
+ * 
+ * <pre>
+ * <code>(int)</code> {@link #MAGIC}
+ * <code>(byte)</code> {@link #VERSION}
+ * <code>(long)</code> source modification date, <code>0</code> if unknown
+ * <code>(long)</code> source content hash
+ * <code>(int)</code> width
+ * <code>(int)</code> height
+ * <code>(byte)</code> {@link Transparency} code, 1 for opaque, 2 for bitmask, 3 for translucent
+ * <code>(int[])</code> ARGB pixels, width * height
+ * <code>(long)</code> checksum of image data, from width to pixels
+ * </pre>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ * 
+ * @see Graphics#setImageCache(ImageCache)
+ */
+public final class ImageCache
+{
+    /** Format identifier. */
+    public static final int MAGIC = 0x4C52_4157;
+    /** Format version. */
+    public static final byte VERSION = 2;
+    /** Cache file extension. */
+    public static final String EXTENSION = ".raw";
+    /** Invalid cache directory error. */
+    static final String ERROR_DIRECTORY = "Invalid cache directory: ";
+    /** Cache write error. */
+    static final String ERROR_WRITE = "Unable to write image cache: ";
+    /** Temporary file extension. */
+    private static final String TEMP = ".tmp";
+    /** Source modification date offset. */
+    private static final int OFFSET_MODIFIED = Integer.BYTES + Byte.BYTES;
+    /** Image data offset. */
+    private static final int OFFSET_IMAGE = OFFSET_MODIFIED + Long.BYTES * 2;
+    /** Pixels offset. */
+    private static final int OFFSET_PIXELS = OFFSET_IMAGE + Integer.BYTES * 2 + Byte.BYTES;
+    /** Hash buffer size. */
+    private static final int BUFFER_SIZE = 65_536;
+    /** Opaque transparency code. */
+    private static final byte CODE_OPAQUE = 1;
+    /** Bitmask transparency code. */
+    private static final byte CODE_BITMASK = 2;
+    /** Translucent transparency code. */
+    private static final byte CODE_TRANSLUCENT = 3;
+
+    /**
+     * Get the transparency code, stored instead of ordinal to not depend on enum order.
+     * 
+     * @param transparency The transparency.
+     * @return The transparency code.
+     * @throws LionEngineException If unknown transparency.
+     */
+    private static byte getCode(Transparency transparency)
+    {
+        switch (transparency)
+        {
+            case OPAQUE:
+                return CODE_OPAQUE;
+            case BITMASK:
+                return CODE_BITMASK;
+            case TRANSLUCENT:
+                return CODE_TRANSLUCENT;
+            default:
+                throw new LionEngineException(transparency);
+        }
+    }
+
+    /**
+     * Get the transparency from its code.
+     * 
+     * @param code The transparency code.
+     * @return The transparency, <code>null</code> if invalid code.
+     */
+    private static Transparency getTransparency(int code)
+    {
+        switch (code)
+        {
+            case CODE_OPAQUE:
+                return Transparency.OPAQUE;
+            case CODE_BITMASK:
+                return Transparency.BITMASK;
+            case CODE_TRANSLUCENT:
+                return Transparency.TRANSLUCENT;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Get the source modification date.
+     * 
+     * @param media The source media.
+     * @return The modification date, <code>0</code> if not available as a file.
+     */
+    private static long getModified(Media media)
+    {
+        try
+        {
+            return media.getFile().lastModified();
+        }
+        catch (@SuppressWarnings("unused") final LionEngineException exception)
+        {
+            return 0L;
+        }
+    }
+
+    /**
+     * Get the source content hash.
+     * 
+     * @param media The source media.
+     * @return The content hash.
+     * @throws IOException If unable to read source.
+     */
+    private static long getHash(Media media) throws IOException
+    {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream input = media.getInputStream())
+        {
+            int read = input.read(buffer);
+            while (read > -1)
+            {
+                crc.update(buffer, 0, read);
+                read = input.read(buffer);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Get the image data checksum.
+     * 
+     * @param data The cache data.
+     * @param length The cache data length, excluding checksum.
+     * @return The checksum.
+     */
+    private static long getChecksum(ByteBuffer data, int length)
+    {
+        final ByteBuffer region = data.duplicate();
+        region.position(OFFSET_IMAGE);
+        region.limit(length);
+
+        final CRC32 crc = new CRC32();
+        crc.update(region);
+        return crc.getValue();
+    }
+
+    /**
+     * Read image from cache.
+     * 
+     * @param factory The factory used to create images.
+     * @param source The image source.
+     * @param cache The cache file.
+     * @param modified The source modification date.
+     * @return The cached image, {@link Optional#empty()} if invalid or outdated.
+     * @throws IOException If unable to read.
+     */
+    private static Optional<ImageBuffer> read(FactoryGraphic factory, Source source, File cache, long modified)
+            throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(cache.toPath(), StandardOpenOption.READ))
+        {
+            final long size = channel.size();
+            if (size < OFFSET_PIXELS + Long.BYTES || size > Integer.MAX_VALUE)
+            {
+                return Optional.empty();
+            }
+            final ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            if (data.getInt() != MAGIC || data.get() != VERSION)
+            {
+                return Optional.empty();
+            }
+            final long cachedModified = data.getLong();
+            final long cachedHash = data.getLong();
+            final int width = data.getInt();
+            final int height = data.getInt();
+            final Transparency transparency = getTransparency(data.get());
+            final long length = OFFSET_PIXELS + (long) width * height * Integer.BYTES;
+
+            if (width < 1
+                || height < 1
+                || transparency == null
+                || length + Long.BYTES != size
+                || data.getLong((int) length) != getChecksum(data, (int) length))
+            {
+                return Optional.empty();
+            }
+            if (modified == 0L || modified != cachedModified)
+            {
+                if (source.getHash() != cachedHash)
+                {
+                    return Optional.empty();
+                }
+                touch(cache, modified);
+            }
+
+            final int[] pixels = new int[width * height];
+            data.position(OFFSET_PIXELS);
+            data.asIntBuffer().get(pixels);
+
+            final ImageBuffer buffer = factory.createImageBuffer(width, height, transparency);
+            buffer.setRgb(0, 0, width, height, pixels, 0, width);
+            return Optional.of(buffer);
+        }
+    }
+
+    /**
+     * Update cache source modification date, when source content is unchanged.
+     * 
+     * @param cache The cache file.
+     * @param modified The new source modification date.
+     * @throws IOException If unable to write.
+     */
+    private static void touch(File cache, long modified) throws IOException
+    {
+        if (modified != 0L)
+        {
+            try (FileChannel channel = FileChannel.open(cache.toPath(), StandardOpenOption.WRITE))
+            {
+                final ByteBuffer value = ByteBuffer.allocate(Long.BYTES);
+                value.putLong(modified);
+                value.flip();
+                channel.write(value, OFFSET_MODIFIED);
+            }
+        }
+    }
+
+    /**
+     * Write image to cache.
+     * 
+     * @param buffer The decoded image.
+     * @param source The image source, hashed once decoded.
+     * @param cache The cache file.
+     * @param modified The source modification date.
+     * @throws IOException If unable to write.
+     */
+    private static void write(ImageBuffer buffer, Source source, File cache, long modified) throws IOException
+    {
+        final int width = buffer.getWidth();
+        final int height = buffer.getHeight();
+        final long size = OFFSET_PIXELS + (long) width * height * Integer.BYTES + Long.BYTES;
+        if (size > Integer.MAX_VALUE)
+        {
+            throw new IOException(ERROR_WRITE + cache.getPath());
+        }
+
+        final ByteBuffer data = ByteBuffer.allocate((int) size);
+        data.putInt(MAGIC);
+        data.put(VERSION);
+        data.putLong(modified);
+        data.putLong(source.getHash());
+        data.putInt(width);
+        data.putInt(height);
+        data.put(getCode(buffer.getTransparency()));
+        data.asIntBuffer().put(buffer.getRgb(0, 0, width, height, new int[width * height], 0, width));
+
+        final int length = (int) size - Long.BYTES;
+        data.putLong(length, getChecksum(data, length));
+        data.position(0);
+
+        final File temp = new File(cache.getPath() + TEMP + Thread.currentThread().getId());
+        try (FileChannel channel = FileChannel.open(temp.toPath(),
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE))
+        {
+            while (data.hasRemaining())
+            {
+                channel.write(data);
+            }
+        }
+        Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Cache directory. */
+    private final File directory;
+
+    /**
+     * Create cache.
+     * 
+     * @param directory The cache directory, created if missing (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument or directory cannot be created.
+     */
+    public ImageCache(File directory)
+    {
+        super();
+
+        Check.notNull(directory);
+
+        if (!directory.isDirectory() && !directory.mkdirs())
+        {
+            throw new LionEngineException(ERROR_DIRECTORY + directory.getPath());
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Get an image buffer from cache, or decode and cache it if not cached or outdated.
+     * 
+     * @param factory The factory used to decode and create images (must not be <code>null</code>).
+     * @param media The image media (must not be <code>null</code>).
+     * @return The image buffer.
+     * @throws LionEngineException If invalid arguments or error when reading the image.
+     */
+    public ImageBuffer getImageBuffer(FactoryGraphic factory, Media media)
+    {
+        Check.notNull(factory);
+        Check.notNull(media);
+
+        final File cache = getCacheFile(media);
+        final long modified = getModified(media);
+        final Source source = new Source(media);
+        if (cache.isFile())
+        {
+            try
+            {
+                final Optional<ImageBuffer> buffer = read(factory, source, cache, modified);
+                if (buffer.isPresent())
+                {
+                    return buffer.get();
+                }
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception, cache.getPath());
+            }
+        }
+
+        final ImageBuffer buffer = factory.getImageBuffer(source);
+        try
+        {
+            write(buffer, source, cache, modified);
+        }
+        catch (final IOException exception)
+        {
+            Verbose.exception(exception, ERROR_WRITE, cache.getPath());
+        }
+        return buffer;
+    }
+
+    /**
+     * Get the cache file of a media.
+     * 
+     * @param media The image media (must not be <code>null</code>).
+     * @return The cache file, which may not exist.
+     * @throws LionEngineException If invalid argument.
+     */
+    public File getCacheFile(Media media)
+    {
+        Check.notNull(media);
+
+        return new File(directory, UtilChecksum.getSha(media.getPath()) + EXTENSION);
+    }
+
+    /**
+     * Image source, hashing its content while its first stream is read by decoder. Hash is computed from media only
+     * if needed before decoding, or if decoder did not read and close its first stream.
+     */
+    private static final class Source implements Media
+    {
+        /** Source media. */
+        private final Media media;
+        /** Decoded content checksum. */
+        private final CRC32 crc = new CRC32();
+        /** First stream opened flag. */
+        private boolean opened;
+        /** Content hash computed flag. */
+        private boolean hashed;
+        /** Content hash, if computed. */
+        private long hash;
+
+        /**
+         * Create source.
+         * 
+         * @param media The source media.
+         */
+        Source(Media media)
+        {
+            super();
+
+            this.media = media;
+        }
+
+        /**
+         * Get the content hash, computed once.
+         * 
+         * @return The content hash.
+         * @throws IOException If unable to read source.
+         */
+        long getHash() throws IOException
+        {
+            if (!hashed)
+            {
+                hash = ImageCache.getHash(media);
+                hashed = true;
+            }
+            return hash;
+        }
+
+        /**
+         * Read stream remaining content, and store its hash.
+         * 
+         * @param input The first stream.
+         */
+        void complete(InputStream input)
+        {
+            try
+            {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                while (input.read(buffer) > -1)
+                {
+                    // Hash content not read by decoder
+                }
+                hash = crc.getValue();
+                hashed = true;
+            }
+            catch (@SuppressWarnings("unused") final IOException exception)
+            {
+                // Hashed again from media on write
+            }
+        }
+
+        /*
+         * Media
+         */
+
+        @Override
+        public String getPath()
+        {
+            return media.getPath();
+        }
+
+        @Override
+        public String getParentPath()
+        {
+            return media.getParentPath();
+        }
+
+        @Override
+        public File getFile()
+        {
+            return media.getFile();
+        }
+
+        @Override
+        public Collection<Media> getMedias()
+        {
+            return media.getMedias();
+        }
+
+        @Override
+        public InputStream getInputStream()
+        {
+            final InputStream input = media.getInputStream();
+            if (opened || hashed)
+            {
+                return input;
+            }
+            opened = true;
+            return new CheckedInputStream(input, crc)
+            {
+                @Override
+                public void close() throws IOException
+                {
+                    complete(this);
+                    super.close();
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getOutputStream()
+        {
+            return media.getOutputStream();
+        }
+
+        @Override
+        public boolean exists()
+        {
+            return media.exists();
+        }
+
+        @Override
+        public String getName()
+        {
+            return media.getName();
+        }
+
+        @Override
+        public String toString()
+        {
+            return media.toString();
+        }
+    }
+}
@@ -147,6 +147,17 @@ public final class FileReading implements Closeable
         return in.readUTF();
     }
 
+    /**
+     * Read bytes until the array is full.
+     * 
+     * @param bytes The bytes destination.
+     * @throws IOException If read failed or not enough bytes.
+     */
+    public void readBytes(byte[] bytes) throws IOException
+    {
+        in.readFully(bytes);
+    }
+
     /*
      * Closeable
      */
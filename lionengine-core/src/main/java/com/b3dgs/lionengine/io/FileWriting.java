@@ -147,6 +147,17 @@ public final class FileWriting implements Closeable
         out.writeUTF(s);
     }
 
+    /**
+     * Write an array of bytes as is (without length).
+     * 
+     * @param bytes The bytes to write.
+     * @throws IOException If write failed.
+     */
+    public void writeBytes(byte[] bytes) throws IOException
+    {
+        out.write(bytes);
+    }
+
     /*
      * Closeable
      */
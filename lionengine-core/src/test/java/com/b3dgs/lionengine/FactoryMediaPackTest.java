@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrowsPrefix;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link FactoryMediaPack}.
+ */
+public final class FactoryMediaPackTest
+{
+    /** Resources directory. */
+    private static Path folder;
+    /** Pack file. */
+    private static File pack;
+
+    /**
+     * Prepare test.
+     * 
+     * @throws IOException If error.
+     */
+    @BeforeAll
+    public static void beforeTests() throws IOException
+    {
+        folder = Files.createTempDirectory("pack");
+        Files.createDirectories(folder.resolve("sub"));
+        Files.write(folder.resolve("a.txt"), "first".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("b.xml"), "second".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("sub").resolve("c.txt"), new byte[0]);
+
+        pack = Files.createTempFile("rsc", ".pack").toFile();
+        FactoryMediaPack.pack(folder.toFile(), pack);
+    }
+
+    /**
+     * Clean test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        UtilFolder.deleteDirectory(folder.toFile());
+        UtilFile.deleteFile(pack);
+        Medias.setFactoryMedia(new FactoryMediaDefault());
+    }
+
+    /**
+     * Read media content.
+     * 
+     * @param media The media to read.
+     * @return The media content.
+     * @throws IOException If error.
+     */
+    private static String read(Media media) throws IOException
+    {
+        try (InputStream input = media.getInputStream();
+             ByteArrayOutputStream output = new ByteArrayOutputStream())
+        {
+            UtilStream.copy(input, output);
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Test packed medias content.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testRead() throws IOException
+    {
+        final FactoryMedia factory = new FactoryMediaPack(pack);
+
+        final Media media = factory.create(Constant.SLASH, Constant.EMPTY_STRING, "a.txt");
+        assertTrue(media.exists());
+        assertEquals("a.txt", media.getName());
+        assertEquals("first", read(media));
+        assertEquals("second", read(factory.create(Constant.SLASH, Constant.EMPTY_STRING, "b.xml")));
+        assertEquals("", read(factory.create(Constant.SLASH, Constant.EMPTY_STRING, "sub", "c.txt")));
+
+        assertEquals(media, factory.create(Constant.SLASH, Constant.EMPTY_STRING, "a.txt"));
+        assertTrue(media == factory.create(Constant.SLASH, Constant.EMPTY_STRING, "a.txt"));
+    }
+
+    /**
+     * Test packed directories.
+     */
+    @Test
+    public void testDirectory()
+    {
+        final FactoryMedia factory = new FactoryMediaPack(pack);
+
+        final Media root = factory.create(Constant.SLASH, Constant.EMPTY_STRING, Constant.EMPTY_STRING);
+        final List<String> paths = new ArrayList<>();
+        root.getMedias().forEach(media -> paths.add(media.getPath()));
+        Collections.sort(paths);
+        assertEquals(Arrays.asList("a.txt", "b.xml", "sub"), paths);
+
+        final Media sub = factory.create(Constant.SLASH, Constant.EMPTY_STRING, "sub");
+        assertTrue(sub.exists());
+        assertEquals("sub/c.txt", sub.getMedias().iterator().next().getPath());
+        assertEquals("sub", sub.getMedias().iterator().next().getParentPath());
+
+        assertThrowsPrefix(() -> sub.getInputStream(), "[sub] " + MediaDefault.ERROR_OPEN_MEDIA);
+    }
+
+    /**
+     * Test medias not in pack are delegated.
+     */
+    @Test
+    public void testFallback()
+    {
+        final FactoryMedia factory = new FactoryMediaPack(pack);
+
+        final Media media = factory.create(Constant.SLASH, Constant.EMPTY_STRING, "void");
+        assertFalse(media instanceof MediaPack);
+        assertFalse(media.exists());
+    }
+
+    /**
+     * Test packed medias delegate to the context they were created with.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testFallbackContext() throws IOException
+    {
+        final FactoryMedia factory = new FactoryMediaPack(pack);
+        final FactoryMedia expected = new FactoryMediaDefault();
+
+        final Media first = factory.create(Constant.SLASH, "first", "a.txt");
+        final Media second = factory.create(Constant.SLASH, "second", "a.txt");
+
+        assertFalse(first == second);
+        assertTrue(first == factory.create(Constant.SLASH, "first", "a.txt"));
+        assertEquals("first", read(second));
+        assertEquals(expected.create(Constant.SLASH, "first", "a.txt").getFile(), first.getFile());
+        assertEquals(expected.create(Constant.SLASH, "second", "a.txt").getFile(), second.getFile());
+        assertEquals(expected.create(Constant.SLASH, "second", "sub").getFile(),
+                     factory.create(Constant.SLASH, "second", Constant.EMPTY_STRING)
+                            .getMedias()
+                            .stream()
+                            .filter(media -> "sub".equals(media.getPath()))
+                            .findFirst()
+                            .get()
+                            .getFile());
+    }
+
+    /**
+     * Test get by extension from packed directory.
+     */
+    @Test
+    public void testByExtension()
+    {
+        Medias.setFactoryMedia(new FactoryMediaPack(pack));
+
+        final List<Media> medias = Medias.getByExtension("txt", Medias.create(Constant.EMPTY_STRING));
+        assertEquals(1, medias.size());
+        assertEquals("a.txt", medias.get(0).getPath());
+    }
+
+    /**
+     * Test invalid pack.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalid() throws IOException
+    {
+        final File invalid = Files.createTempFile("invalid", ".pack").toFile();
+        Files.write(invalid.toPath(), new byte[]
+        {
+            1, 2, 3, 4, 5
+        });
+
+        assertThrowsPrefix(() -> new FactoryMediaPack(invalid), FactoryMediaPack.ERROR_FORMAT);
+
+        UtilFile.deleteFile(invalid);
+    }
+
+    /**
+     * Test pack with entry out of file, where offset and length sum overflows.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalidEntry() throws IOException
+    {
+        final File invalid = Files.createTempFile("invalid", ".pack").toFile();
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(invalid.toPath())))
+        {
+            output.writeInt(FactoryMediaPack.MAGIC);
+            output.writeByte(FactoryMediaPack.VERSION);
+            output.writeInt(1);
+            output.writeShort(1);
+            output.writeByte('a');
+            output.writeInt(Integer.MAX_VALUE - 1);
+            output.writeInt(Integer.MAX_VALUE - 1);
+        }
+
+        assertThrowsPrefix(() -> new FactoryMediaPack(invalid), FactoryMediaPack.ERROR_FORMAT);
+
+        UtilFile.deleteFile(invalid);
+    }
+}
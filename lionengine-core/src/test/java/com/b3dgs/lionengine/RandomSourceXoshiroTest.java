@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertArrayEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link RandomSourceXoshiro}.
+ */
+public final class RandomSourceXoshiroTest
+{
+    /**
+     * Test same seed gives same values.
+     */
+    @Test
+    public void testSeed()
+    {
+        final RandomSource expected = new RandomSourceXoshiro(42L);
+        final RandomSource random = new RandomSourceXoshiro(0L);
+        random.setSeed(42L);
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals(expected.nextLong(), random.nextLong(), String.valueOf(i));
+        }
+        assertNotEquals(new RandomSourceXoshiro(43L).nextInt(), new RandomSourceXoshiro(42L).nextInt());
+    }
+
+    /**
+     * Test split streams are deterministic and independent.
+     */
+    @Test
+    public void testSplit()
+    {
+        final RandomSource a = new RandomSourceXoshiro(7L);
+        final RandomSource b = new RandomSourceXoshiro(7L);
+
+        final RandomSource splitA = a.split();
+        final RandomSource splitB = b.split();
+        final long first = splitA.nextLong();
+
+        assertEquals(first, splitB.nextLong(), "split");
+        assertEquals(a.nextLong(), b.nextLong(), "source");
+        assertEquals(a.split().nextLong(), b.split().nextLong(), "split again");
+        assertNotEquals(Long.valueOf(first), Long.valueOf(new RandomSourceXoshiro(7L).split().split().nextLong()));
+    }
+
+    /**
+     * Test values bounds.
+     */
+    @Test
+    public void testBounds()
+    {
+        final RandomSource random = new RandomSourceXoshiro(1L);
+        final boolean[] found = new boolean[5];
+        for (int i = 0; i < 1000; i++)
+        {
+            final int value = random.nextInt(-2, 2);
+            assertTrue(value >= -2 && value <= 2);
+            found[value + 2] = true;
+
+            final double current = random.nextDouble();
+            assertTrue(current >= 0.0 && current < 1.0);
+        }
+        assertArrayEquals(new boolean[]
+        {
+            true, true, true, true, true
+        }, found);
+
+        assertEquals(3, random.nextInt(3, 3));
+        random.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertThrows(() -> random.nextInt(1, 0), Check.ERROR_ARGUMENT + 1 + Check.ERROR_INFERIOR + 0);
+    }
+
+    /**
+     * Test bulk fill.
+     */
+    @Test
+    public void testFill()
+    {
+        final RandomSource expected = new RandomSourceXoshiro(5L);
+        final RandomSource random = new RandomSourceXoshiro(5L);
+
+        final int[] values = new int[64];
+        random.fill(values, 10, 20);
+        for (final int value : values)
+        {
+            assertEquals(expected.nextInt(10, 20), value);
+        }
+
+        final double[] doubles = new double[64];
+        random.fill(doubles);
+        for (final double value : doubles)
+        {
+            assertEquals(expected.nextDouble(), value);
+        }
+    }
+}
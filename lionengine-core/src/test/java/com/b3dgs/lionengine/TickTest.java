@@ -21,6 +21,9 @@ import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
@@ -57,6 +60,85 @@ public final class TickTest
         assertTrue(action.get());
     }
 
+    /**
+     * Test delayed actions execution order.
+     */
+    @Test
+    public void testActionsOrder()
+    {
+        final List<Integer> executed = new ArrayList<>();
+        tick.addAction(() -> executed.add(Integer.valueOf(3)), 3L);
+        tick.addAction(() -> executed.add(Integer.valueOf(1)), 1L);
+        tick.addAction(() -> executed.add(Integer.valueOf(2)), 3L);
+        tick.addAction(() -> executed.add(Integer.valueOf(0)), 1L);
+        tick.start();
+
+        assertEquals(4, tick.getActionsPending());
+
+        tick.update(1.0);
+
+        assertEquals(Arrays.asList(Integer.valueOf(1), Integer.valueOf(0)), executed);
+        assertEquals(2, tick.getActionsPending());
+
+        tick.update(1.0);
+        tick.update(1.0);
+
+        assertEquals(Arrays.asList(Integer.valueOf(1), Integer.valueOf(0), Integer.valueOf(3), Integer.valueOf(2)),
+                     executed);
+        assertEquals(0, tick.getActionsPending());
+    }
+
+    /**
+     * Test delayed action cancel.
+     */
+    @Test
+    public void testCancelAction()
+    {
+        final AtomicBoolean action = new AtomicBoolean();
+        final TickActionHandle handle = tick.addAction(() -> action.set(true), 1L);
+        final TickActionHandle other = tick.addAction(() -> action.set(true), 2L);
+
+        assertTrue(handle.isPending());
+
+        handle.cancel();
+        handle.cancel();
+
+        assertFalse(handle.isPending());
+        assertEquals(1, tick.getActionsPending());
+
+        tick.start();
+        tick.update(1.0);
+
+        assertFalse(action.get());
+
+        other.cancel();
+
+        assertEquals(0, tick.getActionsPending());
+
+        tick.update(1.0);
+
+        assertFalse(action.get());
+    }
+
+    /**
+     * Test delayed action cancel after execution.
+     */
+    @Test
+    public void testCancelActionExecuted()
+    {
+        final AtomicBoolean action = new AtomicBoolean();
+        final TickActionHandle handle = tick.addAction(() -> action.set(true), 0L);
+        tick.start();
+        tick.update(1.0);
+
+        assertTrue(action.get());
+        assertFalse(handle.isPending());
+
+        handle.cancel();
+
+        assertEquals(0, tick.getActionsPending());
+    }
+
     /**
      * Test add <code>null</code> action.
      */
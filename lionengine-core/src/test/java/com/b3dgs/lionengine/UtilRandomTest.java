@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine;
 
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
 import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
@@ -53,6 +54,39 @@ public final class UtilRandomTest
         assertTrue(UtilRandom.getRandomInteger(Range.INT_POSITIVE_STRICT) >= 0);
     }
 
+    /**
+     * Test seed makes values deterministic.
+     */
+    @Test
+    public void testSeed()
+    {
+        UtilRandom.setSeed(123L);
+        final int first = UtilRandom.getRandomInteger();
+        final double second = UtilRandom.getRandomDouble();
+        final RandomSource split = UtilRandom.split();
+
+        UtilRandom.setSeed(123L);
+
+        assertEquals(first, UtilRandom.getRandomInteger());
+        assertEquals(second, UtilRandom.getRandomDouble());
+        assertEquals(split.nextLong(), UtilRandom.split().nextLong(), "split");
+    }
+
+    /**
+     * Test random source delegation.
+     */
+    @Test
+    public void testSetRandom()
+    {
+        final RandomSource expected = new RandomSourceXoshiro(9L).split();
+        UtilRandom.setRandom(new RandomSourceXoshiro(9L));
+
+        assertEquals(expected.nextInt(), UtilRandom.getRandomInteger());
+        assertEquals(expected.nextInt(0, 10), UtilRandom.getRandomInteger(10));
+        assertEquals(expected.nextBoolean(), UtilRandom.getRandomBoolean());
+        assertThrows(() -> UtilRandom.setRandom(null), Check.ERROR_NULL);
+    }
+
     /**
      * Test get random integer with <code>null</code> argument.
      */
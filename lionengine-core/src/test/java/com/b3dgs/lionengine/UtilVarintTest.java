@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link UtilVarint}.
+ */
+public final class UtilVarintTest
+{
+    /** Tested values. */
+    private static final int[] VALUES =
+    {
+        0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1, -64, -65, Integer.MIN_VALUE
+    };
+
+    /**
+     * Test the constructor.
+     */
+    @Test
+    public void testConstructorPrivate()
+    {
+        assertPrivateConstructor(UtilVarint.class);
+    }
+
+    /**
+     * Test encoded length.
+     */
+    @Test
+    public void testLength()
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        UtilVarint.write(out, 127);
+        assertEquals(1, out.size());
+
+        out.reset();
+        UtilVarint.write(out, 128);
+        assertEquals(2, out.size());
+
+        out.reset();
+        UtilVarint.write(out, -1);
+        assertEquals(UtilVarint.MAX_LENGTH, out.size());
+
+        out.reset();
+        UtilVarint.writeSigned(out, -64);
+        assertEquals(1, out.size());
+    }
+
+    /**
+     * Test write and read with streams.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testStream() throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (final int value : VALUES)
+        {
+            UtilVarint.write(out, value);
+            UtilVarint.writeSigned(out, value);
+        }
+
+        final InputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (final int value : VALUES)
+        {
+            assertEquals(value, UtilVarint.read(in));
+            assertEquals(value, UtilVarint.readSigned(in));
+        }
+        assertEquals(-1, in.read());
+    }
+
+    /**
+     * Test write and read with buffer.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testBuffer() throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (final int value : VALUES)
+        {
+            UtilVarint.write(out, value);
+            UtilVarint.writeSigned(out, value);
+        }
+
+        final ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+        for (final int value : VALUES)
+        {
+            assertEquals(value, UtilVarint.read(in));
+            assertEquals(value, UtilVarint.readSigned(in));
+        }
+        assertEquals(0, in.remaining());
+    }
+
+    /**
+     * Test signed encoding.
+     */
+    @Test
+    public void testSigned()
+    {
+        assertEquals(0, UtilVarint.encodeSigned(0));
+        assertEquals(1, UtilVarint.encodeSigned(-1));
+        assertEquals(2, UtilVarint.encodeSigned(1));
+        assertEquals(-1, UtilVarint.encodeSigned(Integer.MIN_VALUE));
+
+        for (final int value : VALUES)
+        {
+            assertEquals(value, UtilVarint.decodeSigned(UtilVarint.encodeSigned(value)));
+        }
+    }
+
+    /**
+     * Test truncated value.
+     */
+    @Test
+    public void testTruncated()
+    {
+        final byte[] data =
+        {
+            (byte) 0x80, (byte) 0x80
+        };
+
+        assertThrows(EOFException.class, () -> UtilVarint.read(new ByteArrayInputStream(data)), null);
+        assertThrows(EOFException.class, () -> UtilVarint.read(ByteBuffer.wrap(data)), null);
+    }
+
+    /**
+     * Test too long value.
+     */
+    @Test
+    public void testTooLong()
+    {
+        final byte[] data =
+        {
+            (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0
+        };
+
+        assertThrows(IOException.class,
+                     () -> UtilVarint.read(new ByteArrayInputStream(data)),
+                     UtilVarint.ERROR_LENGTH);
+        assertThrows(IOException.class, () -> UtilVarint.read(ByteBuffer.wrap(data)), UtilVarint.ERROR_LENGTH);
+    }
+}
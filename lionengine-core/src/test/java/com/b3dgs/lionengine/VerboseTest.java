@@ -16,13 +16,19 @@
  */
 package com.b3dgs.lionengine;
 
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.lang.reflect.Method;
 import java.security.Permission;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Formatter;
 import java.util.logging.Handler;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
@@ -73,6 +79,69 @@ public final class VerboseTest
         Verbose.info("****************************************************************************************");
     }
 
+    /**
+     * Test asynchronous verbose.
+     */
+    @Test
+    public void testAsync()
+    {
+        Verbose.setAsync(16);
+        try
+        {
+            assertTrue(Verbose.isAsync());
+
+            Verbose.info("*********************************** EXPECTED VERBOSE ***********************************");
+            testVerbose(Verbose.INFORMATION);
+            testVerbose(Verbose.WARNING);
+            testVerbose(Verbose.CRITICAL);
+            Verbose.set(Verbose.INFORMATION, Verbose.WARNING, Verbose.CRITICAL);
+            Verbose.info("****************************************************************************************");
+            Verbose.flush();
+        }
+        finally
+        {
+            Verbose.setAsync(0);
+        }
+
+        assertFalse(Verbose.isAsync());
+        assertTrue(Verbose.getDropped() == 0L);
+        assertThrows(() -> Verbose.setAsync(-1), Check.ERROR_ARGUMENT + -1 + Check.ERROR_SUPERIOR + 0);
+    }
+
+    /**
+     * Test asynchronous writer with dropped records.
+     */
+    @Test
+    public void testAsyncDropped()
+    {
+        final Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        final Records records = new Records();
+        logger.addHandler(records);
+
+        final VerboseWriter writer = new VerboseWriter(logger, 2);
+
+        assertTrue(writer.offer(Level.INFO, null, null, null, "a", "b"));
+        assertTrue(writer.offer(Level.WARNING, "class", "function", null, "c"));
+        assertFalse(writer.offer(Level.INFO, null, null, null, "d"));
+        assertTrue(writer.getDropped() == 1L);
+
+        writer.start();
+        writer.flush();
+        writer.stop();
+
+        assertEquals(3, records.get().size());
+        assertEquals("ab", records.get().get(0).getMessage());
+        assertEquals("class", records.get().get(1).getSourceClassName());
+        assertEquals("function", records.get().get(1).getSourceMethodName());
+        assertEquals(Level.WARNING, records.get().get(2).getLevel());
+
+        assertTrue(writer.isClosed());
+        assertFalse(writer.offer(Level.INFO, null, null, null, "e"));
+        assertTrue(writer.getDropped() == 1L);
+        assertEquals(3, records.get().size());
+    }
+
     /**
      * Test <code>null</code> class warning.
      */
@@ -205,4 +274,49 @@ public final class VerboseTest
             return null;
         }
     }
+
+    /**
+     * Records handler.
+     */
+    private static final class Records extends Handler
+    {
+        /** Published records. */
+        private final List<LogRecord> records = new ArrayList<>();
+
+        /**
+         * Constructor.
+         */
+        Records()
+        {
+            super();
+        }
+
+        /**
+         * Get published records.
+         * 
+         * @return The published records.
+         */
+        List<LogRecord> get()
+        {
+            return records;
+        }
+
+        @Override
+        public void publish(LogRecord record)
+        {
+            records.add(record);
+        }
+
+        @Override
+        public void flush()
+        {
+            // Nothing to do
+        }
+
+        @Override
+        public void close()
+        {
+            // Nothing to do
+        }
+    }
 }
@@ -84,6 +84,12 @@ public class FactoryGraphicMock implements FactoryGraphic
         return new ImageBufferMock(width, height);
     }
 
+    @Override
+    public ImageBuffer createImageBuffer(int width, int height, Transparency transparency)
+    {
+        return new ImageBufferMock(width, height);
+    }
+
     @Override
     public ImageBuffer getImageBuffer(Media media)
     {
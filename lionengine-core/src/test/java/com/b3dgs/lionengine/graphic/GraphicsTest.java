@@ -147,6 +147,20 @@ public final class GraphicsTest
         imageBuffer.dispose();
     }
 
+    /**
+     * Test create image buffer with transparency.
+     */
+    @Test
+    public void testCreateImageBufferTransparency()
+    {
+        final ImageBuffer imageBuffer = Graphics.createImageBuffer(16, 32, Transparency.TRANSLUCENT);
+
+        assertEquals(16, imageBuffer.getWidth());
+        assertEquals(32, imageBuffer.getHeight());
+
+        imageBuffer.dispose();
+    }
+
     /**
      * Test get image buffer from image.
      */
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.graphic;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Constant;
+import com.b3dgs.lionengine.FactoryMediaDefault;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilFolder;
+
+/**
+ * Test {@link ImageCache}.
+ */
+public final class ImageCacheTest
+{
+    /** Decoded images count. */
+    private static final AtomicInteger DECODED = new AtomicInteger();
+    /** Factory reference. */
+    private static final FactoryGraphic FACTORY = new FactoryGraphicMock()
+    {
+        @Override
+        public ImageBuffer getImageBuffer(Media media)
+        {
+            DECODED.incrementAndGet();
+            final ImageBuffer buffer = super.getImageBuffer(media);
+            for (int y = 0; y < buffer.getHeight(); y++)
+            {
+                for (int x = 0; x < buffer.getWidth(); x++)
+                {
+                    buffer.setRgb(x, y, x * 31 + y);
+                }
+            }
+            return buffer;
+        }
+    };
+
+    /**
+     * Prepare tests.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setFactoryMedia(new FactoryMediaDefault());
+        Medias.setLoadFromJar(ImageCacheTest.class);
+        Graphics.setFactoryGraphic(FACTORY);
+    }
+
+    /**
+     * Clean up tests.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /** Cache directory. */
+    private File directory;
+
+    /**
+     * Prepare test.
+     * 
+     * @throws IOException If error.
+     */
+    @BeforeEach
+    public void before() throws IOException
+    {
+        directory = Files.createTempDirectory("cache").toFile();
+        DECODED.set(0);
+    }
+
+    /**
+     * Clean test.
+     */
+    @AfterEach
+    public void after()
+    {
+        Graphics.setImageCache(null);
+        UtilFolder.deleteDirectory(directory);
+    }
+
+    /**
+     * Check images have same pixels.
+     * 
+     * @param expected The expected image.
+     * @param buffer The image to check.
+     */
+    private static void assertPixels(ImageBuffer expected, ImageBuffer buffer)
+    {
+        assertEquals(expected.getWidth(), buffer.getWidth());
+        assertEquals(expected.getHeight(), buffer.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++)
+        {
+            for (int x = 0; x < expected.getWidth(); x++)
+            {
+                assertEquals(expected.getRgb(x, y), buffer.getRgb(x, y));
+            }
+        }
+    }
+
+    /**
+     * Get file content hash.
+     * 
+     * @param file The file.
+     * @return The content hash.
+     * @throws IOException If error.
+     */
+    private static long getHash(File file) throws IOException
+    {
+        final CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        return crc.getValue();
+    }
+
+    /**
+     * Get content hash stored in cache.
+     * 
+     * @param cache The cache file.
+     * @return The stored content hash.
+     * @throws IOException If error.
+     */
+    private static long getCachedHash(File cache) throws IOException
+    {
+        try (RandomAccessFile file = new RandomAccessFile(cache, "r"))
+        {
+            file.seek(Integer.BYTES + Byte.BYTES + Long.BYTES);
+            return file.readLong();
+        }
+    }
+
+    /**
+     * Test image is decoded once, then read from cache.
+     */
+    @Test
+    public void testCache()
+    {
+        final ImageCache cache = new ImageCache(directory);
+        final Media media = Medias.create("image.png");
+
+        final ImageBuffer decoded = cache.getImageBuffer(FACTORY, media);
+        assertEquals(1, DECODED.get());
+        assertTrue(cache.getCacheFile(media).isFile());
+
+        final ImageBuffer cached = cache.getImageBuffer(FACTORY, media);
+        assertEquals(1, DECODED.get());
+        assertPixels(decoded, cached);
+    }
+
+    /**
+     * Test cache is used through {@link Graphics}.
+     */
+    @Test
+    public void testGraphics()
+    {
+        final Media media = Medias.create("image.png");
+        final ImageBuffer decoded = Graphics.getImageBuffer(media);
+
+        Graphics.setImageCache(new ImageCache(directory));
+        Graphics.getImageBuffer(media);
+        assertPixels(decoded, Graphics.getImageBuffer(media));
+        assertEquals(2, DECODED.get());
+    }
+
+    /**
+     * Test source modification date change with same content keeps cache, and updates its date.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testModified() throws IOException
+    {
+        final ImageCache cache = new ImageCache(directory);
+        final Media media = Medias.create("image.png");
+        cache.getImageBuffer(FACTORY, media);
+
+        try (RandomAccessFile file = new RandomAccessFile(cache.getCacheFile(media), "rw"))
+        {
+            file.seek(Integer.BYTES + Byte.BYTES);
+            file.writeLong(1L);
+        }
+
+        cache.getImageBuffer(FACTORY, media);
+        assertEquals(1, DECODED.get());
+
+        try (RandomAccessFile file = new RandomAccessFile(cache.getCacheFile(media), "r"))
+        {
+            file.seek(Integer.BYTES + Byte.BYTES);
+            assertEquals(Medias.create("image.png").getFile().lastModified(), file.readLong(), "modified");
+        }
+    }
+
+    /**
+     * Test source content change is decoded again, and content hash is stored.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testChanged() throws IOException
+    {
+        final File folder = new File(directory, "source");
+        assertTrue(folder.mkdir());
+        final File file = new File(folder, "image.png");
+        try (InputStream input = Medias.create("image.png").getInputStream())
+        {
+            Files.copy(input, file.toPath());
+        }
+        final Media media = new FactoryMediaDefault().create(File.separator, folder.getPath(), file.getName());
+        final ImageCache cache = new ImageCache(directory);
+        cache.getImageBuffer(FACTORY, media);
+
+        assertEquals(1, DECODED.get());
+        assertEquals(getHash(file), getCachedHash(cache.getCacheFile(media)), "hash");
+
+        Files.write(file.toPath(), new byte[]
+        {
+            1, 2, 3
+        }, StandardOpenOption.APPEND);
+        assertTrue(file.setLastModified(file.lastModified() + Constant.ONE_SECOND_IN_MILLI * 2L));
+        cache.getImageBuffer(FACTORY, media);
+
+        assertEquals(2, DECODED.get());
+        assertEquals(getHash(file), getCachedHash(cache.getCacheFile(media)), "hash");
+
+        cache.getImageBuffer(FACTORY, media);
+
+        assertEquals(2, DECODED.get());
+    }
+
+    /**
+     * Test corrupted cache is decoded again.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testCorrupted() throws IOException
+    {
+        final ImageCache cache = new ImageCache(directory);
+        final Media media = Medias.create("image.png");
+        final ImageBuffer decoded = cache.getImageBuffer(FACTORY, media);
+
+        try (RandomAccessFile file = new RandomAccessFile(cache.getCacheFile(media), "rw"))
+        {
+            final long position = file.length() - Long.BYTES - 1L;
+            file.seek(position);
+            final int value = file.read();
+            file.seek(position);
+            file.write(value + 1);
+        }
+
+        assertPixels(decoded, cache.getImageBuffer(FACTORY, media));
+        assertEquals(2, DECODED.get());
+    }
+
+    /**
+     * Test invalid directory.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalidDirectory() throws IOException
+    {
+        final File file = new File(directory, "file");
+        assertTrue(file.createNewFile());
+        assertFalse(file.isDirectory());
+
+        assertThrows(() -> new ImageCache(file), ImageCache.ERROR_DIRECTORY + file.getPath());
+    }
+}
@@ -17,10 +17,12 @@
 package com.b3dgs.lionengine.io;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
@@ -41,6 +43,10 @@ public final class FileWritingReadingTest
     private static final long LONG_VALUE = 6L;
     private static final double DOUBLE_VALUE = 7.1;
     private static final String STRING_VALUE = "string";
+    private static final byte[] BYTES_VALUE = new byte[]
+    {
+        8, 9, 10
+    };
 
     /** Default test file data. */
     private Media fileData;
@@ -87,6 +93,7 @@ public final class FileWritingReadingTest
             writing.writeLong(LONG_VALUE);
             writing.writeDouble(DOUBLE_VALUE);
             writing.writeString(STRING_VALUE);
+            writing.writeBytes(BYTES_VALUE);
         }
     }
 
@@ -108,6 +115,11 @@ public final class FileWritingReadingTest
             assertEquals(LONG_VALUE, reading.readLong());
             assertEquals(DOUBLE_VALUE, reading.readDouble());
             assertEquals(STRING_VALUE, reading.readString());
+
+            final byte[] bytes = new byte[BYTES_VALUE.length];
+            reading.readBytes(bytes);
+
+            assertTrue(Arrays.equals(BYTES_VALUE, bytes));
         }
     }
 }
@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.FeatureProvider;
+import com.b3dgs.lionengine.graphic.Graphic;
+
+/**
+ * Renderer component implementation which render only the {@link Displayable} elements inside the {@link Camera}
+ * view, with the same {@link Layerable} ordering as {@link ComponentDisplayable}.
+ * <p>
+ * Elements with a {@link Transformable} are stored in a uniform grid of square cells, updated on
+ * {@link TransformableListener#notifyTransformed(Transformable)}. Each frame, only the cells around the camera view,
+ * extended by a margin and by the largest element size, are visited. Elements without {@link Transformable} are always
+ * rendered.
+ * </p>
+ * <p>
+ * Drawn and culled counts of the last frame are available with {@link #getDrawn()} and {@link #getCulled()}.
+ * </p>
+ */
+public class ComponentDisplayableCulled implements ComponentRenderer, HandlerListener, LayerableListener,
+                                        TransformableListener
+{
+    /** Default layer value. */
+    private static final Integer LAYER_DEFAULT = Integer.valueOf(0);
+
+    /**
+     * Get the featurable layer.
+     * 
+     * @param featurable The featurable reference.
+     * @return The featurable layer if is {@link Layerable}, {@link #LAYER_DEFAULT} else.
+     */
+    private static Integer getLayer(FeatureProvider featurable)
+    {
+        if (featurable.hasFeature(Layerable.class))
+        {
+            return featurable.getFeature(Layerable.class).getLayerDisplay();
+        }
+        return LAYER_DEFAULT;
+    }
+
+    /**
+     * Get the cell key.
+     * 
+     * @param cx The horizontal cell index.
+     * @param cy The vertical cell index.
+     * @return The cell key.
+     */
+    private static long getKey(int cx, int cy)
+    {
+        return (long) cx << Integer.SIZE | cy & 0xFFFF_FFFFL;
+    }
+
+    /** Indexed elements by displayable. */
+    private final Map<Displayable, Element> elements = new HashMap<>();
+    /** Indexed elements by transformable. */
+    private final Map<Transformable, Element> transformables = new HashMap<>();
+    /** Grid cells by key. */
+    private final Map<Long, List<Element>> cells = new HashMap<>();
+    /** Elements without location, always rendered. */
+    private final List<Element> unbounded = new ArrayList<>();
+    /** Visible displayables by sorted layer, reused between frames. */
+    private final Map<Integer, List<Displayable>> visible = new TreeMap<>();
+    /** Camera reference. */
+    private final Camera camera;
+    /** Cell size in pixel. */
+    private final int cellSize;
+    /** View extension in pixel. */
+    private final int margin;
+    /** Largest element width. */
+    private int maxWidth;
+    /** Largest element height. */
+    private int maxHeight;
+    /** Last frame drawn count. */
+    private int drawn;
+    /** Last frame culled count. */
+    private int culled;
+
+    /**
+     * Create component.
+     * 
+     * @param camera The camera reference (must not be <code>null</code>).
+     * @param cellSize The grid cell size in pixel (must be strictly positive).
+     * @param margin The view extension in pixel, for elements rendered outside of their bounds (must be positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public ComponentDisplayableCulled(Camera camera, int cellSize, int margin)
+    {
+        super();
+
+        Check.notNull(camera);
+        Check.superiorStrict(cellSize, 0);
+        Check.superiorOrEqual(margin, 0);
+
+        this.camera = camera;
+        this.cellSize = cellSize;
+        this.margin = margin;
+    }
+
+    /**
+     * Get the last frame rendered elements number.
+     * 
+     * @return The drawn count.
+     */
+    public int getDrawn()
+    {
+        return drawn;
+    }
+
+    /**
+     * Get the last frame skipped elements number.
+     * 
+     * @return The culled count.
+     */
+    public int getCulled()
+    {
+        return culled;
+    }
+
+    /**
+     * Get the cell index of a location.
+     * 
+     * @param value The location value.
+     * @return The cell index.
+     */
+    private int getCell(double value)
+    {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    /**
+     * Store element in its current cell.
+     * 
+     * @param element The element to store.
+     */
+    private void insert(Element element)
+    {
+        final Transformable transformable = element.transformable;
+        maxWidth = Math.max(maxWidth, transformable.getWidth());
+        maxHeight = Math.max(maxHeight, transformable.getHeight());
+
+        element.key = getKey(getCell(transformable.getX()), getCell(transformable.getY()));
+        final List<Element> cell = cells.computeIfAbsent(Long.valueOf(element.key), k -> new ArrayList<>());
+        element.index = cell.size();
+        cell.add(element);
+    }
+
+    /**
+     * Remove element from its cell, by replacing it with the last cell element.
+     * 
+     * @param element The element to remove.
+     */
+    private void extract(Element element)
+    {
+        final Long key = Long.valueOf(element.key);
+        final List<Element> cell = cells.get(key);
+        final Element last = cell.remove(cell.size() - 1);
+        if (last != element)
+        {
+            cell.set(element.index, last);
+            last.index = element.index;
+        }
+        if (cell.isEmpty())
+        {
+            cells.remove(key);
+        }
+    }
+
+    /**
+     * Add element to its visible layer.
+     * 
+     * @param element The visible element.
+     */
+    private void show(Element element)
+    {
+        visible.computeIfAbsent(element.layer, k -> new ArrayList<>()).add(element.displayable);
+    }
+
+    /**
+     * Collect visible elements from cells intersecting the extended camera view.
+     */
+    private void collect()
+    {
+        final double left = camera.getX() + camera.getViewX() - margin;
+        final double right = left + camera.getWidth() + margin * 2.0;
+        final double bottom = camera.getY() - camera.getViewY() - margin;
+        final double top = bottom + camera.getHeight() + margin * 2.0;
+
+        final int minX = getCell(left - maxWidth);
+        final int maxX = getCell(right + maxWidth);
+        final int minY = getCell(bottom - maxHeight);
+        final int maxY = getCell(top + maxHeight);
+
+        for (int cy = minY; cy <= maxY; cy++)
+        {
+            for (int cx = minX; cx <= maxX; cx++)
+            {
+                final List<Element> cell = cells.get(Long.valueOf(getKey(cx, cy)));
+                if (cell != null)
+                {
+                    final int n = cell.size();
+                    for (int i = 0; i < n; i++)
+                    {
+                        final Element element = cell.get(i);
+                        final Transformable transformable = element.transformable;
+                        final double x = transformable.getX();
+                        final double y = transformable.getY();
+                        final int width = transformable.getWidth();
+                        final int height = transformable.getHeight();
+                        if (x + width >= left && x - width <= right && y + height >= bottom && y - height <= top)
+                        {
+                            show(element);
+                            drawn++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * ComponentRenderer
+     */
+
+    @Override
+    public void render(Graphic g, Handlables featurables)
+    {
+        for (final List<Displayable> displayables : visible.values())
+        {
+            displayables.clear();
+        }
+        drawn = 0;
+
+        final int n = unbounded.size();
+        for (int i = 0; i < n; i++)
+        {
+            show(unbounded.get(i));
+        }
+        drawn += n;
+        collect();
+        culled = elements.size() - drawn;
+
+        for (final List<Displayable> displayables : visible.values())
+        {
+            final int count = displayables.size();
+            for (int i = 0; i < count; i++)
+            {
+                displayables.get(i).render(g);
+            }
+        }
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Displayable.class))
+        {
+            final Displayable displayable = featurable.getFeature(Displayable.class);
+            final Element element = new Element(displayable, getLayer(featurable));
+            elements.put(displayable, element);
+
+            if (featurable.hasFeature(Transformable.class))
+            {
+                element.transformable = featurable.getFeature(Transformable.class);
+                transformables.put(element.transformable, element);
+                element.transformable.addListener(this);
+                insert(element);
+            }
+            else
+            {
+                unbounded.add(element);
+            }
+        }
+        if (featurable.hasFeature(Layerable.class))
+        {
+            featurable.getFeature(Layerable.class).addListener(this);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (featurable.hasFeature(Displayable.class))
+        {
+            final Element element = elements.remove(featurable.getFeature(Displayable.class));
+            if (element != null)
+            {
+                if (element.transformable != null)
+                {
+                    element.transformable.removeListener(this);
+                    transformables.remove(element.transformable);
+                    extract(element);
+                }
+                else
+                {
+                    unbounded.remove(element);
+                }
+            }
+        }
+        if (featurable.hasFeature(Layerable.class))
+        {
+            featurable.getFeature(Layerable.class).removeListener(this);
+        }
+    }
+
+    /*
+     * LayerableListener
+     */
+
+    @Override
+    public void notifyLayerChanged(FeatureProvider provider,
+                                   Integer layerRefreshOld,
+                                   Integer layerRefreshNew,
+                                   Integer layerDisplayOld,
+                                   Integer layerDisplayNew)
+    {
+        if (provider.hasFeature(Displayable.class))
+        {
+            final Element element = elements.get(provider.getFeature(Displayable.class));
+            if (element != null && layerDisplayNew != null)
+            {
+                element.layer = layerDisplayNew;
+            }
+        }
+    }
+
+    /*
+     * TransformableListener
+     */
+
+    @Override
+    public void notifyTransformed(Transformable transformable)
+    {
+        final Element element = transformables.get(transformable);
+        if (element != null)
+        {
+            maxWidth = Math.max(maxWidth, transformable.getWidth());
+            maxHeight = Math.max(maxHeight, transformable.getHeight());
+
+            final long key = getKey(getCell(transformable.getX()), getCell(transformable.getY()));
+            if (key != element.key)
+            {
+                extract(element);
+                insert(element);
+            }
+        }
+    }
+
+    /**
+     * Indexed displayable data.
+     */
+    private static final class Element
+    {
+        /** Displayable reference. */
+        private final Displayable displayable;
+        /** Transformable reference, <code>null</code> if unbounded. */
+        private Transformable transformable;
+        /** Display layer. */
+        private Integer layer;
+        /** Current cell key. */
+        private long key;
+        /** Index in current cell. */
+        private int index;
+
+        /**
+         * Create data.
+         * 
+         * @param displayable The displayable reference.
+         * @param layer The display layer.
+         */
+        private Element(Displayable displayable, Integer layer)
+        {
+            super();
+
+            this.displayable = displayable;
+            this.layer = layer;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.graphic.Graphic;
+
+/**
+ * Renderer component implementation which render {@link Displayable} elements sorted by depth, for top-down and
+ * isometric scenes where elements must be drawn from back to front.
+ * <p>
+ * Elements are kept in an array sorted by a {@link DisplayableOrder} or by a custom {@link Comparator}. As most
+ * elements only move slightly between two frames, the array is not fully sorted each frame: an insertion pass moves
+ * each out of order element back to its place, which is linear when the order did not change.
+ * </p>
+ * <p>
+ * Draw order is stable: elements with the same depth (and the same layer when ordered by layer) are always drawn in
+ * the order they were added, whatever their previous order. Elements without {@link Transformable} are considered at
+ * vertical location <code>0</code>, and elements without {@link Layerable} are in layer <code>0</code>.
+ * </p>
+ * <p>
+ * Number of moved elements during the last pass is available with {@link #getMoved()}.
+ * </p>
+ */
+public class ComponentDisplayableSorted implements ComponentRenderer, HandlerListener
+{
+    /** Initial capacity. */
+    private static final int CAPACITY = 16;
+
+    /** Removed elements, compacted on next render. */
+    private final Set<Featurable> removed = new HashSet<>();
+    /** Draw order, <code>null</code> if using comparator. */
+    private final DisplayableOrder order;
+    /** Custom comparator, <code>null</code> if using order. */
+    private final Comparator<Featurable> comparator;
+    /** Sorted elements. */
+    private Element[] elements = new Element[CAPACITY];
+    /** Elements number. */
+    private int count;
+    /** Next insertion sequence. */
+    private long sequence;
+    /** Last pass moved count. */
+    private int moved;
+
+    /**
+     * Create component ordered by layer, then by depth.
+     */
+    public ComponentDisplayableSorted()
+    {
+        this(DisplayableOrder.LAYER_DEPTH);
+    }
+
+    /**
+     * Create component.
+     * 
+     * @param order The draw order (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ComponentDisplayableSorted(DisplayableOrder order)
+    {
+        super();
+
+        Check.notNull(order);
+
+        this.order = order;
+        comparator = null;
+    }
+
+    /**
+     * Create component with a custom order. Elements considered equal by the comparator are drawn in insertion order.
+     * 
+     * @param comparator The draw order comparator, lower drawn first (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public ComponentDisplayableSorted(Comparator<Featurable> comparator)
+    {
+        super();
+
+        Check.notNull(comparator);
+
+        order = null;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Get the sorted elements number.
+     * 
+     * @return The elements number.
+     */
+    public int getCount()
+    {
+        return count - removed.size();
+    }
+
+    /**
+     * Get the number of elements moved during the last sorting pass.
+     * 
+     * @return The moved count.
+     */
+    public int getMoved()
+    {
+        return moved;
+    }
+
+    /**
+     * Remove elements marked as removed, keeping order of the others.
+     */
+    private void compact()
+    {
+        int next = 0;
+        for (int i = 0; i < count; i++)
+        {
+            final Element element = elements[i];
+            if (!removed.contains(element.featurable))
+            {
+                elements[next] = element;
+                next++;
+            }
+        }
+        Arrays.fill(elements, next, count, null);
+        count = next;
+        removed.clear();
+    }
+
+    /**
+     * Insertion sort pass, from the previous frame order.
+     */
+    private void sort()
+    {
+        if (order != null)
+        {
+            final boolean layered = order == DisplayableOrder.LAYER_DEPTH;
+            for (int i = 0; i < count; i++)
+            {
+                elements[i].refresh(layered);
+            }
+        }
+
+        moved = 0;
+        for (int i = 1; i < count; i++)
+        {
+            final Element current = elements[i];
+            int j = i - 1;
+            while (j >= 0 && compare(elements[j], current) > 0)
+            {
+                elements[j + 1] = elements[j];
+                j--;
+            }
+            if (j + 1 != i)
+            {
+                elements[j + 1] = current;
+                moved++;
+            }
+        }
+    }
+
+    /**
+     * Compare elements, with insertion sequence as last criteria.
+     * 
+     * @param a The first element.
+     * @param b The second element.
+     * @return The comparison result.
+     */
+    private int compare(Element a, Element b)
+    {
+        int result;
+        if (comparator != null)
+        {
+            result = comparator.compare(a.featurable, b.featurable);
+        }
+        else
+        {
+            result = Integer.compare(a.layer, b.layer);
+            if (result == 0)
+            {
+                result = Double.compare(a.depth, b.depth);
+            }
+        }
+        if (result == 0)
+        {
+            result = Long.compare(a.sequence, b.sequence);
+        }
+        return result;
+    }
+
+    /*
+     * ComponentRenderer
+     */
+
+    @Override
+    public void render(Graphic g, Handlables featurables)
+    {
+        if (!removed.isEmpty())
+        {
+            compact();
+        }
+        sort();
+
+        for (int i = 0; i < count; i++)
+        {
+            elements[i].displayable.render(g);
+        }
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Displayable.class))
+        {
+            if (removed.remove(featurable))
+            {
+                return;
+            }
+            if (count == elements.length)
+            {
+                elements = Arrays.copyOf(elements, count * 2);
+            }
+            elements[count] = new Element(featurable, sequence);
+            count++;
+            sequence++;
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (featurable.hasFeature(Displayable.class))
+        {
+            removed.add(featurable);
+        }
+    }
+
+    /**
+     * Sorted element, with cached features and sort keys.
+     */
+    private static final class Element
+    {
+        /** Featurable reference. */
+        private final Featurable featurable;
+        /** Displayable reference. */
+        private final Displayable displayable;
+        /** Transformable reference, <code>null</code> if none. */
+        private final Transformable transformable;
+        /** Layerable reference, <code>null</code> if none. */
+        private final Layerable layerable;
+        /** Insertion sequence. */
+        private final long sequence;
+        /** Cached layer. */
+        private int layer;
+        /** Cached depth, opposite of vertical location. */
+        private double depth;
+
+        /**
+         * Create element.
+         * 
+         * @param featurable The featurable reference.
+         * @param sequence The insertion sequence.
+         */
+        private Element(Featurable featurable, long sequence)
+        {
+            super();
+
+            this.featurable = featurable;
+            this.sequence = sequence;
+            displayable = featurable.getFeature(Displayable.class);
+            if (featurable.hasFeature(Transformable.class))
+            {
+                transformable = featurable.getFeature(Transformable.class);
+            }
+            else
+            {
+                transformable = null;
+            }
+            if (featurable.hasFeature(Layerable.class))
+            {
+                layerable = featurable.getFeature(Layerable.class);
+            }
+            else
+            {
+                layerable = null;
+            }
+        }
+
+        /**
+         * Refresh cached sort keys.
+         * 
+         * @param layered <code>true</code> to read layer, <code>false</code> to ignore it.
+         */
+        private void refresh(boolean layered)
+        {
+            if (layered && layerable != null)
+            {
+                layer = layerable.getLayerDisplay().intValue();
+            }
+            if (transformable != null)
+            {
+                depth = -transformable.getY();
+            }
+        }
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Localizable;
+import com.b3dgs.lionengine.game.FeatureProvider;
+
+/**
+ * Refresher component implementation which refreshes {@link Refreshable} elements at full rate only when they are near
+ * the {@link Camera} view or an observer, with the same {@link Layerable} ordering as {@link ComponentRefreshable}.
+ * <p>
+ * The world is split in square regions. A region is active if it is at most the active radius (in region) away from
+ * the camera view or from an observer location. Elements located in an active region are updated each tick. Others are
+ * dormant, and are updated every {@link #setDormantRate(int)} ticks with the accumulated extrapolation value, or never
+ * if frozen (rate of <code>0</code>). Rate can be overridden per layer with {@link #setDormantRate(Integer, int)}.
+ * Elements without {@link Transformable} are always active.
+ * </p>
+ * <p>
+ * Tier is evaluated each tick from the current location, so elements move between tiers when crossing region
+ * boundaries. A dormant element becoming active first receives its pending accumulated extrapolation value.
+ * </p>
+ */
+public class ComponentRefreshableRegion implements ComponentUpdater, HandlerListener, LayerableListener
+{
+    /** Default layer value. */
+    private static final Integer LAYER_DEFAULT = Integer.valueOf(0);
+    /** Area rectangle size. */
+    private static final int AREA = 4;
+
+    /**
+     * Get the featurable layer.
+     * 
+     * @param featurable The featurable reference.
+     * @return The featurable layer if is {@link Layerable}, {@link #LAYER_DEFAULT} else.
+     */
+    private static Integer getLayer(Featurable featurable)
+    {
+        if (featurable.hasFeature(Layerable.class))
+        {
+            return featurable.getFeature(Layerable.class).getLayerRefresh();
+        }
+        return LAYER_DEFAULT;
+    }
+
+    /** Indexed elements by refreshable. */
+    private final Map<Refreshable, Element> elements = new HashMap<>();
+    /** Elements by sorted layer. */
+    private final Map<Integer, List<Element>> layers = new TreeMap<>();
+    /** Dormant rate per layer. */
+    private final Map<Integer, Integer> rates = new HashMap<>();
+    /** Observers locations. */
+    private final List<Localizable> observers = new ArrayList<>();
+    /** Elements with layer to update. */
+    private final List<Element> toUpdate = new ArrayList<>();
+    /** Camera reference. */
+    private final Camera camera;
+    /** Region size in pixel. */
+    private final int regionSize;
+    /** Active radius in region. */
+    private final int radius;
+    /** Active areas as region rectangles (min x, min y, max x, max y). */
+    private int[] areas = new int[AREA];
+    /** Active areas number. */
+    private int areasCount;
+    /** Default dormant rate in tick, <code>0</code> if frozen. */
+    private int rate = 1;
+    /** Current tick. */
+    private long tick;
+    /** Last tick active count. */
+    private int active;
+    /** Last tick dormant count (updated or not). */
+    private int dormant;
+    /** Last tick frozen count. */
+    private int frozen;
+
+    /**
+     * Create component. Dormant elements are updated each tick until {@link #setDormantRate(int)} is called.
+     * 
+     * @param camera The camera reference (must not be <code>null</code>).
+     * @param regionSize The region size in pixel (must be strictly positive).
+     * @param radius The active radius in region around camera view and observers (must be positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public ComponentRefreshableRegion(Camera camera, int regionSize, int radius)
+    {
+        super();
+
+        Check.notNull(camera);
+        Check.superiorStrict(regionSize, 0);
+        Check.superiorOrEqual(radius, 0);
+
+        this.camera = camera;
+        this.regionSize = regionSize;
+        this.radius = radius;
+    }
+
+    /**
+     * Add an observer. Regions around observer are active.
+     * 
+     * @param observer The observer to add (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void addObserver(Localizable observer)
+    {
+        Check.notNull(observer);
+
+        observers.add(observer);
+    }
+
+    /**
+     * Remove an observer.
+     * 
+     * @param observer The observer to remove.
+     */
+    public void removeObserver(Localizable observer)
+    {
+        observers.remove(observer);
+    }
+
+    /**
+     * Set the default dormant update rate.
+     * 
+     * @param rate The number of ticks between two dormant updates, <code>0</code> to freeze (must be positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setDormantRate(int rate)
+    {
+        Check.superiorOrEqual(rate, 0);
+
+        this.rate = rate;
+    }
+
+    /**
+     * Set the dormant update rate of a refresh layer, overriding the default one.
+     * 
+     * @param layer The refresh layer (must not be <code>null</code>).
+     * @param rate The number of ticks between two dormant updates, <code>0</code> to freeze (must be positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public void setDormantRate(Integer layer, int rate)
+    {
+        Check.notNull(layer);
+        Check.superiorOrEqual(rate, 0);
+
+        rates.put(layer, Integer.valueOf(rate));
+    }
+
+    /**
+     * Get the last tick active elements number.
+     * 
+     * @return The active count.
+     */
+    public int getActive()
+    {
+        return active;
+    }
+
+    /**
+     * Get the last tick dormant elements number, updated or not.
+     * 
+     * @return The dormant count.
+     */
+    public int getDormant()
+    {
+        return dormant;
+    }
+
+    /**
+     * Get the last tick frozen elements number.
+     * 
+     * @return The frozen count.
+     */
+    public int getFrozen()
+    {
+        return frozen;
+    }
+
+    /**
+     * Get the region index of a location.
+     * 
+     * @param value The location value.
+     * @return The region index.
+     */
+    private int getRegion(double value)
+    {
+        return (int) Math.floor(value / regionSize);
+    }
+
+    /**
+     * Add an active area.
+     * 
+     * @param minX The minimum horizontal location.
+     * @param minY The minimum vertical location.
+     * @param maxX The maximum horizontal location.
+     * @param maxY The maximum vertical location.
+     */
+    private void addArea(double minX, double minY, double maxX, double maxY)
+    {
+        final int offset = areasCount * AREA;
+        if (offset == areas.length)
+        {
+            final int[] grown = new int[areas.length * 2];
+            System.arraycopy(areas, 0, grown, 0, areas.length);
+            areas = grown;
+        }
+        areas[offset] = getRegion(minX) - radius;
+        areas[offset + 1] = getRegion(minY) - radius;
+        areas[offset + 2] = getRegion(maxX) + radius;
+        areas[offset + 3] = getRegion(maxY) + radius;
+        areasCount++;
+    }
+
+    /**
+     * Compute active areas from camera and observers.
+     */
+    private void computeAreas()
+    {
+        areasCount = 0;
+
+        final double left = camera.getX() + camera.getViewX();
+        final double bottom = camera.getY() - camera.getViewY();
+        addArea(left, bottom, left + camera.getWidth(), bottom + camera.getHeight());
+
+        final int n = observers.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Localizable observer = observers.get(i);
+            addArea(observer.getX(), observer.getY(), observer.getX(), observer.getY());
+        }
+    }
+
+    /**
+     * Check if element is in an active region.
+     * 
+     * @param transformable The element transformable.
+     * @return <code>true</code> if active, <code>false</code> else.
+     */
+    private boolean isActive(Transformable transformable)
+    {
+        final int rx = getRegion(transformable.getX());
+        final int ry = getRegion(transformable.getY());
+        for (int i = 0; i < areasCount; i++)
+        {
+            final int offset = i * AREA;
+            if (rx >= areas[offset] && ry >= areas[offset + 1] && rx <= areas[offset + 2] && ry <= areas[offset + 3])
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the dormant rate of a layer.
+     * 
+     * @param layer The refresh layer.
+     * @return The dormant rate.
+     */
+    private int getRate(Integer layer)
+    {
+        final Integer value = rates.get(layer);
+        if (value != null)
+        {
+            return value.intValue();
+        }
+        return rate;
+    }
+
+    /**
+     * Update element according to its tier.
+     * 
+     * @param element The element to update.
+     * @param extrp The extrapolation value.
+     * @param layerRate The element layer dormant rate.
+     */
+    private void update(Element element, double extrp, int layerRate)
+    {
+        if (element.transformable == null || isActive(element.transformable))
+        {
+            active++;
+            element.refreshable.update(element.pending + extrp);
+            element.pending = 0.0;
+        }
+        else if (layerRate == 0)
+        {
+            frozen++;
+        }
+        else
+        {
+            dormant++;
+            element.pending += extrp;
+            if ((tick + element.phase) % layerRate == 0)
+            {
+                element.refreshable.update(element.pending);
+                element.pending = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Add element to its layer.
+     * 
+     * @param element The element to add.
+     */
+    private void insert(Element element)
+    {
+        final List<Element> layer = layers.computeIfAbsent(element.layer, k -> new ArrayList<>());
+        element.index = layer.size();
+        layer.add(element);
+    }
+
+    /**
+     * Remove element from its layer, by replacing it with the last layer element.
+     * 
+     * @param element The element to remove.
+     */
+    private void extract(Element element)
+    {
+        final List<Element> layer = layers.get(element.layer);
+        final Element last = layer.remove(layer.size() - 1);
+        if (last != element)
+        {
+            layer.set(element.index, last);
+            last.index = element.index;
+        }
+        if (layer.isEmpty())
+        {
+            layers.remove(element.layer);
+        }
+    }
+
+    /*
+     * ComponentUpdater
+     */
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        computeAreas();
+        active = 0;
+        dormant = 0;
+        frozen = 0;
+
+        for (final Map.Entry<Integer, List<Element>> layer : layers.entrySet())
+        {
+            final int layerRate = getRate(layer.getKey());
+            final List<Element> list = layer.getValue();
+            final int n = list.size();
+            for (int i = 0; i < n; i++)
+            {
+                update(list.get(i), extrp, layerRate);
+            }
+        }
+        tick++;
+
+        final int n = toUpdate.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Element element = toUpdate.get(i);
+            if (elements.get(element.refreshable) == element)
+            {
+                extract(element);
+                element.layer = element.layerNew;
+                insert(element);
+            }
+        }
+        toUpdate.clear();
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Refreshable.class))
+        {
+            final Refreshable refreshable = featurable.getFeature(Refreshable.class);
+            final Element element = new Element(refreshable, getLayer(featurable), elements.size());
+            if (featurable.hasFeature(Transformable.class))
+            {
+                element.transformable = featurable.getFeature(Transformable.class);
+            }
+            elements.put(refreshable, element);
+            insert(element);
+        }
+        if (featurable.hasFeature(Layerable.class))
+        {
+            featurable.getFeature(Layerable.class).addListener(this);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (featurable.hasFeature(Refreshable.class))
+        {
+            final Element element = elements.remove(featurable.getFeature(Refreshable.class));
+            if (element != null)
+            {
+                extract(element);
+            }
+        }
+        if (featurable.hasFeature(Layerable.class))
+        {
+            featurable.getFeature(Layerable.class).removeListener(this);
+        }
+    }
+
+    /*
+     * LayerableListener
+     */
+
+    @Override
+    public void notifyLayerChanged(FeatureProvider provider,
+                                   Integer layerRefreshOld,
+                                   Integer layerRefreshNew,
+                                   Integer layerDisplayOld,
+                                   Integer layerDisplayNew)
+    {
+        if (provider.hasFeature(Refreshable.class) && layerRefreshNew != null)
+        {
+            final Element element = elements.get(provider.getFeature(Refreshable.class));
+            if (element != null)
+            {
+                element.layerNew = layerRefreshNew;
+                toUpdate.add(element);
+            }
+        }
+    }
+
+    /**
+     * Scheduled refreshable data.
+     */
+    private static final class Element
+    {
+        /** Refreshable reference. */
+        private final Refreshable refreshable;
+        /** Dormant update phase, spreading dormant updates over ticks. */
+        private final int phase;
+        /** Transformable reference, <code>null</code> if always active. */
+        private Transformable transformable;
+        /** Refresh layer. */
+        private Integer layer;
+        /** Pending refresh layer. */
+        private Integer layerNew;
+        /** Index in current layer. */
+        private int index;
+        /** Accumulated extrapolation value while dormant. */
+        private double pending;
+
+        /**
+         * Create data.
+         * 
+         * @param refreshable The refreshable reference.
+         * @param layer The refresh layer.
+         * @param phase The dormant update phase.
+         */
+        private Element(Refreshable refreshable, Integer layer, int phase)
+        {
+            super();
+
+            this.refreshable = refreshable;
+            this.layer = layer;
+            this.phase = phase;
+        }
+    }
+}
@@ -0,0 +1,679 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Spatial index of handled {@link Transformable}, answering nearest, radius, rectangle and ray queries without
+ * scanning all featurables. Added with {@link Handler#addComponent(ComponentUpdater)}, it is available as a service
+ * and follows handler additions and removals.
+ * <p>
+ * Featurables are stored by location in a uniform grid of square cells, updated on
+ * {@link TransformableListener#notifyTransformed(Transformable)}. Queries only visit cells intersecting the searched
+ * area (or all occupied cells if less), compare featurables location (not their size), and write results to caller
+ * buffers instead of creating collections.
+ * </p>
+ */
+public class ComponentSpatialQuery implements ComponentUpdater, HandlerListener, TransformableListener
+{
+    /**
+     * Get the cell key.
+     * 
+     * @param cx The horizontal cell index.
+     * @param cy The vertical cell index.
+     * @return The cell key.
+     */
+    private static long getKey(int cx, int cy)
+    {
+        return (long) cx << Integer.SIZE | cy & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * Get the squared distance between two points.
+     * 
+     * @param x1 The first horizontal location.
+     * @param y1 The first vertical location.
+     * @param x2 The second horizontal location.
+     * @param y2 The second vertical location.
+     * @return The squared distance.
+     */
+    private static double getDistanceSquared(double x1, double y1, double x2, double y2)
+    {
+        final double dx = x2 - x1;
+        final double dy = y2 - y1;
+        return dx * dx + dy * dy;
+    }
+
+    /** Indexed elements by transformable. */
+    private final Map<Transformable, Element> elements = new HashMap<>();
+    /** Grid cells by key. */
+    private final Map<Long, List<Element>> cells = new HashMap<>();
+    /** Cells of current query area. */
+    private final List<List<Element>> area = new ArrayList<>();
+    /** Cell size in pixel. */
+    private final int cellSize;
+    /** Occupied cells minimum horizontal index, not shrunk on removal. */
+    private int minCellX;
+    /** Occupied cells minimum vertical index, not shrunk on removal. */
+    private int minCellY;
+    /** Occupied cells maximum horizontal index, not shrunk on removal. */
+    private int maxCellX;
+    /** Occupied cells maximum vertical index, not shrunk on removal. */
+    private int maxCellY;
+    /** Sorted candidates distance. */
+    private double[] bestKeys = new double[0];
+    /** Sorted candidates. */
+    private Element[] bestElements = new Element[0];
+    /** Sorted candidates number. */
+    private int bestCount;
+    /** Sorted candidates limit. */
+    private int bestLimit;
+
+    /**
+     * Create component.
+     * 
+     * @param cellSize The grid cell size in pixel (must be strictly positive). Should be close to common query radius.
+     * @throws LionEngineException If invalid argument.
+     */
+    public ComponentSpatialQuery(int cellSize)
+    {
+        super();
+
+        Check.superiorStrict(cellSize, 0);
+
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Get the nearest featurables from location, sorted by distance.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param maxDistance The maximum distance (must be positive).
+     * @param filter The results filter (must not be <code>null</code>).
+     * @param buffer The results buffer, its length is the maximum results number (must not be <code>null</code>).
+     * @return The results number written to buffer.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public int getNearest(double x, double y, double maxDistance, SpatialFilter filter, Featurable[] buffer)
+    {
+        Check.superiorOrEqual(maxDistance, 0.0);
+        Check.notNull(filter);
+        Check.notNull(buffer);
+
+        startSorted(buffer.length);
+        if (bestLimit == 0 || elements.isEmpty())
+        {
+            return 0;
+        }
+
+        final int cx = getCell(x);
+        final int cy = getCell(y);
+        // Rings out of occupied cells bounds are empty, and unbounded distance must not overflow
+        final double rings = Math.min(Math.ceil(maxDistance / cellSize) + 1.0, getExtent(cx, cy));
+        final int maxRing = (int) Math.min(rings, Integer.MAX_VALUE - 1.0);
+        final int minRing = (int) Math.min(getOffset(cx, cy), Integer.MAX_VALUE - 1L);
+        final double max = maxDistance * maxDistance;
+        int visited = 0;
+        for (int ring = minRing; ring <= maxRing && visited < cells.size(); ring++)
+        {
+            visited += visitRing(cx, cy, ring, x, y, max, filter);
+
+            // Cells of next rings are at least this distance away
+            final double reach = ring * (double) cellSize;
+            if (bestCount == bestLimit && bestKeys[bestCount - 1] <= reach * reach)
+            {
+                break;
+            }
+        }
+        return endSorted(buffer);
+    }
+
+    /**
+     * Get the featurables located in radius.
+     * 
+     * @param x The horizontal center.
+     * @param y The vertical center.
+     * @param radius The radius (must be positive).
+     * @param filter The results filter (must not be <code>null</code>).
+     * @param buffer The results buffer, its length is the maximum results number (must not be <code>null</code>).
+     * @return The results number written to buffer.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public int getInRadius(double x, double y, double radius, SpatialFilter filter, Featurable[] buffer)
+    {
+        Check.superiorOrEqual(radius, 0.0);
+        Check.notNull(filter);
+        Check.notNull(buffer);
+
+        final double max = radius * radius;
+        final int count = collectCells(x - radius, y - radius, x + radius, y + radius);
+        int found = 0;
+        for (int c = 0; c < count && found < buffer.length; c++)
+        {
+            final List<Element> cell = area.get(c);
+            final int n = cell.size();
+            for (int i = 0; i < n && found < buffer.length; i++)
+            {
+                final Element element = cell.get(i);
+                final Transformable transformable = element.transformable;
+                if (getDistanceSquared(x, y, transformable.getX(), transformable.getY()) <= max
+                    && filter.accept(element.featurable))
+                {
+                    buffer[found++] = element.featurable;
+                }
+            }
+        }
+        area.clear();
+        return found;
+    }
+
+    /**
+     * Get the featurables located in rectangle.
+     * 
+     * @param x The rectangle left.
+     * @param y The rectangle bottom.
+     * @param width The rectangle width (must be positive).
+     * @param height The rectangle height (must be positive).
+     * @param filter The results filter (must not be <code>null</code>).
+     * @param buffer The results buffer, its length is the maximum results number (must not be <code>null</code>).
+     * @return The results number written to buffer.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public int getInRect(double x,
+                         double y,
+                         double width,
+                         double height,
+                         SpatialFilter filter,
+                         Featurable[] buffer)
+    {
+        Check.superiorOrEqual(width, 0.0);
+        Check.superiorOrEqual(height, 0.0);
+        Check.notNull(filter);
+        Check.notNull(buffer);
+
+        final double right = x + width;
+        final double top = y + height;
+        final int count = collectCells(x, y, right, top);
+        int found = 0;
+        for (int c = 0; c < count && found < buffer.length; c++)
+        {
+            final List<Element> cell = area.get(c);
+            final int n = cell.size();
+            for (int i = 0; i < n && found < buffer.length; i++)
+            {
+                final Element element = cell.get(i);
+                final double ex = element.transformable.getX();
+                final double ey = element.transformable.getY();
+                if (ex >= x && ex <= right && ey >= y && ey <= top && filter.accept(element.featurable))
+                {
+                    buffer[found++] = element.featurable;
+                }
+            }
+        }
+        area.clear();
+        return found;
+    }
+
+    /**
+     * Get the featurables located near a ray segment, sorted by distance along the ray.
+     * 
+     * @param x The ray horizontal origin.
+     * @param y The ray vertical origin.
+     * @param dx The ray horizontal direction (not necessarily normalized).
+     * @param dy The ray vertical direction (not necessarily normalized).
+     * @param length The ray length (must be positive).
+     * @param radius The maximum distance between featurable and ray (must be positive).
+     * @param filter The results filter (must not be <code>null</code>).
+     * @param buffer The results buffer, its length is the maximum results number (must not be <code>null</code>).
+     * @return The results number written to buffer.
+     * @throws LionEngineException If invalid arguments.
+     */
+    // CHECKSTYLE IGNORE LINE: ParameterNumber
+    public int getOnRay(double x,
+                        double y,
+                        double dx,
+                        double dy,
+                        double length,
+                        double radius,
+                        SpatialFilter filter,
+                        Featurable[] buffer)
+    {
+        Check.superiorOrEqual(length, 0.0);
+        Check.superiorOrEqual(radius, 0.0);
+        Check.notNull(filter);
+        Check.notNull(buffer);
+
+        final double norm = Math.sqrt(dx * dx + dy * dy);
+        startSorted(buffer.length);
+        if (bestLimit == 0 || Double.compare(norm, 0.0) == 0)
+        {
+            return 0;
+        }
+        final double ux = dx / norm;
+        final double uy = dy / norm;
+        final double ex = x + ux * length;
+        final double ey = y + uy * length;
+        final double max = radius * radius;
+
+        final int count = collectCells(Math.min(x, ex) - radius,
+                                       Math.min(y, ey) - radius,
+                                       Math.max(x, ex) + radius,
+                                       Math.max(y, ey) + radius);
+        for (int c = 0; c < count; c++)
+        {
+            final List<Element> cell = area.get(c);
+            final int n = cell.size();
+            for (int i = 0; i < n; i++)
+            {
+                final Element element = cell.get(i);
+                final double px = element.transformable.getX() - x;
+                final double py = element.transformable.getY() - y;
+                final double along = Math.max(0.0, Math.min(length, px * ux + py * uy));
+                final double distance = getDistanceSquared(px, py, ux * along, uy * along);
+                if (distance <= max && filter.accept(element.featurable))
+                {
+                    offer(element, along);
+                }
+            }
+        }
+        area.clear();
+        return endSorted(buffer);
+    }
+
+    /**
+     * Get the indexed featurables number.
+     * 
+     * @return The indexed featurables number.
+     */
+    public int getCount()
+    {
+        return elements.size();
+    }
+
+    /**
+     * Get the cell index of a location.
+     * 
+     * @param value The location value.
+     * @return The cell index.
+     */
+    private int getCell(double value)
+    {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    /**
+     * Get the first ring index reaching occupied cells bounds from a cell.
+     * 
+     * @param cx The horizontal cell index.
+     * @param cy The vertical cell index.
+     * @return The ring index, <code>0</code> if inside bounds.
+     */
+    private long getOffset(int cx, int cy)
+    {
+        final long horizontal = Math.max((long) minCellX - cx, (long) cx - maxCellX);
+        final long vertical = Math.max((long) minCellY - cy, (long) cy - maxCellY);
+        return Math.max(0L, Math.max(horizontal, vertical));
+    }
+
+    /**
+     * Get the ring index covering all occupied cells from a cell.
+     * 
+     * @param cx The horizontal cell index.
+     * @param cy The vertical cell index.
+     * @return The ring index.
+     */
+    private long getExtent(int cx, int cy)
+    {
+        final long horizontal = Math.max((long) cx - minCellX, (long) maxCellX - cx);
+        final long vertical = Math.max((long) cy - minCellY, (long) maxCellY - cy);
+        return Math.max(horizontal, vertical);
+    }
+
+    /**
+     * Collect occupied cells intersecting area, or all occupied cells if less numerous, to the query area.
+     * 
+     * @param left The area left.
+     * @param bottom The area bottom.
+     * @param right The area right.
+     * @param top The area top.
+     * @return The collected cells number.
+     */
+    private int collectCells(double left, double bottom, double right, double top)
+    {
+        final int minX = getCell(left);
+        final int minY = getCell(bottom);
+        final int maxX = getCell(right);
+        final int maxY = getCell(top);
+
+        area.clear();
+        if (((long) maxX - minX + 1) * ((long) maxY - minY + 1) > cells.size())
+        {
+            for (final List<Element> cell : cells.values())
+            {
+                area.add(cell);
+            }
+        }
+        else
+        {
+            for (int cy = minY; cy <= maxY; cy++)
+            {
+                for (int cx = minX; cx <= maxX; cx++)
+                {
+                    final List<Element> cell = cells.get(Long.valueOf(getKey(cx, cy)));
+                    if (cell != null)
+                    {
+                        area.add(cell);
+                    }
+                }
+            }
+        }
+        return area.size();
+    }
+
+    /**
+     * Visit cells of ring around center cell inside occupied cells bounds, offering candidates in distance.
+     * 
+     * @param cx The center horizontal cell.
+     * @param cy The center vertical cell.
+     * @param ring The ring index (0 for center cell).
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param max The maximum squared distance.
+     * @param filter The results filter.
+     * @return The visited occupied cells number.
+     */
+    // CHECKSTYLE IGNORE LINE: ParameterNumber
+    private int visitRing(int cx, int cy, int ring, double x, double y, double max, SpatialFilter filter)
+    {
+        final long left = (long) cx - ring;
+        final long right = (long) cx + ring;
+        final long bottom = (long) cy - ring;
+        final long top = (long) cy + ring;
+        final long startX = Math.max(left, minCellX);
+        final long endX = Math.min(right, maxCellX);
+
+        int visited = 0;
+        for (long ty = Math.max(bottom, minCellY); ty <= Math.min(top, maxCellY); ty++)
+        {
+            if (ty == bottom || ty == top)
+            {
+                for (long tx = startX; tx <= endX; tx++)
+                {
+                    visited += visitCell((int) tx, (int) ty, x, y, max, filter);
+                }
+            }
+            else
+            {
+                if (left >= minCellX)
+                {
+                    visited += visitCell((int) left, (int) ty, x, y, max, filter);
+                }
+                if (right <= maxCellX)
+                {
+                    visited += visitCell((int) right, (int) ty, x, y, max, filter);
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Visit cell, offering candidates in distance.
+     * 
+     * @param tx The horizontal cell.
+     * @param ty The vertical cell.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param max The maximum squared distance.
+     * @param filter The results filter.
+     * @return <code>1</code> if cell is occupied, <code>0</code> else.
+     */
+    private int visitCell(int tx, int ty, double x, double y, double max, SpatialFilter filter)
+    {
+        final List<Element> cell = cells.get(Long.valueOf(getKey(tx, ty)));
+        if (cell == null)
+        {
+            return 0;
+        }
+        final int n = cell.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Element element = cell.get(i);
+            final double distance = getDistanceSquared(x,
+                                                       y,
+                                                       element.transformable.getX(),
+                                                       element.transformable.getY());
+            if (distance <= max && filter.accept(element.featurable))
+            {
+                offer(element, distance);
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Start a sorted query.
+     * 
+     * @param limit The maximum results number.
+     */
+    private void startSorted(int limit)
+    {
+        if (bestKeys.length < limit)
+        {
+            bestKeys = new double[limit];
+            bestElements = new Element[limit];
+        }
+        bestCount = 0;
+        bestLimit = limit;
+    }
+
+    /**
+     * Offer a candidate to sorted results, kept if among the lowest keys.
+     * 
+     * @param element The candidate.
+     * @param key The candidate sorting key.
+     */
+    private void offer(Element element, double key)
+    {
+        if (bestCount == bestLimit && key >= bestKeys[bestCount - 1])
+        {
+            return;
+        }
+        int index = bestCount < bestLimit ? bestCount++ : bestCount - 1;
+        while (index > 0 && bestKeys[index - 1] > key)
+        {
+            bestKeys[index] = bestKeys[index - 1];
+            bestElements[index] = bestElements[index - 1];
+            index--;
+        }
+        bestKeys[index] = key;
+        bestElements[index] = element;
+    }
+
+    /**
+     * Copy sorted results to buffer.
+     * 
+     * @param buffer The results buffer.
+     * @return The results number.
+     */
+    private int endSorted(Featurable[] buffer)
+    {
+        for (int i = 0; i < bestCount; i++)
+        {
+            buffer[i] = bestElements[i].featurable;
+        }
+        Arrays.fill(bestElements, 0, bestCount, null);
+        return bestCount;
+    }
+
+    /**
+     * Store element in its current cell.
+     * 
+     * @param element The element to store.
+     */
+    private void insert(Element element)
+    {
+        final Transformable transformable = element.transformable;
+        final int cx = getCell(transformable.getX());
+        final int cy = getCell(transformable.getY());
+        if (cells.isEmpty())
+        {
+            minCellX = cx;
+            minCellY = cy;
+            maxCellX = cx;
+            maxCellY = cy;
+        }
+        else
+        {
+            minCellX = Math.min(minCellX, cx);
+            minCellY = Math.min(minCellY, cy);
+            maxCellX = Math.max(maxCellX, cx);
+            maxCellY = Math.max(maxCellY, cy);
+        }
+        element.key = getKey(cx, cy);
+        final List<Element> cell = cells.computeIfAbsent(Long.valueOf(element.key), k -> new ArrayList<>());
+        element.index = cell.size();
+        cell.add(element);
+    }
+
+    /**
+     * Remove element from its cell, by replacing it with the last cell element.
+     * 
+     * @param element The element to remove.
+     */
+    private void extract(Element element)
+    {
+        final Long key = Long.valueOf(element.key);
+        final List<Element> cell = cells.get(key);
+        final Element last = cell.remove(cell.size() - 1);
+        if (last != element)
+        {
+            cell.set(element.index, last);
+            last.index = element.index;
+        }
+        if (cell.isEmpty())
+        {
+            cells.remove(key);
+        }
+    }
+
+    /*
+     * ComponentUpdater
+     */
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        // Index is updated on transform
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Transformable.class))
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            final Element element = new Element(featurable, transformable);
+            final Element old = elements.put(transformable, element);
+            if (old == null)
+            {
+                transformable.addListener(this);
+            }
+            else
+            {
+                extract(old);
+            }
+            insert(element);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (featurable.hasFeature(Transformable.class))
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            final Element element = elements.remove(transformable);
+            if (element != null)
+            {
+                transformable.removeListener(this);
+                extract(element);
+            }
+        }
+    }
+
+    /*
+     * TransformableListener
+     */
+
+    @Override
+    public void notifyTransformed(Transformable transformable)
+    {
+        final Element element = elements.get(transformable);
+        if (element != null)
+        {
+            final long key = getKey(getCell(transformable.getX()), getCell(transformable.getY()));
+            if (key != element.key)
+            {
+                extract(element);
+                insert(element);
+            }
+        }
+    }
+
+    /**
+     * Indexed featurable data.
+     */
+    private static final class Element
+    {
+        /** Featurable reference. */
+        private final Featurable featurable;
+        /** Transformable reference. */
+        private final Transformable transformable;
+        /** Current cell key. */
+        private long key;
+        /** Index in current cell. */
+        private int index;
+
+        /**
+         * Create data.
+         * 
+         * @param featurable The featurable reference.
+         * @param transformable The transformable reference.
+         */
+        private Element(Featurable featurable, Transformable transformable)
+        {
+            super();
+
+            this.featurable = featurable;
+            this.transformable = transformable;
+        }
+    }
+}
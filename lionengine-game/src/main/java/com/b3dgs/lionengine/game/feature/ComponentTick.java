@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Tick;
+import com.b3dgs.lionengine.TickAction;
+import com.b3dgs.lionengine.TickActionHandle;
+
+/**
+ * Updater component implementation which owns a started {@link Tick} shared by all features of a {@link Handler}.
+ * Once added to the handler, it is available from {@link Services}, allowing features to schedule delayed actions
+ * without owning and updating their own {@link Tick}.
+ * <p>
+ * Only the due actions are visited on each update.
+ * </p>
+ * 
+ * <pre>
+ * handler.addComponent(new ComponentTick());
+ * ...
+ * final TickActionHandle handle = services.get(ComponentTick.class).addAction(action, 10L);
+ * </pre>
+ */
+public class ComponentTick implements ComponentUpdater
+{
+    /** Shared tick. */
+    private final Tick tick = new Tick();
+
+    /**
+     * Create component.
+     */
+    public ComponentTick()
+    {
+        super();
+
+        tick.start();
+    }
+
+    /**
+     * Add an action to execute once tick delay elapsed.
+     * 
+     * @param action The action to execute (must not be <code>null</code>).
+     * @param tickDelay The tick delay used as trigger.
+     * @return The action handle, which can be used to cancel action before its execution.
+     * @throws LionEngineException If invalid argument.
+     */
+    public TickActionHandle addAction(TickAction action, long tickDelay)
+    {
+        return tick.addAction(action, tickDelay);
+    }
+
+    /**
+     * Get the number of pending actions.
+     * 
+     * @return The pending actions number.
+     */
+    public int getActionsPending()
+    {
+        return tick.getActionsPending();
+    }
+
+    /**
+     * Get number of ticks elapsed since component creation.
+     * 
+     * @return The number of ticks elapsed.
+     */
+    public long elapsed()
+    {
+        return tick.elapsed();
+    }
+
+    /*
+     * ComponentUpdater
+     */
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        tick.update(extrp);
+    }
+}
@@ -84,43 +84,48 @@ public class HandlerPersister implements Persistable
     }
 
     /**
-     * Save transformable feature if has.
+     * Get the saved horizontal location, in tile if has map, in pixel else.
      * 
-     * @param featurable The featurable reference.
-     * @param output The output writing.
-     * @throws IOException If error.
+     * @param transformable The transformable reference.
+     * @return The saved horizontal location.
      */
-    private void saveTransformable(Featurable featurable, FileWriting output) throws IOException
+    protected int getSavedX(Transformable transformable)
     {
-        final Transformable transformable = featurable.getFeature(Transformable.class);
-        final int x;
-        final int y;
         if (map.isPresent())
         {
-            x = map.get().getInTileX(transformable);
-            y = map.get().getInTileY(transformable);
+            return map.get().getInTileX(transformable);
         }
-        else
+        return (int) Math.floor(transformable.getX());
+    }
+
+    /**
+     * Get the saved vertical location, in tile if has map, in pixel else.
+     * 
+     * @param transformable The transformable reference.
+     * @return The saved vertical location.
+     */
+    protected int getSavedY(Transformable transformable)
+    {
+        if (map.isPresent())
         {
-            x = (int) Math.floor(transformable.getX());
-            y = (int) Math.floor(transformable.getY());
+            return map.get().getInTileY(transformable);
         }
-        output.writeInteger(x);
-        output.writeInteger(y);
+        return (int) Math.floor(transformable.getY());
     }
 
     /**
-     * Load transformable feature if has.
+     * Place featurable at saved location (see {@link #getSavedX(Transformable)} and
+     * {@link #getSavedY(Transformable)}).
      * 
      * @param featurable The featurable reference.
-     * @param input The input reading.
-     * @throws IOException If error.
+     * @param savedX The saved horizontal location.
+     * @param savedY The saved vertical location.
      */
-    private void loadTransformable(Featurable featurable, FileReading input) throws IOException
+    protected void place(Featurable featurable, int savedX, int savedY)
     {
         final Transformable transformable = featurable.getFeature(Transformable.class);
-        double x = input.readInteger();
-        double y = input.readInteger();
+        double x = savedX;
+        double y = savedY;
 
         if (map.isPresent())
         {
@@ -135,6 +140,34 @@ public class HandlerPersister implements Persistable
         transformable.teleport(x, y);
     }
 
+    /**
+     * Save transformable feature if has.
+     * 
+     * @param featurable The featurable reference.
+     * @param output The output writing.
+     * @throws IOException If error.
+     */
+    private void saveTransformable(Featurable featurable, FileWriting output) throws IOException
+    {
+        final Transformable transformable = featurable.getFeature(Transformable.class);
+        output.writeInteger(getSavedX(transformable));
+        output.writeInteger(getSavedY(transformable));
+    }
+
+    /**
+     * Load transformable feature if has.
+     * 
+     * @param featurable The featurable reference.
+     * @param input The input reading.
+     * @throws IOException If error.
+     */
+    private void loadTransformable(Featurable featurable, FileReading input) throws IOException
+    {
+        final int x = input.readInteger();
+        final int y = input.readInteger();
+        place(featurable, x, y);
+    }
+
     /*
      * Persistable
      */
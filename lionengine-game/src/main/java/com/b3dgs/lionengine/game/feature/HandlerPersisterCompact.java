@@ -0,0 +1,486 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilVarint;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Handle the {@link Handler} persistence with a compact compressed format.
+ * <p>
+ * Medias paths and extension names are stored once in a string table, and referenced by index. Indexes and locations
+ * are stored as variable length integers. Additional data are stored per featurable in named blocks by registered
+ * {@link HandlerPersisterExtension}.
+ * </p>
+ * <p>
+ * {@link #saveAsync(Media)} copies the handler state on the caller thread (to be called at tick end), and serializes
+ * and compresses it on a background thread. Loading creates featurables grouped by media, resolving each media and
+ * {@link Setup} once, and reusing {@link Factory} cached instances.
+ * </p>
+ * <p>
+ * This format is not compatible with {@link HandlerPersister}.
+ * </p>
+ */
+public class HandlerPersisterCompact extends HandlerPersister
+{
+    /** Format identifier. */
+    public static final int MAGIC = 0x4C45_4E54;
+    /** Format version. */
+    public static final byte VERSION = 1;
+    /** Invalid format error. */
+    static final String ERROR_FORMAT = "Invalid handler format: ";
+    /** Invalid index error. */
+    static final String ERROR_INDEX = "Invalid handler index: ";
+    /** Invalid length error. */
+    static final String ERROR_LENGTH = "Invalid handler length: ";
+    /** Located flag. */
+    private static final int FLAG_LOCATED = 1;
+
+    /**
+     * Read a table index.
+     * 
+     * @param input The input.
+     * @param size The table size.
+     * @return The read index, between <code>0</code> included and size excluded.
+     * @throws IOException If error on reading or index out of table.
+     */
+    private static int readIndex(InputStream input, int size) throws IOException
+    {
+        final int index = UtilVarint.read(input);
+        if (index < 0 || index >= size)
+        {
+            throw new IOException(ERROR_INDEX + index);
+        }
+        return index;
+    }
+
+    /**
+     * Read a length or count.
+     * 
+     * @param input The input.
+     * @return The read length, positive.
+     * @throws IOException If error on reading or negative length.
+     */
+    private static int readLength(InputStream input) throws IOException
+    {
+        final int length = UtilVarint.read(input);
+        if (length < 0)
+        {
+            throw new IOException(ERROR_LENGTH + length);
+        }
+        return length;
+    }
+
+    /**
+     * Get the string table index, adding string if missing.
+     * 
+     * @param indexes The string indexes.
+     * @param table The string table.
+     * @param value The string value.
+     * @return The string index.
+     */
+    private static int index(Map<String, Integer> indexes, List<String> table, String value)
+    {
+        return indexes.computeIfAbsent(value, v ->
+        {
+            table.add(v);
+            return Integer.valueOf(table.size() - 1);
+        }).intValue();
+    }
+
+    /** Registered extensions. */
+    private final List<HandlerPersisterExtension> extensions = new ArrayList<>();
+    /** Background saving executor, created on first use. */
+    private ExecutorService executor;
+
+    /**
+     * Create a handler persister.
+     * <p>
+     * The {@link Services} must provide:
+     * </p>
+     * <ul>
+     * <li>{@link Factory}</li>
+     * <li>{@link Handler}</li>
+     * </ul>
+     * <p>
+     * The {@link Services} may provide:
+     * </p>
+     * <ul>
+     * <li>{@link com.b3dgs.lionengine.game.feature.tile.map.MapTile}</li>
+     * </ul>
+     * 
+     * @param services The services reference.
+     */
+    public HandlerPersisterCompact(Services services)
+    {
+        super(services);
+    }
+
+    /**
+     * Add an extension. Must be added in the same way for saving and loading.
+     * 
+     * @param extension The extension to add (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void addExtension(HandlerPersisterExtension extension)
+    {
+        Check.notNull(extension);
+
+        extensions.add(extension);
+    }
+
+    /**
+     * Copy handler state, and save it on a background thread. Must be called from the thread updating handler,
+     * preferably at tick end.
+     * 
+     * @param media The output media (must not be <code>null</code>).
+     * @return The saving task, completed once written.
+     * @throws LionEngineException If invalid argument or error on extension saving.
+     */
+    public Future<Void> saveAsync(Media media)
+    {
+        Check.notNull(media);
+
+        final Snapshot snapshot;
+        try
+        {
+            snapshot = snapshot();
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, media);
+        }
+        if (executor == null)
+        {
+            executor = Executors.newSingleThreadExecutor(runnable ->
+            {
+                final Thread thread = new Thread(runnable, HandlerPersisterCompact.class.getSimpleName());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor.submit(() ->
+        {
+            try (FileWriting writing = new FileWriting(media))
+            {
+                write(snapshot, writing);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Copy handler state.
+     * 
+     * @return The handler snapshot.
+     * @throws IOException If error on extension saving.
+     */
+    private Snapshot snapshot() throws IOException
+    {
+        final Snapshot snapshot = new Snapshot(handler.size());
+        final Map<String, Integer> indexes = new HashMap<>();
+        final ByteArrayOutputStream block = new ByteArrayOutputStream();
+        final DataOutputStream blockOutput = new DataOutputStream(block);
+        final ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        final DataOutputStream blocksOutput = new DataOutputStream(blocks);
+
+        int i = 0;
+        for (final Featurable featurable : handler.values())
+        {
+            snapshot.medias[i] = index(indexes, snapshot.table, featurable.getMedia().getPath());
+            if (featurable.hasFeature(Transformable.class))
+            {
+                final Transformable transformable = featurable.getFeature(Transformable.class);
+                snapshot.flags[i] = FLAG_LOCATED;
+                snapshot.x[i] = getSavedX(transformable);
+                snapshot.y[i] = getSavedY(transformable);
+            }
+
+            blocks.reset();
+            int count = 0;
+            for (final HandlerPersisterExtension extension : extensions)
+            {
+                if (extension.isSupported(featurable))
+                {
+                    block.reset();
+                    extension.save(featurable, blockOutput);
+                    blockOutput.flush();
+                    UtilVarint.write(blocksOutput, index(indexes, snapshot.table, extension.getName()));
+                    UtilVarint.write(blocksOutput, block.size());
+                    block.writeTo(blocksOutput);
+                    count++;
+                }
+            }
+            if (count > 0)
+            {
+                blocksOutput.flush();
+                snapshot.blocksCount[i] = count;
+                snapshot.blocks[i] = blocks.toByteArray();
+            }
+            i++;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Write snapshot. Data are saved this way (varint are unsigned variable length integers, signed are zigzag
+     * encoded, see {@link UtilVarint}):
+     * 
+     * <pre>
+     * <code>(int)</code> {@link #MAGIC}
+     * <code>(byte)</code> {@link #VERSION}
+     * <code>(int)</code> compressed body length
+     * compressed body (deflate):
+     *   <code>(varint)</code> strings number
+     *   for each string
+     *     <code>(UTF)</code> string value
+     *   <code>(varint)</code> featurables number
+     *   for each featurable
+     *     <code>(varint)</code> media string index
+     *   for each featurable
+     *     <code>(byte)</code> flags (1 if located)
+     *     <code>(signed varint)</code> x and y if located
+     *     <code>(varint)</code> blocks number
+     *     for each block
+     *       <code>(varint)</code> extension name string index
+     *       <code>(varint)</code> block length
+     *       block data
+     * </pre>
+     * 
+     * @param snapshot The snapshot to write.
+     * @param writing The output writing.
+     * @throws IOException If error on writing.
+     */
+    private static void write(Snapshot snapshot, FileWriting writing) throws IOException
+    {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(body)))
+        {
+            UtilVarint.write(output, snapshot.table.size());
+            for (final String value : snapshot.table)
+            {
+                output.writeUTF(value);
+            }
+            UtilVarint.write(output, snapshot.count);
+            for (int i = 0; i < snapshot.count; i++)
+            {
+                UtilVarint.write(output, snapshot.medias[i]);
+            }
+            for (int i = 0; i < snapshot.count; i++)
+            {
+                output.writeByte(snapshot.flags[i]);
+                if ((snapshot.flags[i] & FLAG_LOCATED) != 0)
+                {
+                    UtilVarint.writeSigned(output, snapshot.x[i]);
+                    UtilVarint.writeSigned(output, snapshot.y[i]);
+                }
+                UtilVarint.write(output, snapshot.blocksCount[i]);
+                if (snapshot.blocks[i] != null)
+                {
+                    output.write(snapshot.blocks[i]);
+                }
+            }
+        }
+        writing.writeInteger(MAGIC);
+        writing.writeByte(VERSION);
+        writing.writeInteger(body.size());
+        writing.writeBytes(body.toByteArray());
+    }
+
+    /**
+     * Load extension blocks.
+     * 
+     * @param featurable The featurable reference.
+     * @param table The string table.
+     * @param input The body input.
+     * @throws IOException If error on reading or invalid data.
+     */
+    private void loadBlocks(Featurable featurable, String[] table, DataInputStream input) throws IOException
+    {
+        final int count = readLength(input);
+        for (int b = 0; b < count; b++)
+        {
+            final String name = table[readIndex(input, table.length)];
+            final byte[] block = new byte[readLength(input)];
+            input.readFully(block);
+
+            for (final HandlerPersisterExtension extension : extensions)
+            {
+                if (extension.getName().equals(name))
+                {
+                    extension.load(featurable, new DataInputStream(new ByteArrayInputStream(block)));
+                    break;
+                }
+            }
+        }
+    }
+
+    /*
+     * Persistable
+     */
+
+    /**
+     * Save handler synchronously (see {@link #write(Snapshot, FileWriting)} for format).
+     * 
+     * @param writing The output writing.
+     * @throws IOException If error on writing.
+     */
+    @Override
+    public void save(FileWriting writing) throws IOException
+    {
+        write(snapshot(), writing);
+    }
+
+    @Override
+    public void load(FileReading reading) throws IOException
+    {
+        if (reading.readInteger() != MAGIC || reading.readByte() != VERSION)
+        {
+            throw new IOException(ERROR_FORMAT + VERSION);
+        }
+        final int length = reading.readInteger();
+        if (length < 0)
+        {
+            throw new IOException(ERROR_LENGTH + length);
+        }
+        final byte[] body = new byte[length];
+        reading.readBytes(body);
+
+        handler.removeAll();
+        handler.update(1.0);
+
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(body))))
+        {
+            final String[] table = new String[readLength(input)];
+            for (int i = 0; i < table.length; i++)
+            {
+                table[i] = input.readUTF();
+            }
+
+            final int count = readLength(input);
+            final int[] medias = new int[count];
+            final Featurable[] created = new Featurable[count];
+            final int[] perMedia = new int[table.length];
+            final Media[] resolved = new Media[table.length];
+            for (int i = 0; i < count; i++)
+            {
+                medias[i] = readIndex(input, table.length);
+                perMedia[medias[i]]++;
+            }
+            final int[] starts = new int[table.length];
+            int start = 0;
+            for (int m = 0; m < table.length; m++)
+            {
+                starts[m] = start;
+                start += perMedia[m];
+                if (perMedia[m] > 0)
+                {
+                    resolved[m] = Medias.create(table[m]);
+                    factory.getSetup(resolved[m]);
+                }
+            }
+            final int[] order = new int[count];
+            for (int i = 0; i < count; i++)
+            {
+                order[starts[medias[i]]++] = i;
+            }
+            for (final int i : order)
+            {
+                created[i] = create(resolved[medias[i]]);
+            }
+
+            for (int i = 0; i < count; i++)
+            {
+                final Featurable featurable = created[i];
+                final int flags = input.readUnsignedByte();
+                if ((flags & FLAG_LOCATED) != 0)
+                {
+                    final int x = UtilVarint.readSigned(input);
+                    final int y = UtilVarint.readSigned(input);
+                    if (featurable.hasFeature(Transformable.class))
+                    {
+                        place(featurable, x, y);
+                    }
+                }
+                loadBlocks(featurable, table, input);
+                handler.add(featurable);
+            }
+        }
+    }
+
+    /**
+     * Handler state copy.
+     */
+    private static final class Snapshot
+    {
+        /** String table. */
+        private final List<String> table = new ArrayList<>();
+        /** Featurables number. */
+        private final int count;
+        /** Media string index per featurable. */
+        private final int[] medias;
+        /** Flags per featurable. */
+        private final int[] flags;
+        /** Horizontal saved location per featurable. */
+        private final int[] x;
+        /** Vertical saved location per featurable. */
+        private final int[] y;
+        /** Extension blocks number per featurable. */
+        private final int[] blocksCount;
+        /** Encoded extension blocks per featurable, <code>null</code> if none. */
+        private final byte[][] blocks;
+
+        /**
+         * Create snapshot.
+         * 
+         * @param count The featurables number.
+         */
+        private Snapshot(int count)
+        {
+            super();
+
+            this.count = count;
+            medias = new int[count];
+            flags = new int[count];
+            x = new int[count];
+            y = new int[count];
+            blocksCount = new int[count];
+            blocks = new byte[count][];
+        }
+    }
+}
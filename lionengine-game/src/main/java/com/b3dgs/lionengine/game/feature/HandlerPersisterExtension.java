@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Persist additional featurable data with {@link HandlerPersisterCompact}, as a named block. Blocks of unknown
+ * extensions are skipped on loading.
+ */
+public interface HandlerPersisterExtension
+{
+    /**
+     * Get the extension name, identifying its blocks. Must be stable between save and load.
+     * 
+     * @return The extension name.
+     */
+    String getName();
+
+    /**
+     * Check if featurable has data to save with this extension.
+     * 
+     * @param featurable The featurable reference.
+     * @return <code>true</code> if has data, <code>false</code> to skip block.
+     */
+    boolean isSupported(Featurable featurable);
+
+    /**
+     * Save featurable data. Called on snapshot, from the caller thread.
+     * 
+     * @param featurable The featurable reference.
+     * @param output The block output.
+     * @throws IOException If error on writing.
+     */
+    void save(Featurable featurable, DataOutput output) throws IOException;
+
+    /**
+     * Load featurable data, once created and placed, before being added to handler.
+     * 
+     * @param featurable The featurable reference.
+     * @param input The block input.
+     * @throws IOException If error on reading.
+     */
+    void load(Featurable featurable, DataInput input) throws IOException;
+}
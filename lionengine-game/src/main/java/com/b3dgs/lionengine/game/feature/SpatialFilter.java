@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import com.b3dgs.lionengine.game.Feature;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+
+/**
+ * Filter of {@link ComponentSpatialQuery} results, by required feature and by {@link Collidable} group. Filters are
+ * immutable and should be created once and reused between queries.
+ */
+public final class SpatialFilter
+{
+    /** Accept all featurables. */
+    public static final SpatialFilter ALL = new SpatialFilter(null, null);
+
+    /** Required feature, <code>null</code> if any. */
+    private final Class<? extends Feature> feature;
+    /** Required collision group, <code>null</code> if any. */
+    private final Integer group;
+
+    /**
+     * Create filter.
+     * 
+     * @param feature The required feature, <code>null</code> to accept any.
+     * @param group The required {@link Collidable} group, <code>null</code> to accept any (featurable without
+     *            {@link Collidable} are rejected if not <code>null</code>).
+     */
+    public SpatialFilter(Class<? extends Feature> feature, Integer group)
+    {
+        super();
+
+        this.feature = feature;
+        this.group = group;
+    }
+
+    /**
+     * Check if featurable is accepted.
+     * 
+     * @param featurable The featurable to check.
+     * @return <code>true</code> if accepted, <code>false</code> else.
+     */
+    public boolean accept(Featurable featurable)
+    {
+        if (feature != null && !featurable.hasFeature(feature))
+        {
+            return false;
+        }
+        if (group != null)
+        {
+            return featurable.hasFeature(Collidable.class)
+                   && group.equals(featurable.getFeature(Collidable.class).getGroup());
+        }
+        return true;
+    }
+}
@@ -96,6 +96,15 @@ public interface Collidable extends Feature, Renderable, CollidableListener, Col
      */
     void setEnabled(boolean enabled);
 
+    /**
+     * Set the swept collision flag. When enabled, the first contact along the motion is computed analytically, in a
+     * constant number of operations, instead of stepping the collision one pixel at a time. Both give the same first
+     * contact, except on exact edge contact where stepping may accumulate rounding errors.
+     * 
+     * @param swept <code>true</code> to compute first contact analytically, <code>false</code> to step along motion.
+     */
+    void setSwept(boolean swept);
+
     /**
      * Set the collision visibility.
      * 
@@ -110,6 +119,13 @@ public interface Collidable extends Feature, Renderable, CollidableListener, Col
      */
     boolean isEnabled();
 
+    /**
+     * Check if swept collision is used.
+     * 
+     * @return <code>true</code> if computed analytically, <code>false</code> if stepped along motion.
+     */
+    boolean isSwept();
+
     /**
      * Get the declared collisions.
      * 
@@ -47,6 +47,20 @@ import com.b3dgs.lionengine.graphic.Graphic;
 public class CollidableModel extends FeatureModel
                              implements Collidable, Recyclable, TransformableListener, IdentifiableListener
 {
+    /** Default swept flag for new collidables. */
+    private static volatile boolean sweptDefault;
+
+    /**
+     * Set the swept collision flag used by default for new collidables.
+     * 
+     * @param swept <code>true</code> to compute first contact analytically, <code>false</code> to step along motion.
+     * @see Collidable#setSwept(boolean)
+     */
+    public static void setSweptDefault(boolean swept)
+    {
+        sweptDefault = swept;
+    }
+
     /** Collision updater. */
     private final CollidableUpdater updater = new CollidableUpdater();
     /** Collision renderer. */
@@ -104,6 +118,7 @@ public class CollidableModel extends FeatureModel
         accepted.addAll(config.getAccepted());
         collisions.addAll(CollisionConfig.imports(setup).getCollisions());
         origin = OriginConfig.imports(setup);
+        updater.setSwept(sweptDefault);
     }
 
     /*
@@ -210,6 +225,12 @@ public class CollidableModel extends FeatureModel
         updater.setEnabled(enabled);
     }
 
+    @Override
+    public void setSwept(boolean swept)
+    {
+        updater.setSwept(swept);
+    }
+
     @Override
     public void setCollisionVisibility(boolean visible)
     {
@@ -222,6 +243,12 @@ public class CollidableModel extends FeatureModel
         return updater.isEnabled();
     }
 
+    @Override
+    public boolean isSwept()
+    {
+        return updater.isSwept();
+    }
+
     @Override
     public List<Collision> getCollisions()
     {
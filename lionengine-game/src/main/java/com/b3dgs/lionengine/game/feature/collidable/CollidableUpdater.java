@@ -50,6 +50,7 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
      * @param other The other collidable to check.
      * @param rectangle The collision rectangle.
      * @param collisions The collisions couple.
+     * @param swept <code>true</code> to compute first contact analytically, <code>false</code> to step along motion.
      */
     private static void collide(Origin origin,
                                 FeatureProvider provider,
@@ -57,7 +58,8 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
                                 Collision with,
                                 Collidable other,
                                 Rectangle rectangle,
-                                List<CollisionCouple> collisions)
+                                List<CollisionCouple> collisions,
+                                boolean swept)
     {
         final Mirror mirror = getMirror(provider, with);
         final int offsetX = getOffsetX(with, mirror);
@@ -88,7 +90,17 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
 
         final double oldX = rectangle.getX();
         final double oldY = rectangle.getY();
-        for (int count = 0; count < max + 1; count++)
+        int start = 0;
+        if (swept)
+        {
+            start = getFirstContact(rectangle, other, sx, sy, max);
+            if (start > max)
+            {
+                return;
+            }
+            rectangle.translate(sx * start, sy * start);
+        }
+        for (int count = start; count < max + 1; count++)
         {
             if (checkCollide(with, rectangle, other, collisions))
             {
@@ -99,6 +111,179 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
         rectangle.set(oldX, oldY, rectangle.getWidth(), rectangle.getHeight());
     }
 
+    /**
+     * Get the first step where area collides one of the other collidable areas, when moving area by the step speed.
+     * Area at step <code>n</code> is located at its current location translated by <code>n * speed</code>.
+     * 
+     * @param area The current area.
+     * @param other The other collidable.
+     * @param sx The horizontal step speed.
+     * @param sy The vertical step speed.
+     * @param max The last step.
+     * @return The first colliding step, <code>max + 1</code> if none.
+     */
+    private static int getFirstContact(Area area, Collidable other, double sx, double sy, int max)
+    {
+        final List<Rectangle> others = other.getCollisionBounds();
+        final List<Collision> othersColl = other.getCollisions();
+        final int size = others.size();
+        int first = max + 1;
+        for (int i = 0; i < size && first > 0; i++)
+        {
+            if (other.isEnabled(othersColl.get(i)))
+            {
+                first = Math.min(first, getFirstContact(area, others.get(i), sx, sy, first - 1));
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Get the first step where area collides other area, as checked by {@link #checkCollide}: areas intersect, or
+     * area contains other.
+     * 
+     * @param area The current area.
+     * @param other The other area.
+     * @param sx The horizontal step speed.
+     * @param sy The vertical step speed.
+     * @param max The last step.
+     * @return The first colliding step, <code>max + 1</code> if none.
+     */
+    private static int getFirstContact(Area area, Area other, double sx, double sy, int max)
+    {
+        final double x = area.getX();
+        final double y = area.getY();
+        final double w = area.getWidthReal();
+        final double h = area.getHeightReal();
+        final double ox = other.getX();
+        final double oy = other.getY();
+        final double ow = other.getWidthReal();
+        final double oh = other.getHeightReal();
+
+        final int intersectMin = Math.max(getStepMin(x, sx, ox - w, ox + ow, true, max),
+                                          getStepMin(y, sy, oy - h, oy + oh, true, max));
+        final int intersectMax = Math.min(getStepMax(x, sx, ox - w, ox + ow, true, max),
+                                          getStepMax(y, sy, oy - h, oy + oh, true, max));
+        final int containMin = Math.max(getStepMin(x, sx, ox + ow - w, ox, false, max),
+                                        getStepMin(y, sy, oy + oh - h, oy, false, max));
+        final int containMax = Math.min(getStepMax(x, sx, ox + ow - w, ox, false, max),
+                                        getStepMax(y, sy, oy + oh - h, oy, false, max));
+
+        int first = max + 1;
+        if (intersectMin <= intersectMax)
+        {
+            first = intersectMin;
+        }
+        if (containMin <= containMax && containMin < first)
+        {
+            first = containMin;
+        }
+        return first;
+    }
+
+    /**
+     * Get the first step in <code>[0, max]</code> where <code>start + step * speed</code> is inside range.
+     * 
+     * @param start The start location.
+     * @param speed The step speed.
+     * @param min The range min.
+     * @param max The range max.
+     * @param open <code>true</code> if range bounds are excluded, <code>false</code> if included.
+     * @param last The last step.
+     * @return The first step in range, <code>last + 1</code> if none.
+     */
+    private static int getStepMin(double start, double speed, double min, double max, boolean open, int last)
+    {
+        if (isEmpty(min, max, open))
+        {
+            return last + 1;
+        }
+        if (Double.compare(speed, 0.0) == 0)
+        {
+            return isInside(start, min, max, open) ? 0 : last + 1;
+        }
+        final double step = Math.min((min - start) / speed, (max - start) / speed);
+        final double first;
+        if (open)
+        {
+            first = Math.floor(step) + 1.0;
+        }
+        else
+        {
+            first = Math.ceil(step);
+        }
+        return (int) Math.max(0.0, Math.min(last + 1.0, first));
+    }
+
+    /**
+     * Get the last step in <code>[0, max]</code> where <code>start + step * speed</code> is inside range.
+     * 
+     * @param start The start location.
+     * @param speed The step speed.
+     * @param min The range min.
+     * @param max The range max.
+     * @param open <code>true</code> if range bounds are excluded, <code>false</code> if included.
+     * @param last The last step.
+     * @return The last step in range, <code>-1</code> if none.
+     */
+    private static int getStepMax(double start, double speed, double min, double max, boolean open, int last)
+    {
+        if (isEmpty(min, max, open))
+        {
+            return -1;
+        }
+        if (Double.compare(speed, 0.0) == 0)
+        {
+            return isInside(start, min, max, open) ? last : -1;
+        }
+        final double step = Math.max((min - start) / speed, (max - start) / speed);
+        final double lastInside;
+        if (open)
+        {
+            lastInside = Math.ceil(step) - 1.0;
+        }
+        else
+        {
+            lastInside = Math.floor(step);
+        }
+        return (int) Math.max(-1.0, Math.min(last, lastInside));
+    }
+
+    /**
+     * Check if range is empty.
+     * 
+     * @param min The range min.
+     * @param max The range max.
+     * @param open <code>true</code> if range bounds are excluded, <code>false</code> if included.
+     * @return <code>true</code> if empty, <code>false</code> else.
+     */
+    private static boolean isEmpty(double min, double max, boolean open)
+    {
+        if (open)
+        {
+            return min >= max;
+        }
+        return min > max;
+    }
+
+    /**
+     * Check if value is inside range.
+     * 
+     * @param value The value to check.
+     * @param min The range min.
+     * @param max The range max.
+     * @param open <code>true</code> if range bounds are excluded, <code>false</code> if included.
+     * @return <code>true</code> if inside, <code>false</code> else.
+     */
+    private static boolean isInside(double value, double min, double max, boolean open)
+    {
+        if (open)
+        {
+            return value > min && value < max;
+        }
+        return value >= min && value <= max;
+    }
+
     /**
      * Check if current area collides other collidable area.
      * 
@@ -190,6 +375,8 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
     private int maxHeight;
     /** Enabled flag. */
     private boolean enabled;
+    /** Swept flag. */
+    private boolean swept;
 
     /**
      * Create a collidable updater.
@@ -257,7 +444,7 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
                 final Collision with = cacheColls.get(i);
                 if (!disabled.contains(with))
                 {
-                    collide(origin, provider, transformable, with, other, cacheRect.get(i), collisions);
+                    collide(origin, provider, transformable, with, other, cacheRect.get(i), collisions, swept);
                 }
             }
             return collisions;
@@ -283,6 +470,26 @@ final class CollidableUpdater implements IdentifiableListener, CollisionChecker
         }
     }
 
+    /**
+     * Set the swept collision flag.
+     * 
+     * @param swept <code>true</code> to compute first contact analytically, <code>false</code> to step along motion.
+     */
+    public void setSwept(boolean swept)
+    {
+        this.swept = swept;
+    }
+
+    /**
+     * Check if swept collision is used.
+     * 
+     * @return <code>true</code> if computed analytically, <code>false</code> if stepped along motion.
+     */
+    public boolean isSwept()
+    {
+        return swept;
+    }
+
     /**
      * Set the collision enabled flag.
      * 
@@ -103,12 +103,46 @@ public class ComponentCollision implements ComponentUpdater, HandlerListener, Tr
         return (int) Math.floor(value / REDUCE_FACTOR);
     }
 
+    /**
+     * Check if collidable bounds intersect box.
+     * 
+     * @param collidable The collidable reference.
+     * @param minX The box min horizontal location.
+     * @param minY The box min vertical location.
+     * @param maxX The box max horizontal location.
+     * @param maxY The box max vertical location.
+     * @return <code>true</code> if intersects, <code>false</code> else.
+     */
+    private static boolean intersects(Collidable collidable, double minX, double minY, double maxX, double maxY)
+    {
+        final List<Rectangle> bounds = collidable.getCollisionBounds();
+        final List<Collision> collisions = collidable.getCollisions();
+        final int n = bounds.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Rectangle bound = bounds.get(i);
+            if (collidable.isEnabled(collisions.get(i))
+                && bound.getMinX() < maxX
+                && bound.getMaxX() > minX
+                && bound.getMinY() < maxY
+                && bound.getMaxY() > minY)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /** Mapping reduced. */
     private final Map<Integer, Map<Point, Set<Collidable>>> collidables = new HashMap<>();
     /** Already collided mapping. */
     private final Map<Collidable, Collidable> done = new HashMap<>(1);
     /** To be notified. */
     private final List<Collided> toNotify = new ArrayList<>();
+    /** Bulk check point cache. */
+    private final Point bulkPoint = new Point();
+    /** Bulk check already collided for current box. */
+    private final List<Collidable> bulkDone = new ArrayList<>();
 
     /**
      * Create component.
@@ -144,6 +178,103 @@ public class ComponentCollision implements ComponentUpdater, HandlerListener, Tr
         return inside;
     }
 
+    /**
+     * Check collisions of many boxes against the handled collidables, without allocating collision data. Designed for
+     * lightweight elements which are not {@link Collidable}, such as bulk projectiles.
+     * <p>
+     * Each box is centered on its location. Only enabled collidables of the accepted groups are checked, and each
+     * collided couple is notified once.
+     * </p>
+     * 
+     * @param x The horizontal locations.
+     * @param y The vertical locations.
+     * @param count The number of boxes to check, from index 0.
+     * @param width The box width.
+     * @param height The box height.
+     * @param accepted The accepted groups.
+     * @param listener The listener notified on collision.
+     */
+    public void collide(double[] x,
+                        double[] y,
+                        int count,
+                        int width,
+                        int height,
+                        Iterable<Integer> accepted,
+                        CollidableBulkListener listener)
+    {
+        final double halfWidth = width / 2.0;
+        final double halfHeight = height / 2.0;
+        for (final Integer group : accepted)
+        {
+            final Map<Point, Set<Collidable>> elements = collidables.get(group);
+            if (elements != null)
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    collide(elements,
+                            i,
+                            x[i] - halfWidth,
+                            y[i] - halfHeight,
+                            x[i] + halfWidth,
+                            y[i] + halfHeight,
+                            listener);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check collisions of a box with elements of a group.
+     * 
+     * @param elements The group elements.
+     * @param index The box index.
+     * @param minX The box min horizontal location.
+     * @param minY The box min vertical location.
+     * @param maxX The box max horizontal location.
+     * @param maxY The box max vertical location.
+     * @param listener The listener notified on collision.
+     */
+    private void collide(Map<Point, Set<Collidable>> elements,
+                         int index,
+                         double minX,
+                         double minY,
+                         double maxX,
+                         double maxY,
+                         CollidableBulkListener listener)
+    {
+        final int minPointX = getIndex(minX);
+        final int minPointY = getIndex(minY);
+        final int maxPointX = getIndex(maxX);
+        final int maxPointY = getIndex(maxY);
+        final boolean single = minPointX == maxPointX && minPointY == maxPointY;
+
+        for (int px = minPointX; px <= maxPointX; px++)
+        {
+            for (int py = minPointY; py <= maxPointY; py++)
+            {
+                bulkPoint.set(px, py);
+                final Set<Collidable> others = elements.get(bulkPoint);
+                if (others != null)
+                {
+                    for (final Collidable other : others)
+                    {
+                        if ((single || !bulkDone.contains(other))
+                            && other.isEnabled()
+                            && intersects(other, minX, minY, maxX, maxY))
+                        {
+                            listener.notifyCollided(index, other);
+                            if (!single)
+                            {
+                                bulkDone.add(other);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        bulkDone.clear();
+    }
+
     /**
      * Remove point and adjacent points depending of the collidable max collision size.
      * 
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.launchable;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.ComponentUpdater;
+import com.b3dgs.lionengine.game.feature.Handlables;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.CollidableBulkListener;
+import com.b3dgs.lionengine.game.feature.collidable.ComponentCollision;
+
+/**
+ * Updater component implementation which updates {@link Projectiles} and checks their collisions in bulk with
+ * {@link ComponentCollision#collide(double[], double[], int, int, int, Iterable, CollidableBulkListener)}.
+ * <p>
+ * A projectile is killed on its first collision, and the listener is notified with its index and the collided
+ * {@link Collidable}. Dead projectiles are removed at the end of the update.
+ * </p>
+ * <p>
+ * Must be added after {@link ComponentCollision} to the {@link com.b3dgs.lionengine.game.feature.Handler}.
+ * </p>
+ */
+public class ComponentProjectile implements ComponentUpdater, CollidableBulkListener
+{
+    /** Projectiles reference. */
+    private final Projectiles projectiles;
+    /** Collision reference. */
+    private final ComponentCollision collision;
+    /** Collision listener. */
+    private final CollidableBulkListener listener;
+
+    /**
+     * Create component.
+     * 
+     * @param projectiles The projectiles reference (must not be <code>null</code>).
+     * @param collision The collision reference (must not be <code>null</code>).
+     * @param listener The listener notified on projectile collision (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public ComponentProjectile(Projectiles projectiles, ComponentCollision collision, CollidableBulkListener listener)
+    {
+        super();
+
+        Check.notNull(projectiles);
+        Check.notNull(collision);
+        Check.notNull(listener);
+
+        this.projectiles = projectiles;
+        this.collision = collision;
+        this.listener = listener;
+    }
+
+    /*
+     * ComponentUpdater
+     */
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        projectiles.update(extrp);
+        collision.collide(projectiles.getLocationsX(),
+                          projectiles.getLocationsY(),
+                          projectiles.getCount(),
+                          projectiles.getWidth(),
+                          projectiles.getHeight(),
+                          projectiles.getAccepted(),
+                          this);
+        projectiles.removeDead();
+    }
+
+    /*
+     * CollidableBulkListener
+     */
+
+    @Override
+    public void notifyCollided(int index, Collidable collidable)
+    {
+        if (projectiles.isAlive(index))
+        {
+            projectiles.kill(index);
+            listener.notifyCollided(index, collidable);
+        }
+    }
+}
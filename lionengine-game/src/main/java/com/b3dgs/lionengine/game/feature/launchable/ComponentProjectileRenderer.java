@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.launchable;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.game.feature.ComponentRenderer;
+import com.b3dgs.lionengine.game.feature.Handlables;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.ImageSurface;
+
+/**
+ * Renderer component implementation which renders all visible {@link Projectiles} in one pass with the same image,
+ * centered on their location.
+ */
+public class ComponentProjectileRenderer implements ComponentRenderer
+{
+    /** Projectiles reference. */
+    private final Projectiles projectiles;
+    /** Viewer reference. */
+    private final Viewer viewer;
+    /** Projectile image. */
+    private final ImageSurface image;
+
+    /**
+     * Create component.
+     * 
+     * @param projectiles The projectiles reference (must not be <code>null</code>).
+     * @param viewer The viewer reference (must not be <code>null</code>).
+     * @param image The projectile image (must not be <code>null</code>).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public ComponentProjectileRenderer(Projectiles projectiles, Viewer viewer, ImageSurface image)
+    {
+        super();
+
+        Check.notNull(projectiles);
+        Check.notNull(viewer);
+        Check.notNull(image);
+
+        this.projectiles = projectiles;
+        this.viewer = viewer;
+        this.image = image;
+    }
+
+    /*
+     * ComponentRenderer
+     */
+
+    @Override
+    public void render(Graphic g, Handlables featurables)
+    {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int minX = viewer.getViewX() - width;
+        final int minY = viewer.getViewY() - height;
+        final int maxX = viewer.getViewX() + viewer.getWidth();
+        final int maxY = viewer.getViewY() + viewer.getHeight();
+        final double[] x = projectiles.getLocationsX();
+        final double[] y = projectiles.getLocationsY();
+        final int count = projectiles.getCount();
+
+        for (int i = 0; i < count; i++)
+        {
+            final int rx = (int) Math.round(viewer.getViewpointX(x[i]) - width / 2.0);
+            final int ry = (int) Math.round(viewer.getViewpointY(y[i]) - height / 2.0);
+            if (rx > minX && rx < maxX && ry > minY && ry < maxY)
+            {
+                g.drawImage(image, rx, ry);
+            }
+        }
+    }
+}
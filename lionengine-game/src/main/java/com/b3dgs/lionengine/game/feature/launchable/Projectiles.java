@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.launchable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Updatable;
+
+/**
+ * Lightweight projectiles storage, designed for a large amount of simple moving elements which do not need to be a
+ * {@link com.b3dgs.lionengine.game.feature.Featurable}.
+ * <p>
+ * Locations, speeds and lifetimes are stored in primitive arrays, and updated in a single loop, which can be split
+ * across threads when there are enough projectiles (see {@link #setParallel(int)}).
+ * </p>
+ * <p>
+ * Indexes are only valid until the next removal pass ({@link #update(double)} or {@link #removeDead()}), as the last
+ * projectile replaces the removed one.
+ * </p>
+ * 
+ * @see ComponentProjectile
+ * @see ComponentProjectileRenderer
+ */
+public class Projectiles implements Updatable
+{
+    /** Parallel update chunk size. */
+    private static final int CHUNK = 4096;
+
+    /** Collision width. */
+    private final int width;
+    /** Collision height. */
+    private final int height;
+    /** Accepted collision groups. */
+    private final Collection<Integer> accepted = new ArrayList<>();
+    /** Horizontal locations. */
+    private double[] x;
+    /** Vertical locations. */
+    private double[] y;
+    /** Horizontal speeds. */
+    private double[] vx;
+    /** Vertical speeds. */
+    private double[] vy;
+    /** Remaining lifetimes in tick. */
+    private double[] life;
+    /** Alive projectiles number. */
+    private int count;
+    /** Minimum projectiles number to update in parallel, <code>0</code> to disable. */
+    private int parallel;
+
+    /**
+     * Create projectiles.
+     * 
+     * @param capacity The initial capacity (must be strictly positive).
+     * @param width The projectile collision width (must be positive).
+     * @param height The projectile collision height (must be positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public Projectiles(int capacity, int width, int height)
+    {
+        super();
+
+        Check.superiorStrict(capacity, 0);
+        Check.superiorOrEqual(width, 0);
+        Check.superiorOrEqual(height, 0);
+
+        this.width = width;
+        this.height = height;
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        life = new double[capacity];
+    }
+
+    /**
+     * Launch a projectile.
+     * 
+     * @param x The starting horizontal location.
+     * @param y The starting vertical location.
+     * @param vx The horizontal speed.
+     * @param vy The vertical speed.
+     * @param life The lifetime in tick (must be strictly positive).
+     * @return The projectile index.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public int launch(double x, double y, double vx, double vy, double life)
+    {
+        Check.superiorStrict(life, 0.0);
+
+        if (count == this.x.length)
+        {
+            grow();
+        }
+        final int index = count;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.vx[index] = vx;
+        this.vy[index] = vy;
+        this.life[index] = life;
+        count++;
+
+        return index;
+    }
+
+    /**
+     * Kill projectile. It will be removed on next removal pass.
+     * 
+     * @param index The projectile index.
+     */
+    public void kill(int index)
+    {
+        life[index] = 0.0;
+    }
+
+    /**
+     * Remove all projectiles.
+     */
+    public void clear()
+    {
+        count = 0;
+    }
+
+    /**
+     * Remove dead projectiles, by replacing them with the last alive one.
+     */
+    public void removeDead()
+    {
+        int i = 0;
+        while (i < count)
+        {
+            if (life[i] > 0.0)
+            {
+                i++;
+            }
+            else
+            {
+                count--;
+                x[i] = x[count];
+                y[i] = y[count];
+                vx[i] = vx[count];
+                vy[i] = vy[count];
+                life[i] = life[count];
+            }
+        }
+    }
+
+    /**
+     * Add an accepted collision group.
+     * 
+     * @param group The accepted group (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void addAccept(Integer group)
+    {
+        Check.notNull(group);
+
+        accepted.add(group);
+    }
+
+    /**
+     * Set the minimum number of projectiles needed to split update across threads.
+     * 
+     * @param threshold The minimum projectiles number, <code>0</code> to always update on caller thread (must be
+     *            positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setParallel(int threshold)
+    {
+        Check.superiorOrEqual(threshold, 0);
+
+        parallel = threshold;
+    }
+
+    /**
+     * Get the alive projectiles number.
+     * 
+     * @return The projectiles number.
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Get the projectile horizontal location.
+     * 
+     * @param index The projectile index.
+     * @return The horizontal location.
+     */
+    public double getX(int index)
+    {
+        return x[index];
+    }
+
+    /**
+     * Get the projectile vertical location.
+     * 
+     * @param index The projectile index.
+     * @return The vertical location.
+     */
+    public double getY(int index)
+    {
+        return y[index];
+    }
+
+    /**
+     * Get the projectile horizontal speed.
+     * 
+     * @param index The projectile index.
+     * @return The horizontal speed.
+     */
+    public double getVx(int index)
+    {
+        return vx[index];
+    }
+
+    /**
+     * Get the projectile vertical speed.
+     * 
+     * @param index The projectile index.
+     * @return The vertical speed.
+     */
+    public double getVy(int index)
+    {
+        return vy[index];
+    }
+
+    /**
+     * Check if projectile is alive.
+     * 
+     * @param index The projectile index.
+     * @return <code>true</code> if alive, <code>false</code> if dead and waiting for removal.
+     */
+    public boolean isAlive(int index)
+    {
+        return life[index] > 0.0;
+    }
+
+    /**
+     * Get the projectile collision width.
+     * 
+     * @return The collision width.
+     */
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Get the projectile collision height.
+     * 
+     * @return The collision height.
+     */
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Get the accepted collision groups.
+     * 
+     * @return The accepted groups.
+     */
+    public Collection<Integer> getAccepted()
+    {
+        return accepted;
+    }
+
+    /**
+     * Get the horizontal locations storage.
+     * 
+     * @return The horizontal locations.
+     */
+    double[] getLocationsX()
+    {
+        return x;
+    }
+
+    /**
+     * Get the vertical locations storage.
+     * 
+     * @return The vertical locations.
+     */
+    double[] getLocationsY()
+    {
+        return y;
+    }
+
+    /**
+     * Double storage capacity.
+     */
+    private void grow()
+    {
+        final int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        life = Arrays.copyOf(life, capacity);
+    }
+
+    /**
+     * Move projectiles in range and consume their lifetime.
+     * 
+     * @param extrp The extrapolation value.
+     * @param start The first index.
+     * @param end The last index excluded.
+     */
+    private void move(double extrp, int start, int end)
+    {
+        for (int i = start; i < end; i++)
+        {
+            x[i] += vx[i] * extrp;
+            y[i] += vy[i] * extrp;
+            life[i] -= extrp;
+        }
+    }
+
+    /*
+     * Updatable
+     */
+
+    /**
+     * Move projectiles, consume their lifetime and remove the dead ones.
+     * 
+     * @param extrp The extrapolation value.
+     */
+    @Override
+    public void update(double extrp)
+    {
+        if (parallel > 0 && count >= parallel)
+        {
+            final int chunks = (count + CHUNK - 1) / CHUNK;
+            IntStream.range(0, chunks)
+                     .parallel()
+                     .forEach(chunk -> move(extrp, chunk * CHUNK, Math.min(count, (chunk + 1) * CHUNK)));
+        }
+        else
+        {
+            move(extrp, 0, count);
+        }
+        removeDead();
+    }
+}
@@ -85,6 +85,40 @@ public interface MapTile extends FeatureProvider, SurfaceTile
      */
     void setTile(int tx, int ty, int number);
 
+    /**
+     * Remove the tile at specified map location, leaving no tile. Listeners are notified with
+     * {@link TileSetListener#onTileRemoved(Tile)}.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @throws LionEngineException If outside map range.
+     */
+    void removeTile(int tx, int ty);
+
+    /**
+     * Start a bulk edit transaction. Until {@link #commitTransaction()}, {@link #setTile(int, int, int)} and
+     * {@link #removeTile(int, int)} change tiles without resolving or notifying them.
+     * 
+     * @throws LionEngineException If a transaction is already started.
+     */
+    void beginTransaction();
+
+    /**
+     * End the current transaction. Tiles set during transaction are resolved once by the registered
+     * {@link MapTileResolver}, then {@link TileSetListener} are notified once per changed location.
+     * 
+     * @return The changed tiles, excluding removed ones.
+     * @throws LionEngineException If no transaction started.
+     */
+    Collection<Tile> commitTransaction();
+
+    /**
+     * Check if a transaction is started.
+     * 
+     * @return <code>true</code> if started, <code>false</code> else.
+     */
+    boolean isTransaction();
+
     /**
      * Get tile from specified map location (in tile index). If the returned tile is equal to <code>null</code>, this
      * means that there is not tile at this location. It is not an error, just a way to avoid useless tile storage.
@@ -58,10 +58,22 @@ public class MapTileGame extends FeaturableAbstract implements MapTile, Listenab
      * Create model.
      */
     public MapTileGame()
+    {
+        this(false);
+    }
+
+    /**
+     * Create model.
+     * 
+     * @param compact <code>true</code> to store tiles in a flat primitive array (designed for very large maps),
+     *            <code>false</code> to store one tile instance per location.
+     * @see MapTileSurfaceModel#MapTileSurfaceModel(boolean)
+     */
+    public MapTileGame(boolean compact)
     {
         super();
 
-        mapSurface = addFeatureAndGet(new MapTileSurfaceModel());
+        mapSurface = addFeatureAndGet(new MapTileSurfaceModel(compact));
     }
 
     /**
@@ -181,6 +193,30 @@ public class MapTileGame extends FeaturableAbstract implements MapTile, Listenab
         mapSurface.setTile(tx, ty, number);
     }
 
+    @Override
+    public void removeTile(int tx, int ty)
+    {
+        mapSurface.removeTile(tx, ty);
+    }
+
+    @Override
+    public void beginTransaction()
+    {
+        mapSurface.beginTransaction();
+    }
+
+    @Override
+    public Collection<Tile> commitTransaction()
+    {
+        return mapSurface.commitTransaction();
+    }
+
+    @Override
+    public boolean isTransaction()
+    {
+        return mapSurface.isTransaction();
+    }
+
     @Override
     public Tile getTile(int tx, int ty)
     {
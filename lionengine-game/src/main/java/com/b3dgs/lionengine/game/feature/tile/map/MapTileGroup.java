@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Set;
 
 import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Listenable;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
@@ -31,7 +32,7 @@ import com.b3dgs.lionengine.game.feature.tile.TileGroupType;
  * Represents the group definition for each tile.
  */
 @FeatureInterface
-public interface MapTileGroup extends Feature
+public interface MapTileGroup extends Feature, Listenable<MapTileGroupListener>
 {
     /**
      * Load tiles group from an external file.
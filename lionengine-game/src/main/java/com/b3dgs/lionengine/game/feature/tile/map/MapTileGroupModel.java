@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import com.b3dgs.lionengine.ListenableModel;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.feature.FeatureAbstract;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
@@ -37,6 +38,8 @@ public class MapTileGroupModel extends FeatureAbstract implements MapTileGroup
     /** No group name. */
     public static final String NO_GROUP_NAME = "none";
 
+    /** Groups listeners. */
+    private final ListenableModel<MapTileGroupListener> listenable = new ListenableModel<>();
     /** Group tiles mapping. */
     private final Map<String, Set<Integer>> groupTiles = new HashMap<>();
     /** Group types mapping. */
@@ -56,10 +59,33 @@ public class MapTileGroupModel extends FeatureAbstract implements MapTileGroup
         groupTiles.put(NO_GROUP_NAME, new HashSet<Integer>());
     }
 
+    /**
+     * Notify listeners that groups changed.
+     */
+    private void notifyGroupsChanged()
+    {
+        for (int i = 0; i < listenable.size(); i++)
+        {
+            listenable.get(i).notifyGroupsChanged();
+        }
+    }
+
     /*
      * MapTileGroup
      */
 
+    @Override
+    public void addListener(MapTileGroupListener listener)
+    {
+        listenable.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(MapTileGroupListener listener)
+    {
+        listenable.removeListener(listener);
+    }
+
     @Override
     public void loadGroups(Collection<TileGroup> groups)
     {
@@ -78,6 +104,7 @@ public class MapTileGroupModel extends FeatureAbstract implements MapTileGroup
                 tilesGroup.put(tile, name);
             }
         }
+        notifyGroupsChanged();
     }
 
     @Override
@@ -107,6 +134,7 @@ public class MapTileGroupModel extends FeatureAbstract implements MapTileGroup
         {
             tilesGroup.remove(number);
         }
+        notifyGroupsChanged();
     }
 
     @Override
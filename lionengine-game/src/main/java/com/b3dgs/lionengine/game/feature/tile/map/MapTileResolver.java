@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.Collection;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+
+/**
+ * Resolve tiles set during a {@link MapTile} transaction, such as transitions and circuits.
+ * 
+ * @see MapTileSurface#addResolver(MapTileResolver)
+ */
+public interface MapTileResolver
+{
+    /**
+     * Called once on transaction commit, before {@link TileSetListener} notifications. Each location appears once,
+     * with its last set number, in the order it was first set.
+     * 
+     * @param tiles The tiles set during transaction.
+     */
+    void resolve(Collection<Tile> tiles);
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+
+/**
+ * Tiles storage used by {@link MapTileSurfaceModel}. Locations are always inside map bounds.
+ */
+interface MapTileStorage
+{
+    /**
+     * Allocate empty storage.
+     * 
+     * @param widthInTile The map width in tile.
+     * @param heightInTile The map height in tile.
+     */
+    void create(int widthInTile, int heightInTile);
+
+    /**
+     * Resize storage, keeping existing tiles.
+     * 
+     * @param oldWidth The old width in tile.
+     * @param oldHeight The old height in tile.
+     * @param newWidth The new width in tile.
+     * @param newHeight The new height in tile.
+     */
+    void resize(int oldWidth, int oldHeight, int newWidth, int newHeight);
+
+    /**
+     * Remove all tiles.
+     */
+    void clear();
+
+    /**
+     * Set tile number.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @param number The tile number.
+     * @param sheet The tile sheet, <code>-1</code> if unknown.
+     * @return The tile set, <code>null</code> if unchanged.
+     */
+    Tile set(int tx, int ty, int number, int sheet);
+
+    /**
+     * Remove tile.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The tile removed, <code>null</code> if none.
+     */
+    Tile remove(int tx, int ty);
+
+    /**
+     * Get tile.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The tile found, <code>null</code> if none.
+     */
+    Tile get(int tx, int ty);
+
+    /**
+     * Get the number of defined tiles.
+     * 
+     * @return The number of tiles.
+     */
+    int getTilesNumber();
+
+    /**
+     * Check if storage has been allocated.
+     * 
+     * @return <code>true</code> if created, <code>false</code> else.
+     */
+    boolean isCreated();
+}
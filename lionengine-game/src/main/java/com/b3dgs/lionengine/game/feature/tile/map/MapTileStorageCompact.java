@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.TileGame;
+
+/**
+ * Tiles storage using a flat primitive array, with one int per location.
+ * <p>
+ * The tile number is stored with an offset of one, <code>0</code> meaning no tile. The sheet is deduced from the
+ * number and the tiles per sheet. Tiles are not stored as objects: they are returned as {@link TileGame} views, kept
+ * in a small direct mapped cache, so repeated access to the same location does not allocate. Views are value objects
+ * (equality on number and location), and must not be modified.
+ * </p>
+ */
+final class MapTileStorageCompact implements MapTileStorage
+{
+    /** Views cache size (must be a power of two). */
+    private static final int CACHE_SIZE = 4096;
+    /** Views cache hash multiplier. */
+    private static final int CACHE_PRIME = 0x9E3779B1;
+
+    /**
+     * Get the view cache index.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The cache index.
+     */
+    private static int getCacheIndex(int tx, int ty)
+    {
+        return (ty * CACHE_PRIME + tx) * CACHE_PRIME >>> Integer.numberOfLeadingZeros(CACHE_SIZE - 1);
+    }
+
+    /** Views cache. */
+    private final TileGame[] views = new TileGame[CACHE_SIZE];
+    /** Map reference. */
+    private final MapTile map;
+    /** Tiles number with offset, indexed by location. */
+    private int[] cells;
+    /** Storage width in tile. */
+    private int width;
+
+    /**
+     * Create storage.
+     * 
+     * @param map The map reference.
+     */
+    MapTileStorageCompact(MapTile map)
+    {
+        super();
+
+        this.map = map;
+    }
+
+    /**
+     * Get the tile sheet.
+     * 
+     * @param number The tile number.
+     * @return The tile sheet.
+     */
+    private int getSheet(int number)
+    {
+        final int tilesPerSheet = map.getTilesPerSheet();
+        if (tilesPerSheet > 0)
+        {
+            return number / tilesPerSheet;
+        }
+        return 0;
+    }
+
+    /**
+     * Get tile view.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @param number The tile number.
+     * @return The tile view.
+     */
+    private Tile getView(int tx, int ty, int number)
+    {
+        final int index = getCacheIndex(tx, ty);
+        final int sheet = getSheet(number);
+        final TileGame cached = views[index];
+        if (cached != null
+            && cached.getInTileX() == tx
+            && cached.getInTileY() == ty
+            && cached.getNumber() == number
+            && cached.getSheet() == sheet
+            && cached.getWidth() == map.getTileWidth()
+            && cached.getHeight() == map.getTileHeight())
+        {
+            return cached;
+        }
+        final TileGame view = new TileGame(number, tx, ty, map.getTileWidth(), map.getTileHeight());
+        view.setSheet(sheet);
+        views[index] = view;
+
+        return view;
+    }
+
+    /*
+     * MapTileStorage
+     */
+
+    @Override
+    public void create(int widthInTile, int heightInTile)
+    {
+        cells = new int[Math.multiplyExact(widthInTile, heightInTile)];
+        width = widthInTile;
+        Arrays.fill(views, null);
+    }
+
+    @Override
+    public void resize(int oldWidth, int oldHeight, int newWidth, int newHeight)
+    {
+        final int[] resized = new int[Math.multiplyExact(newWidth, newHeight)];
+        final int copyWidth = Math.min(oldWidth, newWidth);
+        for (int v = 0; v < Math.min(oldHeight, newHeight); v++)
+        {
+            System.arraycopy(cells, v * oldWidth, resized, v * newWidth, copyWidth);
+        }
+        cells = resized;
+        width = newWidth;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (cells != null)
+        {
+            cells = new int[0];
+            width = 0;
+            Arrays.fill(views, null);
+        }
+    }
+
+    @Override
+    public Tile set(int tx, int ty, int number, int sheet)
+    {
+        final int index = ty * width + tx;
+        if (cells[index] != number + 1)
+        {
+            cells[index] = number + 1;
+            return getView(tx, ty, number);
+        }
+        return null;
+    }
+
+    @Override
+    public Tile remove(int tx, int ty)
+    {
+        final int index = ty * width + tx;
+        final int value = cells[index];
+        if (value == 0)
+        {
+            return null;
+        }
+        cells[index] = 0;
+        return getView(tx, ty, value - 1);
+    }
+
+    @Override
+    public Tile get(int tx, int ty)
+    {
+        final int value = cells[ty * width + tx];
+        if (value == 0)
+        {
+            return null;
+        }
+        return getView(tx, ty, value - 1);
+    }
+
+    @Override
+    public int getTilesNumber()
+    {
+        int tilesNumber = 0;
+        for (final int value : cells)
+        {
+            if (value != 0)
+            {
+                tilesNumber++;
+            }
+        }
+        return tilesNumber;
+    }
+
+    @Override
+    public boolean isCreated()
+    {
+        return cells != null;
+    }
+}
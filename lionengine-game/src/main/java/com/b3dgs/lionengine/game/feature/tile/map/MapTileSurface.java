@@ -40,6 +40,20 @@ public interface MapTileSurface extends Feature, MapTile, Listenable<TileSetList
      */
     void resize(int newWidth, int newHeight);
 
+    /**
+     * Add a resolver, called on {@link #commitTransaction()} in adding order.
+     * 
+     * @param resolver The resolver reference.
+     */
+    void addResolver(MapTileResolver resolver);
+
+    /**
+     * Remove a resolver.
+     * 
+     * @param resolver The resolver reference.
+     */
+    void removeResolver(MapTileResolver resolver);
+
     /**
      * Get the associated media.
      * 
@@ -19,7 +19,9 @@ package com.b3dgs.lionengine.game.feature.tile.map;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
@@ -37,7 +39,18 @@ import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 
 /**
- * Abstract representation of a standard tile based map. This class uses a List of List to store tiles.
+ * Abstract representation of a standard tile based map.
+ * <p>
+ * By default, this class uses a List of List to store tiles, with one {@link Tile} instance per location. The compact
+ * mode stores tiles in a flat primitive array instead, with one int per location, and returns tiles as lightweight
+ * views. It is designed for very large maps, where one instance per location would not fit in memory. In this mode,
+ * returned tiles are value objects that must not be kept as references to a location: two calls may return different
+ * but equal instances.
+ * </p>
+ * <p>
+ * Bulk edits can be grouped in a transaction ({@link #beginTransaction()}, {@link #commitTransaction()}), so that
+ * {@link MapTileResolver} and {@link TileSetListener} handle each location once instead of once per set.
+ * </p>
  */
 public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurface
 {
@@ -45,9 +58,23 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     private static final String ERROR_TILE_SIZE = "Tile size is inconsistent between sheets !";
     /** Inconsistent tile count. */
     private static final String ERROR_TILE_COUNT = "Tile count is inconsistent between sheets !";
+    /** Transaction already started. */
+    static final String ERROR_TRANSACTION_STARTED = "Transaction already started !";
+    /** No transaction started. */
+    static final String ERROR_TRANSACTION_NONE = "No transaction started !";
 
     /** Tile set listeners. */
     private final ListenableModel<TileSetListener> listenable = new ListenableModel<>();
+    /** Transaction resolvers. */
+    private final List<MapTileResolver> resolvers = new ArrayList<>();
+    /** Transaction numbers before first set by location index, <code>-1</code> if no tile. */
+    private final Map<Integer, Integer> transactionOld = new LinkedHashMap<>();
+    /** Transaction numbers set by location index, excluding the ones set by resolvers. */
+    private final Map<Integer, Integer> transactionSet = new LinkedHashMap<>();
+    /** Transaction started flag. */
+    private boolean transaction;
+    /** Transaction resolving flag. */
+    private boolean resolving;
     /** Sheet configuration file. */
     private Media sheetsConfig;
     /** Tile width. */
@@ -60,8 +87,8 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     private int heightInTile;
     /** Map radius. */
     private int radius;
-    /** Tiles map. */
-    private List<List<TileGame>> tiles;
+    /** Tiles storage. */
+    private final MapTileStorage tiles;
     /** Sheets defined. */
     private SpriteTiled[] sheets;
     /** Tiles number per sheet. */
@@ -71,8 +98,28 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
      * Create feature.
      */
     public MapTileSurfaceModel()
+    {
+        this(false);
+    }
+
+    /**
+     * Create feature.
+     * 
+     * @param compact <code>true</code> to store tiles in a flat primitive array, <code>false</code> to store one tile
+     *            instance per location.
+     */
+    public MapTileSurfaceModel(boolean compact)
     {
         super();
+
+        if (compact)
+        {
+            tiles = new MapTileStorageCompact(this);
+        }
+        else
+        {
+            tiles = new MapTileStorageObject(this);
+        }
     }
 
     /**
@@ -106,6 +153,90 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         }
     }
 
+    /**
+     * Get the tiles set during transaction.
+     * 
+     * @return The set tiles.
+     */
+    private Collection<Tile> getTransactionSet()
+    {
+        final Collection<Tile> set = new ArrayList<>(transactionSet.size());
+        for (final Map.Entry<Integer, Integer> entry : transactionSet.entrySet())
+        {
+            final int index = entry.getKey().intValue();
+            set.add(new TileGame(entry.getValue().intValue(),
+                                 index % widthInTile,
+                                 index / widthInTile,
+                                 tileWidth,
+                                 tileHeight));
+        }
+        return set;
+    }
+
+    /**
+     * Store the tile number before its first change during transaction.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The location index.
+     */
+    private Integer storeTransactionOld(int tx, int ty)
+    {
+        final Integer index = Integer.valueOf(ty * widthInTile + tx);
+        if (!transactionOld.containsKey(index))
+        {
+            final Tile old = tiles.get(tx, ty);
+            transactionOld.put(index, Integer.valueOf(old != null ? old.getNumber() : -1));
+        }
+        return index;
+    }
+
+    /**
+     * Notify listeners for each location changed during transaction.
+     * 
+     * @return The changed tiles.
+     */
+    private Collection<Tile> notifyTransactionChanged()
+    {
+        final Collection<Tile> changed = new ArrayList<>();
+        for (final Map.Entry<Integer, Integer> entry : transactionOld.entrySet())
+        {
+            final int index = entry.getKey().intValue();
+            final int old = entry.getValue().intValue();
+            final int tx = index % widthInTile;
+            final int ty = index / widthInTile;
+            final Tile tile = tiles.get(tx, ty);
+            if (tile == null && old > -1)
+            {
+                final Tile removed = new TileGame(old, tx, ty, tileWidth, tileHeight);
+                for (int i = 0; i < listenable.size(); i++)
+                {
+                    listenable.get(i).onTileRemoved(removed);
+                }
+            }
+            else if (tile != null && tile.getNumber() != old)
+            {
+                changed.add(tile);
+                for (int i = 0; i < listenable.size(); i++)
+                {
+                    listenable.get(i).onTileSet(tile);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Discard current transaction.
+     */
+    private void discardTransaction()
+    {
+        transactionOld.clear();
+        transactionSet.clear();
+        transaction = false;
+        resolving = false;
+    }
+
     /*
      * MapTileSurface
      */
@@ -122,6 +253,18 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         listenable.removeListener(listener);
     }
 
+    @Override
+    public void addResolver(MapTileResolver resolver)
+    {
+        resolvers.add(resolver);
+    }
+
+    @Override
+    public void removeResolver(MapTileResolver resolver)
+    {
+        resolvers.remove(resolver);
+    }
+
     @Override
     public void create(int tileWidth, int tileHeight, int widthInTile, int heightInTile)
     {
@@ -138,16 +281,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         this.heightInTile = heightInTile;
 
         radius = (int) Math.ceil(StrictMath.sqrt(widthInTile * widthInTile + heightInTile * (double) heightInTile));
-        tiles = new ArrayList<>(heightInTile);
-
-        for (int v = 0; v < heightInTile; v++)
-        {
-            tiles.add(v, new ArrayList<TileGame>(widthInTile));
-            for (int h = 0; h < widthInTile; h++)
-            {
-                tiles.get(v).add(h, null);
-            }
-        }
+        tiles.create(widthInTile, heightInTile);
     }
 
     @Override
@@ -204,31 +338,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public void resize(int newWidth, int newHeight)
     {
-        final int oldWidth = widthInTile;
-        final int oldheight = heightInTile;
-
-        // Adjust height
-        for (int v = 0; v < newHeight - oldheight; v++)
-        {
-            tiles.add(new ArrayList<TileGame>(newWidth));
-        }
-        // Adjust width
-        for (int v = 0; v < newHeight; v++)
-        {
-            final int width;
-            if (v < oldheight)
-            {
-                width = newWidth - oldWidth;
-            }
-            else
-            {
-                width = newWidth;
-            }
-            for (int h = 0; h < width; h++)
-            {
-                tiles.get(v).add(null);
-            }
-        }
+        tiles.resize(widthInTile, heightInTile, newWidth, newHeight);
 
         widthInTile = newWidth;
         heightInTile = newHeight;
@@ -238,16 +348,13 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public void clear()
     {
-        if (tiles != null)
+        if (tiles.isCreated())
         {
-            for (final List<TileGame> list : tiles)
-            {
-                list.clear();
-            }
             tiles.clear();
             widthInTile = 0;
             heightInTile = 0;
         }
+        discardTransaction();
     }
 
     @Override
@@ -258,26 +365,26 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         Check.inferiorStrict(tx, getInTileWidth());
         Check.inferiorStrict(ty, getInTileHeight());
 
-        TileGame tile = tiles.get(ty).get(tx);
-        final int oldNum;
-        if (tile == null)
+        final int sheet;
+        if (tilesPerSheet > 0)
         {
-            tile = new TileGame(number, tx, ty, tileWidth, tileHeight);
-            tiles.get(ty).set(tx, tile);
-            oldNum = -1;
+            sheet = (int) Math.floor(number / (double) tilesPerSheet);
         }
         else
         {
-            oldNum = tile.getNumber();
+            sheet = -1;
         }
-        if (number != oldNum)
+        if (transaction)
         {
-            tile.set(number);
-
-            if (tilesPerSheet > 0)
+            final Integer index = storeTransactionOld(tx, ty);
+            if (!resolving)
             {
-                tile.setSheet((int) Math.floor(number / (double) tilesPerSheet));
+                transactionSet.put(index, Integer.valueOf(number));
             }
+        }
+        final Tile tile = tiles.set(tx, ty, number, sheet);
+        if (tile != null && !transaction)
+        {
             for (int i = 0; i < listenable.size(); i++)
             {
                 listenable.get(i).onTileSet(tile);
@@ -285,6 +392,71 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         }
     }
 
+    @Override
+    public void removeTile(int tx, int ty)
+    {
+        Check.superiorStrict(tx, -1);
+        Check.superiorStrict(ty, -1);
+        Check.inferiorStrict(tx, getInTileWidth());
+        Check.inferiorStrict(ty, getInTileHeight());
+
+        if (transaction)
+        {
+            transactionSet.remove(storeTransactionOld(tx, ty));
+        }
+        final Tile tile = tiles.remove(tx, ty);
+        if (tile != null && !transaction)
+        {
+            for (int i = 0; i < listenable.size(); i++)
+            {
+                listenable.get(i).onTileRemoved(tile);
+            }
+        }
+    }
+
+    @Override
+    public void beginTransaction()
+    {
+        if (transaction)
+        {
+            throw new LionEngineException(ERROR_TRANSACTION_STARTED);
+        }
+        transaction = true;
+    }
+
+    @Override
+    public Collection<Tile> commitTransaction()
+    {
+        if (!transaction)
+        {
+            throw new LionEngineException(ERROR_TRANSACTION_NONE);
+        }
+        try
+        {
+            if (!transactionSet.isEmpty())
+            {
+                final Collection<Tile> set = getTransactionSet();
+                resolving = true;
+                for (int i = 0; i < resolvers.size(); i++)
+                {
+                    resolvers.get(i).resolve(set);
+                }
+            }
+            transaction = false;
+            return notifyTransactionChanged();
+        }
+        finally
+        {
+            discardTransaction();
+        }
+    }
+
+    @Override
+    public boolean isTransaction()
+    {
+        return transaction;
+    }
+
     @Override
     public Tile getTile(int tx, int ty)
     {
@@ -292,7 +464,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
         {
             return null;
         }
-        return tiles.get(ty).get(tx);
+        return tiles.get(tx, ty);
     }
 
     @Override
@@ -408,19 +580,11 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public int getTilesNumber()
     {
-        int tilesNumber = 0;
-        for (int ty = 0; ty < heightInTile; ty++)
+        if (!tiles.isCreated())
         {
-            for (int tx = 0; tx < widthInTile; tx++)
-            {
-                final Tile tile = getTile(tx, ty);
-                if (tile != null)
-                {
-                    tilesNumber++;
-                }
-            }
+            return 0;
         }
-        return tilesNumber;
+        return tiles.getTilesNumber();
     }
 
     @Override
@@ -456,7 +620,7 @@ public class MapTileSurfaceModel extends FeatureAbstract implements MapTileSurfa
     @Override
     public boolean isCreated()
     {
-        return tiles != null;
+        return tiles.isCreated();
     }
 
     @Override
@@ -19,7 +19,7 @@ package com.b3dgs.lionengine.game.feature.tile.map;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 
 /**
- * Map tile set listener, notify when tile has been set.
+ * Map tile set listener, notify when tile has been set or removed.
  */
 public interface TileSetListener
 {
@@ -29,4 +29,14 @@ public interface TileSetListener
      * @param tile The tile set.
      */
     void onTileSet(Tile tile);
+
+    /**
+     * Called on tile removed. Calls {@link #onTileSet(Tile)} by default, as the tile location changed.
+     * 
+     * @param tile The tile removed, no longer on map.
+     */
+    default void onTileRemoved(Tile tile)
+    {
+        onTileSet(tile);
+    }
 }
@@ -21,22 +21,40 @@ import com.b3dgs.lionengine.game.feature.tile.Tile;
 
 /**
  * Represents the map collision results.
+ * <p>
+ * A result can be reused between computations to avoid allocations, in that case its content is only valid until the
+ * next computation.
+ * </p>
  */
 public class CollisionResult
 {
     /** Min to string size. */
     private static final int MIN_LENGHT = 30;
 
-    /** Horizontal collision location (<code>null</code> if none). */
-    private final Double x;
-    /** Vertical collision location (<code>null</code> if none). */
-    private final Double y;
+    /** Horizontal collision location. */
+    private double x;
+    /** Vertical collision location. */
+    private double y;
+    /** Horizontal collision flag. */
+    private boolean hasX;
+    /** Vertical collision flag. */
+    private boolean hasY;
     /** Collided tile. */
-    private final Tile tile;
+    private Tile tile;
     /** Formula used on horizontal. */
-    private final CollisionFormula formulaX;
+    private CollisionFormula formulaX;
     /** Formula used on vertical. */
-    private final CollisionFormula formulaY;
+    private CollisionFormula formulaY;
+
+    /**
+     * Create an empty collision result, designed to be filled by {@link MapTileCollision#computeCollision(
+     * com.b3dgs.lionengine.game.feature.Transformable, CollisionCategory, CollisionResult)} and reused between
+     * computations.
+     */
+    public CollisionResult()
+    {
+        super();
+    }
 
     /**
      * Create a collision result.
@@ -53,11 +71,63 @@ public class CollisionResult
 
         Check.notNull(tile);
 
-        this.x = x;
-        this.y = y;
+        if (x != null)
+        {
+            setX(x.doubleValue(), formulaX);
+        }
+        else
+        {
+            this.formulaX = formulaX;
+        }
+        if (y != null)
+        {
+            setY(y.doubleValue(), formulaY);
+        }
+        else
+        {
+            this.formulaY = formulaY;
+        }
         this.tile = tile;
-        this.formulaX = formulaX;
-        this.formulaY = formulaY;
+    }
+
+    /**
+     * Check if there is a horizontal collision.
+     * 
+     * @return <code>true</code> if horizontal collision, <code>false</code> else.
+     */
+    public boolean hasX()
+    {
+        return hasX;
+    }
+
+    /**
+     * Check if there is a vertical collision.
+     * 
+     * @return <code>true</code> if vertical collision, <code>false</code> else.
+     */
+    public boolean hasY()
+    {
+        return hasY;
+    }
+
+    /**
+     * Get the horizontal collision location without boxing.
+     * 
+     * @return The horizontal collision location (only relevant if {@link #hasX()}).
+     */
+    public double getCollisionX()
+    {
+        return x;
+    }
+
+    /**
+     * Get the vertical collision location without boxing.
+     * 
+     * @return The vertical collision location (only relevant if {@link #hasY()}).
+     */
+    public double getCollisionY()
+    {
+        return y;
     }
 
     /**
@@ -67,7 +137,11 @@ public class CollisionResult
      */
     public Double getX()
     {
-        return x;
+        if (hasX)
+        {
+            return Double.valueOf(x);
+        }
+        return null;
     }
 
     /**
@@ -77,7 +151,11 @@ public class CollisionResult
      */
     public Double getY()
     {
-        return y;
+        if (hasY)
+        {
+            return Double.valueOf(y);
+        }
+        return null;
     }
 
     /**
@@ -124,6 +202,64 @@ public class CollisionResult
                || formulaY != null && formulaY.getName().contains(name);
     }
 
+    /**
+     * Clear result.
+     * 
+     * @param tile The tile reference.
+     * @param formulaX The formula used on horizontal.
+     * @param formulaY The formula used on vertical.
+     */
+    void reset(Tile tile, CollisionFormula formulaX, CollisionFormula formulaY)
+    {
+        hasX = false;
+        hasY = false;
+        this.tile = tile;
+        this.formulaX = formulaX;
+        this.formulaY = formulaY;
+    }
+
+    /**
+     * Set the horizontal collision.
+     * 
+     * @param x The horizontal collision location.
+     * @param formula The formula used on horizontal.
+     */
+    void setX(double x, CollisionFormula formula)
+    {
+        this.x = x;
+        hasX = true;
+        formulaX = formula;
+    }
+
+    /**
+     * Set the vertical collision.
+     * 
+     * @param y The vertical collision location.
+     * @param formula The formula used on vertical.
+     */
+    void setY(double y, CollisionFormula formula)
+    {
+        this.y = y;
+        hasY = true;
+        formulaY = formula;
+    }
+
+    /**
+     * Copy other result.
+     * 
+     * @param other The result to copy.
+     */
+    void set(CollisionResult other)
+    {
+        x = other.x;
+        y = other.y;
+        hasX = other.hasX;
+        hasY = other.hasY;
+        tile = other.tile;
+        formulaX = other.formulaX;
+        formulaY = other.formulaY;
+    }
+
     /*
      * Object
      */
@@ -133,9 +269,9 @@ public class CollisionResult
     {
         return new StringBuilder(MIN_LENGHT).append(getClass().getSimpleName())
                                             .append(" [x=")
-                                            .append(x)
+                                            .append(getX())
                                             .append(", y=")
-                                            .append(y)
+                                            .append(getY())
                                             .append(", fx=")
                                             .append(formulaX.getName())
                                             .append(", fy=")
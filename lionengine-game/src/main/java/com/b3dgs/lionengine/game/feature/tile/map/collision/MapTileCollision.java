@@ -52,6 +52,15 @@ public interface MapTileCollision extends Feature
      */
     void loadCollisions(CollisionFormulaConfig formulasConfig, CollisionGroupConfig groupsConfig);
 
+    /**
+     * Update collisions of tiles changed after loading, and of their neighbors, as their constraints depend on them.
+     * Collisions are not updated on each tile change, so this must be called once per batch of changed tiles.
+     * 
+     * @param removed The tiles removed or replaced, as they were before change, whose collisions are discarded.
+     * @param set The tiles set on map.
+     */
+    void updateCollisions(Collection<Tile> removed, Collection<Tile> set);
+
     /**
      * Save the current collisions to the collision file.
      * 
@@ -69,6 +78,17 @@ public interface MapTileCollision extends Feature
      */
     CollisionResult computeCollision(Transformable transformable, CollisionCategory category);
 
+    /**
+     * Search first tile hit by the transformable that contains collision, applying a ray tracing from its old location
+     * to its current, and store it in the provided result, without allocation.
+     * 
+     * @param transformable The transformable reference.
+     * @param category The collisions category to search in.
+     * @param result The result to fill (must not be <code>null</code>).
+     * @return <code>true</code> if collision found, <code>false</code> if nothing found.
+     */
+    boolean computeCollision(Transformable transformable, CollisionCategory category, CollisionResult result);
+
     /**
      * Get the collision formula from its name.
      * 
@@ -91,7 +111,7 @@ public interface MapTileCollision extends Feature
      * Get tile formulas.
      * 
      * @param tile The tile reference.
-     * @return The associated formulas.
+     * @return The associated formulas, empty if none.
      */
     Collection<CollisionFormula> getCollisionFormulas(Tile tile);
 
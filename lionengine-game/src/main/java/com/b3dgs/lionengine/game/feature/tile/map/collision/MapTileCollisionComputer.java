@@ -16,13 +16,9 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.collision;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
+import java.util.HashSet;
+import java.util.Set;
 
-import com.b3dgs.lionengine.LionEngineException;
-import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
@@ -44,217 +40,30 @@ final class MapTileCollisionComputer
      * @param oy The current vertical location.
      * @param x The current horizontal location.
      * @param y The current vertical location.
-     * @return The computed collision result, <code>null</code> if none.
+     * @param result The result to fill.
+     * @return <code>true</code> if collision found, <code>false</code> else.
      */
-    private static CollisionResult computeCollision(MapTile map,
-                                                    Function<Tile, Collection<CollisionFormula>> loader,
-                                                    CollisionCategory category,
-                                                    double ox,
-                                                    double oy,
-                                                    double x,
-                                                    double y)
+    private static boolean computeCollision(MapTile map,
+                                            MapTileCollisionLoader loader,
+                                            CollisionCategory category,
+                                            double ox,
+                                            double oy,
+                                            double x,
+                                            double y,
+                                            CollisionResult result)
     {
         final Tile tile = map.getTileAt(getPositionToSide(ox, x), getPositionToSide(oy, y));
         if (tile != null)
         {
-            Double cx = null;
-            Double cy = null;
-            CollisionFormula fx = null;
-            CollisionFormula fy = null;
-            final Collection<CollisionFormula> formulas = loader.apply(tile);
-            for (final CollisionFormula formula : formulas)
+            final TileCollisionTable table = loader.getCollisionTable(tile);
+            if (table != null)
             {
-                if (cx == null)
-                {
-                    cx = getCollisionX(tile, category, formulas, formula, x, y);
-                    fx = formula;
-                }
-                if (cy == null)
-                {
-                    cy = getCollisionY(tile, category, formulas, formula, x, y);
-                    fy = formula;
-                }
-            }
-            if (cx != null || cy != null)
-            {
-                return new CollisionResult(cx, cy, tile, fx, fy);
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Get the horizontal collision location between the tile and the movement vector.
-     * 
-     * @param tile The tile reference.
-     * @param category The collision category.
-     * @param formulas The tile formulas.
-     * @param formula The formula to apply.
-     * @param x The current horizontal location.
-     * @param y The current vertical location.
-     * @return The horizontal collision (<code>null</code> if none).
-     */
-    private static Double getCollisionX(Tile tile,
-                                        CollisionCategory category,
-                                        Collection<CollisionFormula> formulas,
-                                        CollisionFormula formula,
-                                        double x,
-                                        double y)
-    {
-        final CollisionRange range = formula.getRange();
-        if (Axis.X == category.getAxis() && Axis.X == range.getOutput() && containsCollisionFormula(category, formulas))
-        {
-            final Double collisionX = getCollisionX(tile, range, formula.getFunction(), x, y, category.getOffsetX());
-            if (collisionX != null)
-            {
-                return collisionX;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Get the vertical collision location between the tile and the movement vector.
-     * 
-     * @param tile The tile reference.
-     * @param category The collision category.
-     * @param formulas The tile formulas.
-     * @param formula The formula to apply.
-     * @param x The current horizontal location.
-     * @param y The current vertical location.
-     * @return The vertical collision (<code>null</code> if none).
-     */
-    private static Double getCollisionY(Tile tile,
-                                        CollisionCategory category,
-                                        Collection<CollisionFormula> formulas,
-                                        CollisionFormula formula,
-                                        double x,
-                                        double y)
-    {
-        final CollisionRange range = formula.getRange();
-        if (Axis.Y == category.getAxis() && Axis.Y == range.getOutput() && containsCollisionFormula(category, formulas))
-        {
-            final Double collisionY = getCollisionY(tile, range, formula.getFunction(), x, y, category.getOffsetY());
-            if (collisionY != null)
-            {
-                return collisionY;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Check if tile contains at least one collision from the category.
-     * 
-     * @param category The category reference.
-     * @param formulas The tile formulas.
-     * @return The formula in common between tile and category, <code>null</code> if none.
-     */
-    private static boolean containsCollisionFormula(CollisionCategory category, Collection<CollisionFormula> formulas)
-    {
-        for (final CollisionFormula formula : category.getFormulas())
-        {
-            if (formulas.contains(formula))
-            {
-                return true;
+                return table.compute(tile, category, x, y, result);
             }
         }
         return false;
     }
 
-    /**
-     * Get the horizontal collision location between the tile and the current location.
-     * 
-     * @param tile The tile reference.
-     * @param range The collision range.
-     * @param function The collision function.
-     * @param x The current horizontal location.
-     * @param y The current vertical location.
-     * @param offsetX The horizontal offset.
-     * @return The horizontal collision (<code>null</code> if none).
-     */
-    private static Double getCollisionX(Tile tile,
-                                        CollisionRange range,
-                                        CollisionFunction function,
-                                        double x,
-                                        double y,
-                                        int offsetX)
-    {
-        final double yOnTile = getInputValue(tile, Axis.Y, x, y);
-        if (UtilMath.isBetween(yOnTile, range.getMinY(), range.getMaxY()))
-        {
-            final double xOnTile = getInputValue(tile, Axis.X, x, y);
-            final double result = Math.floor(function.compute(yOnTile));
-
-            if (UtilMath.isBetween(xOnTile, result + range.getMinX() - 1, result + range.getMaxX()))
-            {
-                final double coll = Math.floor(tile.getX() + result - offsetX);
-                return Double.valueOf(coll);
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Get the vertical collision location between the tile and the current location.
-     * 
-     * @param tile The tile reference.
-     * @param range The collision range.
-     * @param function The collision function.
-     * @param x The current horizontal location.
-     * @param y The current vertical location.
-     * @param offsetY The vertical offset.
-     * @return The vertical collision (<code>null</code> if none).
-     */
-    private static Double getCollisionY(Tile tile,
-                                        CollisionRange range,
-                                        CollisionFunction function,
-                                        double x,
-                                        double y,
-                                        int offsetY)
-    {
-        final double xOnTile = getInputValue(tile, Axis.X, x, y);
-        if (UtilMath.isBetween(xOnTile, range.getMinX(), range.getMaxX()))
-        {
-            final double yOnTile = getInputValue(tile, Axis.Y, x, y);
-            final double result = Math.floor(function.compute(xOnTile));
-            final double margin = Math.ceil(Math.abs(function.compute(1) - function.compute(0)));
-
-            if (UtilMath.isBetween(yOnTile, result + range.getMinY() - margin, result + range.getMaxY()))
-            {
-                final double coll = Math.floor(tile.getY() + result - offsetY);
-                return Double.valueOf(coll);
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Get the input value relative to tile.
-     * 
-     * @param tile The tile reference.
-     * @param input The input used.
-     * @param x The horizontal location.
-     * @param y The vertical location.
-     * @return The input value.
-     */
-    private static double getInputValue(Tile tile, Axis input, double x, double y)
-    {
-        final double v;
-        switch (input)
-        {
-            case X:
-                v = Math.floor(x - tile.getX());
-                break;
-            case Y:
-                v = Math.floor(y - tile.getY());
-                break;
-            default:
-                throw new LionEngineException(input);
-        }
-        return v;
-    }
-
     /**
      * Get position on tile depending on side.
      * 
@@ -273,8 +82,10 @@ final class MapTileCollisionComputer
         return old;
     }
 
-    /** Last result. */
-    private final Map<Transformable, CollisionResult> lastFound = new HashMap<>();
+    /** Transformables with a collision found on last computation. */
+    private final Set<Transformable> lastFound = new HashSet<>();
+    /** Current step result. */
+    private final CollisionResult current = new CollisionResult();
 
     /**
      * Create the map tile collision computer.
@@ -292,12 +103,14 @@ final class MapTileCollisionComputer
      * @param loader The loader reference.
      * @param transformable The transformable reference.
      * @param category The collisions category to search in.
-     * @return The collision result, <code>null</code> if nothing found.
+     * @param result The result to fill.
+     * @return <code>true</code> if collision found, <code>false</code> else.
      */
-    public CollisionResult computeCollision(MapTile map,
-                                            Function<Tile, Collection<CollisionFormula>> loader,
-                                            Transformable transformable,
-                                            CollisionCategory category)
+    public boolean computeCollision(MapTile map,
+                                    MapTileCollisionLoader loader,
+                                    Transformable transformable,
+                                    CollisionCategory category,
+                                    CollisionResult result)
     {
         // Distance calculation
         final double sh = transformable.getOldX() + category.getOffsetX();
@@ -329,7 +142,12 @@ final class MapTileCollisionComputer
             lastFound.remove(transformable);
         }
 
-        return computeCollision(map, loader, transformable, category, sh, sv, sx, sy, max);
+        final boolean found = computeCollision(map, loader, transformable, category, sh, sv, sx, sy, max, result);
+        if (!found)
+        {
+            result.reset(null, null, null);
+        }
+        return found;
     }
 
     /**
@@ -344,18 +162,20 @@ final class MapTileCollisionComputer
      * @param sx The horizontal search vector.
      * @param sy The vertical search vector.
      * @param max The maximum search iterations.
-     * @return The collision found, <code>null</code> if none.
+     * @param result The result to fill with last collision found.
+     * @return <code>true</code> if collision found, <code>false</code> else.
      */
     // CHECKSTYLE IGNORE LINE: ExecutableStatementCount|CyclomaticComplexity|NPathComplexity
-    private CollisionResult computeCollision(MapTile map,
-                                             Function<Tile, Collection<CollisionFormula>> loader,
-                                             Transformable transformable,
-                                             CollisionCategory category,
-                                             double sh,
-                                             double sv,
-                                             double sx,
-                                             double sy,
-                                             int max)
+    private boolean computeCollision(MapTile map,
+                                     MapTileCollisionLoader loader,
+                                     Transformable transformable,
+                                     CollisionCategory category,
+                                     double sh,
+                                     double sv,
+                                     double sx,
+                                     double sy,
+                                     int max,
+                                     CollisionResult result)
     {
         double x = sh;
         double y = sv;
@@ -365,25 +185,25 @@ final class MapTileCollisionComputer
         boolean collX = false;
         boolean collY = false;
 
-        CollisionResult last = null;
+        boolean found = false;
         for (int cur = 0; cur < max; cur++)
         {
-            CollisionResult current = computeCollision(map, loader, category, ox, oy, x, y);
-            if (current != null)
+            if (computeCollision(map, loader, category, ox, oy, x, y, current))
             {
-                last = current;
-                if (current.getX() != null)
+                found = true;
+                result.set(current);
+                if (current.hasX())
                 {
-                    x = current.getX().doubleValue();
+                    x = current.getCollisionX();
                     collX = true;
                 }
                 else
                 {
                     collX = false;
                 }
-                if (current.getY() != null)
+                if (current.hasY())
                 {
-                    y = current.getY().doubleValue();
+                    y = current.getCollisionY();
                     oy = y;
                 }
             }
@@ -398,17 +218,17 @@ final class MapTileCollisionComputer
                 x += sx;
             }
 
-            current = computeCollision(map, loader, category, ox, oy, x, y);
-            if (current != null)
+            if (computeCollision(map, loader, category, ox, oy, x, y, current))
             {
-                last = current;
-                if (current.getX() != null)
+                found = true;
+                result.set(current);
+                if (current.hasX())
                 {
-                    x = current.getX().doubleValue();
+                    x = current.getCollisionX();
                 }
-                if (current.getY() != null)
+                if (current.hasY())
                 {
-                    y = current.getY().doubleValue();
+                    y = current.getCollisionY();
                     collY = true;
                 }
                 else
@@ -430,16 +250,16 @@ final class MapTileCollisionComputer
 
         if (category.isGlue())
         {
-            if (last != null)
+            if (found)
             {
-                lastFound.put(transformable, last);
+                lastFound.add(transformable);
             }
-            else if (lastFound.containsKey(transformable))
+            else if (lastFound.contains(transformable))
             {
-                last = getGlued(map, loader, transformable, category, ox, oy, x, y);
+                found = getGlued(map, loader, category, ox, oy, x, y, result);
             }
         }
-        return last;
+        return found;
     }
 
     /**
@@ -447,32 +267,31 @@ final class MapTileCollisionComputer
      * 
      * @param map The map surface reference.
      * @param loader The loader reference.
-     * @param transformable The transformable reference.
      * @param category The category reference.
      * @param ox The old horizontal collision.
      * @param oy The old vertical collision.
      * @param x The current horizontal collision.
      * @param y The current vertical collision.
-     * @return The collision found, <code>null</code> if none.
+     * @param result The result to fill.
+     * @return <code>true</code> if collision found, <code>false</code> else.
      */
-    private CollisionResult getGlued(MapTile map,
-                                     Function<Tile, Collection<CollisionFormula>> loader,
-                                     Transformable transformable,
-                                     CollisionCategory category,
-                                     double ox,
-                                     double oy,
-                                     double x,
-                                     double y)
+    private boolean getGlued(MapTile map,
+                             MapTileCollisionLoader loader,
+                             CollisionCategory category,
+                             double ox,
+                             double oy,
+                             double x,
+                             double y,
+                             CollisionResult result)
     {
         for (int i = 1; i < MAX_GLUED; i++)
         {
-            final CollisionResult found = computeCollision(map, loader, category, ox, oy, x, y - i);
-            if (found != null)
+            if (computeCollision(map, loader, category, ox, oy, x, y - i, current))
             {
-                lastFound.put(transformable, found);
-                return found;
+                result.set(current);
+                return true;
             }
         }
-        return null;
+        return false;
     }
 }
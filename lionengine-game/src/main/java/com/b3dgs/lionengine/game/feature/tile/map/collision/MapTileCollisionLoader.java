@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -45,6 +46,43 @@ final class MapTileCollisionLoader
     private static final String INFO_LOAD_FORMULAS = "Loading collision formulas from: ";
     /** Info loading groups. */
     private static final String INFO_LOAD_GROUPS = "Loading collision groups from: ";
+    /** Tile and neighbors horizontal offset. */
+    private static final int[] NEIGHBORS_X =
+    {
+        0, 0, 0, -1, 1
+    };
+    /** Tile and neighbors vertical offset. */
+    private static final int[] NEIGHBORS_Y =
+    {
+        0, 1, -1, 0, 0
+    };
+
+    /**
+     * Add the tiles location and their neighbors location inside map.
+     * 
+     * @param map The map surface reference.
+     * @param tiles The tiles reference.
+     * @param locations The locations index found.
+     */
+    private static void addLocations(MapTile map, Collection<Tile> tiles, Set<Integer> locations)
+    {
+        final int width = map.getInTileWidth();
+        final int height = map.getInTileHeight();
+        for (final Tile tile : tiles)
+        {
+            final int tx = tile.getInTileX();
+            final int ty = tile.getInTileY();
+            for (int i = 0; i < NEIGHBORS_X.length; i++)
+            {
+                final int x = tx + NEIGHBORS_X[i];
+                final int y = ty + NEIGHBORS_Y[i];
+                if (x > -1 && y > -1 && x < width && y < height)
+                {
+                    locations.add(Integer.valueOf(y * width + x));
+                }
+            }
+        }
+    }
 
     /** Collision formulas list. */
     private final Map<String, CollisionFormula> formulas = new HashMap<>();
@@ -52,6 +90,10 @@ final class MapTileCollisionLoader
     private final Map<String, CollisionGroup> groups = new HashMap<>();
     /** Formulas per tiles. */
     private final Map<Tile, Collection<CollisionFormula>> tilesFormulas = new HashMap<>();
+    /** Compiled tiles formulas. */
+    private final Map<Tile, TileCollisionTable> tilesTables = new HashMap<>();
+    /** Compiled tables by formulas, shared between tiles. */
+    private final Map<Set<CollisionFormula>, TileCollisionTable> compiled = new HashMap<>();
     /** Formulas configuration media. */
     private Media formulasConfig;
     /** Groups configuration media. */
@@ -91,6 +133,7 @@ final class MapTileCollisionLoader
         }
         loadTilesCollisions(map, mapGroup);
         applyConstraints(map, mapGroup);
+        compileTilesCollisions();
     }
 
     /**
@@ -111,6 +154,35 @@ final class MapTileCollisionLoader
         loadCollisionGroups(groupsConfig);
         loadTilesCollisions(map, mapGroup);
         applyConstraints(map, mapGroup);
+        compileTilesCollisions();
+    }
+
+    /**
+     * Update collisions of tiles changed after loading, and of their neighbors, as their constraints depend on them.
+     * Removed tiles entries are discarded.
+     * 
+     * @param map The map surface reference.
+     * @param mapGroup The map group reference.
+     * @param removed The tiles removed from map.
+     * @param set The tiles set on map.
+     */
+    public void updateCollisions(MapTile map, MapTileGroup mapGroup, Collection<Tile> removed, Collection<Tile> set)
+    {
+        for (final Tile tile : removed)
+        {
+            tilesFormulas.remove(tile);
+            tilesTables.remove(tile);
+        }
+        final Set<Integer> locations = new LinkedHashSet<>();
+        addLocations(map, removed, locations);
+        addLocations(map, set, locations);
+
+        final int width = map.getInTileWidth();
+        for (final Integer location : locations)
+        {
+            final int index = location.intValue();
+            updateTileCollisions(map, mapGroup, index % width, index / width);
+        }
     }
 
     /**
@@ -149,11 +221,22 @@ final class MapTileCollisionLoader
      * Get tile formulas.
      * 
      * @param tile The tile reference.
-     * @return The associated formulas.
+     * @return The associated formulas, empty if none.
      */
     public Collection<CollisionFormula> getCollisionFormulas(Tile tile)
     {
-        return tilesFormulas.get(tile);
+        return tilesFormulas.getOrDefault(tile, Collections.emptySet());
+    }
+
+    /**
+     * Get tile compiled formulas, built once loaded.
+     * 
+     * @param tile The tile reference.
+     * @return The compiled formulas, <code>null</code> if none.
+     */
+    TileCollisionTable getCollisionTable(Tile tile)
+    {
+        return tilesTables.get(tile);
     }
 
     /**
@@ -308,6 +391,46 @@ final class MapTileCollisionLoader
         }
     }
 
+    /**
+     * Update the tile collisions at location, including its constraints and compiled table.
+     * 
+     * @param map The map surface reference.
+     * @param mapGroup The map group reference.
+     * @param tx The horizontal location.
+     * @param ty The vertical location.
+     */
+    private void updateTileCollisions(MapTile map, MapTileGroup mapGroup, int tx, int ty)
+    {
+        final Tile tile = map.getTile(tx, ty);
+        if (tile != null)
+        {
+            loadTileCollisions(mapGroup, tile);
+            final Collection<CollisionFormula> formulas = tilesFormulas.get(tile);
+            formulas.removeAll(checkConstraints(map, mapGroup, tile, tx, ty));
+            tilesTables.put(tile, compile(formulas));
+        }
+    }
+
+    /**
+     * Check if tile has collisions, before constraints.
+     * 
+     * @param mapGroup The map group reference.
+     * @param tile The tile reference.
+     * @return <code>true</code> if at least one formula, <code>false</code> else.
+     */
+    private boolean hasCollisions(MapTileGroup mapGroup, Tile tile)
+    {
+        for (final CollisionGroup collision : getCollisionGroups())
+        {
+            if (!collision.getFormulas().isEmpty()
+                && mapGroup.getGroup(collision.getName()).contains(tile.getKey()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Apply tile constraints depending of their adjacent collisions.
      * 
@@ -359,7 +482,7 @@ final class MapTileCollisionLoader
         final Tile right = map.getTile(h + 1, v);
 
         final Collection<CollisionFormula> toRemove = new ArrayList<>();
-        for (final CollisionFormula formula : tilesFormulas.computeIfAbsent(tile, t -> Collections.emptyList()))
+        for (final CollisionFormula formula : tilesFormulas.getOrDefault(tile, Collections.emptySet()))
         {
             final CollisionConstraint constraint = formula.getConstraint();
             if (checkConstraint(mapGroup, constraint.getConstraints(Orientation.NORTH), top)
@@ -373,6 +496,37 @@ final class MapTileCollisionLoader
         return toRemove;
     }
 
+    /**
+     * Compile tiles formulas to lookup tables. Tiles sharing the same formulas share the same table.
+     */
+    private void compileTilesCollisions()
+    {
+        tilesTables.clear();
+        compiled.clear();
+        for (final Entry<Tile, Collection<CollisionFormula>> current : tilesFormulas.entrySet())
+        {
+            tilesTables.put(current.getKey(), compile(current.getValue()));
+        }
+    }
+
+    /**
+     * Get the compiled table of formulas, shared with tiles having the same formulas.
+     * 
+     * @param formulas The tile formulas.
+     * @return The compiled table.
+     */
+    private TileCollisionTable compile(Collection<CollisionFormula> formulas)
+    {
+        final Set<CollisionFormula> key = new HashSet<>(formulas);
+        TileCollisionTable table = compiled.get(key);
+        if (table == null)
+        {
+            table = new TileCollisionTable(formulas);
+            compiled.put(key, table);
+        }
+        return table;
+    }
+
     /**
      * Check the constraint with the specified tile.
      * 
@@ -383,6 +537,6 @@ final class MapTileCollisionLoader
      */
     private boolean checkConstraint(MapTileGroup mapGroup, Collection<String> constraints, Tile tile)
     {
-        return tile != null && constraints.contains(mapGroup.getGroup(tile)) && !tilesFormulas.get(tile).isEmpty();
+        return tile != null && constraints.contains(mapGroup.getGroup(tile)) && hasCollisions(mapGroup, tile);
     }
 }
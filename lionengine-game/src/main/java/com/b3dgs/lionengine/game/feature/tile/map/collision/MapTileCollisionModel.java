@@ -83,6 +83,12 @@ public class MapTileCollisionModel extends FeatureAbstract implements MapTileCol
         loader.loadCollisions(map, mapGroup, formulasConfig, groupsConfig);
     }
 
+    @Override
+    public void updateCollisions(Collection<Tile> removed, Collection<Tile> set)
+    {
+        loader.updateCollisions(map, mapGroup, removed, set);
+    }
+
     @Override
     public void saveCollisions()
     {
@@ -116,7 +122,18 @@ public class MapTileCollisionModel extends FeatureAbstract implements MapTileCol
     @Override
     public CollisionResult computeCollision(Transformable transformable, CollisionCategory category)
     {
-        return computer.computeCollision(map, this::getCollisionFormulas, transformable, category);
+        final CollisionResult result = new CollisionResult();
+        if (computer.computeCollision(map, loader, transformable, category, result))
+        {
+            return result;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean computeCollision(Transformable transformable, CollisionCategory category, CollisionResult result)
+    {
+        return computer.computeCollision(map, loader, transformable, category, result);
     }
 
     @Override
@@ -24,7 +24,7 @@ public interface TileCollidableListener
     /**
      * Notify when a tile collision occurred.
      * 
-     * @param result The collided tile.
+     * @param result The collided tile (reused by next update, copy values if needed).
      * @param category The collided axis.
      */
     void notifyTileCollided(CollisionResult result, CollisionCategory category);
@@ -41,7 +41,7 @@ public class TileCollidableModel extends FeatureModel implements TileCollidable,
 {
     /** Launcher listeners. */
     private final ListenableModel<TileCollidableListener> listenable = new ListenableModel<>();
-    /** Computed results. */
+    /** Computed results, reused on each update. */
     private final Map<String, CollisionResult> results = new HashMap<>();
     /** Map tile reference. */
     private final MapTileCollision map;
@@ -89,6 +89,10 @@ public class TileCollidableModel extends FeatureModel implements TileCollidable,
         {
             map = services.get(MapTile.class).getFeature(MapTileCollision.class);
             categories = CollisionCategoryConfig.imports(setup, map);
+            for (final CollisionCategory category : categories)
+            {
+                results.put(category.getName(), new CollisionResult());
+            }
         }
         else
         {
@@ -107,9 +111,7 @@ public class TileCollidableModel extends FeatureModel implements TileCollidable,
     {
         final CollisionResult result = results.get(category.getName());
 
-        if (result != null
-            && (result.getX() != null || result.getY() != null)
-            && Boolean.TRUE.equals(enabledAxis.get(category.getAxis())))
+        if ((result.hasX() || result.hasY()) && Boolean.TRUE.equals(enabledAxis.get(category.getAxis())))
         {
             onCollided(result, category);
         }
@@ -172,11 +174,9 @@ public class TileCollidableModel extends FeatureModel implements TileCollidable,
     {
         if (enabled)
         {
-            results.clear();
             for (final CollisionCategory category : categories)
             {
-                final CollisionResult result = map.computeCollision(transformable, category);
-                results.put(category.getName(), result);
+                map.computeCollision(transformable, category, results.get(category.getName()));
             }
             for (final CollisionCategory category : categories)
             {
@@ -188,13 +188,13 @@ public class TileCollidableModel extends FeatureModel implements TileCollidable,
     @Override
     public void apply(CollisionResult result)
     {
-        if (result.getX() != null)
+        if (result.hasX())
         {
-            transformable.teleportX(result.getX().doubleValue());
+            transformable.teleportX(result.getCollisionX());
         }
-        if (result.getY() != null)
+        if (result.hasY())
         {
-            transformable.teleportY(result.getY().doubleValue());
+            transformable.teleportY(result.getCollisionY());
         }
     }
 
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.collision;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+
+/**
+ * Precompiled tile collision formulas, shared by all tiles with the same formulas.
+ * <p>
+ * Each formula function is evaluated once for each local pixel of its input range, so the collision computation is a
+ * table lookup, without boxing nor allocation.
+ * </p>
+ */
+final class TileCollisionTable
+{
+    /** Maximum tabulated input range, larger ranges are computed on demand. */
+    private static final int MAX_RANGE = 1024;
+
+    /**
+     * Tabulate function output on its input range.
+     * 
+     * @param function The function to tabulate.
+     * @param min The minimum input value.
+     * @param max The maximum input value.
+     * @return The function output indexed by input local pixel, <code>null</code> if range is too large.
+     */
+    private static int[] compile(CollisionFunction function, int min, int max)
+    {
+        final long size = (long) max - min + 1L;
+        if (size < 1L || size > MAX_RANGE)
+        {
+            return null;
+        }
+        final int[] values = new int[(int) size];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = (int) Math.floor(function.compute(min + i));
+        }
+        return values;
+    }
+
+    /** Tile formulas. */
+    private final Collection<CollisionFormula> source;
+    /** Formulas in evaluation order. */
+    private final CollisionFormula[] formulas;
+    /** Formulas output axis. */
+    private final Axis[] outputs;
+    /** Formulas minimum input. */
+    private final int[] inputMin;
+    /** Formulas maximum input. */
+    private final int[] inputMax;
+    /** Formulas accepted output lower offset. */
+    private final double[] outputMin;
+    /** Formulas accepted output upper offset. */
+    private final double[] outputMax;
+    /** Formulas output indexed by input local pixel (<code>null</code> if computed on demand). */
+    private final int[][] values;
+    /** Categories acceptance cache. */
+    private final Map<CollisionCategory, Boolean> accepted = new HashMap<>();
+
+    /**
+     * Compile tile formulas.
+     * 
+     * @param formulas The tile formulas.
+     */
+    TileCollisionTable(Collection<CollisionFormula> formulas)
+    {
+        super();
+
+        source = new HashSet<>(formulas);
+
+        final int count = formulas.size();
+        this.formulas = new CollisionFormula[count];
+        outputs = new Axis[count];
+        inputMin = new int[count];
+        inputMax = new int[count];
+        outputMin = new double[count];
+        outputMax = new double[count];
+        values = new int[count][];
+
+        int i = 0;
+        for (final CollisionFormula formula : formulas)
+        {
+            final CollisionRange range = formula.getRange();
+            final CollisionFunction function = formula.getFunction();
+            this.formulas[i] = formula;
+            outputs[i] = range.getOutput();
+
+            if (Axis.X == outputs[i])
+            {
+                inputMin[i] = range.getMinY();
+                inputMax[i] = range.getMaxY();
+                outputMin[i] = range.getMinX() - 1.0;
+                outputMax[i] = range.getMaxX();
+            }
+            else
+            {
+                final double margin = Math.ceil(Math.abs(function.compute(1) - function.compute(0)));
+                inputMin[i] = range.getMinX();
+                inputMax[i] = range.getMaxX();
+                outputMin[i] = range.getMinY() - margin;
+                outputMax[i] = range.getMaxY();
+            }
+            values[i] = compile(function, inputMin[i], inputMax[i]);
+            i++;
+        }
+    }
+
+    /**
+     * Compute the collision on tile at location.
+     * 
+     * @param tile The tile reference.
+     * @param category The collision category.
+     * @param x The current horizontal location.
+     * @param y The current vertical location.
+     * @param result The result to fill.
+     * @return <code>true</code> if collision found, <code>false</code> else.
+     */
+    boolean compute(Tile tile, CollisionCategory category, double x, double y, CollisionResult result)
+    {
+        if (formulas.length == 0)
+        {
+            return false;
+        }
+        final CollisionFormula last = formulas[formulas.length - 1];
+        result.reset(tile, last, last);
+
+        if (!isAccepted(category))
+        {
+            return false;
+        }
+
+        final Axis axis = category.getAxis();
+        final double input;
+        final double output;
+        final double origin;
+        final int offset;
+        if (Axis.X == axis)
+        {
+            input = Math.floor(y - tile.getY());
+            output = Math.floor(x - tile.getX());
+            origin = tile.getX();
+            offset = category.getOffsetX();
+        }
+        else
+        {
+            input = Math.floor(x - tile.getX());
+            output = Math.floor(y - tile.getY());
+            origin = tile.getY();
+            offset = category.getOffsetY();
+        }
+
+        for (int i = 0; i < formulas.length; i++)
+        {
+            if (axis == outputs[i] && UtilMath.isBetween(input, inputMin[i], inputMax[i]))
+            {
+                final double value = getValue(i, input);
+                if (UtilMath.isBetween(output, value + outputMin[i], value + outputMax[i]))
+                {
+                    final double collision = Math.floor(origin + value - offset);
+                    if (Axis.X == axis)
+                    {
+                        result.setX(collision, formulas[i]);
+                    }
+                    else
+                    {
+                        result.setY(collision, formulas[i]);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get formula output.
+     * 
+     * @param index The formula index.
+     * @param input The input value, inside formula input range.
+     * @return The formula output.
+     */
+    private double getValue(int index, double input)
+    {
+        final int[] table = values[index];
+        if (table != null)
+        {
+            return table[(int) input - inputMin[index]];
+        }
+        return Math.floor(formulas[index].getFunction().compute(input));
+    }
+
+    /**
+     * Check if category shares at least one formula with tile.
+     * 
+     * @param category The category reference.
+     * @return <code>true</code> if accepted, <code>false</code> else.
+     */
+    private boolean isAccepted(CollisionCategory category)
+    {
+        Boolean value = accepted.get(category);
+        if (value == null)
+        {
+            value = Boolean.FALSE;
+            for (final CollisionFormula formula : category.getFormulas())
+            {
+                if (source.contains(formula))
+                {
+                    value = Boolean.TRUE;
+                    break;
+                }
+            }
+            accepted.put(category, value);
+        }
+        return value.booleanValue();
+    }
+}
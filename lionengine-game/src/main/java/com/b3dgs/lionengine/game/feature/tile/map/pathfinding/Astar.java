@@ -25,17 +25,19 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 public final class Astar
 {
     /**
-     * Create a path finder.
+     * Create a path finder, with its own search nodes. Use a {@link PathFinderPool} to share them between path
+     * finders.
      * 
      * @param map The map to be searched. Must have the
      *            {@link com.b3dgs.lionengine.game.feature.tile.map.pathfinding.MapTilePath} feature.
      * @param maxSearchDistance The maximum depth we'll search before giving up.
      * @param heuristic The heuristic used to determine the search order of the map.
      * @return The path finder instance.
+     * @see PathFinderPool#createPathFinder(int, Heuristic)
      */
     public static PathFinder createPathFinder(MapTile map, int maxSearchDistance, Heuristic heuristic)
     {
-        return new PathFinderImpl(map, maxSearchDistance, heuristic);
+        return new PathFinderPool(map).createPathFinder(maxSearchDistance, heuristic);
     }
 
     /**
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Integration field toward a destination, computed by {@link FlowFields}. Each reachable tile knows its cost to the
+ * destination and the movement to perform to get closer, read in constant time by every unit going there.
+ * <p>
+ * Field is only valid until a tile change (see {@link #isValid()}). Objects on map are not considered.
+ * </p>
+ */
+public final class FlowField
+{
+    /** Unreachable movement index. */
+    static final byte UNREACHABLE = -1;
+    /** Destination movement index. */
+    static final byte ARRIVED = -2;
+
+    /** Integrated costs. */
+    private final double[] costs;
+    /** Movement index by tile. */
+    private final byte[] movements;
+    /** Width in tile. */
+    private final int width;
+    /** Height in tile. */
+    private final int height;
+    /** Destination horizontal tile. */
+    private final int dtx;
+    /** Destination vertical tile. */
+    private final int dty;
+    /** Valid flag. */
+    private boolean valid = true;
+
+    /**
+     * Create field, with all tiles unreachable.
+     * 
+     * @param width The width in tile.
+     * @param height The height in tile.
+     * @param dtx The destination horizontal tile.
+     * @param dty The destination vertical tile.
+     */
+    FlowField(int width, int height, int dtx, int dty)
+    {
+        super();
+
+        this.width = width;
+        this.height = height;
+        this.dtx = dtx;
+        this.dty = dty;
+        costs = new double[width * height];
+        movements = new byte[width * height];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        Arrays.fill(movements, UNREACHABLE);
+    }
+
+    /**
+     * Get the movement to perform from tile to get closer to destination.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @return The movement, {@link MovementTile#NONE} if destination or unreachable.
+     */
+    public MovementTile getMovement(int tx, int ty)
+    {
+        if (isInside(tx, ty))
+        {
+            final byte index = movements[ty * width + tx];
+            if (index >= 0)
+            {
+                return FlowFields.getMovement(index);
+            }
+        }
+        return MovementTile.NONE;
+    }
+
+    /**
+     * Get the path from tile to destination, following the field.
+     * 
+     * @param stx The starting horizontal tile.
+     * @param sty The starting vertical tile.
+     * @return The path (including start and destination), <code>null</code> if unreachable.
+     */
+    public Path getPath(int stx, int sty)
+    {
+        if (!isReachable(stx, sty))
+        {
+            return null;
+        }
+        final Path path = new Path();
+        int tx = stx;
+        int ty = sty;
+        path.appendStep(tx, ty);
+        while (tx != dtx || ty != dty)
+        {
+            final byte index = movements[ty * width + tx];
+            tx += FlowFields.getMovementX(index);
+            ty += FlowFields.getMovementY(index);
+            path.appendStep(tx, ty);
+        }
+        return path;
+    }
+
+    /**
+     * Get the integrated cost from tile to destination.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @return The cost, {@link Double#POSITIVE_INFINITY} if unreachable.
+     */
+    public double getCost(int tx, int ty)
+    {
+        if (isInside(tx, ty))
+        {
+            return costs[ty * width + tx];
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Check if destination can be reached from tile.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @return <code>true</code> if reachable, <code>false</code> else.
+     */
+    public boolean isReachable(int tx, int ty)
+    {
+        return isInside(tx, ty) && movements[ty * width + tx] != UNREACHABLE;
+    }
+
+    /**
+     * Get the destination horizontal tile.
+     * 
+     * @return The destination horizontal tile.
+     */
+    public int getDestinationX()
+    {
+        return dtx;
+    }
+
+    /**
+     * Get the destination vertical tile.
+     * 
+     * @return The destination vertical tile.
+     */
+    public int getDestinationY()
+    {
+        return dty;
+    }
+
+    /**
+     * Check if field is still valid. A field is invalidated when map tiles change.
+     * 
+     * @return <code>true</code> if valid, <code>false</code> if map changed since its computation.
+     */
+    public boolean isValid()
+    {
+        return valid;
+    }
+
+    /**
+     * Check if field has the specified size.
+     * 
+     * @param width The width in tile.
+     * @param height The height in tile.
+     * @return <code>true</code> if same size, <code>false</code> else.
+     */
+    boolean matches(int width, int height)
+    {
+        return this.width == width && this.height == height;
+    }
+
+    /**
+     * Invalidate field.
+     */
+    void invalidate()
+    {
+        valid = false;
+    }
+
+    /**
+     * Get integrated costs storage.
+     * 
+     * @return The integrated costs.
+     */
+    double[] getCosts()
+    {
+        return costs;
+    }
+
+    /**
+     * Get movements storage.
+     * 
+     * @return The movements index.
+     */
+    byte[] getMovements()
+    {
+        return movements;
+    }
+
+    /**
+     * Check if tile is inside field.
+     * 
+     * @param tx The horizontal tile.
+     * @param ty The vertical tile.
+     * @return <code>true</code> if inside, <code>false</code> else.
+     */
+    private boolean isInside(int tx, int ty)
+    {
+        return tx >= 0 && ty >= 0 && tx < width && ty < height;
+    }
+}
@@ -0,0 +1,565 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+
+/**
+ * Map level flow fields provider, computing one {@link FlowField} per destination and per mover profile, shared by
+ * every mover going there.
+ * <p>
+ * A mover profile is defined by its cost, blocking state and allowed movements for each {@link PathCategory} of the
+ * {@link MapTilePath}, so movers with the same pathfinding configuration share their fields. Costs follow the
+ * {@link PathFinder} rules: leaving a tile costs its category cost, and movement must be allowed by its category.
+ * </p>
+ * <p>
+ * Fields are cached (least recently used are dropped over capacity) and invalidated on any tile change. Objects on map
+ * are not considered, their avoidance is left to movers. As a {@link PathFinder}, it returns the path following the
+ * field, or <code>null</code> if unreachable.
+ * </p>
+ */
+public class FlowFields implements PathFinder, TileSetListener
+{
+    /** Default cached fields number. */
+    public static final int DEFAULT_CAPACITY = 16;
+    /** Movements order. */
+    private static final MovementTile[] MOVEMENTS;
+    /** Movements horizontal offset. */
+    private static final int[] MOVEMENTS_X;
+    /** Movements vertical offset. */
+    private static final int[] MOVEMENTS_Y;
+    /** Blocking flag in profile. */
+    private static final int BLOCKING = 1 << Byte.SIZE;
+
+    static
+    {
+        final List<MovementTile> movements = new ArrayList<>();
+        final List<int[]> offsets = new ArrayList<>();
+        for (int y = -1; y < 2; y++)
+        {
+            for (int x = -1; x < 2; x++)
+            {
+                if (!(x == 0 && y == 0))
+                {
+                    movements.add(MovementTile.from(x, y));
+                    offsets.add(new int[]
+                    {
+                        x, y
+                    });
+                }
+            }
+        }
+        MOVEMENTS = movements.toArray(new MovementTile[movements.size()]);
+        MOVEMENTS_X = new int[offsets.size()];
+        MOVEMENTS_Y = new int[offsets.size()];
+        for (int i = 0; i < offsets.size(); i++)
+        {
+            MOVEMENTS_X[i] = offsets.get(i)[0];
+            MOVEMENTS_Y[i] = offsets.get(i)[1];
+        }
+    }
+
+    /**
+     * Get movement from its index.
+     * 
+     * @param index The movement index.
+     * @return The movement.
+     */
+    static MovementTile getMovement(int index)
+    {
+        return MOVEMENTS[index];
+    }
+
+    /**
+     * Get movement horizontal offset.
+     * 
+     * @param index The movement index.
+     * @return The horizontal offset.
+     */
+    static int getMovementX(int index)
+    {
+        return MOVEMENTS_X[index];
+    }
+
+    /**
+     * Get movement vertical offset.
+     * 
+     * @param index The movement index.
+     * @return The vertical offset.
+     */
+    static int getMovementY(int index)
+    {
+        return MOVEMENTS_Y[index];
+    }
+
+    /** Cached fields. */
+    private final Map<Profile, FlowField> fields;
+    /** Map reference. */
+    private final MapTile map;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+    /** Category index by tile. */
+    private int[] tiles = new int[0];
+    /** Open list tile index. */
+    private int[] heapTiles = new int[0];
+    /** Open list costs. */
+    private double[] heapCosts = new double[0];
+    /** Open list size. */
+    private int heapSize;
+    /** Computed fields number. */
+    private int computed;
+
+    /**
+     * Create flow fields with {@link #DEFAULT_CAPACITY}.
+     * 
+     * @param map The map reference (must not be <code>null</code>). Must have the {@link MapTilePath} feature.
+     * @throws LionEngineException If invalid argument.
+     */
+    public FlowFields(MapTile map)
+    {
+        this(map, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create flow fields.
+     * 
+     * @param map The map reference (must not be <code>null</code>). Must have the {@link MapTilePath} feature.
+     * @param capacity The maximum cached fields number (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public FlowFields(MapTile map, int capacity)
+    {
+        super();
+
+        Check.notNull(map);
+        Check.superiorStrict(capacity, 0);
+
+        this.map = map;
+        mapPath = map.getFeature(MapTilePath.class);
+        fields = new LinkedHashMap<Profile, FlowField>(capacity, 0.75F, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Profile, FlowField> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+        if (map.hasFeature(MapTileSurface.class))
+        {
+            map.getFeature(MapTileSurface.class).addListener(this);
+        }
+    }
+
+    /**
+     * Get the field toward destination for the mover profile. Field is computed if not cached.
+     * 
+     * @param mover The mover reference (must not be <code>null</code>).
+     * @param dtx The destination horizontal tile.
+     * @param dty The destination vertical tile.
+     * @return The flow field.
+     * @throws LionEngineException If invalid argument.
+     */
+    public FlowField getField(Pathfindable mover, int dtx, int dty)
+    {
+        Check.notNull(mover);
+
+        final Profile profile = new Profile(mover, getCategories(), dtx, dty);
+        FlowField field = fields.get(profile);
+        if (field == null || !field.matches(map.getInTileWidth(), map.getInTileHeight()))
+        {
+            field = compute(profile);
+            fields.put(profile, field);
+        }
+        return field;
+    }
+
+    /**
+     * Invalidate all fields. Must be called when blocking changes without tile change (such as pathfinding reload).
+     */
+    public void invalidate()
+    {
+        final Iterator<FlowField> iterator = fields.values().iterator();
+        while (iterator.hasNext())
+        {
+            iterator.next().invalidate();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Get the cached fields number.
+     * 
+     * @return The cached fields number.
+     */
+    public int getCount()
+    {
+        return fields.size();
+    }
+
+    /**
+     * Get the number of computed fields since creation.
+     * 
+     * @return The computed fields number.
+     */
+    public int getComputed()
+    {
+        return computed;
+    }
+
+    /**
+     * Get sorted map categories, with <code>null</code> for tiles without category.
+     * 
+     * @return The categories.
+     */
+    private List<String> getCategories()
+    {
+        final List<String> categories = new ArrayList<>(new TreeSet<>(mapPath.getCategories()));
+        categories.add(null);
+        return categories;
+    }
+
+    /**
+     * Compute the field of profile, from destination to all tiles.
+     * 
+     * @param profile The profile reference.
+     * @return The computed field.
+     */
+    private FlowField compute(Profile profile)
+    {
+        computed++;
+
+        final int width = map.getInTileWidth();
+        final int height = map.getInTileHeight();
+        final FlowField field = new FlowField(width, height, profile.dtx, profile.dty);
+        if (profile.dtx < 0 || profile.dty < 0 || profile.dtx >= width || profile.dty >= height)
+        {
+            return field;
+        }
+
+        prepareTiles(profile, width, height);
+        final int destination = profile.dty * width + profile.dtx;
+        if (tiles[destination] < 0 || (profile.flags[tiles[destination]] & BLOCKING) != 0)
+        {
+            return field;
+        }
+
+        final double[] costs = field.getCosts();
+        final byte[] movements = field.getMovements();
+        costs[destination] = 0.0;
+        movements[destination] = FlowField.ARRIVED;
+        heapSize = 0;
+        push(destination, 0.0);
+
+        while (heapSize > 0)
+        {
+            final double cost = heapCosts[0];
+            final int current = pop();
+            if (cost <= costs[current])
+            {
+                expand(profile, field, current, width, height);
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Prepare category index of each tile.
+     * 
+     * @param profile The profile reference.
+     * @param width The width in tile.
+     * @param height The height in tile.
+     */
+    private void prepareTiles(Profile profile, int width, int height)
+    {
+        if (tiles.length < width * height)
+        {
+            tiles = new int[width * height];
+        }
+        final Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < profile.categories.length; i++)
+        {
+            indexes.put(profile.categories[i], Integer.valueOf(i));
+        }
+        for (int ty = 0; ty < height; ty++)
+        {
+            for (int tx = 0; tx < width; tx++)
+            {
+                final Tile tile = map.getTile(tx, ty);
+                int index = -1;
+                if (tile != null)
+                {
+                    final Integer category = indexes.get(mapPath.getCategory(tile));
+                    if (category != null)
+                    {
+                        index = category.intValue();
+                    }
+                }
+                tiles[ty * width + tx] = index;
+            }
+        }
+    }
+
+    /**
+     * Update neighbors which can move to current tile.
+     * 
+     * @param profile The profile reference.
+     * @param field The computed field.
+     * @param current The current tile index.
+     * @param width The width in tile.
+     * @param height The height in tile.
+     */
+    private void expand(Profile profile, FlowField field, int current, int width, int height)
+    {
+        final double[] costs = field.getCosts();
+        final byte[] movements = field.getMovements();
+        final int cx = current % width;
+        final int cy = current / width;
+
+        for (int i = 0; i < MOVEMENTS.length; i++)
+        {
+            final int nx = cx - MOVEMENTS_X[i];
+            final int ny = cy - MOVEMENTS_Y[i];
+            if (nx >= 0 && ny >= 0 && nx < width && ny < height)
+            {
+                final int neighbor = ny * width + nx;
+                final int category = tiles[neighbor];
+                if (category >= 0
+                    && (profile.flags[category] & BLOCKING) == 0
+                    && (profile.flags[category] & 1 << i) != 0)
+                {
+                    final double cost = costs[current] + profile.costs[category];
+                    if (cost < costs[neighbor])
+                    {
+                        costs[neighbor] = cost;
+                        movements[neighbor] = (byte) i;
+                        push(neighbor, cost);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add tile to open list.
+     * 
+     * @param tile The tile index.
+     * @param cost The tile cost.
+     */
+    private void push(int tile, double cost)
+    {
+        if (heapSize == heapTiles.length)
+        {
+            final int capacity = Math.max(MOVEMENTS.length, heapSize * 2);
+            heapTiles = Arrays.copyOf(heapTiles, capacity);
+            heapCosts = Arrays.copyOf(heapCosts, capacity);
+        }
+        int index = heapSize++;
+        while (index > 0)
+        {
+            final int parent = (index - 1) / 2;
+            if (heapCosts[parent] <= cost)
+            {
+                break;
+            }
+            heapTiles[index] = heapTiles[parent];
+            heapCosts[index] = heapCosts[parent];
+            index = parent;
+        }
+        heapTiles[index] = tile;
+        heapCosts[index] = cost;
+    }
+
+    /**
+     * Remove the lowest cost tile from open list.
+     * 
+     * @return The tile index.
+     */
+    private int pop()
+    {
+        final int first = heapTiles[0];
+        heapSize--;
+        final int tile = heapTiles[heapSize];
+        final double cost = heapCosts[heapSize];
+        int index = 0;
+        while (true)
+        {
+            int child = index * 2 + 1;
+            if (child >= heapSize)
+            {
+                break;
+            }
+            if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child])
+            {
+                child++;
+            }
+            if (cost <= heapCosts[child])
+            {
+                break;
+            }
+            heapTiles[index] = heapTiles[child];
+            heapCosts[index] = heapCosts[child];
+            index = child;
+        }
+        heapTiles[index] = tile;
+        heapCosts[index] = cost;
+        return first;
+    }
+
+    /*
+     * PathFinder
+     */
+
+    @Override
+    public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef)
+    {
+        return getField(mover, dtx, dty).getPath(mover.getInTileX(), mover.getInTileY());
+    }
+
+    /*
+     * TileSetListener
+     */
+
+    @Override
+    public void onTileSet(Tile tile)
+    {
+        invalidate();
+    }
+
+    /**
+     * Mover profile toward a destination, used as field key.
+     */
+    private static final class Profile
+    {
+        /** Categories name. */
+        private final String[] categories;
+        /** Cost by category. */
+        private final double[] costs;
+        /** Allowed movements and blocking flag by category. */
+        private final int[] flags;
+        /** Destination horizontal tile. */
+        private final int dtx;
+        /** Destination vertical tile. */
+        private final int dty;
+        /** Hash code. */
+        private final int hash;
+
+        /**
+         * Create profile.
+         * 
+         * @param mover The mover reference.
+         * @param categories The map categories.
+         * @param dtx The destination horizontal tile.
+         * @param dty The destination vertical tile.
+         */
+        Profile(Pathfindable mover, List<String> categories, int dtx, int dty)
+        {
+            super();
+
+            this.categories = categories.toArray(new String[categories.size()]);
+            this.dtx = dtx;
+            this.dty = dty;
+            costs = new double[this.categories.length];
+            flags = new int[this.categories.length];
+
+            for (int i = 0; i < this.categories.length; i++)
+            {
+                final String category = this.categories[i];
+                int flag = 0;
+                for (int m = 0; m < MOVEMENTS.length; m++)
+                {
+                    if (mover.isMovementAllowed(category, MOVEMENTS[m]))
+                    {
+                        flag |= 1 << m;
+                    }
+                }
+                if (mover.isBlocking(category))
+                {
+                    flag |= BLOCKING;
+                }
+                flags[i] = flag;
+                // Cost is only known for categories the mover can leave
+                if ((flag & ~BLOCKING) != 0)
+                {
+                    costs[i] = mover.getCost(category);
+                }
+            }
+            hash = computeHash();
+        }
+
+        /**
+         * Compute hash code.
+         * 
+         * @return The hash code.
+         */
+        private int computeHash()
+        {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + dtx;
+            result = prime * result + dty;
+            result = prime * result + Arrays.hashCode(categories);
+            result = prime * result + Arrays.hashCode(costs);
+            result = prime * result + Arrays.hashCode(flags);
+            return result;
+        }
+
+        /*
+         * Object
+         */
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (object == null || object.getClass() != getClass())
+            {
+                return false;
+            }
+            final Profile other = (Profile) object;
+            return dtx == other.dtx
+                   && dty == other.dty
+                   && Arrays.equals(categories, other.categories)
+                   && Arrays.equals(costs, other.costs)
+                   && Arrays.equals(flags, other.flags);
+        }
+    }
+}
@@ -17,8 +17,6 @@
 package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.PriorityQueue;
 import java.util.Queue;
 
 import com.b3dgs.lionengine.UtilMath;
@@ -27,23 +25,24 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 
 /**
  * A path finder implementation that uses the AStar heuristic based algorithm to determine a path.
+ * <p>
+ * Search nodes are not owned by the path finder, but borrowed from its {@link PathFinderPool} for each search.
+ * </p>
  */
 final class PathFinderImpl implements PathFinder
 {
-    /** Closed list. */
-    private final Collection<Node> closed = new HashSet<>();
-    /** Open list. */
-    private final Queue<Node> open = new PriorityQueue<>();
     /** Map reference. */
     private final MapTile map;
     /** Map path reference. */
     private final MapTilePath mapPath;
     /** Max distance to search. */
     private final int maxSearchDistance;
-    /** Nodes array. */
-    private final Node[][] nodes;
     /** Heuristic used. */
     private final Heuristic heuristic;
+    /** Workspaces provider. */
+    private final PathFinderPool pool;
+    /** Current search workspace, <code>null</code> if not searching. */
+    private PathFinderWorkspace workspace;
 
     /**
      * Internal constructor.
@@ -51,37 +50,17 @@ final class PathFinderImpl implements PathFinder
      * @param map The map to be searched. Must have the {@link MapTilePath} feature.
      * @param maxSearchDistance The maximum depth we'll search before giving up.
      * @param heuristic The heuristic used to determine the search order of the map.
+     * @param pool The workspaces provider.
      */
-    PathFinderImpl(MapTile map, int maxSearchDistance, Heuristic heuristic)
+    PathFinderImpl(MapTile map, int maxSearchDistance, Heuristic heuristic, PathFinderPool pool)
     {
         super();
 
         this.heuristic = heuristic;
         this.map = map;
         this.maxSearchDistance = maxSearchDistance;
+        this.pool = pool;
         mapPath = map.getFeature(MapTilePath.class);
-
-        final int widthInTile;
-        final int heightInTile;
-        if (mapPath.getCategories().isEmpty())
-        {
-            widthInTile = 0;
-            heightInTile = 0;
-        }
-        else
-        {
-            widthInTile = map.getInTileWidth();
-            heightInTile = map.getInTileHeight();
-        }
-        nodes = new Node[heightInTile][widthInTile];
-
-        for (int ty = 0; ty < heightInTile; ty++)
-        {
-            for (int tx = 0; tx < widthInTile; tx++)
-            {
-                nodes[ty][tx] = new Node(tx, ty);
-            }
-        }
     }
 
     /**
@@ -232,7 +211,9 @@ final class PathFinderImpl implements PathFinder
     {
         int nextDepth = maxDepth;
         final double nextStepCost = current.getCost() + getMovementCost(mover, current.getX(), current.getY());
-        final Node neighbour = nodes[yp][xp];
+        final Node neighbour = workspace.getNode(xp, yp);
+        final Queue<Node> open = workspace.getOpen();
+        final Collection<Node> closed = workspace.getClosed();
 
         if (nextStepCost < neighbour.getCost())
         {
@@ -262,7 +243,16 @@ final class PathFinderImpl implements PathFinder
     @Override
     public Path findPath(Pathfindable mover, int dtx, int dty, boolean ignoreRef)
     {
-        return findPathRecursive(mover, dtx, dty, ignoreRef, null);
+        workspace = pool.borrow();
+        try
+        {
+            return findPathRecursive(mover, dtx, dty, ignoreRef, null);
+        }
+        finally
+        {
+            pool.release(workspace);
+            workspace = null;
+        }
     }
 
     /**
@@ -296,32 +286,37 @@ final class PathFinderImpl implements PathFinder
             return findPathRecursive(mover, tile.getX(), tile.getY(), ignoreRef, tile);
         }
 
-        nodes[sty][stx].setCost(0);
-        nodes[sty][stx].setDepth(0);
+        final Node start = workspace.getNode(stx, sty);
+        final Node destination = workspace.getNode(dtx, dty);
+        final Queue<Node> open = workspace.getOpen();
+        final Collection<Node> closed = workspace.getClosed();
+
+        start.setCost(0);
+        start.setDepth(0);
         closed.clear();
         open.clear();
-        open.add(nodes[sty][stx]);
-        nodes[dty][dtx].setParent(null);
+        open.add(start);
+        destination.setParent(null);
 
         int maxDepth = 0;
         while (maxDepth < maxSearchDistance && !open.isEmpty())
         {
             final Node current = open.poll();
-            if (current == nodes[dty][dtx])
+            if (current == destination)
             {
                 break;
             }
             closed.add(current);
             maxDepth = updateList(mover, stx, sty, dtx, dty, ignoreRef, current, maxDepth);
         }
-        if (nodes[dty][dtx].getParent() == null)
+        if (destination.getParent() == null)
         {
             return null;
         }
         final Path path = new Path();
-        Node target = nodes[dty][dtx];
+        Node target = destination;
 
-        while (target != nodes[sty][stx])
+        while (target != start)
         {
             path.prependStep(target.getX(), target.getY());
             target = target.getParent();
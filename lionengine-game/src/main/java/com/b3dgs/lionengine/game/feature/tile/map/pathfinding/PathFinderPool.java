@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * Map level path finders provider, sharing search workspaces between all its path finders.
+ * <p>
+ * A workspace holds one node per map tile, and is borrowed for the duration of a single search. Pool only grows up to
+ * the number of concurrent searches (usually one, or one per thread), instead of one workspace per path finder.
+ * Workspaces are created on demand and recreated if map size changed.
+ * </p>
+ * <p>
+ * Usually added to the {@link com.b3dgs.lionengine.game.feature.Services}, where {@link PathfindableModel} will look
+ * for it (and add one if missing).
+ * </p>
+ */
+public class PathFinderPool
+{
+    /** Available workspaces. */
+    private final Queue<PathFinderWorkspace> available = new ConcurrentLinkedQueue<>();
+    /** Created workspaces number. */
+    private final AtomicInteger created = new AtomicInteger();
+    /** Map reference. */
+    private final MapTile map;
+    /** Map path reference. */
+    private final MapTilePath mapPath;
+
+    /**
+     * Create pool.
+     * 
+     * @param map The map to be searched (must not be <code>null</code>). Must have the {@link MapTilePath} feature.
+     * @throws LionEngineException If invalid argument.
+     */
+    public PathFinderPool(MapTile map)
+    {
+        super();
+
+        Check.notNull(map);
+
+        this.map = map;
+        mapPath = map.getFeature(MapTilePath.class);
+    }
+
+    /**
+     * Create a path finder using the pool workspaces.
+     * 
+     * @param maxSearchDistance The maximum depth we'll search before giving up.
+     * @param heuristic The heuristic used to determine the search order of the map (must not be <code>null</code>).
+     * @return The path finder instance.
+     * @throws LionEngineException If invalid argument.
+     */
+    public PathFinder createPathFinder(int maxSearchDistance, Heuristic heuristic)
+    {
+        Check.notNull(heuristic);
+
+        return new PathFinderImpl(map, maxSearchDistance, heuristic, this);
+    }
+
+    /**
+     * Remove available workspaces, in order to release memory. Workspaces in use are kept.
+     */
+    public void clear()
+    {
+        PathFinderWorkspace workspace = available.poll();
+        while (workspace != null)
+        {
+            created.decrementAndGet();
+            workspace = available.poll();
+        }
+    }
+
+    /**
+     * Get the number of workspaces, available or in use.
+     * 
+     * @return The workspaces number.
+     */
+    public int getWorkspaces()
+    {
+        return created.get();
+    }
+
+    /**
+     * Borrow a workspace matching current map size. Must be released after use.
+     * 
+     * @return The workspace.
+     */
+    PathFinderWorkspace borrow()
+    {
+        final int width;
+        final int height;
+        if (mapPath.getCategories().isEmpty())
+        {
+            width = 0;
+            height = 0;
+        }
+        else
+        {
+            width = map.getInTileWidth();
+            height = map.getInTileHeight();
+        }
+
+        PathFinderWorkspace workspace = available.poll();
+        while (workspace != null && !workspace.matches(width, height))
+        {
+            created.decrementAndGet();
+            workspace = available.poll();
+        }
+        if (workspace == null)
+        {
+            created.incrementAndGet();
+            workspace = new PathFinderWorkspace(width, height);
+        }
+        return workspace;
+    }
+
+    /**
+     * Release a borrowed workspace.
+     * 
+     * @param workspace The workspace to release.
+     */
+    void release(PathFinderWorkspace workspace)
+    {
+        workspace.getOpen().clear();
+        workspace.getClosed().clear();
+        available.offer(workspace);
+    }
+}
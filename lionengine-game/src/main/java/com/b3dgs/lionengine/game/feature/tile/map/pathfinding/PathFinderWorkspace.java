@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * Path search state, with one node per map tile. Used by one search at a time.
+ * 
+ * @see PathFinderPool
+ */
+final class PathFinderWorkspace
+{
+    /** Closed list. */
+    private final Collection<Node> closed = new HashSet<>();
+    /** Open list. */
+    private final Queue<Node> open = new PriorityQueue<>();
+    /** Nodes array. */
+    private final Node[][] nodes;
+    /** Width in tile. */
+    private final int width;
+    /** Height in tile. */
+    private final int height;
+
+    /**
+     * Create workspace.
+     * 
+     * @param width The width in tile.
+     * @param height The height in tile.
+     */
+    PathFinderWorkspace(int width, int height)
+    {
+        super();
+
+        this.width = width;
+        this.height = height;
+        nodes = new Node[height][width];
+
+        for (int ty = 0; ty < height; ty++)
+        {
+            for (int tx = 0; tx < width; tx++)
+            {
+                nodes[ty][tx] = new Node(tx, ty);
+            }
+        }
+    }
+
+    /**
+     * Check if workspace size matches.
+     * 
+     * @param width The width in tile.
+     * @param height The height in tile.
+     * @return <code>true</code> if same size, <code>false</code> else.
+     */
+    boolean matches(int width, int height)
+    {
+        return this.width == width && this.height == height;
+    }
+
+    /**
+     * Get node at location.
+     * 
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     * @return The node reference.
+     */
+    Node getNode(int tx, int ty)
+    {
+        return nodes[ty][tx];
+    }
+
+    /**
+     * Get the open list.
+     * 
+     * @return The open list.
+     */
+    Queue<Node> getOpen()
+    {
+        return open;
+    }
+
+    /**
+     * Get the closed list.
+     * 
+     * @return The closed list.
+     */
+    Collection<Node> getClosed()
+    {
+        return closed;
+    }
+}
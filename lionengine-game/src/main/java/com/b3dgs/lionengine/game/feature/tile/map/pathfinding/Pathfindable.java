@@ -132,6 +132,15 @@ public interface Pathfindable extends Tiled, Orientable, Updatable, Renderable,
      */
     void setRenderDebug(boolean debug);
 
+    /**
+     * Enable or disable flow field mode. When enabled, paths are read from the shared {@link FlowFields} service
+     * (added if missing), computed once per destination for all movers with the same pathfinding configuration, and
+     * standard path finder is only used when destination is not reachable by the field.
+     * 
+     * @param enabled <code>true</code> to use flow fields, <code>false</code> to use standard path finder.
+     */
+    void setFlowField(boolean enabled);
+
     /**
      * Get horizontal movement speed.
      * 
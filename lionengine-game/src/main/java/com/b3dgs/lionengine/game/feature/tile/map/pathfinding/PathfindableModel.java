@@ -93,6 +93,8 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     private Integer id;
     /** Transformable model. */
     private Transformable transformable;
+    /** Flow fields reference, <code>null</code> if flow field mode disabled. */
+    private FlowFields flowFields;
     /** Last valid path found. */
     private Path path;
     /** Text debug rendering. */
@@ -148,6 +150,9 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
      * <li>{@link Viewer}</li>
      * </ul>
      * <p>
+     * Path finder search nodes are shared with the {@link PathFinderPool} service, which is added if missing.
+     * </p>
+     * <p>
      * If the {@link Featurable} is a {@link PathfindableListener}, it will automatically
      * {@link #addListener(PathfindableListener)} on it.
      * </p>
@@ -165,7 +170,9 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
 
         final int range = (int) Math.sqrt(map.getInTileWidth() * map.getInTileWidth()
                                           + map.getInTileHeight() * (double) map.getInTileHeight());
-        pathfinder = Astar.createPathFinder(map, range, Astar.createHeuristicClosest());
+        final PathFinderPool pool = services.getOptional(PathFinderPool.class)
+                                            .orElseGet(() -> services.add(new PathFinderPool(map)));
+        pathfinder = pool.createPathFinder(range, Astar.createHeuristicClosest());
     }
 
     /**
@@ -408,6 +415,26 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         return arrivedLinear || arrivedDiagonal;
     }
 
+    /**
+     * Find path to destination, with flow field if enabled, or path finder else.
+     * 
+     * @param tx The horizontal destination.
+     * @param ty The vertical destination.
+     * @return The path found, <code>null</code> if none.
+     */
+    private Path findPath(int tx, int ty)
+    {
+        if (flowFields != null)
+        {
+            final Path found = flowFields.findPath(this, tx, ty, false);
+            if (found != null)
+            {
+                return found;
+            }
+        }
+        return pathfinder.findPath(this, tx, ty, false);
+    }
+
     /**
      * Check if pathfinder changed.
      */
@@ -419,7 +446,7 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
             {
                 path.clear();
             }
-            path = pathfinder.findPath(this, destX, destY, false);
+            path = findPath(destX, destY);
             pathFoundChanged = false;
             currentStep = 0;
             skip = false;
@@ -719,7 +746,7 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         {
             // New first path, when object is not moving
             // CHECKSTYLE IGNORE LINE: InnerAssignment
-            if (path == null && (path = pathfinder.findPath(this, tx, ty, false)) != null)
+            if (path == null && (path = findPath(tx, ty)) != null)
             {
                 currentStep = 0;
                 pathFoundChanged = false;
@@ -772,6 +799,19 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
         }
     }
 
+    @Override
+    public void setFlowField(boolean enabled)
+    {
+        if (enabled)
+        {
+            flowFields = services.getOptional(FlowFields.class).orElseGet(() -> services.add(new FlowFields(map)));
+        }
+        else
+        {
+            flowFields = null;
+        }
+    }
+
     @Override
     public double getSpeedX()
     {
@@ -849,7 +889,7 @@ public class PathfindableModel extends FeatureModel implements Pathfindable, Rec
     @Override
     public boolean isPathAvailable(int tx, int ty)
     {
-        final Path found = pathfinder.findPath(this, tx, ty, false);
+        final Path found = findPath(tx, ty);
         if (found != null)
         {
             found.clear();
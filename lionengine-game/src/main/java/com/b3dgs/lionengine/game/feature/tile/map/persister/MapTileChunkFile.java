@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.UtilVarint;
+
+/**
+ * Compact chunked map file reader (see {@link MapTilePersisterCompact#save(com.b3dgs.lionengine.io.FileWriting)} for
+ * format). Chunks can be decoded independently and concurrently.
+ */
+final class MapTileChunkFile
+{
+    /** Invalid chunk error. */
+    static final String ERROR_CHUNK = "Invalid chunk: ";
+
+    /**
+     * Check header and get body length.
+     * 
+     * @param magic The read magic.
+     * @param version The read version.
+     * @param length The read body length.
+     * @return The body length.
+     * @throws IOException If invalid header.
+     */
+    static int checkHeader(int magic, byte version, int length) throws IOException
+    {
+        if (magic != MapTilePersisterCompact.MAGIC || version != MapTilePersisterCompact.VERSION || length < 0)
+        {
+            throw new IOException(MapTilePersisterCompact.ERROR_FORMAT + Integer.toHexString(magic) + " v" + version);
+        }
+        return length;
+    }
+
+    /**
+     * Memory-map the file body.
+     * 
+     * @param file The file to map.
+     * @return The mapped body, valid after channel close.
+     * @throws IOException If error on reading or invalid header.
+     */
+    static ByteBuffer map(File file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+            final int length = checkHeader(buffer.getInt(), buffer.get(), buffer.getInt());
+            if (buffer.remaining() < length)
+            {
+                throw new IOException(MapTilePersisterCompact.ERROR_FORMAT + file.getPath());
+            }
+            return buffer.slice();
+        }
+    }
+
+    /**
+     * Read the body header and chunks index.
+     * 
+     * @param body The body buffer.
+     * @return The chunk file.
+     * @throws IOException If invalid data.
+     */
+    static MapTileChunkFile read(ByteBuffer body) throws IOException
+    {
+        try
+        {
+            return new MapTileChunkFile(body);
+        }
+        catch (final RuntimeException exception)
+        {
+            throw new IOException(MapTilePersisterCompact.ERROR_FORMAT + exception.getMessage(), exception);
+        }
+    }
+
+    /** Body buffer. */
+    private final ByteBuffer body;
+    /** Sheets configuration path, <code>null</code> if none. */
+    private final String config;
+    /** Tile width. */
+    private final int tileWidth;
+    /** Tile height. */
+    private final int tileHeight;
+    /** Width in tile. */
+    private final int widthInTile;
+    /** Height in tile. */
+    private final int heightInTile;
+    /** Chunk size in tile. */
+    private final int chunkSize;
+    /** Horizontal chunks number. */
+    private final int chunksH;
+    /** Vertical chunks number. */
+    private final int chunksV;
+    /** Chunks data offset, plus data end. */
+    private final int[] offsets;
+    /** Chunks data start in body. */
+    private final int start;
+
+    /**
+     * Create chunk file.
+     * 
+     * @param body The body buffer.
+     * @throws IOException If invalid data.
+     */
+    private MapTileChunkFile(ByteBuffer body) throws IOException
+    {
+        super();
+
+        this.body = body;
+        if (body.get() != 0)
+        {
+            final byte[] path = new byte[UtilVarint.read(body)];
+            body.get(path);
+            config = new String(path, StandardCharsets.UTF_8);
+        }
+        else
+        {
+            config = null;
+        }
+        tileWidth = UtilVarint.read(body);
+        tileHeight = UtilVarint.read(body);
+        widthInTile = UtilVarint.read(body);
+        heightInTile = UtilVarint.read(body);
+        chunkSize = Math.max(1, UtilVarint.read(body));
+        chunksH = (widthInTile + chunkSize - 1) / chunkSize;
+        chunksV = (heightInTile + chunkSize - 1) / chunkSize;
+
+        offsets = new int[chunksH * chunksV + 1];
+        for (int i = 0; i < offsets.length; i++)
+        {
+            offsets[i] = body.getInt();
+        }
+        start = body.position();
+    }
+
+    /**
+     * Decode chunk tiles numbers. Can be called concurrently. Reads are limited to the chunk data, and each run must
+     * stay inside the chunk.
+     * 
+     * @param index The chunk index (row by row).
+     * @return The chunk values, row by row (tile number + 1, <code>0</code> if none).
+     * @throws IOException If invalid chunk data.
+     */
+    int[] decode(int index) throws IOException
+    {
+        final int begin = offsets[index];
+        final int end = offsets[index + 1];
+        if (begin < 0 || begin > end || end > body.limit() - start)
+        {
+            throw new IOException(ERROR_CHUNK + index);
+        }
+        final ByteBuffer in = body.duplicate();
+        in.limit(start + end);
+        in.position(start + begin);
+
+        final int cells = getChunkWidth(index % chunksH) * getChunkHeight(index / chunksH);
+        final int[] values = new int[cells];
+        int cell = 0;
+        try
+        {
+            while (cell < cells)
+            {
+                final int run = UtilVarint.read(in);
+                final int value = UtilVarint.read(in);
+                if (run <= 0 || run > cells - cell)
+                {
+                    throw new IOException(ERROR_CHUNK + index);
+                }
+                Arrays.fill(values, cell, cell + run, value);
+                cell += run;
+            }
+        }
+        catch (final EOFException exception)
+        {
+            throw new IOException(ERROR_CHUNK + index, exception);
+        }
+        return values;
+    }
+
+    /**
+     * Get the chunk width in tile.
+     * 
+     * @param cx The horizontal chunk index.
+     * @return The chunk width.
+     */
+    int getChunkWidth(int cx)
+    {
+        return Math.min(chunkSize, widthInTile - cx * chunkSize);
+    }
+
+    /**
+     * Get the chunk height in tile.
+     * 
+     * @param cy The vertical chunk index.
+     * @return The chunk height.
+     */
+    int getChunkHeight(int cy)
+    {
+        return Math.min(chunkSize, heightInTile - cy * chunkSize);
+    }
+
+    /**
+     * Get the sheets configuration path.
+     * 
+     * @return The configuration path, <code>null</code> if none.
+     */
+    String getConfig()
+    {
+        return config;
+    }
+
+    /**
+     * Get the tile width.
+     * 
+     * @return The tile width.
+     */
+    int getTileWidth()
+    {
+        return tileWidth;
+    }
+
+    /**
+     * Get the tile height.
+     * 
+     * @return The tile height.
+     */
+    int getTileHeight()
+    {
+        return tileHeight;
+    }
+
+    /**
+     * Get the width in tile.
+     * 
+     * @return The width in tile.
+     */
+    int getInTileWidth()
+    {
+        return widthInTile;
+    }
+
+    /**
+     * Get the height in tile.
+     * 
+     * @return The height in tile.
+     */
+    int getInTileHeight()
+    {
+        return heightInTile;
+    }
+
+    /**
+     * Get the chunk size.
+     * 
+     * @return The chunk size in tile.
+     */
+    int getChunkSize()
+    {
+        return chunkSize;
+    }
+
+    /**
+     * Get the horizontal chunks number.
+     * 
+     * @return The horizontal chunks number.
+     */
+    int getChunksH()
+    {
+        return chunksH;
+    }
+
+    /**
+     * Get the vertical chunks number.
+     * 
+     * @return The vertical chunks number.
+     */
+    int getChunksV()
+    {
+        return chunksV;
+    }
+
+    /**
+     * Get the chunks number.
+     * 
+     * @return The chunks number.
+     */
+    int getCount()
+    {
+        return chunksH * chunksV;
+    }
+}
@@ -0,0 +1,513 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.MapTileCollision;
+import com.b3dgs.lionengine.io.FileReading;
+
+/**
+ * Stream a map saved with {@link MapTilePersisterCompact} around the {@link Camera}, instead of loading it in full.
+ * <p>
+ * The map is created with the file dimensions, without any tile. Each saved chunk is a page, which is decoded in
+ * background when it enters the residency area (camera view extended by a radius in page, and by a prefetch distance
+ * along the camera movement), then its tiles are set on {@link #update(double)}. Pages leaving the residency area
+ * (with one page of hysteresis) are evicted by removing their tiles. Each update only visits the residency area and
+ * the loaded pages, not the whole map, and tile listeners are only notified for the tiles of loaded and evicted
+ * pages.
+ * </p>
+ * <p>
+ * Unloaded pages have no tile, as map holes. {@link MapTileCollision} of the map, if any, is updated once per loaded
+ * or evicted page. Prefer a map created with compact storage to keep unloaded pages cheap.
+ * </p>
+ */
+public class MapTilePager implements Updatable, Closeable
+{
+    /** Page not loaded. */
+    private static final byte UNLOADED = 0;
+    /** Page decoding. */
+    private static final byte PENDING = 1;
+    /** Page applied to map. */
+    private static final byte RESIDENT = 2;
+    /** Page decoding failed. */
+    private static final byte FAILED = 3;
+    /** Page eviction hysteresis. */
+    private static final int HYSTERESIS = 1;
+
+    /**
+     * Load the file body, memory-mapped if possible.
+     * 
+     * @param level The level media.
+     * @return The body buffer.
+     * @throws IOException If error on reading.
+     */
+    private static ByteBuffer read(Media level) throws IOException
+    {
+        final File file = level.getFile();
+        if (file.isFile())
+        {
+            return MapTileChunkFile.map(file);
+        }
+        try (FileReading input = new FileReading(level))
+        {
+            final byte[] body = new byte[MapTileChunkFile.checkHeader(input.readInteger(),
+                                                                      input.readByte(),
+                                                                      input.readInteger())];
+            input.readBytes(body);
+            return ByteBuffer.wrap(body);
+        }
+    }
+
+    /** Decoded pages waiting to be applied. */
+    private final Queue<Page> decoded = new ConcurrentLinkedQueue<>();
+    /** Submitted decoding tasks. */
+    private final Collection<Future<?>> tasks = new ArrayList<>();
+    /** Map reference. */
+    private final MapTile map;
+    /** Camera reference. */
+    private final Camera camera;
+    /** Residency radius in page around camera view. */
+    private final int radius;
+    /** Decoding executor, <code>null</code> if closed. */
+    private ExecutorService executor;
+    /** Opened file, <code>null</code> if none. */
+    private MapTileChunkFile file;
+    /** Pages state. */
+    private byte[] states = new byte[0];
+    /** Loaded pages (pending, resident or failed), unordered. */
+    private int[] active = new int[0];
+    /** Loaded pages number. */
+    private int activeCount;
+    /** Prefetch distance in page along camera movement. */
+    private int prefetch = 1;
+    /** Resident pages number. */
+    private int resident;
+    /** Residency minimum horizontal page. */
+    private int minX;
+    /** Residency minimum vertical page. */
+    private int minY;
+    /** Residency maximum horizontal page. */
+    private int maxX;
+    /** Residency maximum vertical page. */
+    private int maxY;
+
+    /**
+     * Create pager.
+     * 
+     * @param map The map reference (must not be <code>null</code>).
+     * @param camera The camera reference (must not be <code>null</code>).
+     * @param radius The residency radius in page around camera view (must be positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public MapTilePager(MapTile map, Camera camera, int radius)
+    {
+        super();
+
+        Check.notNull(map);
+        Check.notNull(camera);
+        Check.superiorOrEqual(radius, 0);
+
+        this.map = map;
+        this.camera = camera;
+        this.radius = radius;
+    }
+
+    /**
+     * Open level and create map without tile. Pages are loaded on next {@link #update(double)}.
+     * 
+     * @param level The level saved with {@link MapTilePersisterCompact} (must not be <code>null</code>).
+     * @throws IOException If error on reading or invalid format.
+     * @throws LionEngineException If invalid argument.
+     */
+    public void open(Media level) throws IOException
+    {
+        Check.notNull(level);
+
+        close();
+
+        final MapTileChunkFile opened = MapTileChunkFile.read(read(level));
+        if (opened.getConfig() != null)
+        {
+            map.loadSheets(Medias.create(opened.getConfig()));
+        }
+        map.create(opened.getTileWidth(), opened.getTileHeight(), opened.getInTileWidth(), opened.getInTileHeight());
+
+        file = opened;
+        states = new byte[opened.getCount()];
+        active = new int[opened.getCount()];
+        activeCount = 0;
+        resident = 0;
+        executor = Executors.newSingleThreadExecutor(runnable ->
+        {
+            final Thread thread = new Thread(runnable, MapTilePager.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Set the prefetch distance along camera movement.
+     * 
+     * @param pages The prefetch distance in page (must be positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void setPrefetch(int pages)
+    {
+        Check.superiorOrEqual(pages, 0);
+
+        prefetch = pages;
+    }
+
+    /**
+     * Wait for all requested pages to be decoded, and apply them.
+     * 
+     * @throws LionEngineException If interrupted.
+     */
+    public void flush()
+    {
+        for (final Future<?> task : tasks)
+        {
+            try
+            {
+                task.get();
+            }
+            catch (final ExecutionException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                throw new LionEngineException(exception);
+            }
+        }
+        tasks.clear();
+        applyDecoded();
+    }
+
+    /**
+     * Check if tile page is resident.
+     * 
+     * @param tx The horizontal tile index.
+     * @param ty The vertical tile index.
+     * @return <code>true</code> if resident, <code>false</code> if unloaded, pending or outside.
+     */
+    public boolean isResident(int tx, int ty)
+    {
+        if (file == null || tx < 0 || ty < 0 || tx >= file.getInTileWidth() || ty >= file.getInTileHeight())
+        {
+            return false;
+        }
+        final int size = file.getChunkSize();
+        return states[ty / size * file.getChunksH() + tx / size] == RESIDENT;
+    }
+
+    /**
+     * Get the resident pages number.
+     * 
+     * @return The resident pages number.
+     */
+    public int getResidentCount()
+    {
+        return resident;
+    }
+
+    /**
+     * Set page tiles from its values.
+     * 
+     * @param index The page index.
+     * @param values The page values (tile number + 1, <code>0</code> if none).
+     */
+    private void load(int index, int[] values)
+    {
+        final int size = file.getChunkSize();
+        final int cx = index % file.getChunksH();
+        final int cy = index / file.getChunksH();
+        final int width = file.getChunkWidth(cx);
+        final int height = file.getChunkHeight(cy);
+        final Collection<Tile> set = new ArrayList<>(width * height);
+        for (int i = 0; i < width * height; i++)
+        {
+            if (values[i] > 0)
+            {
+                final int tx = cx * size + i % width;
+                final int ty = cy * size + i / width;
+                map.setTile(tx, ty, values[i] - 1);
+                set.add(map.getTile(tx, ty));
+            }
+        }
+        updateCollisions(Collections.emptyList(), set);
+    }
+
+    /**
+     * Remove page tiles.
+     * 
+     * @param index The page index.
+     */
+    private void unload(int index)
+    {
+        final int size = file.getChunkSize();
+        final int cx = index % file.getChunksH();
+        final int cy = index / file.getChunksH();
+        final int width = file.getChunkWidth(cx);
+        final int height = file.getChunkHeight(cy);
+        final Collection<Tile> removed = new ArrayList<>(width * height);
+        for (int i = 0; i < width * height; i++)
+        {
+            final int tx = cx * size + i % width;
+            final int ty = cy * size + i / width;
+            final Tile tile = map.getTile(tx, ty);
+            if (tile != null)
+            {
+                map.removeTile(tx, ty);
+                removed.add(tile);
+            }
+        }
+        updateCollisions(removed, Collections.emptyList());
+    }
+
+    /**
+     * Update map collisions of page tiles, if map has collisions.
+     * 
+     * @param removed The tiles removed.
+     * @param set The tiles set.
+     */
+    private void updateCollisions(Collection<Tile> removed, Collection<Tile> set)
+    {
+        if (map.hasFeature(MapTileCollision.class))
+        {
+            map.getFeature(MapTileCollision.class).updateCollisions(removed, set);
+        }
+    }
+
+    /**
+     * Apply decoded pages still pending.
+     */
+    private void applyDecoded()
+    {
+        Page page = decoded.poll();
+        while (page != null)
+        {
+            if (states[page.index] == PENDING)
+            {
+                if (page.values == null)
+                {
+                    states[page.index] = FAILED;
+                }
+                else
+                {
+                    load(page.index, page.values);
+                    states[page.index] = RESIDENT;
+                    resident++;
+                }
+            }
+            page = decoded.poll();
+        }
+        tasks.removeIf(Future::isDone);
+    }
+
+    /**
+     * Compute the residency area from camera view, radius and prefetch.
+     */
+    private void computeArea()
+    {
+        final int size = file.getChunkSize();
+        final double left = camera.getX() + camera.getViewX();
+        final double bottom = camera.getY() - camera.getViewY();
+        final int pageWidth = size * file.getTileWidth();
+        final int pageHeight = size * file.getTileHeight();
+
+        minX = (int) Math.floor(left / pageWidth) - radius;
+        maxX = (int) Math.floor((left + camera.getWidth()) / pageWidth) + radius;
+        minY = (int) Math.floor(bottom / pageHeight) - radius;
+        maxY = (int) Math.floor((bottom + camera.getHeight()) / pageHeight) + radius;
+
+        final double vx = camera.getMovementHorizontal();
+        final double vy = camera.getMovementVertical();
+        if (vx > 0.0)
+        {
+            maxX += prefetch;
+        }
+        else if (vx < 0.0)
+        {
+            minX -= prefetch;
+        }
+        if (vy > 0.0)
+        {
+            maxY += prefetch;
+        }
+        else if (vy < 0.0)
+        {
+            minY -= prefetch;
+        }
+    }
+
+    /**
+     * Request page decoding.
+     * 
+     * @param index The page index.
+     */
+    private void request(int index)
+    {
+        states[index] = PENDING;
+        active[activeCount] = index;
+        activeCount++;
+        final MapTileChunkFile current = file;
+        tasks.add(executor.submit(() ->
+        {
+            int[] values;
+            try
+            {
+                values = current.decode(index);
+            }
+            catch (final IOException | RuntimeException exception)
+            {
+                Verbose.exception(exception, MapTilePersisterCompact.ERROR_FORMAT + index);
+                values = null;
+            }
+            decoded.add(new Page(index, values));
+        }));
+    }
+
+    /**
+     * Evict loaded pages outside residency area and its hysteresis.
+     */
+    private void evict()
+    {
+        final int chunksH = file.getChunksH();
+        for (int i = activeCount - 1; i >= 0; i--)
+        {
+            final int index = active[i];
+            final int cx = index % chunksH;
+            final int cy = index / chunksH;
+            if (cx < minX - HYSTERESIS || cx > maxX + HYSTERESIS || cy < minY - HYSTERESIS || cy > maxY + HYSTERESIS)
+            {
+                if (states[index] == RESIDENT)
+                {
+                    unload(index);
+                    resident--;
+                }
+                states[index] = UNLOADED;
+                activeCount--;
+                active[i] = active[activeCount];
+            }
+        }
+    }
+
+    /*
+     * Updatable
+     */
+
+    /**
+     * Apply decoded pages, evict pages outside residency area and request missing ones.
+     * 
+     * @param extrp The extrapolation value.
+     */
+    @Override
+    public void update(double extrp)
+    {
+        if (file == null)
+        {
+            return;
+        }
+        applyDecoded();
+        computeArea();
+        evict();
+
+        final int chunksH = file.getChunksH();
+        final int endX = Math.min(chunksH - 1, maxX);
+        final int endY = Math.min(file.getChunksV() - 1, maxY);
+        for (int cy = Math.max(0, minY); cy <= endY; cy++)
+        {
+            for (int cx = Math.max(0, minX); cx <= endX; cx++)
+            {
+                final int index = cy * chunksH + cx;
+                if (states[index] == UNLOADED)
+                {
+                    request(index);
+                }
+            }
+        }
+    }
+
+    /*
+     * Closeable
+     */
+
+    /**
+     * Stop background decoding and release file. Map is kept as is.
+     */
+    @Override
+    public void close()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+            executor = null;
+        }
+        tasks.clear();
+        decoded.clear();
+        file = null;
+    }
+
+    /**
+     * Decoded page data.
+     */
+    private static final class Page
+    {
+        /** Page index. */
+        private final int index;
+        /** Page values, <code>null</code> if decoding failed. */
+        private final int[] values;
+
+        /**
+         * Create page.
+         * 
+         * @param index The page index.
+         * @param values The page values.
+         */
+        private Page(int index, int[] values)
+        {
+            super();
+
+            this.index = index;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.ListenableModel;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilVarint;
+import com.b3dgs.lionengine.game.FeatureProvider;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.FeatureAbstract;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Handle the map persistence with a compact chunked binary format.
+ * <p>
+ * Map is split in square chunks. Each chunk stores its tiles numbers with run-length encoding, using variable length
+ * integers, and is referenced by a fixed size header index. On loading, chunks are decoded in parallel before being
+ * applied to the map. Use {@link #load(Media)} to memory-map the file instead of streaming it.
+ * </p>
+ * <p>
+ * This format is not compatible with {@link MapTilePersisterModel}.
+ * </p>
+ */
+public class MapTilePersisterCompact extends FeatureAbstract implements MapTilePersister
+{
+    /** Format identifier. */
+    public static final int MAGIC = 0x4C4D_4150;
+    /** Format version. */
+    public static final byte VERSION = 1;
+    /** Default chunk size in tile. */
+    public static final int CHUNK_DEFAULT = 64;
+    /** Invalid format error. */
+    static final String ERROR_FORMAT = "Invalid map format: ";
+
+    /**
+     * Decode a chunk, from a stream.
+     * 
+     * @param file The chunk file.
+     * @param index The chunk index.
+     * @return The chunk values.
+     * @throws UncheckedIOException If invalid data.
+     */
+    private static int[] decode(MapTileChunkFile file, int index)
+    {
+        try
+        {
+            return file.decode(index);
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /** Listeners. */
+    private final ListenableModel<MapTilePersisterListener> listenable = new ListenableModel<>();
+    /** Chunk size in tile. */
+    private final int chunkSize;
+
+    /** Map surface reference. */
+    private MapTileSurface map;
+
+    /**
+     * Create feature with {@link #CHUNK_DEFAULT} chunk size.
+     * <p>
+     * The {@link Featurable} must have:
+     * </p>
+     * <ul>
+     * <li>{@link MapTileSurface}</li>
+     * </ul>
+     */
+    public MapTilePersisterCompact()
+    {
+        this(CHUNK_DEFAULT);
+    }
+
+    /**
+     * Create feature.
+     * <p>
+     * The {@link Featurable} must have:
+     * </p>
+     * <ul>
+     * <li>{@link MapTileSurface}</li>
+     * </ul>
+     * 
+     * @param chunkSize The saved chunk size in tile (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public MapTilePersisterCompact(int chunkSize)
+    {
+        super();
+
+        Check.superiorStrict(chunkSize, 0);
+
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Load a map from a memory-mapped file. Fall back to {@link #load(FileReading)} if media is not a file (such as
+     * inside a jar).
+     * 
+     * @param media The level media (must not be <code>null</code>).
+     * @throws IOException If error on reading.
+     * @throws LionEngineException If invalid argument.
+     */
+    public void load(Media media) throws IOException
+    {
+        Check.notNull(media);
+
+        final File file = media.getFile();
+        if (file.isFile())
+        {
+            decode(MapTileChunkFile.map(file));
+        }
+        else
+        {
+            try (FileReading input = new FileReading(media))
+            {
+                load(input);
+            }
+        }
+    }
+
+    /**
+     * Encode chunk tiles.
+     * 
+     * @param out The output buffer.
+     * @param stx The first horizontal tile.
+     * @param sty The first vertical tile.
+     * @param width The chunk width in tile.
+     * @param height The chunk height in tile.
+     */
+    private void encodeChunk(ByteArrayOutputStream out, int stx, int sty, int width, int height)
+    {
+        int run = 0;
+        int last = -1;
+        for (int ty = sty; ty < sty + height; ty++)
+        {
+            for (int tx = stx; tx < stx + width; tx++)
+            {
+                final Tile tile = map.getTile(tx, ty);
+                final int value;
+                if (tile == null)
+                {
+                    value = 0;
+                }
+                else
+                {
+                    value = tile.getNumber() + 1;
+                }
+                if (value == last)
+                {
+                    run++;
+                }
+                else
+                {
+                    if (run > 0)
+                    {
+                        UtilVarint.write(out, run);
+                        UtilVarint.write(out, last);
+                    }
+                    last = value;
+                    run = 1;
+                }
+            }
+        }
+        if (run > 0)
+        {
+            UtilVarint.write(out, run);
+            UtilVarint.write(out, last);
+        }
+    }
+
+    /**
+     * Encode map body.
+     * 
+     * @return The encoded body.
+     */
+    private byte[] encode()
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Media config = map.getMedia();
+        if (config != null)
+        {
+            final byte[] path = config.getPath().getBytes(StandardCharsets.UTF_8);
+            out.write(1);
+            UtilVarint.write(out, path.length);
+            out.write(path, 0, path.length);
+        }
+        else
+        {
+            out.write(0);
+        }
+
+        final int widthInTile = map.getInTileWidth();
+        final int heightInTile = map.getInTileHeight();
+        UtilVarint.write(out, map.getTileWidth());
+        UtilVarint.write(out, map.getTileHeight());
+        UtilVarint.write(out, widthInTile);
+        UtilVarint.write(out, heightInTile);
+        UtilVarint.write(out, chunkSize);
+
+        final int chunksH = (widthInTile + chunkSize - 1) / chunkSize;
+        final int chunksV = (heightInTile + chunkSize - 1) / chunkSize;
+        final int count = chunksH * chunksV;
+        final int[] offsets = new int[count + 1];
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++)
+        {
+            final int cx = i % chunksH;
+            final int cy = i / chunksH;
+            offsets[i] = data.size();
+            encodeChunk(data,
+                        cx * chunkSize,
+                        cy * chunkSize,
+                        Math.min(chunkSize, widthInTile - cx * chunkSize),
+                        Math.min(chunkSize, heightInTile - cy * chunkSize));
+        }
+        offsets[count] = data.size();
+
+        final ByteBuffer index = ByteBuffer.allocate(offsets.length * Integer.BYTES);
+        for (final int offset : offsets)
+        {
+            index.putInt(offset);
+        }
+        out.write(index.array(), 0, index.capacity());
+        out.write(data.toByteArray(), 0, data.size());
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode map body and apply it to map.
+     * 
+     * @param body The body buffer.
+     * @throws IOException If invalid data.
+     */
+    private void decode(ByteBuffer body) throws IOException
+    {
+        final MapTileChunkFile file = MapTileChunkFile.read(body);
+        if (file.getConfig() != null)
+        {
+            map.loadSheets(Medias.create(file.getConfig()));
+        }
+        map.create(file.getTileWidth(), file.getTileHeight(), file.getInTileWidth(), file.getInTileHeight());
+
+        final int count = file.getCount();
+        final int[][] chunks = new int[count][];
+        try
+        {
+            IntStream.range(0, count).parallel().forEach(i -> chunks[i] = decode(file, i));
+        }
+        catch (final UncheckedIOException exception)
+        {
+            throw exception.getCause();
+        }
+        catch (final RuntimeException exception)
+        {
+            throw new IOException(ERROR_FORMAT + exception.getMessage(), exception);
+        }
+
+        final int size = file.getChunkSize();
+        for (int i = 0; i < count; i++)
+        {
+            final int cx = i % file.getChunksH();
+            final int cy = i / file.getChunksH();
+            final int width = file.getChunkWidth(cx);
+            final int[] values = chunks[i];
+            for (int c = 0; c < values.length; c++)
+            {
+                if (values[c] > 0)
+                {
+                    map.setTile(cx * size + c % width, cy * size + c / width, values[c] - 1);
+                }
+            }
+        }
+
+        for (int i = 0; i < listenable.size(); i++)
+        {
+            listenable.get(i).notifyMapLoaded();
+        }
+    }
+
+    /*
+     * MapTilePersister
+     */
+
+    @Override
+    public void prepare(FeatureProvider provider)
+    {
+        super.prepare(provider);
+
+        map = provider.getFeature(MapTileSurface.class);
+    }
+
+    @Override
+    public void addListener(MapTilePersisterListener listener)
+    {
+        listenable.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(MapTilePersisterListener listener)
+    {
+        listenable.removeListener(listener);
+    }
+
+    /**
+     * Save map to specified file as binary data. Data are saved this way:
+     * 
+     * <pre>
+     * <code>(int)</code> {@link #MAGIC}
+     * <code>(byte)</code> {@link #VERSION}
+     * <code>(int)</code> body length
+     * body (varint are unsigned variable length integers):
+     *   <code>(byte)</code> has sheets configuration
+     *   <code>(varint + UTF-8)</code> sheets configuration file if defined
+     *   <code>(varint)</code> tile width
+     *   <code>(varint)</code> tile height
+     *   <code>(varint)</code> width in tiles
+     *   <code>(varint)</code> height in tiles
+     *   <code>(varint)</code> chunk size in tiles
+     *   <code>(int)</code> chunk data offset for each chunk, row by row, plus the data end
+     *   for each chunk
+     *     for each run of identical tiles, row by row in chunk
+     *       <code>(varint)</code> run length
+     *       <code>(varint)</code> tile number + 1, 0 if no tile
+     * </pre>
+     * 
+     * @param output The output level file.
+     * @throws IOException If error on writing.
+     */
+    @Override
+    public void save(FileWriting output) throws IOException
+    {
+        Check.notNull(output);
+
+        final byte[] body = encode();
+        output.writeInteger(MAGIC);
+        output.writeByte(VERSION);
+        output.writeInteger(body.length);
+        output.writeBytes(body);
+    }
+
+    /**
+     * Load a map from a specified file as binary data (see {@link #save(FileWriting)} order).
+     * 
+     * @param input The input level file.
+     * @throws IOException If error on reading or invalid format.
+     */
+    @Override
+    public void load(FileReading input) throws IOException
+    {
+        Check.notNull(input);
+
+        final int length = MapTileChunkFile.checkHeader(input.readInteger(), input.readByte(), input.readInteger());
+        final byte[] body = new byte[length];
+        input.readBytes(body);
+        decode(ByteBuffer.wrap(body));
+    }
+}
@@ -23,12 +23,17 @@ import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileResolver;
 
 /**
  * Represents the transition handling between two different groups of tiles.
+ * <p>
+ * As a {@link MapTileResolver}, transitions are resolved once on map transaction commit, only around the edges of the
+ * set area, except for {@link com.b3dgs.lionengine.game.feature.tile.TileGroupType#CIRCUIT} tiles.
+ * </p>
  */
 @FeatureInterface
-public interface MapTileTransition extends Feature
+public interface MapTileTransition extends Feature, MapTileResolver
 {
     /**
      * Load the transitions from a specific configuration.
@@ -39,7 +44,7 @@ public interface MapTileTransition extends Feature
 
     /**
      * Load the transitions from map configuration.
-     *
+     * 
      * @param levels The level rips used.
      * @param sheetsConfig The sheets configuration media.
      * @param groupsConfig The groups configuration media.
@@ -21,7 +21,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -31,6 +30,7 @@ import com.b3dgs.lionengine.game.feature.Featurable;
 import com.b3dgs.lionengine.game.feature.FeatureAbstract;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.TileGame;
+import com.b3dgs.lionengine.game.feature.tile.TileGroupType;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
 
@@ -136,6 +136,8 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
     private final Collection<GroupTransition> groupLinks = new HashSet<>();
     /** Transitive group handler. */
     private TransitiveGroup transitiveGroup;
+    /** Compiled transitions, <code>null</code> if must be rebuilt. */
+    private TransitionTable table;
 
     /** Map tile surface. */
     private MapTileSurface map;
@@ -157,6 +159,20 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
         super();
     }
 
+    /**
+     * Get the compiled transitions, rebuilt if configuration changed.
+     * 
+     * @return The compiled transitions.
+     */
+    private TransitionTable getTable()
+    {
+        if (table == null)
+        {
+            table = new TransitionTable(mapGroup, tiles, transitions, groupLinks);
+        }
+        return table;
+    }
+
     /**
      * Resolve current tile and add to resolve list extra tiles.
      * 
@@ -215,22 +231,24 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
                                int ox,
                                int oy)
     {
-        final String group = mapGroup.getGroup(tile);
-        final String neighborGroup = mapGroup.getGroup(neighbor);
+        final TransitionTable compiled = getTable();
+        final int group = compiled.getGroup(tile.getNumber());
+        final int neighborGroup = compiled.getGroup(neighbor.getNumber());
 
-        final Transition transitionA = getTransition(tile, neighborGroup);
-        final Transition transitionB = getTransition(neighbor, group);
+        final int transitionA = compiled.getTransition(tile.getNumber(), neighborGroup);
+        final int transitionB = compiled.getTransition(neighbor.getNumber(), group);
 
-        if (transitionA != null && transitionB != null)
+        if (transitionA != TransitionTable.NONE && transitionB != TransitionTable.NONE)
         {
-            final TransitionType transitionTypeA = transitionA.getType();
-            final TransitionType transitionTypeB = transitionB.getType();
+            final TransitionType transitionTypeA = compiled.getType(transitionA);
+            final TransitionType transitionTypeB = compiled.getType(transitionB);
 
             final TransitionType newType = getTransition(transitionTypeA, transitionTypeB, ox, oy);
             if (newType != null)
             {
-                final Transition newTransition = new Transition(newType, transitionA.getOut(), transitionB.getIn());
-                updateTransition(resolved, toResolve, tile, neighbor, neighborGroup, newTransition);
+                final int in = compiled.getOut(transitionA);
+                final int out = compiled.getIn(transitionB);
+                updateTransition(resolved, toResolve, tile, neighbor, neighborGroup, newType, in, out);
             }
         }
     }
@@ -242,19 +260,23 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
      * @param toResolve Tiles to resolve after.
      * @param tile The tile reference.
      * @param neighbor The neighbor reference.
-     * @param neighborGroup The neighbor group.
-     * @param newTransition The new transition.
+     * @param neighborGroup The neighbor group id.
+     * @param type The new transition type.
+     * @param in The new transition group in id.
+     * @param out The new transition group out id.
      */
     private void updateTransition(Collection<Tile> resolved,
                                   Collection<Tile> toResolve,
                                   Tile tile,
                                   Tile neighbor,
-                                  String neighborGroup,
-                                  Transition newTransition)
+                                  int neighborGroup,
+                                  TransitionType type,
+                                  int in,
+                                  int out)
     {
-        if (!neighborGroup.equals(newTransition.getIn()))
+        if (neighborGroup != in)
         {
-            updateTile(resolved, toResolve, tile, neighbor, newTransition);
+            updateTile(resolved, toResolve, tile, neighbor, type, in, out);
         }
     }
 
@@ -265,20 +287,24 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
      * @param toResolve Tiles to resolve after.
      * @param tile The tile placed.
      * @param neighbor The tile to update.
-     * @param transition The transition to set.
+     * @param type The transition type to set.
+     * @param in The transition group in id.
+     * @param out The transition group out id.
      */
     private void updateTile(Collection<Tile> resolved,
                             Collection<Tile> toResolve,
                             Tile tile,
                             Tile neighbor,
-                            Transition transition)
+                            TransitionType type,
+                            int in,
+                            int out)
     {
-        final Iterator<Integer> iterator = getTiles(transition).iterator();
-        if (iterator.hasNext())
+        final TransitionTable compiled = getTable();
+        final int ref = compiled.getTile(type, in, out);
+        if (ref != TransitionTable.NONE)
         {
-            final Integer ref = iterator.next();
-            map.setTile(neighbor.getInTileX(), neighbor.getInTileY(), ref.intValue());
-            resolved.add(new TileGame(ref.intValue(),
+            map.setTile(neighbor.getInTileX(), neighbor.getInTileY(), ref);
+            resolved.add(new TileGame(ref,
                                       neighbor.getInTileX(),
                                       neighbor.getInTileY(),
                                       map.getTileWidth(),
@@ -291,14 +317,12 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
                                               neighbor.getInTileY(),
                                               tile.getWidth(),
                                               tile.getHeight());
-            final String groupA = mapGroup.getGroup(tile);
-            final String groupB = mapGroup.getGroup(neighbor);
+            final int groupA = compiled.getGroup(tile.getNumber());
+            final int groupB = compiled.getGroup(neighbor.getNumber());
 
             // Used to fix transitions not found
             if (!neighbor.equals(newTile)
-                && (!isCenter(neighbor)
-                    || groupA.equals(groupB)
-                    || groupLinks.contains(new GroupTransition(groupA, groupB))))
+                && (!compiled.isCenter(neighbor.getNumber()) || groupA == groupB || compiled.isLinked(groupA, groupB)))
             {
                 map.setTile(newTile.getInTileX(), newTile.getInTileY(), newTile.getNumber());
                 toResolve.add(newTile);
@@ -323,7 +347,8 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
             final String neighborGroup = mapGroup.getGroup(neighbor);
             final Collection<GroupTransition> transitives = getTransitives(group, neighborGroup);
 
-            if (transitives.size() > 1 && (getTransition(neighbor, group) == null || isCenter(neighbor)))
+            if (transitives.size() > 1
+                && (getTransition(neighbor, group) == null || getTable().isCenter(neighbor.getNumber())))
             {
                 final int iterations = transitives.size() - 3;
                 int i = 0;
@@ -378,21 +403,34 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
     }
 
     /**
-     * Check if tile is a center.
+     * Check if all tile neighbors have been set in the same group, so resolving it would not change anything.
      * 
+     * @param groups The set groups by location index.
      * @param tile The tile to check.
-     * @return <code>true</code> if center, <code>false</code> else.
+     * @param group The tile group.
+     * @return <code>true</code> if inside set area, <code>false</code> if on its edge.
      */
-    private boolean isCenter(Tile tile)
+    private boolean isInside(Map<Integer, String> groups, Tile tile, String group)
     {
-        for (final Transition transition : tiles.get(tile.getKey()))
+        final int width = map.getInTileWidth();
+        final int height = map.getInTileHeight();
+        for (int ox = -1; ox <= 1; ox++)
         {
-            if (TransitionType.CENTER == transition.getType())
+            for (int oy = -1; oy <= 1; oy++)
             {
-                return true;
+                final int tx = tile.getInTileX() + ox;
+                final int ty = tile.getInTileY() + oy;
+                if (tx >= 0
+                    && ty >= 0
+                    && tx < width
+                    && ty < height
+                    && !group.equals(groups.get(Integer.valueOf(ty * width + tx))))
+                {
+                    return false;
+                }
             }
         }
-        return false;
+        return true;
     }
 
     /*
@@ -406,6 +444,8 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
 
         map = provider.getFeature(MapTileSurface.class);
         mapGroup = provider.getFeature(MapTileGroup.class);
+        map.addResolver(this);
+        mapGroup.addListener(() -> table = null);
     }
 
     @Override
@@ -442,6 +482,7 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
             groupLinks.add(new GroupTransition(transition.getIn(), transition.getOut()));
             groupLinks.add(new GroupTransition(transition.getOut(), transition.getIn()));
         }
+        table = null;
 
         transitiveGroup = new TransitiveGroup(map);
         transitiveGroup.load();
@@ -468,6 +509,31 @@ public class MapTileTransitionModel extends FeatureAbstract implements MapTileTr
         return resolved;
     }
 
+    @Override
+    public void resolve(Collection<Tile> tiles)
+    {
+        final int width = map.getInTileWidth();
+        final Map<Integer, String> groups = new HashMap<>(tiles.size());
+        for (final Tile tile : tiles)
+        {
+            groups.put(Integer.valueOf(tile.getInTileY() * width + tile.getInTileX()), mapGroup.getGroup(tile));
+        }
+        for (final Tile tile : tiles)
+        {
+            final String group = groups.get(Integer.valueOf(tile.getInTileY() * width + tile.getInTileX()));
+            if (TileGroupType.CIRCUIT != mapGroup.getType(group) && !isInside(groups, tile, group))
+            {
+                // Restore set tile if updated by a previous resolution
+                final Tile current = map.getTile(tile.getInTileX(), tile.getInTileY());
+                if (current.getNumber() != tile.getNumber())
+                {
+                    map.setTile(tile.getInTileX(), tile.getInTileY(), tile.getNumber());
+                }
+                resolve(tile);
+            }
+        }
+    }
+
     @Override
     public Transition getTransition(Integer tile, String groupOut)
     {
@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.transition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+
+/**
+ * Compiled transitions, where groups are referenced by an integer id and each lookup is an array access.
+ * <p>
+ * Built from the loaded transitions and the current groups definition. Must be rebuilt when one of them changes.
+ * </p>
+ */
+final class TransitionTable
+{
+    /** No value. */
+    static final int NONE = -1;
+    /** Transition types. */
+    private static final TransitionType[] TYPES = TransitionType.values();
+
+    /** Group ids by name. */
+    private final Map<String, Integer> ids = new HashMap<>();
+    /** Group names by id. */
+    private final String[] names;
+    /** Groups number. */
+    private final int count;
+    /** Group id of no group. */
+    private final int none;
+    /** Group id by tile number. */
+    private final int[] tileGroup;
+    /** Center flag by tile number. */
+    private final boolean[] tileCenter;
+    /** Transition index by tile number and group out (tile * count + out). */
+    private final int[] tileTransition;
+    /** Transition types by transition index. */
+    private final TransitionType[] transitionType;
+    /** Transition group in by transition index. */
+    private final int[] transitionIn;
+    /** Transition group out by transition index. */
+    private final int[] transitionOut;
+    /** First tile by transition pattern ((type * count + in) * count + out). */
+    private final int[] typeTile;
+    /** Linked groups (in * count + out). */
+    private final boolean[] links;
+
+    /**
+     * Compile transitions.
+     * 
+     * @param mapGroup The map group reference.
+     * @param tiles The transitions by tile.
+     * @param transitions The tiles by transition.
+     * @param groupLinks The existing group links.
+     */
+    TransitionTable(MapTileGroup mapGroup,
+                    Map<Integer, Collection<Transition>> tiles,
+                    Map<Transition, Collection<Integer>> transitions,
+                    Collection<GroupTransition> groupLinks)
+    {
+        super();
+
+        final Set<String> groups = new TreeSet<>(mapGroup.getGroups());
+        for (final Transition transition : transitions.keySet())
+        {
+            groups.add(transition.getIn());
+            groups.add(transition.getOut());
+        }
+        count = groups.size();
+        names = groups.toArray(new String[count]);
+        for (int i = 0; i < count; i++)
+        {
+            ids.put(names[i], Integer.valueOf(i));
+        }
+        none = getId(MapTileGroupModel.NO_GROUP_NAME);
+
+        final int tilesNumber = getMaxTile(mapGroup, tiles) + 1;
+        tileGroup = new int[tilesNumber];
+        tileCenter = new boolean[tilesNumber];
+        tileTransition = new int[tilesNumber * count];
+
+        final List<Transition> indexed = new ArrayList<>(transitions.keySet());
+        final Map<Transition, Integer> indexes = new HashMap<>();
+        transitionType = new TransitionType[indexed.size()];
+        transitionIn = new int[indexed.size()];
+        transitionOut = new int[indexed.size()];
+        for (int i = 0; i < indexed.size(); i++)
+        {
+            final Transition transition = indexed.get(i);
+            indexes.put(transition, Integer.valueOf(i));
+            transitionType[i] = transition.getType();
+            transitionIn[i] = getId(transition.getIn());
+            transitionOut[i] = getId(transition.getOut());
+        }
+
+        for (int tile = 0; tile < tilesNumber; tile++)
+        {
+            final Integer key = Integer.valueOf(tile);
+            tileGroup[tile] = getId(mapGroup.getGroup(key));
+            compileTile(tile, mapGroup.getGroup(key), tiles.get(key), indexes);
+        }
+
+        typeTile = new int[TYPES.length * count * count];
+        for (final TransitionType type : TYPES)
+        {
+            for (int in = 0; in < count; in++)
+            {
+                for (int out = 0; out < count; out++)
+                {
+                    final Collection<Integer> refs = transitions.get(new Transition(type, names[in], names[out]));
+                    final int index = (type.ordinal() * count + in) * count + out;
+                    if (refs == null || refs.isEmpty())
+                    {
+                        typeTile[index] = NONE;
+                    }
+                    else
+                    {
+                        typeTile[index] = refs.iterator().next().intValue();
+                    }
+                }
+            }
+        }
+
+        links = new boolean[count * count];
+        for (int in = 0; in < count; in++)
+        {
+            for (int out = 0; out < count; out++)
+            {
+                links[in * count + out] = groupLinks.contains(new GroupTransition(names[in], names[out]));
+            }
+        }
+    }
+
+    /**
+     * Get the highest referenced tile number.
+     * 
+     * @param mapGroup The map group reference.
+     * @param tiles The transitions by tile.
+     * @return The highest tile number, <code>-1</code> if none.
+     */
+    private static int getMaxTile(MapTileGroup mapGroup, Map<Integer, Collection<Transition>> tiles)
+    {
+        int max = NONE;
+        for (final Integer tile : tiles.keySet())
+        {
+            max = Math.max(max, tile.intValue());
+        }
+        for (final String group : mapGroup.getGroups())
+        {
+            for (final Integer tile : mapGroup.getGroup(group))
+            {
+                max = Math.max(max, tile.intValue());
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Compile tile transitions for each group out, keeping the first matching transition as done by
+     * {@link MapTileTransition#getTransition(Integer, String)}.
+     * 
+     * @param tile The tile number.
+     * @param groupIn The tile group.
+     * @param transitions The tile transitions (may be <code>null</code>).
+     * @param indexes The transitions index.
+     */
+    private void compileTile(int tile,
+                             String groupIn,
+                             Collection<Transition> transitions,
+                             Map<Transition, Integer> indexes)
+    {
+        for (int out = 0; out < count; out++)
+        {
+            tileTransition[tile * count + out] = NONE;
+        }
+        if (transitions == null)
+        {
+            return;
+        }
+        for (int out = 0; out < count; out++)
+        {
+            final Iterator<Transition> iterator = transitions.iterator();
+            while (iterator.hasNext() && tileTransition[tile * count + out] == NONE)
+            {
+                final Transition transition = iterator.next();
+                if (transition.getIn().equals(groupIn) || transition.getOut().equals(names[out]))
+                {
+                    tileTransition[tile * count + out] = indexes.get(transition).intValue();
+                }
+            }
+        }
+        for (final Transition transition : transitions)
+        {
+            if (TransitionType.CENTER == transition.getType())
+            {
+                tileCenter[tile] = true;
+            }
+        }
+    }
+
+    /**
+     * Get group id.
+     * 
+     * @param group The group name.
+     * @return The group id, {@link #NONE} if unknown.
+     */
+    int getId(String group)
+    {
+        final Integer id = ids.get(group);
+        if (id == null)
+        {
+            return NONE;
+        }
+        return id.intValue();
+    }
+
+    /**
+     * Get group name.
+     * 
+     * @param id The group id.
+     * @return The group name.
+     */
+    String getName(int id)
+    {
+        return names[id];
+    }
+
+    /**
+     * Get tile group id.
+     * 
+     * @param tile The tile number.
+     * @return The group id.
+     */
+    int getGroup(int tile)
+    {
+        if (tile < 0 || tile >= tileGroup.length)
+        {
+            return none;
+        }
+        return tileGroup[tile];
+    }
+
+    /**
+     * Check if tile is a center.
+     * 
+     * @param tile The tile number.
+     * @return <code>true</code> if center, <code>false</code> else.
+     */
+    boolean isCenter(int tile)
+    {
+        return tile >= 0 && tile < tileCenter.length && tileCenter[tile];
+    }
+
+    /**
+     * Get the tile transition index with a group out.
+     * 
+     * @param tile The tile number.
+     * @param groupOut The group out id.
+     * @return The transition index, {@link #NONE} if none.
+     */
+    int getTransition(int tile, int groupOut)
+    {
+        if (tile < 0 || tile >= tileGroup.length || groupOut == NONE)
+        {
+            return NONE;
+        }
+        return tileTransition[tile * count + groupOut];
+    }
+
+    /**
+     * Get transition type.
+     * 
+     * @param transition The transition index.
+     * @return The transition type.
+     */
+    TransitionType getType(int transition)
+    {
+        return transitionType[transition];
+    }
+
+    /**
+     * Get transition group in id.
+     * 
+     * @param transition The transition index.
+     * @return The group in id.
+     */
+    int getIn(int transition)
+    {
+        return transitionIn[transition];
+    }
+
+    /**
+     * Get transition group out id.
+     * 
+     * @param transition The transition index.
+     * @return The group out id.
+     */
+    int getOut(int transition)
+    {
+        return transitionOut[transition];
+    }
+
+    /**
+     * Get the first tile of a transition.
+     * 
+     * @param type The transition type.
+     * @param groupIn The group in id.
+     * @param groupOut The group out id.
+     * @return The tile number, {@link #NONE} if none.
+     */
+    int getTile(TransitionType type, int groupIn, int groupOut)
+    {
+        if (groupIn == NONE || groupOut == NONE)
+        {
+            return NONE;
+        }
+        return typeTile[(type.ordinal() * count + groupIn) * count + groupOut];
+    }
+
+    /**
+     * Check if groups are linked by a transition.
+     * 
+     * @param groupIn The group in id.
+     * @param groupOut The group out id.
+     * @return <code>true</code> if linked, <code>false</code> else.
+     */
+    boolean isLinked(int groupIn, int groupOut)
+    {
+        return groupIn != NONE && groupOut != NONE && links[groupIn * count + groupOut];
+    }
+}
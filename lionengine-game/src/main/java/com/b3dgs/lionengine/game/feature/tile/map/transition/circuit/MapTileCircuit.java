@@ -23,12 +23,17 @@ import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.Feature;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileResolver;
 
 /**
  * Represents the circuit handling between two different groups of tiles.
+ * <p>
+ * As a {@link MapTileResolver}, each {@link com.b3dgs.lionengine.game.feature.tile.TileGroupType#CIRCUIT} tile set
+ * during a map transaction is resolved once on commit.
+ * </p>
  */
 @FeatureInterface
-public interface MapTileCircuit extends Feature
+public interface MapTileCircuit extends Feature, MapTileResolver
 {
     /**
      * Load the circuits from a specific configuration.
@@ -39,7 +44,7 @@ public interface MapTileCircuit extends Feature
 
     /**
      * Load the circuits from map configuration.
-     *
+     * 
      * @param levels The level rips used.
      * @param sheetsConfig The sheets configuration media.
      * @param groupsConfig The groups configuration media.
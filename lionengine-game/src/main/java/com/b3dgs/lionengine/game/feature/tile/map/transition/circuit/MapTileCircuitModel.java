@@ -268,6 +268,7 @@ public class MapTileCircuitModel extends FeatureAbstract implements MapTileCircu
         mapGroup = provider.getFeature(MapTileGroup.class);
         mapTransition = provider.getFeature(MapTileTransition.class);
         extractor = new MapCircuitExtractor(map);
+        map.addResolver(this);
     }
 
     @Override
@@ -301,6 +302,18 @@ public class MapTileCircuitModel extends FeatureAbstract implements MapTileCircu
         updateTile(tile, 1, 0);
     }
 
+    @Override
+    public void resolve(Collection<Tile> tiles)
+    {
+        for (final Tile tile : tiles)
+        {
+            if (TileGroupType.CIRCUIT == mapGroup.getType(tile))
+            {
+                resolve(map.getTile(tile.getInTileX(), tile.getInTileY()));
+            }
+        }
+    }
+
     @Override
     public Collection<Integer> getTiles(Circuit circuit)
     {
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
+
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * Generation buffer, where {@link PreferenceParallel} are generated by region before being written to the map.
+ * <p>
+ * Tiles are stored as numbers in a flat array, read from the map on creation. Each region is generated by its own
+ * task with its own random generator, split from the preference one in region order, so the result only depends on
+ * the seed and the region size. Changed tiles are then written to the map, edge tiles in a single transaction, which
+ * resolves transitions across region seams once.
+ * </p>
+ */
+final class GeneratorBuffer
+{
+    /** No tile. */
+    private static final int NONE = -1;
+
+    /** Map reference. */
+    private final MapTile map;
+    /** Map width in tile. */
+    private final int width;
+    /** Map height in tile. */
+    private final int height;
+    /** Region size in tile. */
+    private final int regionSize;
+    /** Regions horizontal number. */
+    private final int regionsH;
+    /** Regions number. */
+    private final int regions;
+    /** Initial tiles. */
+    private final int[] initial;
+    /** Generated tiles. */
+    private final int[] tiles;
+
+    /**
+     * Create buffer from current map tiles.
+     * 
+     * @param map The map reference.
+     * @param regionSize The region size in tile.
+     */
+    GeneratorBuffer(MapTile map, int regionSize)
+    {
+        super();
+
+        this.map = map;
+        this.regionSize = regionSize;
+        width = map.getInTileWidth();
+        height = map.getInTileHeight();
+        regionsH = (width + regionSize - 1) / regionSize;
+        regions = regionsH * ((height + regionSize - 1) / regionSize);
+        initial = new int[width * height];
+        for (int ty = 0; ty < height; ty++)
+        {
+            for (int tx = 0; tx < width; tx++)
+            {
+                final Tile tile = map.getTile(tx, ty);
+                if (tile == null)
+                {
+                    initial[ty * width + tx] = NONE;
+                }
+                else
+                {
+                    initial[ty * width + tx] = tile.getNumber();
+                }
+            }
+        }
+        tiles = initial.clone();
+    }
+
+    /**
+     * Generate preference on all regions.
+     * 
+     * @param preference The preference to generate.
+     * @param random The preference random generator.
+     */
+    void generate(PreferenceParallel preference, SplittableRandom random)
+    {
+        final Consumer<GeneratorRegion> generator = preference.prepare(width, height, random);
+        final GeneratorRegion[] region = new GeneratorRegion[regions];
+        for (int i = 0; i < regions; i++)
+        {
+            final int tx = i % regionsH * regionSize;
+            final int ty = i / regionsH * regionSize;
+            region[i] = new GeneratorRegion(tiles,
+                                            width,
+                                            height,
+                                            tx,
+                                            ty,
+                                            Math.min(regionSize, width - tx),
+                                            Math.min(regionSize, height - ty),
+                                            random.split());
+        }
+        IntStream.range(0, regions).parallel().forEach(i -> generator.accept(region[i]));
+    }
+
+    /**
+     * Check if tile is surrounded by the same tile number, so setting it cannot need any resolution.
+     * 
+     * @param tx The horizontal location.
+     * @param ty The vertical location.
+     * @return <code>true</code> if inside a uniform area, <code>false</code> if on its edge.
+     */
+    private boolean isInside(int tx, int ty)
+    {
+        final int number = tiles[ty * width + tx];
+        for (int y = Math.max(0, ty - 1); y <= Math.min(height - 1, ty + 1); y++)
+        {
+            for (int x = Math.max(0, tx - 1); x <= Math.min(width - 1, tx + 1); x++)
+            {
+                if (tiles[y * width + x] != number)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write changed tiles to map.
+     * <p>
+     * Tiles inside uniform areas are set first, as they cannot need any resolution. Edge tiles are then set in a
+     * single transaction unless one is already started, so transitions are resolved once along them.
+     * </p>
+     */
+    void flush()
+    {
+        final boolean[] edges = new boolean[tiles.length];
+        for (int i = 0; i < tiles.length; i++)
+        {
+            if (tiles[i] != initial[i] && tiles[i] != NONE)
+            {
+                if (isInside(i % width, i / width))
+                {
+                    map.setTile(i % width, i / width, tiles[i]);
+                }
+                else
+                {
+                    edges[i] = true;
+                }
+            }
+        }
+
+        final boolean transaction = !map.isTransaction();
+        if (transaction)
+        {
+            map.beginTransaction();
+        }
+        for (int i = 0; i < tiles.length; i++)
+        {
+            if (edges[i])
+            {
+                map.setTile(i % width, i / width, tiles[i]);
+            }
+        }
+        if (transaction)
+        {
+            map.commitTransaction();
+        }
+    }
+}
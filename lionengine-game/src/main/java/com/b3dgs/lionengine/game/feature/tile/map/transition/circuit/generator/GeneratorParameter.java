@@ -19,7 +19,10 @@ package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
 
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 
 /**
@@ -27,6 +30,9 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
  */
 public class GeneratorParameter
 {
+    /** Default region size in tile. */
+    public static final int REGION_DEFAULT = 64;
+
     /** Preferences defined. */
     private final List<Preference> preferences = new ArrayList<>();
 
@@ -63,4 +69,61 @@ public class GeneratorParameter
             preference.apply(map);
         }
     }
+
+    /**
+     * Apply all preferences defined with a seed, using {@link #REGION_DEFAULT} region size.
+     * 
+     * @param map The map reference.
+     * @param seed The generation seed.
+     * @see #apply(MapTile, long, int)
+     */
+    public void apply(MapTile map, long seed)
+    {
+        apply(map, seed, REGION_DEFAULT);
+    }
+
+    /**
+     * Apply all preferences defined with a seed.
+     * <p>
+     * Consecutive {@link PreferenceParallel} are generated by region in parallel, each with its own random generator
+     * split from the seed, then written to the map in a single transaction. Other preferences are applied to the map
+     * in order. The same seed and region size always generate the same map.
+     * </p>
+     * 
+     * @param map The map reference.
+     * @param seed The generation seed.
+     * @param regionSize The region size in tile (must be strictly positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void apply(MapTile map, long seed, int regionSize)
+    {
+        Check.superiorStrict(regionSize, 0);
+
+        final SplittableRandom random = new SplittableRandom(seed);
+        GeneratorBuffer buffer = null;
+        for (final Preference preference : preferences)
+        {
+            if (preference instanceof PreferenceParallel)
+            {
+                if (buffer == null)
+                {
+                    buffer = new GeneratorBuffer(map, regionSize);
+                }
+                buffer.generate((PreferenceParallel) preference, random.split());
+            }
+            else
+            {
+                if (buffer != null)
+                {
+                    buffer.flush();
+                    buffer = null;
+                }
+                preference.apply(map);
+            }
+        }
+        if (buffer != null)
+        {
+            buffer.flush();
+        }
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
+
+import java.util.SplittableRandom;
+
+import com.b3dgs.lionengine.game.Tiled;
+
+/**
+ * Represents a map region generated by a single task, writing tile numbers in the shared generation buffer.
+ * <p>
+ * Only tiles inside the region are written, so regions can be generated concurrently without synchronization.
+ * </p>
+ */
+public final class GeneratorRegion implements Tiled
+{
+    /** Generated tiles, row by row, <code>-1</code> if none. */
+    private final int[] tiles;
+    /** Map width in tile. */
+    private final int mapWidth;
+    /** Map height in tile. */
+    private final int mapHeight;
+    /** Region horizontal location in tile. */
+    private final int tx;
+    /** Region vertical location in tile. */
+    private final int ty;
+    /** Region width in tile. */
+    private final int tw;
+    /** Region height in tile. */
+    private final int th;
+    /** Region random generator. */
+    private final SplittableRandom random;
+
+    /**
+     * Create region.
+     * 
+     * @param tiles The generated tiles.
+     * @param mapWidth The map width in tile.
+     * @param mapHeight The map height in tile.
+     * @param tx The region horizontal location in tile.
+     * @param ty The region vertical location in tile.
+     * @param tw The region width in tile.
+     * @param th The region height in tile.
+     * @param random The region random generator.
+     */
+    GeneratorRegion(int[] tiles,
+                    int mapWidth,
+                    int mapHeight,
+                    int tx,
+                    int ty,
+                    int tw,
+                    int th,
+                    SplittableRandom random)
+    {
+        super();
+
+        this.tiles = tiles;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.tx = tx;
+        this.ty = ty;
+        this.tw = tw;
+        this.th = th;
+        this.random = random;
+    }
+
+    /**
+     * Set tile number. Ignored if outside region.
+     * 
+     * @param x The horizontal location in map tile.
+     * @param y The vertical location in map tile.
+     * @param number The tile number (must be superior or equal to 0).
+     */
+    public void setTile(int x, int y, int number)
+    {
+        if (x >= tx && y >= ty && x < tx + tw && y < ty + th)
+        {
+            tiles[y * mapWidth + x] = number;
+        }
+    }
+
+    /**
+     * Fill an area with a tile number. Only the part inside region is written.
+     * 
+     * @param sx The first horizontal location in map tile.
+     * @param sy The first vertical location in map tile.
+     * @param ex The last horizontal location in map tile (inclusive).
+     * @param ey The last vertical location in map tile (inclusive).
+     * @param number The tile number (must be superior or equal to 0).
+     */
+    public void fill(int sx, int sy, int ex, int ey, int number)
+    {
+        final int minX = Math.max(sx, tx);
+        final int minY = Math.max(sy, ty);
+        final int maxX = Math.min(ex, tx + tw - 1);
+        final int maxY = Math.min(ey, ty + th - 1);
+        for (int y = minY; y <= maxY; y++)
+        {
+            final int offset = y * mapWidth;
+            for (int x = minX; x <= maxX; x++)
+            {
+                tiles[offset + x] = number;
+            }
+        }
+    }
+
+    /**
+     * Get the region random generator, seeded from the generation seed and the region index.
+     * 
+     * @return The region random generator.
+     */
+    public SplittableRandom getRandom()
+    {
+        return random;
+    }
+
+    /**
+     * Get the map width.
+     * 
+     * @return The map width in tile.
+     */
+    public int getMapInTileWidth()
+    {
+        return mapWidth;
+    }
+
+    /**
+     * Get the map height.
+     * 
+     * @return The map height in tile.
+     */
+    public int getMapInTileHeight()
+    {
+        return mapHeight;
+    }
+
+    /*
+     * Tiled
+     */
+
+    @Override
+    public int getInTileX()
+    {
+        return tx;
+    }
+
+    @Override
+    public int getInTileY()
+    {
+        return ty;
+    }
+
+    @Override
+    public int getInTileWidth()
+    {
+        return tw;
+    }
+
+    @Override
+    public int getInTileHeight()
+    {
+        return th;
+    }
+}
@@ -16,10 +16,12 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
 
+import java.io.IOException;
 import java.util.Collection;
 
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.io.FileWriting;
 
 /**
  * Allows to generate a random map from defined parameters by using a set of existing level rips.
@@ -39,4 +41,42 @@ public interface MapGenerator
                         Collection<Media> levels,
                         Media sheetsConfig,
                         Media groupsConfig);
+
+    /**
+     * Generate a reproducible map from basic configuration.
+     *
+     * @param parameters The parameters involved in map generation.
+     * @param levels The level rips used.
+     * @param sheetsConfig The sheets configuration media.
+     * @param groupsConfig The groups configuration media.
+     * @param seed The generation seed.
+     * @return The generated map.
+     * @see GeneratorParameter#apply(MapTile, long)
+     */
+    MapTile generateMap(GeneratorParameter parameters,
+                        Collection<Media> levels,
+                        Media sheetsConfig,
+                        Media groupsConfig,
+                        long seed);
+
+    /**
+     * Generate a reproducible map from basic configuration, and save it in the compact map format. The map is fully
+     * generated first, as region seams are resolved once all regions are generated, then encoded in memory and
+     * written: output is not streamed during generation.
+     *
+     * @param parameters The parameters involved in map generation.
+     * @param levels The level rips used.
+     * @param sheetsConfig The sheets configuration media.
+     * @param groupsConfig The groups configuration media.
+     * @param seed The generation seed.
+     * @param output The output level file.
+     * @throws IOException If error on writing.
+     * @see com.b3dgs.lionengine.game.feature.tile.map.persister.MapTilePersisterCompact
+     */
+    void generateMap(GeneratorParameter parameters,
+                     Collection<Media> levels,
+                     Media sheetsConfig,
+                     Media groupsConfig,
+                     long seed,
+                     FileWriting output) throws IOException;
 }
@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
 
+import java.io.IOException;
 import java.util.Collection;
 
 import com.b3dgs.lionengine.Media;
@@ -23,10 +24,12 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.persister.MapTilePersisterCompact;
 import com.b3dgs.lionengine.game.feature.tile.map.transition.MapTileTransition;
 import com.b3dgs.lionengine.game.feature.tile.map.transition.MapTileTransitionModel;
 import com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.MapTileCircuit;
 import com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.MapTileCircuitModel;
+import com.b3dgs.lionengine.io.FileWriting;
 
 /**
  * Default map generator implementation.
@@ -41,15 +44,15 @@ public class MapGeneratorImpl implements MapGenerator
         super();
     }
 
-    /*
-     * MapGenerator
+    /**
+     * Create the map to generate.
+     * 
+     * @param levels The level rips used.
+     * @param sheetsConfig The sheets configuration media.
+     * @param groupsConfig The groups configuration media.
+     * @return The created map.
      */
-
-    @Override
-    public MapTile generateMap(GeneratorParameter parameters,
-                               Collection<Media> levels,
-                               Media sheetsConfig,
-                               Media groupsConfig)
+    private static MapTileGame createMap(Collection<Media> levels, Media sheetsConfig, Media groupsConfig)
     {
         final MapTileGame map = new MapTileGame();
         map.loadSheets(sheetsConfig);
@@ -62,8 +65,49 @@ public class MapGeneratorImpl implements MapGenerator
         mapTransition.loadTransitions(levels, sheetsConfig, groupsConfig);
         mapCircuit.loadCircuits(levels, sheetsConfig, groupsConfig);
 
+        return map;
+    }
+
+    /*
+     * MapGenerator
+     */
+
+    @Override
+    public MapTile generateMap(GeneratorParameter parameters,
+                               Collection<Media> levels,
+                               Media sheetsConfig,
+                               Media groupsConfig)
+    {
+        final MapTileGame map = createMap(levels, sheetsConfig, groupsConfig);
         parameters.apply(map);
 
         return map;
     }
+
+    @Override
+    public MapTile generateMap(GeneratorParameter parameters,
+                               Collection<Media> levels,
+                               Media sheetsConfig,
+                               Media groupsConfig,
+                               long seed)
+    {
+        final MapTileGame map = createMap(levels, sheetsConfig, groupsConfig);
+        parameters.apply(map, seed);
+
+        return map;
+    }
+
+    @Override
+    public void generateMap(GeneratorParameter parameters,
+                            Collection<Media> levels,
+                            Media sheetsConfig,
+                            Media groupsConfig,
+                            long seed,
+                            FileWriting output) throws IOException
+    {
+        final MapTileGame map = createMap(levels, sheetsConfig, groupsConfig);
+        parameters.apply(map, seed, GeneratorParameter.REGION_DEFAULT);
+
+        map.addFeatureAndGet(new MapTilePersisterCompact(GeneratorParameter.REGION_DEFAULT)).save(output);
+    }
 }
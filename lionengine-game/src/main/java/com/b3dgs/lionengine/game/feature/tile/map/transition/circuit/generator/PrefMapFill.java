@@ -16,6 +16,9 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
 
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
@@ -23,7 +26,7 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 /**
  * Describe with which tile map must be filled.
  */
-public class PrefMapFill extends PrefAbstract
+public class PrefMapFill extends PrefAbstract implements PreferenceParallel
 {
     /** The number value. */
     private final int number;
@@ -58,4 +61,10 @@ public class PrefMapFill extends PrefAbstract
             }
         }
     }
+
+    @Override
+    public Consumer<GeneratorRegion> prepare(int widthInTile, int heightInTile, SplittableRandom random)
+    {
+        return region -> region.fill(0, 0, widthInTile - 1, heightInTile - 1, number);
+    }
 }
@@ -16,20 +16,28 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
 
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.UtilRandom;
 import com.b3dgs.lionengine.game.Tiled;
-import com.b3dgs.lionengine.game.feature.tile.Tile;
-import com.b3dgs.lionengine.game.feature.tile.TileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
-import com.b3dgs.lionengine.game.feature.tile.map.transition.MapTileTransition;
 
 /**
  * Describe a region, filled by a tile in a particular area for a specified amount of random.
+ * <p>
+ * Placements are applied in a single map transaction, unless one is already started, so map resolvers (transitions and
+ * circuits) are run once over all placements on commit.
+ * </p>
+ * <p>
+ * When generated by region, placements are drawn once from the preference random generator, and each region only
+ * paints their part inside it, so the result does not depend on the region size.
+ * </p>
  */
-public class PrefMapRegion extends PrefAbstract
+public class PrefMapRegion extends PrefAbstract implements PreferenceParallel
 {
     /** The number value. */
     private final int number;
@@ -64,14 +72,13 @@ public class PrefMapRegion extends PrefAbstract
         this.count = count;
     }
 
-    /*
-     * Preference
+    /**
+     * Set tiles of random placements.
+     * 
+     * @param map The map reference.
      */
-
-    @Override
-    public void apply(MapTile map)
+    private void place(MapTile map)
     {
-        final MapTileTransition mapTransition = map.getFeature(MapTileTransition.class);
         final int sx = area.getInTileX();
         final int sy = area.getInTileY();
         final int ex = UtilMath.clamp(area.getInTileWidth(), 0, map.getInTileWidth() - 1);
@@ -93,13 +100,77 @@ public class PrefMapRegion extends PrefAbstract
                 {
                     final int ntx = UtilMath.clamp(tx + ox, sx, ex);
                     final int nty = UtilMath.clamp(ty + oy, sy, ey);
-                    final Tile tile = new TileGame(number, ntx, nty, map.getTileWidth(), map.getTileHeight());
-                    map.setTile(tile.getInTileX(), tile.getInTileY(), number);
-                    mapTransition.resolve(tile);
+                    map.setTile(ntx, nty, number);
                 }
             }
 
             remaining--;
         }
     }
+
+    /*
+     * Preference
+     */
+
+    @Override
+    public void apply(MapTile map)
+    {
+        final boolean transaction = !map.isTransaction();
+        if (transaction)
+        {
+            map.beginTransaction();
+        }
+        try
+        {
+            place(map);
+        }
+        finally
+        {
+            if (transaction)
+            {
+                map.commitTransaction();
+            }
+        }
+    }
+
+    @Override
+    public Consumer<GeneratorRegion> prepare(int widthInTile, int heightInTile, SplittableRandom random)
+    {
+        final int sx = area.getInTileX();
+        final int sy = area.getInTileY();
+        final int ex = UtilMath.clamp(area.getInTileWidth(), 0, widthInTile - 1);
+        final int ey = UtilMath.clamp(area.getInTileHeight(), 0, heightInTile - 1);
+
+        Check.inferiorOrEqual(sx, ex);
+        Check.inferiorOrEqual(sy, ey);
+
+        // Placements bounds, as min x, min y, max x, max y (inclusive)
+        final int[] placements = new int[count * 4];
+        for (int i = 0; i < count; i++)
+        {
+            final int tx = random.nextInt(sx, ex + 1);
+            final int ty = random.nextInt(sy, ey + 1);
+
+            final int size = random.nextInt(maxSize + 1);
+            final int halfBottom = (int) Math.floor(size / 2.0);
+            final int halfTop = (int) Math.ceil(size / 2.0);
+
+            placements[i * 4] = UtilMath.clamp(tx - halfBottom, sx, ex);
+            placements[i * 4 + 1] = UtilMath.clamp(ty - halfBottom, sy, ey);
+            placements[i * 4 + 2] = UtilMath.clamp(tx + halfTop - 1, sx, ex);
+            placements[i * 4 + 3] = UtilMath.clamp(ty + halfTop - 1, sy, ey);
+            if (size == 0)
+            {
+                placements[i * 4 + 2] = placements[i * 4] - 1;
+            }
+        }
+
+        return region ->
+        {
+            for (int i = 0; i < placements.length; i += 4)
+            {
+                region.fill(placements[i], placements[i + 1], placements[i + 2], placements[i + 3], number);
+            }
+        };
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
+
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Describe a map generation preference which can be generated by region, concurrently and deterministically.
+ * <p>
+ * Used by {@link GeneratorParameter#apply(com.b3dgs.lionengine.game.feature.tile.map.MapTile, long)}, where
+ * {@link #apply(com.b3dgs.lionengine.game.feature.tile.map.MapTile)} is not called.
+ * </p>
+ */
+public interface PreferenceParallel extends Preference
+{
+    /**
+     * Prepare the preference for a map generation. Called once per generation, before any region.
+     * <p>
+     * Any random decision depending on the whole map should be taken here, so the result does not depend on the
+     * region split.
+     * </p>
+     * 
+     * @param widthInTile The map width in tile.
+     * @param heightInTile The map height in tile.
+     * @param random The preference random generator.
+     * @return The region generator, called for each region, possibly concurrently.
+     */
+    Consumer<GeneratorRegion> prepare(int widthInTile, int heightInTile, SplittableRandom random);
+}
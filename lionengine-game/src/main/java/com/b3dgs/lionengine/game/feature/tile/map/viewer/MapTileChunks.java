@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.viewer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+
+/**
+ * Pre-rendered map chunks, each chunk being an image of a square of tiles.
+ * <p>
+ * Chunks are rendered on first use, invalidated when one of their tiles is set, and the least recently used are
+ * disposed when the memory limit is reached. The limit is raised to the last rendered chunks number if lower, so
+ * visible chunks are never disposed while rendering a frame.
+ * </p>
+ */
+final class MapTileChunks
+{
+    /** Bytes per pixel estimation. */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * Dispose chunk.
+     * 
+     * @param chunk The chunk to dispose (can be <code>null</code>).
+     */
+    private static void dispose(ImageBuffer chunk)
+    {
+        if (chunk != null)
+        {
+            chunk.dispose();
+        }
+    }
+
+    /** Rendered chunks by index, in access order (<code>null</code> value for empty chunk). */
+    private final Map<Integer, ImageBuffer> chunks = new LinkedHashMap<>(16, 0.75F, true);
+    /** Map reference. */
+    private final MapTileSurface map;
+    /** Renderer used to render chunks. */
+    private final MapTileRenderer renderer;
+    /** Chunk size in tile. */
+    private final int size;
+    /** Maximum memory used by chunks in bytes. */
+    private final long memory;
+    /** Maximum chunks number. */
+    private int max;
+    /** Last rendered chunks number. */
+    private int visible;
+    /** Horizontal chunks number. */
+    private int horizontal;
+    /** Map tile width used by chunks. */
+    private int tileWidth;
+    /** Map tile height used by chunks. */
+    private int tileHeight;
+    /** Map width in tile used by chunks. */
+    private int widthInTile;
+    /** Map height in tile used by chunks. */
+    private int heightInTile;
+    /** Map sheets number used by chunks. */
+    private int sheets;
+
+    /**
+     * Create chunks.
+     * 
+     * @param map The map reference.
+     * @param renderer The renderer used to render chunks.
+     * @param size The chunk size in tile (must be strictly positive).
+     * @param memory The maximum memory used by chunks in bytes (must be strictly positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    MapTileChunks(MapTileSurface map, MapTileRenderer renderer, int size, long memory)
+    {
+        super();
+
+        Check.superiorStrict(size, 0);
+        Check.superiorStrict(memory, 0.0);
+
+        this.map = map;
+        this.renderer = renderer;
+        this.size = size;
+        this.memory = memory;
+    }
+
+    /**
+     * Invalidate chunk containing tile.
+     * 
+     * @param tile The tile reference.
+     */
+    void invalidate(Tile tile)
+    {
+        if (horizontal > 0)
+        {
+            dispose(chunks.remove(getIndex(tile.getInTileX() / size, tile.getInTileY() / size)));
+        }
+    }
+
+    /**
+     * Dispose all chunks.
+     */
+    void clear()
+    {
+        for (final ImageBuffer chunk : chunks.values())
+        {
+            dispose(chunk);
+        }
+        chunks.clear();
+    }
+
+    /**
+     * Render chunks covering tiles area.
+     * 
+     * @param g The graphic output.
+     * @param sx The first horizontal tile.
+     * @param sy The first vertical tile.
+     * @param ex The last horizontal tile.
+     * @param ey The last vertical tile.
+     * @param viewX The horizontal view offset.
+     * @param viewY The vertical view offset.
+     */
+    void render(Graphic g, int sx, int sy, int ex, int ey, double viewX, double viewY)
+    {
+        check();
+
+        final int scx = Math.max(0, sx) / size;
+        final int scy = Math.max(0, sy) / size;
+        final int ecx = Math.min(widthInTile - 1, ex) / size;
+        final int ecy = Math.min(heightInTile - 1, ey) / size;
+        visible = Math.max(0, ecx - scx + 1) * Math.max(0, ecy - scy + 1);
+
+        for (int cy = scy; cy <= ecy; cy++)
+        {
+            for (int cx = scx; cx <= ecx; cx++)
+            {
+                final ImageBuffer chunk = get(cx, cy);
+                if (chunk != null)
+                {
+                    final int x = (int) Math.round(cx * size * (double) tileWidth - viewX);
+                    final int y = (int) Math.round(viewY - (cy + 1) * size * (double) tileHeight);
+                    g.drawImage(chunk, x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of chunks currently rendered, including empty ones.
+     * 
+     * @return The chunks number.
+     */
+    int getCount()
+    {
+        return chunks.size();
+    }
+
+    /**
+     * Get the maximum number of chunks, at least the last rendered chunks number.
+     * 
+     * @return The maximum chunks number.
+     */
+    int getMax()
+    {
+        return Math.max(max, visible);
+    }
+
+    /**
+     * Get chunk, render it if needed.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk image, <code>null</code> if empty.
+     */
+    private ImageBuffer get(int cx, int cy)
+    {
+        final Integer index = getIndex(cx, cy);
+        ImageBuffer chunk = chunks.get(index);
+        if (chunk == null && !chunks.containsKey(index))
+        {
+            chunk = create(cx, cy);
+            chunks.put(index, chunk);
+            evict();
+        }
+        return chunk;
+    }
+
+    /**
+     * Render chunk.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk image, <code>null</code> if empty.
+     */
+    private ImageBuffer create(int cx, int cy)
+    {
+        final int stx = cx * size;
+        final int sty = cy * size;
+        final int etx = Math.min(widthInTile, stx + size);
+        final int ety = Math.min(heightInTile, sty + size);
+
+        ImageBuffer chunk = null;
+        Graphic g = null;
+        for (int ty = sty; ty < ety; ty++)
+        {
+            for (int tx = stx; tx < etx; tx++)
+            {
+                final Tile tile = map.getTile(tx, ty);
+                if (tile != null)
+                {
+                    if (chunk == null)
+                    {
+                        chunk = Graphics.createImageBuffer(size * tileWidth, size * tileHeight, ColorRgba.TRANSPARENT);
+                        g = chunk.createGraphic();
+                    }
+                    renderer.renderTile(g, tile, (tx - stx) * tileWidth, (sty + size - 1 - ty) * tileHeight);
+                }
+            }
+        }
+        if (chunk != null)
+        {
+            g.dispose();
+            chunk.prepare();
+        }
+        return chunk;
+    }
+
+    /**
+     * Dispose least recently used chunks until limit is respected.
+     */
+    private void evict()
+    {
+        final Iterator<ImageBuffer> iterator = chunks.values().iterator();
+        final int limit = getMax();
+        while (chunks.size() > limit && iterator.hasNext())
+        {
+            dispose(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Clear chunks if map changed since they were rendered.
+     */
+    private void check()
+    {
+        if (tileWidth != map.getTileWidth()
+            || tileHeight != map.getTileHeight()
+            || widthInTile != map.getInTileWidth()
+            || heightInTile != map.getInTileHeight()
+            || sheets != map.getSheetsNumber())
+        {
+            clear();
+
+            tileWidth = map.getTileWidth();
+            tileHeight = map.getTileHeight();
+            widthInTile = map.getInTileWidth();
+            heightInTile = map.getInTileHeight();
+            sheets = map.getSheetsNumber();
+            horizontal = (widthInTile + size - 1) / size;
+
+            final long chunkMemory = (long) size * tileWidth * size * tileHeight * BYTES_PER_PIXEL;
+            max = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, memory / Math.max(1L, chunkMemory)));
+        }
+    }
+
+    /**
+     * Get chunk index.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     * @return The chunk index.
+     */
+    private Integer getIndex(int cx, int cy)
+    {
+        return Integer.valueOf(cy * horizontal + cx);
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.viewer;
 
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.game.feature.Displayable;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
@@ -44,4 +45,20 @@ public interface MapTileViewer extends Displayable, MapTileRenderer
      * Remove all renderers.
      */
     void clear();
+
+    /**
+     * Cache the default tiles rendering in chunks of tiles, pre-rendered once and drawn as one image. Chunks are
+     * rendered again when one of their tiles is set, and the least recently used are disposed when memory limit is
+     * reached. Other renderers are still called for each visible tile.
+     * <p>
+     * Memory limit should be large enough to hold all visible chunks, estimated as
+     * <code>(size * tileWidth) * (size * tileHeight) * 4</code> bytes per chunk. If lower, it is raised to the visible
+     * chunks number, so they are not rendered again each frame.
+     * </p>
+     * 
+     * @param size The chunk size in tile, <code>0</code> to disable cache (must be positive).
+     * @param memory The maximum chunks memory in bytes, <code>0</code> to disable cache (must be positive).
+     * @throws LionEngineException If invalid arguments.
+     */
+    void setChunkCache(int size, long memory);
 }
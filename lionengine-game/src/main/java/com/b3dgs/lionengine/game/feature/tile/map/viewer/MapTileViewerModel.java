@@ -19,6 +19,7 @@ package com.b3dgs.lionengine.game.feature.tile.map.viewer;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.game.FeatureProvider;
@@ -28,13 +29,17 @@ import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 
 /**
  * Map tile renderer default implementation.
+ * <p>
+ * Default tiles rendering can be cached in chunks with {@link #setChunkCache(int, long)}.
+ * </p>
  */
-public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
+public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer, TileSetListener
 {
     /** Map tiles renderers. */
     private final Collection<MapTileRenderer> renderers = new ArrayList<>();
@@ -43,6 +48,8 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
 
     /** Map tile surface. */
     private MapTileSurface map;
+    /** Default rendering chunks cache (<code>null</code> if disabled). */
+    private MapTileChunks chunks;
 
     /**
      * Create feature.
@@ -88,7 +95,10 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
 
             for (final MapTileRenderer renderer : renderers)
             {
-                renderer.renderTile(g, tile, x, y);
+                if (renderer != this || chunks == null)
+                {
+                    renderer.renderTile(g, tile, x, y);
+                }
             }
         }
     }
@@ -126,9 +136,27 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
         super.prepare(provider);
 
         map = provider.getFeature(MapTileSurface.class);
+        map.addListener(this);
         renderers.add(this);
     }
 
+    @Override
+    public void setChunkCache(int size, long memory)
+    {
+        Check.superiorOrEqual(size, 0);
+        Check.superiorOrEqual(memory, 0.0);
+
+        if (chunks != null)
+        {
+            chunks.clear();
+            chunks = null;
+        }
+        if (size > 0 && memory > 0L)
+        {
+            chunks = new MapTileChunks(map, this, size, memory);
+        }
+    }
+
     @Override
     public void addRenderer(MapTileRenderer renderer)
     {
@@ -156,6 +184,18 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
             final int sy = (int) Math.floor((viewer.getY() - viewer.getViewY()) / map.getTileHeight());
             final double viewY = viewer.getY() + viewer.getScreenHeight();
 
+            if (chunks != null && renderers.contains(this))
+            {
+                final int inTileWidth = (int) Math.ceil(viewer.getWidth() / (double) map.getTileWidth());
+                final int sx = (int) Math.floor((viewer.getX() + viewer.getViewX()) / map.getTileWidth());
+                chunks.render(g, sx, sy, sx + inTileWidth, sy + inTileHeight, viewer.getX(), viewY);
+
+                if (renderers.size() == 1)
+                {
+                    return;
+                }
+            }
+
             for (int v = 0; v <= inTileHeight; v++)
             {
                 final int ty = v + sy;
@@ -167,6 +207,19 @@ public class MapTileViewerModel extends FeatureAbstract implements MapTileViewer
         }
     }
 
+    /*
+     * TileSetListener
+     */
+
+    @Override
+    public void onTileSet(Tile tile)
+    {
+        if (chunks != null)
+        {
+            chunks.invalidate(tile);
+        }
+    }
+
     /*
      * MapTileRenderer
      */
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Test {@link ComponentDisplayableCulled}.
+ */
+public final class ComponentDisplayableCulledTest
+{
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTransformable.createMedia(ComponentDisplayableCulledTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final Camera camera = new Camera();
+    private final List<String> rendered = new ArrayList<>();
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        camera.setView(0, 0, 320, 240, 240);
+        camera.teleport(0.0, 0.0);
+    }
+
+    /**
+     * Test the constructor with invalid arguments.
+     */
+    @Test
+    public void testConstructorInvalid()
+    {
+        assertThrows(() -> new ComponentDisplayableCulled(null, 64, 0), "Unexpected null argument !");
+        assertThrows(() -> new ComponentDisplayableCulled(camera, 0, 0),
+                     "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new ComponentDisplayableCulled(camera, 64, -1),
+                     "Invalid argument: -1 is not superior or equal to 0");
+    }
+
+    /**
+     * Test culling.
+     */
+    @Test
+    public void testCulling()
+    {
+        final ComponentDisplayableCulled component = new ComponentDisplayableCulled(camera, 64, 0);
+
+        final Featurable visible = createObject(component, "visible", 0, 100.0, 100.0);
+        final Featurable border = createObject(component, "border", 0, -10.0, 100.0);
+        final Featurable far = createObject(component, "far", 0, 1000.0, 1000.0);
+        final Featurable unbounded = new FeaturableModel(services, setup);
+        unbounded.addFeature(new DisplayableModel(g -> rendered.add("unbounded")));
+        component.notifyHandlableAdded(unbounded);
+
+        component.render(null, null);
+
+        assertEquals(3, component.getDrawn());
+        assertEquals(1, component.getCulled());
+        assertTrue(rendered.contains("visible"));
+        assertTrue(rendered.contains("border"));
+        assertTrue(rendered.contains("unbounded"));
+
+        far.getFeature(Transformable.class).teleport(200.0, 50.0);
+        visible.getFeature(Transformable.class).teleport(-500.0, 100.0);
+        border.getFeature(Transformable.class).teleport(0.0, 300.0);
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("unbounded", "far"), rendered);
+        assertEquals(2, component.getCulled());
+
+        camera.teleport(-600.0, 0.0);
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("unbounded", "visible"), rendered);
+
+        component.notifyHandlableRemoved(visible);
+        component.notifyHandlableRemoved(unbounded);
+        rendered.clear();
+        component.render(null, null);
+
+        assertTrue(rendered.isEmpty());
+        assertEquals(0, component.getDrawn());
+        assertEquals(2, component.getCulled());
+    }
+
+    /**
+     * Test culling with margin.
+     */
+    @Test
+    public void testMargin()
+    {
+        final ComponentDisplayableCulled component = new ComponentDisplayableCulled(camera, 64, 100);
+        createObject(component, "near", 0, 400.0, 100.0);
+        createObject(component, "far", 0, 500.0, 100.0);
+
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("near"), rendered);
+        assertEquals(1, component.getCulled());
+    }
+
+    /**
+     * Test layer ordering.
+     */
+    @Test
+    public void testLayer()
+    {
+        final ComponentDisplayableCulled component = new ComponentDisplayableCulled(camera, 64, 0);
+        final Featurable top = createObject(component, "top", 2, 10.0, 10.0);
+        createObject(component, "bottom", 1, 200.0, 200.0);
+
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("bottom", "top"), rendered);
+
+        top.getFeature(Layerable.class).setLayer(Integer.valueOf(0), Integer.valueOf(0));
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("top", "bottom"), rendered);
+    }
+
+    /**
+     * Create a test object.
+     * 
+     * @param component The component reference.
+     * @param name The rendered name.
+     * @param layer The display layer.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @return The created object.
+     */
+    private Featurable createObject(ComponentDisplayableCulled component, String name, int layer, double x, double y)
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        featurable.addFeature(new LayerableModel(layer));
+        featurable.addFeature(new DisplayableModel(g -> rendered.add(name)));
+        transformable.teleport(x, y);
+        component.notifyHandlableAdded(featurable);
+
+        return featurable;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Test {@link ComponentDisplayableSorted}.
+ */
+public final class ComponentDisplayableSortedTest
+{
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTransformable.createMedia(ComponentDisplayableSortedTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final List<String> rendered = new ArrayList<>();
+
+    /**
+     * Test the constructor with invalid arguments.
+     */
+    @Test
+    public void testConstructorInvalid()
+    {
+        assertThrows(() -> new ComponentDisplayableSorted((DisplayableOrder) null), "Unexpected null argument !");
+        assertThrows(() -> new ComponentDisplayableSorted((Comparator<Featurable>) null),
+                     "Unexpected null argument !");
+    }
+
+    /**
+     * Test depth ordering.
+     */
+    @Test
+    public void testDepth()
+    {
+        final ComponentDisplayableSorted component = new ComponentDisplayableSorted(DisplayableOrder.DEPTH);
+        final Featurable a = createObject(component, "a", 1, 10.0);
+        createObject(component, "b", 0, 30.0);
+        final Featurable c = createObject(component, "c", 0, 20.0);
+
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("b", "c", "a"), rendered);
+        assertEquals(3, component.getCount());
+
+        a.getFeature(Transformable.class).teleportY(40.0);
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("a", "b", "c"), rendered);
+        assertEquals(1, component.getMoved());
+
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("a", "b", "c"), rendered);
+        assertEquals(0, component.getMoved());
+
+        component.notifyHandlableRemoved(c);
+        createObject(component, "d", 0, 35.0);
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("a", "d", "b"), rendered);
+        assertEquals(3, component.getCount());
+    }
+
+    /**
+     * Test layer then depth ordering.
+     */
+    @Test
+    public void testLayerDepth()
+    {
+        final ComponentDisplayableSorted component = new ComponentDisplayableSorted();
+        final Featurable top = createObject(component, "top", 1, 0.0);
+        createObject(component, "low", 0, 10.0);
+        createObject(component, "high", 0, 20.0);
+
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("high", "low", "top"), rendered);
+
+        top.getFeature(Layerable.class).setLayer(Integer.valueOf(0), Integer.valueOf(0));
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("high", "low", "top"), rendered);
+
+        top.getFeature(Transformable.class).teleportY(15.0);
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("high", "top", "low"), rendered);
+    }
+
+    /**
+     * Test stability of equal elements.
+     */
+    @Test
+    public void testStable()
+    {
+        final ComponentDisplayableSorted component = new ComponentDisplayableSorted(DisplayableOrder.DEPTH);
+        final Featurable first = createObject(component, "first", 0, 10.0);
+        final Featurable second = createObject(component, "second", 0, 20.0);
+        createObject(component, "third", 0, 10.0);
+
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("second", "first", "third"), rendered);
+
+        second.getFeature(Transformable.class).teleportY(10.0);
+        first.getFeature(Transformable.class).teleportY(10.0);
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("first", "second", "third"), rendered);
+
+        final Featurable unbounded = new FeaturableModel(services, setup);
+        unbounded.addFeature(new DisplayableModel(g -> rendered.add("unbounded")));
+        component.notifyHandlableAdded(unbounded);
+        rendered.clear();
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("first", "second", "third", "unbounded"), rendered);
+    }
+
+    /**
+     * Test custom comparator.
+     */
+    @Test
+    public void testComparator()
+    {
+        final Comparator<Featurable> byX = Comparator.comparingDouble(f -> f.getFeature(Transformable.class).getX());
+        final ComponentDisplayableSorted component = new ComponentDisplayableSorted(byX);
+        createObject(component, "right", 0, 0.0).getFeature(Transformable.class).teleportX(20.0);
+        createObject(component, "left", 0, 0.0).getFeature(Transformable.class).teleportX(-20.0);
+        createObject(component, "origin", 0, 0.0);
+
+        component.render(null, null);
+
+        assertEquals(Arrays.asList("left", "origin", "right"), rendered);
+    }
+
+    /**
+     * Create a test object.
+     * 
+     * @param component The component reference.
+     * @param name The rendered name.
+     * @param layer The display layer.
+     * @param y The vertical location.
+     * @return The created object.
+     */
+    private Featurable createObject(ComponentDisplayableSorted component, String name, int layer, double y)
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        featurable.addFeature(new LayerableModel(layer));
+        featurable.addFeature(new DisplayableModel(g -> rendered.add(name)));
+        transformable.teleport(0.0, y);
+        component.notifyHandlableAdded(featurable);
+
+        return featurable;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Test {@link ComponentRefreshableRegion}.
+ */
+public final class ComponentRefreshableRegionTest
+{
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTransformable.createMedia(ComponentRefreshableRegionTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final Camera camera = new Camera();
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        camera.setView(0, 0, 320, 240, 240);
+        camera.teleport(0.0, 0.0);
+    }
+
+    /**
+     * Test the constructor with invalid arguments.
+     */
+    @Test
+    public void testConstructorInvalid()
+    {
+        assertThrows(() -> new ComponentRefreshableRegion(null, 64, 0), "Unexpected null argument !");
+        assertThrows(() -> new ComponentRefreshableRegion(camera, 0, 0),
+                     "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new ComponentRefreshableRegion(camera, 64, -1),
+                     "Invalid argument: -1 is not superior or equal to 0");
+        assertThrows(() -> new ComponentRefreshableRegion(camera, 64, 0).setDormantRate(-1),
+                     "Invalid argument: -1 is not superior or equal to 0");
+    }
+
+    /**
+     * Test active and dormant tiers.
+     */
+    @Test
+    public void testTiers()
+    {
+        final ComponentRefreshableRegion component = new ComponentRefreshableRegion(camera, 100, 0);
+        component.setDormantRate(4);
+
+        final List<Double> near = new ArrayList<>();
+        final List<Double> far = new ArrayList<>();
+        createObject(component, near, 0, 50.0, 50.0);
+        final Featurable moving = createObject(component, far, 0, 1000.0, 1000.0);
+
+        for (int i = 0; i < 4; i++)
+        {
+            component.update(1.0, null);
+        }
+
+        assertEquals(Arrays.asList(1.0, 1.0, 1.0, 1.0), near);
+        assertEquals(Arrays.asList(4.0), far);
+        assertEquals(1, component.getActive());
+        assertEquals(1, component.getDormant());
+
+        component.update(1.0, null);
+        moving.getFeature(Transformable.class).teleport(150.0, 150.0);
+        component.update(1.0, null);
+
+        assertEquals(Arrays.asList(4.0, 2.0), far);
+        assertEquals(2, component.getActive());
+        assertEquals(0, component.getDormant());
+    }
+
+    /**
+     * Test frozen layer and observer.
+     */
+    @Test
+    public void testFrozenObserver()
+    {
+        final ComponentRefreshableRegion component = new ComponentRefreshableRegion(camera, 100, 1);
+        component.setDormantRate(Integer.valueOf(1), 0);
+
+        final List<Double> frozen = new ArrayList<>();
+        final List<Double> dormant = new ArrayList<>();
+        createObject(component, frozen, 1, 1000.0, 1000.0);
+        createObject(component, dormant, 0, -1000.0, 1000.0);
+
+        component.update(1.0, null);
+        component.update(1.0, null);
+
+        assertTrue(frozen.isEmpty());
+        assertEquals(Arrays.asList(1.0, 1.0), dormant);
+        assertEquals(1, component.getFrozen());
+        assertEquals(1, component.getDormant());
+
+        final Transformable observer = new TransformableModel(services, setup);
+        observer.teleport(1150.0, 1050.0);
+        component.addObserver(observer);
+        component.update(1.0, null);
+
+        assertEquals(Arrays.asList(1.0), frozen);
+        assertEquals(0, component.getFrozen());
+
+        component.removeObserver(observer);
+        component.update(1.0, null);
+
+        assertEquals(Arrays.asList(1.0), frozen);
+    }
+
+    /**
+     * Test layer ordering and change.
+     */
+    @Test
+    public void testLayer()
+    {
+        final ComponentRefreshableRegion component = new ComponentRefreshableRegion(camera, 100, 0);
+        final List<Double> order = new ArrayList<>();
+        final Featurable top = createObject(component, order, 2, 10.0, 10.0);
+        createObject(component, order, 1, 1000.0, 10.0);
+        final Featurable unbounded = new FeaturableModel(services, setup);
+        unbounded.addFeature(new RefreshableModel(extrp -> order.add(Double.valueOf(0.0))));
+        component.notifyHandlableAdded(unbounded);
+
+        component.update(8.0, null);
+
+        assertEquals(Arrays.asList(0.0, 1.0, 2.0), order);
+
+        top.getFeature(Layerable.class).setLayer(Integer.valueOf(-1), Integer.valueOf(-1));
+        component.update(8.0, null);
+        order.clear();
+        component.update(8.0, null);
+
+        assertEquals(Arrays.asList(-1.0, 0.0, 1.0), order);
+
+        component.notifyHandlableRemoved(top);
+        order.clear();
+        component.update(8.0, null);
+
+        assertEquals(Arrays.asList(0.0, 1.0), order);
+    }
+
+    /**
+     * Create a test object.
+     * 
+     * @param component The component reference.
+     * @param updates The updates record, the layer if extrapolation is <code>8.0</code>.
+     * @param layer The refresh layer.
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @return The created object.
+     */
+    private Featurable createObject(ComponentRefreshableRegion component,
+                                    List<Double> updates,
+                                    int layer,
+                                    double x,
+                                    double y)
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        final Layerable layerable = featurable.addFeatureAndGet(new LayerableModel(layer));
+        featurable.addFeature(new RefreshableModel(extrp ->
+        {
+            if (Double.compare(extrp, 8.0) == 0)
+            {
+                updates.add(Double.valueOf(layerable.getLayerRefresh().intValue()));
+            }
+            else
+            {
+                updates.add(Double.valueOf(extrp));
+            }
+        }));
+        transformable.teleport(x, y);
+        component.notifyHandlableAdded(featurable);
+
+        return featurable;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.CollidableModel;
+
+/**
+ * Test {@link ComponentSpatialQuery} and {@link SpatialFilter}.
+ */
+public final class ComponentSpatialQueryTest
+{
+    /** Object config test. */
+    private static Media config;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilTransformable.createMedia(ComponentSpatialQueryTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final Setup setup = new Setup(config);
+    private final ComponentSpatialQuery query = new ComponentSpatialQuery(32);
+
+    /**
+     * Create test.
+     */
+    ComponentSpatialQueryTest()
+    {
+        super();
+
+        services.add(new Camera());
+    }
+
+    /**
+     * Test the constructor with invalid arguments.
+     */
+    @Test
+    public void testConstructorInvalid()
+    {
+        assertThrows(() -> new ComponentSpatialQuery(0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+
+    /**
+     * Test nearest query.
+     */
+    @Test
+    public void testNearest()
+    {
+        final Featurable a = createObject(10.0, 10.0, null);
+        final Featurable b = createObject(50.0, 10.0, null);
+        final Featurable c = createObject(-200.0, 300.0, null);
+        final Featurable d = createObject(15.0, 12.0, null);
+        final Featurable[] buffer = new Featurable[2];
+
+        assertEquals(2, query.getNearest(0.0, 0.0, 1000.0, SpatialFilter.ALL, buffer));
+        assertEquals(a, buffer[0]);
+        assertEquals(d, buffer[1]);
+
+        assertEquals(2, query.getNearest(60.0, 10.0, 1000.0, SpatialFilter.ALL, buffer));
+        assertEquals(b, buffer[0]);
+        assertEquals(d, buffer[1]);
+
+        final Featurable[] all = new Featurable[8];
+
+        assertEquals(4, query.getNearest(0.0, 0.0, 1000.0, SpatialFilter.ALL, all));
+        assertEquals(c, all[3]);
+        assertNull(all[4]);
+        assertEquals(3, query.getNearest(0.0, 0.0, 100.0, SpatialFilter.ALL, all));
+        assertEquals(0, query.getNearest(0.0, 0.0, 1000.0, SpatialFilter.ALL, new Featurable[0]));
+
+        c.getFeature(Transformable.class).teleport(1.0, 1.0);
+
+        assertEquals(2, query.getNearest(0.0, 0.0, 1000.0, SpatialFilter.ALL, buffer));
+        assertEquals(c, buffer[0]);
+
+        query.notifyHandlableRemoved(c);
+
+        assertEquals(3, query.getCount());
+        assertEquals(2, query.getNearest(0.0, 0.0, 1000.0, SpatialFilter.ALL, buffer));
+        assertEquals(a, buffer[0]);
+    }
+
+    /**
+     * Test nearest query with unbounded distance.
+     */
+    @Test
+    public void testNearestUnbounded()
+    {
+        final Featurable a = createObject(10.0, 10.0, null);
+        final Featurable b = createObject(-5_000.0, 300.0, null);
+        final Featurable c = createObject(90_000.0, -70_000.0, null);
+        final Featurable[] buffer = new Featurable[4];
+
+        assertEquals(3, query.getNearest(0.0, 0.0, Double.POSITIVE_INFINITY, SpatialFilter.ALL, buffer));
+        assertEquals(a, buffer[0]);
+        assertEquals(b, buffer[1]);
+        assertEquals(c, buffer[2]);
+
+        assertEquals(3, query.getNearest(1.0E6, -1.0E6, Double.MAX_VALUE, SpatialFilter.ALL, buffer));
+        assertEquals(c, buffer[0]);
+
+        final Featurable[] nearest = new Featurable[1];
+        assertEquals(1, query.getNearest(-5_000.0, 290.0, Double.POSITIVE_INFINITY, SpatialFilter.ALL, nearest));
+        assertEquals(b, nearest[0]);
+    }
+
+    /**
+     * Test radius and rectangle queries.
+     */
+    @Test
+    public void testArea()
+    {
+        final Featurable a = createObject(10.0, 10.0, null);
+        final Featurable b = createObject(50.0, 10.0, null);
+        createObject(500.0, 500.0, null);
+        final Featurable[] buffer = new Featurable[4];
+
+        assertEquals(2, query.getInRadius(20.0, 10.0, 30.0, SpatialFilter.ALL, buffer));
+        assertEquals(new HashSet<>(Arrays.asList(a, b)), new HashSet<>(Arrays.asList(buffer[0], buffer[1])));
+        assertEquals(1, query.getInRadius(20.0, 10.0, 15.0, SpatialFilter.ALL, buffer));
+        assertEquals(a, buffer[0]);
+        assertEquals(1, query.getInRadius(20.0, 10.0, 30.0, SpatialFilter.ALL, new Featurable[1]));
+        assertEquals(3, query.getInRadius(0.0, 0.0, 100_000.0, SpatialFilter.ALL, buffer));
+
+        assertEquals(1, query.getInRect(40.0, 0.0, 20.0, 20.0, SpatialFilter.ALL, buffer));
+        assertEquals(b, buffer[0]);
+        assertEquals(2, query.getInRect(0.0, 0.0, 60.0, 10.0, SpatialFilter.ALL, buffer));
+        assertEquals(0, query.getInRect(100.0, 100.0, 10.0, 10.0, SpatialFilter.ALL, buffer));
+    }
+
+    /**
+     * Test ray query.
+     */
+    @Test
+    public void testRay()
+    {
+        final Featurable near = createObject(30.0, 2.0, null);
+        final Featurable far = createObject(90.0, -3.0, null);
+        createObject(60.0, 40.0, null);
+        createObject(-30.0, 0.0, null);
+        final Featurable[] buffer = new Featurable[4];
+
+        assertEquals(2, query.getOnRay(0.0, 0.0, 2.0, 0.0, 200.0, 5.0, SpatialFilter.ALL, buffer));
+        assertEquals(near, buffer[0]);
+        assertEquals(far, buffer[1]);
+
+        assertEquals(1, query.getOnRay(0.0, 0.0, 1.0, 0.0, 50.0, 5.0, SpatialFilter.ALL, buffer));
+        assertEquals(1, query.getOnRay(100.0, 0.0, -1.0, 0.0, 50.0, 5.0, SpatialFilter.ALL, buffer));
+        assertEquals(far, buffer[0]);
+        assertEquals(0, query.getOnRay(0.0, 0.0, 0.0, 0.0, 200.0, 5.0, SpatialFilter.ALL, buffer));
+    }
+
+    /**
+     * Test filters.
+     */
+    @Test
+    public void testFilter()
+    {
+        final Featurable group1 = createObject(10.0, 0.0, Integer.valueOf(1));
+        final Featurable group2 = createObject(20.0, 0.0, Integer.valueOf(2));
+        final Featurable none = createObject(5.0, 0.0, null);
+        none.addFeature(new LayerableModel(1));
+        final Featurable[] buffer = new Featurable[4];
+
+        assertEquals(1, query.getNearest(0.0, 0.0, 100.0, new SpatialFilter(null, Integer.valueOf(2)), buffer));
+        assertEquals(group2, buffer[0]);
+        assertEquals(2, query.getInRadius(0.0, 0.0, 100.0, new SpatialFilter(Collidable.class, null), buffer));
+        assertEquals(1, query.getInRect(0.0, 0.0, 100.0, 1.0, new SpatialFilter(Layerable.class, null), buffer));
+        assertEquals(none, buffer[0]);
+        assertEquals(1,
+                     query.getOnRay(0.0,
+                                    0.0,
+                                    1.0,
+                                    0.0,
+                                    100.0,
+                                    1.0,
+                                    new SpatialFilter(Collidable.class, Integer.valueOf(1)),
+                                    buffer));
+        assertEquals(group1, buffer[0]);
+        assertEquals(0,
+                     query.getInRadius(0.0,
+                                       0.0,
+                                       100.0,
+                                       new SpatialFilter(Layerable.class, Integer.valueOf(1)),
+                                       buffer));
+    }
+
+    /**
+     * Test with invalid arguments.
+     */
+    @Test
+    public void testInvalid()
+    {
+        final Featurable[] buffer = new Featurable[1];
+
+        assertThrows(() -> query.getNearest(0.0, 0.0, -1.0, SpatialFilter.ALL, buffer),
+                     "Invalid argument: -1.0 is not superior or equal to 0.0");
+        assertThrows(() -> query.getInRadius(0.0, 0.0, 1.0, null, buffer), "Unexpected null argument !");
+        assertThrows(() -> query.getInRect(0.0, 0.0, 1.0, 1.0, SpatialFilter.ALL, null), "Unexpected null argument !");
+    }
+
+    /**
+     * Create a test object and index it.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param group The collision group, <code>null</code> if not collidable.
+     * @return The created object.
+     */
+    private Featurable createObject(double x, double y, Integer group)
+    {
+        final Featurable featurable = new FeaturableModel(services, setup);
+        final Transformable transformable = featurable.addFeatureAndGet(new TransformableModel(services, setup));
+        if (group != null)
+        {
+            featurable.addFeatureAndGet(new CollidableModel(services, setup)).setGroup(group);
+        }
+        transformable.teleport(x, y);
+        query.notifyHandlableAdded(featurable);
+
+        return featurable;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.TickActionHandle;
+
+/**
+ * Test {@link ComponentTick}.
+ */
+public final class ComponentTickTest
+{
+    /**
+     * Test the shared tick from handler.
+     */
+    @Test
+    public void testShared()
+    {
+        final Services services = new Services();
+        final Handler handler = new Handler(services);
+        handler.addComponent(new ComponentTick());
+
+        final ComponentTick tick = services.get(ComponentTick.class);
+        final AtomicInteger executed = new AtomicInteger();
+        tick.addAction(executed::incrementAndGet, 1L);
+        final TickActionHandle cancelled = tick.addAction(executed::incrementAndGet, 1L);
+        tick.addAction(executed::incrementAndGet, 2L);
+        cancelled.cancel();
+
+        assertEquals(0L, tick.elapsed());
+        assertEquals(2, tick.getActionsPending());
+
+        handler.update(1.0);
+
+        assertEquals(1L, tick.elapsed());
+        assertEquals(1, executed.get());
+        assertFalse(cancelled.isPending());
+        assertEquals(1, tick.getActionsPending());
+
+        handler.update(1.0);
+
+        assertEquals(2, executed.get());
+        assertEquals(0, tick.getActionsPending());
+        assertTrue(services.getOptional(ComponentTick.class).isPresent());
+    }
+}
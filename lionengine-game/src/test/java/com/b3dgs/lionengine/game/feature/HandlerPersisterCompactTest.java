@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertThrowsIo;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilVarint;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Test {@link HandlerPersisterCompact}.
+ */
+public final class HandlerPersisterCompactTest
+{
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        Medias.setLoadFromJar(HandlerPersisterCompactTest.class);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setResourcesDirectory(null);
+        Medias.setLoadFromJar(null);
+    }
+
+    private final Services services = new Services();
+    private final Factory factory = services.add(new Factory(services));
+    private final Handler handler = services.add(new Handler(services));
+
+    /**
+     * Fill handler with test featurables.
+     */
+    private void fill()
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            final Featurable featurable = factory.create(Medias.create("ObjectFeatures.xml"));
+            featurable.getFeature(Transformable.class).teleport(i - 5.25, i * 100);
+            handler.add(featurable);
+        }
+        handler.add(factory.create(Medias.create("ObjectIdentifiable.xml")));
+        handler.update(1.0);
+    }
+
+    /**
+     * Load featurables in a new handler.
+     * 
+     * @param media The saved media.
+     * @param extension The extension to use, <code>null</code> if none.
+     * @return The loaded handler.
+     * @throws IOException If error.
+     */
+    private static Handler load(Media media, HandlerPersisterExtension extension) throws IOException
+    {
+        final Services services2 = new Services();
+        services2.add(new Factory(services2));
+        final Handler handler2 = services2.add(new Handler(services2));
+        final HandlerPersisterCompact persister2 = new HandlerPersisterCompact(services2);
+        if (extension != null)
+        {
+            persister2.addExtension(extension);
+        }
+        try (FileReading reading = new FileReading(media))
+        {
+            persister2.load(reading);
+        }
+        handler2.update(1.0);
+
+        return handler2;
+    }
+
+    /**
+     * Test save and load with extension.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testSaveLoad() throws IOException
+    {
+        fill();
+
+        final HandlerPersisterCompact persister = new HandlerPersisterCompact(services);
+        final HandlerPersisterExtension extension = new Precise();
+        persister.addExtension(extension);
+        final Media media = Medias.create("persister_compact.data");
+        try (FileWriting writing = new FileWriting(media))
+        {
+            persister.save(writing);
+        }
+
+        final Handler precise = load(media, extension);
+
+        assertEquals(11, precise.size());
+        double sum = 0.0;
+        for (final Transformable transformable : precise.get(Transformable.class))
+        {
+            sum += transformable.getX() + transformable.getY();
+        }
+        assertEquals(-7.5 + 4500.0, sum);
+
+        final Handler rounded = load(media, null);
+
+        assertEquals(11, rounded.size());
+        sum = 0.0;
+        for (final Transformable transformable : rounded.get(Transformable.class))
+        {
+            sum += transformable.getX() + transformable.getY();
+        }
+        assertEquals(-15.0 + 4500.0, sum);
+
+        assertTrue(media.getFile().delete());
+    }
+
+    /**
+     * Test asynchronous save with map.
+     * 
+     * @throws IOException If error.
+     * @throws ExecutionException If error.
+     * @throws InterruptedException If error.
+     */
+    @Test
+    public void testSaveAsyncWithMap() throws IOException, InterruptedException, ExecutionException
+    {
+        services.add(new Camera());
+        final MapTile map = services.add(new MapTileGame());
+        map.create(16, 16, 5, 5);
+
+        final Featurable featurable = factory.create(Medias.create("ObjectFeatures.xml"));
+        featurable.getFeature(Transformable.class).teleport(16, 32);
+        handler.add(featurable);
+        handler.update(1.0);
+
+        final HandlerPersisterCompact persister = new HandlerPersisterCompact(services);
+        final Media media = Medias.create("persister_compact.data");
+        persister.saveAsync(media).get();
+
+        final Services services2 = new Services();
+        services2.add(new Factory(services2));
+        services2.add(map);
+        final Handler handler2 = services2.add(new Handler(services2));
+        try (FileReading reading = new FileReading(media))
+        {
+            new HandlerPersisterCompact(services2).load(reading);
+        }
+        handler2.update(1.0);
+
+        final Transformable transformable = handler2.get(Transformable.class).iterator().next();
+
+        assertEquals(16.0, transformable.getX());
+        assertEquals(32.0, transformable.getY());
+        assertTrue(media.getFile().delete());
+    }
+
+    /**
+     * Test load with invalid format.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalidFormat() throws IOException
+    {
+        fill();
+
+        final Media media = Medias.create("persister_compact.data");
+        try (FileWriting writing = new FileWriting(media))
+        {
+            new HandlerPersister(services).save(writing);
+        }
+
+        assertThrowsIo(() -> load(media, null), HandlerPersisterCompact.ERROR_FORMAT);
+        assertTrue(media.getFile().delete());
+    }
+
+    /**
+     * Write a compact handler file.
+     * 
+     * @param media The output media.
+     * @param values The body variable length integers, after string table.
+     * @throws IOException If error.
+     */
+    private static void write(Media media, int... values) throws IOException
+    {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(body)))
+        {
+            UtilVarint.write(output, 1);
+            output.writeUTF("ObjectFeatures.xml");
+            for (final int value : values)
+            {
+                UtilVarint.write(output, value);
+            }
+        }
+        try (FileWriting writing = new FileWriting(media))
+        {
+            writing.writeInteger(HandlerPersisterCompact.MAGIC);
+            writing.writeByte(HandlerPersisterCompact.VERSION);
+            writing.writeInteger(body.size());
+            writing.writeBytes(body.toByteArray());
+        }
+    }
+
+    /**
+     * Test load with media index out of string table.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalidMediaIndex() throws IOException
+    {
+        final Media media = Medias.create("persister_compact.data");
+        write(media, 1, 5);
+
+        assertThrows(IOException.class, () -> load(media, null), HandlerPersisterCompact.ERROR_INDEX + 5);
+        assertTrue(media.getFile().delete());
+    }
+
+    /**
+     * Test load with block name index out of string table.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalidBlockIndex() throws IOException
+    {
+        final Media media = Medias.create("persister_compact.data");
+        write(media, 1, 0, 0, 1, 3);
+
+        assertThrows(IOException.class, () -> load(media, null), HandlerPersisterCompact.ERROR_INDEX + 3);
+        assertTrue(media.getFile().delete());
+    }
+
+    /**
+     * Test load with negative block length.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalidBlockLength() throws IOException
+    {
+        final Media media = Medias.create("persister_compact.data");
+        write(media, 1, 0, 0, 1, 0, -1);
+
+        assertThrows(IOException.class, () -> load(media, null), HandlerPersisterCompact.ERROR_LENGTH + -1);
+        assertTrue(media.getFile().delete());
+    }
+
+    /**
+     * Extension saving exact location.
+     */
+    private static final class Precise implements HandlerPersisterExtension
+    {
+        @Override
+        public String getName()
+        {
+            return "precise";
+        }
+
+        @Override
+        public boolean isSupported(Featurable featurable)
+        {
+            return featurable.hasFeature(Transformable.class);
+        }
+
+        @Override
+        public void save(Featurable featurable, DataOutput output) throws IOException
+        {
+            output.writeDouble(featurable.getFeature(Transformable.class).getX());
+        }
+
+        @Override
+        public void load(Featurable featurable, DataInput input) throws IOException
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            transformable.teleportX(input.readDouble());
+        }
+    }
+}
@@ -23,6 +23,7 @@ import static com.b3dgs.lionengine.UtilAssert.assertPrivateConstructor;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.AfterAll;
@@ -178,6 +179,73 @@ public final class CollidableModelTest
         assertTrue(collidable1.collide(collidable2).isEmpty());
     }
 
+    /**
+     * Test swept collision gives the same first contact than stepped collision.
+     */
+    @Test
+    public void testSwept()
+    {
+        assertFalse(collidable1.isSwept());
+
+        final Collision collision1 = new Collision("test1", 0, 0, 3, 2, false);
+        collidable1.addCollision(collision1);
+        collidable2.addCollision(new Collision("test2", 0, 0, 4, 5, false));
+        collidable2.addCollision(new Collision("test3", 6, 3, 2, 2, false));
+        collidable2.addCollision(new Collision("test4", -5, 0, 1, 1, false));
+
+        transformable2.teleport(0.0, 0.0);
+
+        int collided = 0;
+        for (int dx = -45; dx <= 45; dx += 5)
+        {
+            for (int dy = -45; dy <= 45; dy += 9)
+            {
+                for (int x = -20; x <= 20; x += 7)
+                {
+                    // Start out of integer grid to avoid exact contact, where stepping accumulates rounding
+                    final double sx = x + 0.25;
+                    final double sy = x * 0.5 + 0.125;
+                    final List<CollisionCouple> stepped = collide(false, sx, sy, dx, dy * 0.7);
+                    final double steppedX = collidable1.getCollisionBounds().get(0).getX();
+                    final double steppedY = collidable1.getCollisionBounds().get(0).getY();
+
+                    final List<CollisionCouple> swept = collide(true, sx, sy, dx, dy * 0.7);
+
+                    assertEquals(stepped, swept);
+                    assertEquals(steppedX, collidable1.getCollisionBounds().get(0).getX());
+                    assertEquals(steppedY, collidable1.getCollisionBounds().get(0).getY());
+
+                    if (!swept.isEmpty())
+                    {
+                        collided++;
+                    }
+                }
+            }
+        }
+        assertTrue(collided > 0);
+    }
+
+    /**
+     * Move first collidable and check collision with second.
+     * 
+     * @param swept The swept flag.
+     * @param x The horizontal start.
+     * @param y The vertical start.
+     * @param vx The horizontal motion.
+     * @param vy The vertical motion.
+     * @return The collisions found.
+     */
+    private List<CollisionCouple> collide(boolean swept, double x, double y, double vx, double vy)
+    {
+        collidable1.setSwept(swept);
+        transformable1.teleport(x, y);
+        transformable1.moveLocation(1.0, vx, vy);
+
+        assertEquals(swept, collidable1.isSwept());
+
+        return collidable1.collide(collidable2);
+    }
+
     /**
      * Test collidable class with different sizes.
      */
@@ -40,6 +40,7 @@ import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.TransformableModel;
 import com.b3dgs.lionengine.game.feature.UtilSetup;
 import com.b3dgs.lionengine.geom.Geom;
+import com.b3dgs.lionengine.geom.Rectangle;
 import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphics;
 
@@ -147,6 +148,44 @@ public final class ComponentCollisionTest
         assertNull(featurable1.called.get());
     }
 
+    /**
+     * Test bulk collision with boxes.
+     */
+    @Test
+    public void testCollideBulk()
+    {
+        transformable1.teleport(1.0, 2.0);
+        transformable2.teleport(ComponentCollision.REDUCE_FACTOR, ComponentCollision.REDUCE_FACTOR);
+
+        handler.update(1.0);
+
+        final Rectangle bounds = collidable1.getCollisionBounds().get(0);
+        final double[] x = new double[]
+        {
+            bounds.getX(), ComponentCollision.REDUCE_FACTOR * 2.0, bounds.getMaxX()
+        };
+        final double[] y = new double[]
+        {
+            bounds.getY(), ComponentCollision.REDUCE_FACTOR * 2.0, bounds.getMaxY()
+        };
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicReference<Collidable> collided = new AtomicReference<>();
+        component.collide(x, y, 2, 2, 2, collidable2.getAccepted(), (index, collidable) ->
+        {
+            assertEquals(0, index);
+            collided.set(collidable);
+            count.incrementAndGet();
+        });
+
+        assertEquals(1, count.get());
+        assertEquals(collidable1, collided.get());
+
+        collidable1.setEnabled(false);
+        component.collide(x, y, 3, 2, 2, collidable2.getAccepted(), (index, collidable) -> count.incrementAndGet());
+
+        assertEquals(1, count.get());
+    }
+
     /**
      * Test collidable not collide more than one time if on many points with reduce factor.
      */
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.launchable;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link Projectiles}.
+ */
+public final class ProjectilesTest
+{
+    /**
+     * Test launch and update.
+     */
+    @Test
+    public void testUpdate()
+    {
+        final Projectiles projectiles = new Projectiles(1, 2, 3);
+
+        assertEquals(2, projectiles.getWidth());
+        assertEquals(3, projectiles.getHeight());
+
+        assertEquals(0, projectiles.launch(1.0, 2.0, 3.0, 4.0, 2.0));
+        assertEquals(1, projectiles.launch(5.0, 6.0, -1.0, -2.0, 1.0));
+        assertEquals(2, projectiles.getCount());
+
+        projectiles.update(0.5);
+
+        assertEquals(2, projectiles.getCount());
+        assertEquals(2.5, projectiles.getX(0));
+        assertEquals(4.0, projectiles.getY(0));
+        assertEquals(3.0, projectiles.getVx(0));
+        assertEquals(4.0, projectiles.getVy(0));
+        assertEquals(4.5, projectiles.getX(1));
+        assertEquals(5.0, projectiles.getY(1));
+
+        projectiles.update(0.5);
+
+        assertEquals(1, projectiles.getCount());
+        assertEquals(4.0, projectiles.getX(0));
+
+        projectiles.update(1.0);
+
+        assertEquals(0, projectiles.getCount());
+    }
+
+    /**
+     * Test kill and remove.
+     */
+    @Test
+    public void testKill()
+    {
+        final Projectiles projectiles = new Projectiles(4, 1, 1);
+        projectiles.launch(0.0, 0.0, 0.0, 0.0, 10.0);
+        projectiles.launch(1.0, 0.0, 0.0, 0.0, 10.0);
+        projectiles.launch(2.0, 0.0, 0.0, 0.0, 10.0);
+        projectiles.kill(0);
+
+        assertFalse(projectiles.isAlive(0));
+        assertTrue(projectiles.isAlive(1));
+
+        projectiles.removeDead();
+
+        assertEquals(2, projectiles.getCount());
+        assertEquals(2.0, projectiles.getX(0));
+        assertEquals(1.0, projectiles.getX(1));
+
+        projectiles.clear();
+
+        assertEquals(0, projectiles.getCount());
+    }
+
+    /**
+     * Test parallel update.
+     */
+    @Test
+    public void testParallel()
+    {
+        final int count = 10_000;
+        final Projectiles projectiles = new Projectiles(16, 1, 1);
+        projectiles.setParallel(1);
+        for (int i = 0; i < count; i++)
+        {
+            projectiles.launch(i, 0.0, 1.0, 2.0, 1.5);
+        }
+        projectiles.update(1.0);
+
+        assertEquals(count, projectiles.getCount());
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(i + 1.0, projectiles.getX(i));
+            assertEquals(2.0, projectiles.getY(i));
+        }
+
+        projectiles.update(1.0);
+
+        assertEquals(0, projectiles.getCount());
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    @Test
+    public void testInvalid()
+    {
+        assertThrows(() -> new Projectiles(0, 1, 1), "Invalid argument: 0 is not strictly superior to 0");
+
+        final Projectiles projectiles = new Projectiles(1, 1, 1);
+
+        assertThrows(() -> projectiles.launch(0.0, 0.0, 0.0, 0.0, 0.0),
+                     "Invalid argument: 0.0 is not strictly superior to 0.0");
+        assertThrows(() -> projectiles.addAccept(null), "Unexpected null argument !");
+        assertThrows(() -> projectiles.setParallel(-1), "Invalid argument: -1 is not superior or equal to 0");
+    }
+}
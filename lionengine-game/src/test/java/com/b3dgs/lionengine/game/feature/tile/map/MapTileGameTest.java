@@ -30,6 +30,8 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.AfterAll;
@@ -268,4 +270,146 @@ public final class MapTileGameTest
 
         assertNull(set.get());
     }
+
+    /**
+     * Test map transaction.
+     */
+    @Test
+    public void testTransaction()
+    {
+        map.create(16, 16, 3, 3);
+        map.setTile(2, 2, 0);
+
+        final List<Tile> set = new ArrayList<>();
+        map.addListener(set::add);
+
+        assertThrows(() -> map.commitTransaction(), MapTileSurfaceModel.ERROR_TRANSACTION_NONE);
+
+        map.beginTransaction();
+
+        assertTrue(map.isTransaction());
+        assertThrows(() -> map.beginTransaction(), MapTileSurfaceModel.ERROR_TRANSACTION_STARTED);
+
+        map.setTile(0, 0, 1);
+        map.setTile(0, 0, 2);
+        map.setTile(1, 1, 3);
+        map.setTile(2, 2, 4);
+        map.setTile(2, 2, 0);
+
+        assertEquals(2, map.getTile(0, 0).getNumber());
+        assertTrue(set.isEmpty());
+
+        final Collection<Tile> changed = map.commitTransaction();
+
+        assertFalse(map.isTransaction());
+        assertEquals(Arrays.asList(map.getTile(0, 0), map.getTile(1, 1)), changed);
+        assertEquals(changed, set);
+
+        set.clear();
+        map.beginTransaction();
+        map.setTile(1, 1, 5);
+        map.clear();
+
+        assertFalse(map.isTransaction());
+        assertTrue(set.isEmpty());
+    }
+
+    /**
+     * Test tile removal, notified immediately or on transaction commit, with both storages.
+     */
+    @Test
+    public void testRemoveTile()
+    {
+        for (final MapTileGame current : Arrays.asList(map, new MapTileGame(true)))
+        {
+            current.create(16, 16, 3, 3);
+            current.setTile(0, 0, 1);
+            current.setTile(1, 1, 2);
+
+            final List<Tile> removed = new ArrayList<>();
+            current.addListener(new TileSetListener()
+            {
+                @Override
+                public void onTileSet(Tile tile)
+                {
+                    // Mock
+                }
+
+                @Override
+                public void onTileRemoved(Tile tile)
+                {
+                    removed.add(tile);
+                }
+            });
+            final Tile tile = current.getTile(0, 0);
+            current.removeTile(0, 0);
+            current.removeTile(2, 2);
+
+            assertNull(current.getTile(0, 0));
+            assertEquals(Arrays.asList(tile), removed);
+            assertEquals(1, current.getTilesNumber());
+            assertThrows(() -> current.removeTile(3, 0), "Invalid argument: 3 is not strictly inferior to 3");
+
+            removed.clear();
+            current.beginTransaction();
+            current.setTile(1, 1, 3);
+            current.removeTile(1, 1);
+
+            assertTrue(removed.isEmpty());
+            assertTrue(current.commitTransaction().isEmpty());
+            assertEquals(1, removed.size());
+            assertEquals(2, removed.get(0).getNumber());
+            assertEquals(1, removed.get(0).getInTileX());
+            assertEquals(0, current.getTilesNumber());
+        }
+    }
+
+    /**
+     * Test compact map storage against default storage.
+     */
+    @Test
+    public void testCompact()
+    {
+        final MapTileGame compact = new MapTileGame(true);
+        final AtomicReference<Tile> set = new AtomicReference<>();
+        compact.addListener(tile -> set.set(tile));
+
+        for (final MapTileGame current : Arrays.asList(map, compact))
+        {
+            current.create(16, 16, 3, 2);
+            current.setTile(0, 0, 1);
+            current.setTile(2, 1, 5);
+            current.getFeature(MapTileSurface.class).resize(4, 3);
+            current.setTile(3, 2, 7);
+        }
+
+        assertEquals(map.getTile(3, 2), set.get());
+        assertEquals(3, compact.getTilesNumber());
+        for (int ty = 0; ty < 3; ty++)
+        {
+            for (int tx = 0; tx < 4; tx++)
+            {
+                assertEquals(map.getTile(tx, ty), compact.getTile(tx, ty));
+            }
+        }
+
+        final Tile tile = compact.getTile(2, 1);
+
+        assertEquals(5, tile.getNumber());
+        assertEquals(Integer.valueOf(5), tile.getKey());
+        assertEquals(32.0, tile.getX());
+        assertEquals(16.0, tile.getY());
+        assertEquals(tile, compact.getTileAt(33.0, 17.0));
+
+        set.set(null);
+        compact.setTile(2, 1, 5);
+
+        assertNull(set.get());
+
+        compact.clear();
+
+        assertTrue(compact.isCreated());
+        assertEquals(0, compact.getTilesNumber());
+        assertNull(compact.getTile(0, 0));
+    }
 }
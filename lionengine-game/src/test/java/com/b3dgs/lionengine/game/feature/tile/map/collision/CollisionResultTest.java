@@ -18,6 +18,7 @@ package com.b3dgs.lionengine.game.feature.tile.map.collision;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -61,6 +62,43 @@ public final class CollisionResultTest
         assertFalse(result.contains("formulaZ"));
     }
 
+    /**
+     * Test the reusable collision result.
+     */
+    @Test
+    public void testReusable()
+    {
+        final Tile tile = new TileGame(1, 3, 4, 1, 1);
+        final CollisionResult result = new CollisionResult();
+
+        assertFalse(result.hasX());
+        assertFalse(result.hasY());
+        assertNull(result.getX());
+        assertNull(result.getY());
+
+        result.reset(tile, null, null);
+        result.setX(1.0, formulaX);
+
+        assertTrue(result.hasX());
+        assertFalse(result.hasY());
+        assertEquals(1.0, result.getCollisionX());
+        assertEquals(Double.valueOf(1.0), result.getX());
+        assertTrue(result.startWithX("formulaX"));
+
+        final CollisionResult copy = new CollisionResult();
+        copy.set(result);
+        result.reset(tile, null, null);
+        result.setY(2.0, formulaY);
+
+        assertFalse(result.hasX());
+        assertTrue(result.hasY());
+        assertEquals(2.0, result.getCollisionY());
+        assertTrue(copy.hasX());
+        assertFalse(copy.hasY());
+        assertEquals(tile, copy.getTile());
+        assertTrue(copy.startWithX("formulaX"));
+    }
+
     /**
      * Test the collision no result.
      */
@@ -17,6 +17,7 @@
 package com.b3dgs.lionengine.game.feature.tile.map.collision;
 
 import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertNull;
 import static com.b3dgs.lionengine.UtilAssert.assertThrows;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
@@ -243,6 +244,39 @@ public final class MapTileCollisionModelTest
         assertNull(result);
     }
 
+    /**
+     * Test the map tile collision with a reused result.
+     */
+    @Test
+    public void testReusedResult()
+    {
+        final CollisionResult result = new CollisionResult();
+
+        transformable.teleport(1.0, 3.0);
+        transformable.moveLocation(1.0, 0.0, -2.0);
+
+        assertTrue(mapCollision.computeCollision(transformable, categoryY, result));
+        assertFalse(result.hasX());
+        assertTrue(result.hasY());
+        assertEquals(2.0, result.getCollisionY());
+        assertEquals(map.getTile(1, 2), result.getTile());
+
+        transformable.teleport(-1.0, 0.0);
+        transformable.moveLocation(1.0, 2.0, 0.0);
+
+        assertTrue(mapCollision.computeCollision(transformable, categoryX, result));
+        assertTrue(result.hasX());
+        assertFalse(result.hasY());
+        assertEquals(0.0, result.getCollisionX());
+
+        transformable.teleport(6.0, 6.0);
+        transformable.moveLocation(1.0, 1.0, 1.0);
+
+        assertFalse(mapCollision.computeCollision(transformable, categoryX, result));
+        assertFalse(result.hasX());
+        assertFalse(result.hasY());
+    }
+
     /**
      * Test the map tile no collision formula defined.
      */
@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Xml;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.FeaturableModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+import com.b3dgs.lionengine.game.feature.UtilSetup;
+import com.b3dgs.lionengine.game.feature.tile.TileGroupsConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link FlowFields} and {@link FlowField}.
+ */
+public final class FlowFieldsTest
+{
+    /** Object configuration. */
+    private static Media config;
+    /** Map pathfinding configuration. */
+    private static Media pathfinding;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilSetup.createConfig(FlowFieldsTest.class);
+
+        final Map<String, PathData> data = new HashMap<>();
+        data.put(UtilMap.GROUND, new PathData(UtilMap.GROUND, 1.0, false, Arrays.asList(MovementTile.values())));
+        data.put(UtilMap.TREE, new PathData(UtilMap.TREE, 1.0, true, Arrays.asList(MovementTile.values())));
+        final Xml root = new Xml(config);
+        root.add(PathfindableConfig.exports(data));
+        root.save(config);
+
+        pathfinding = Medias.create("pathfinding" + FlowFieldsTest.class.getSimpleName() + ".xml");
+        final Xml categories = new Xml(PathfindingConfig.NODE_PATHFINDING);
+        for (final String category : Arrays.asList(UtilMap.GROUND, UtilMap.TREE))
+        {
+            final Xml node = categories.createChild(PathfindingConfig.NODE_TILE_PATH);
+            node.writeString(PathfindingConfig.ATT_CATEGORY, category);
+            node.createChild(TileGroupsConfig.NODE_GROUP).setText(category);
+        }
+        categories.save(pathfinding);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        assertTrue(pathfinding.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final MapTileGame map = services.add(new MapTileGame());
+    private Setup setup;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        setup = new Setup(config);
+        services.add(new Camera());
+        map.addFeature(new MapTileGroupModel());
+        map.create(1, 1, 8, 8);
+        UtilMap.setGroups(map);
+        UtilMap.fill(map, UtilMap.TILE_GROUND);
+        final MapTilePath mapPath = map.addFeatureAndGet(new MapTilePathModel());
+        mapPath.prepare(map);
+        mapPath.loadPathfinding(pathfinding);
+    }
+
+    /**
+     * Clean test.
+     */
+    @AfterEach
+    public void clean()
+    {
+        map.clear();
+    }
+
+    /**
+     * Test field computation and sharing.
+     */
+    @Test
+    public void testField()
+    {
+        for (int ty = 0; ty < 7; ty++)
+        {
+            map.setTile(3, ty, UtilMap.TILE_TREE);
+        }
+        final Pathfindable first = createObject(0, 0);
+        final Pathfindable second = createObject(1, 5);
+        final FlowFields flow = new FlowFields(map);
+        final FlowField field = flow.getField(first, 7, 0);
+
+        assertTrue(field.isValid());
+        assertEquals(7, field.getDestinationX());
+        assertEquals(0, field.getDestinationY());
+        assertTrue(field.isReachable(0, 0));
+        assertFalse(field.isReachable(3, 0));
+        assertFalse(field.isReachable(-1, 0));
+        assertEquals(MovementTile.NONE, field.getMovement(7, 0));
+        assertEquals(MovementTile.NONE, field.getMovement(3, 0));
+        assertEquals(0.0, field.getCost(7, 0));
+        assertEquals(Double.POSITIVE_INFINITY, field.getCost(3, 0));
+        assertTrue(field.getCost(0, 0) > field.getCost(6, 0));
+
+        final Path path = field.getPath(0, 0);
+
+        assertEquals(0, path.getX(0));
+        assertEquals(0, path.getY(0));
+        assertEquals(7, path.getX(path.getLength() - 1));
+        assertEquals(0, path.getY(path.getLength() - 1));
+        for (int i = 1; i < path.getLength(); i++)
+        {
+            assertTrue(path.getX(i) != 3 || path.getY(i) == 7);
+            assertTrue(Math.abs(path.getX(i) - path.getX(i - 1)) <= 1);
+            assertTrue(Math.abs(path.getY(i) - path.getY(i - 1)) <= 1);
+        }
+
+        assertEquals(field, flow.getField(second, 7, 0));
+        assertEquals(1, flow.getComputed());
+        assertNotNull(flow.findPath(second, 7, 0, false));
+        assertEquals(1, flow.getComputed());
+        assertEquals(1, flow.getCount());
+    }
+
+    /**
+     * Test field invalidation on tile change.
+     */
+    @Test
+    public void testInvalidate()
+    {
+        final Pathfindable mover = createObject(0, 0);
+        final FlowFields flow = new FlowFields(map);
+        final FlowField field = flow.getField(mover, 7, 7);
+
+        assertTrue(field.isReachable(4, 4));
+
+        map.setTile(4, 4, UtilMap.TILE_TREE);
+
+        assertFalse(field.isValid());
+        assertEquals(0, flow.getCount());
+
+        final FlowField updated = flow.getField(mover, 7, 7);
+
+        assertTrue(updated.isValid());
+        assertFalse(updated.isReachable(4, 4));
+        assertEquals(2, flow.getComputed());
+
+        flow.invalidate();
+
+        assertFalse(updated.isValid());
+    }
+
+    /**
+     * Test blocked destination is unreachable.
+     */
+    @Test
+    public void testBlockedDestination()
+    {
+        map.setTile(5, 5, UtilMap.TILE_TREE);
+        final Pathfindable mover = createObject(0, 0);
+        final FlowFields flow = new FlowFields(map);
+
+        assertFalse(flow.getField(mover, 5, 5).isReachable(0, 0));
+        assertNull(flow.findPath(mover, 5, 5, false));
+        assertNull(flow.getField(mover, 8, 0).getPath(0, 0));
+    }
+
+    /**
+     * Test cache capacity.
+     */
+    @Test
+    public void testCapacity()
+    {
+        final Pathfindable mover = createObject(0, 0);
+        final FlowFields flow = new FlowFields(map, 1);
+        final FlowField field = flow.getField(mover, 7, 7);
+
+        assertEquals(field, flow.getField(mover, 7, 7));
+
+        flow.getField(mover, 6, 6);
+
+        assertEquals(1, flow.getCount());
+        assertTrue(field != flow.getField(mover, 7, 7));
+        assertEquals(3, flow.getComputed());
+    }
+
+    /**
+     * Test pathfindable flow field mode.
+     */
+    @Test
+    public void testPathfindable()
+    {
+        final Pathfindable first = createObject(0, 0);
+        final Pathfindable second = createObject(0, 1);
+        first.setFlowField(true);
+        second.setFlowField(true);
+
+        assertTrue(first.setDestination(7, 7));
+        assertTrue(second.setDestination(7, 7));
+
+        final FlowFields flow = services.get(FlowFields.class);
+
+        assertEquals(1, flow.getComputed());
+
+        map.setTile(7, 6, UtilMap.TILE_TREE);
+        map.setTile(6, 6, UtilMap.TILE_TREE);
+        map.setTile(6, 7, UtilMap.TILE_TREE);
+        final Pathfindable third = createObject(0, 2);
+        third.setFlowField(true);
+
+        assertFalse(third.setDestination(7, 7));
+        assertFalse(third.isPathAvailable(7, 7));
+
+        third.setFlowField(false);
+
+        assertFalse(third.isPathAvailable(7, 7));
+        assertTrue(third.isPathAvailable(5, 5));
+    }
+
+    /**
+     * Test with invalid arguments.
+     */
+    @Test
+    public void testInvalid()
+    {
+        assertThrows(() -> new FlowFields(null), "Unexpected null argument !");
+        assertThrows(() -> new FlowFields(map, 0), "Invalid argument: 0 is not strictly superior to 0");
+        assertThrows(() -> new FlowFields(map).getField(null, 0, 0), "Unexpected null argument !");
+    }
+
+    /**
+     * Create object test.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The object test.
+     */
+    private Pathfindable createObject(int tx, int ty)
+    {
+        final FeaturableModel object = new FeaturableModel(services, setup);
+        final Transformable transformable = object.addFeatureAndGet(new TransformableModel(services, setup));
+        transformable.setSize(1, 1);
+
+        final Pathfindable pathfindable = object.addFeatureAndGet(new PathfindableModel(services, setup));
+        pathfindable.prepare(object);
+        pathfindable.setLocation(tx, ty);
+
+        return pathfindable;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.pathfinding;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotNull;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Xml;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.FeaturableModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+import com.b3dgs.lionengine.game.feature.UtilSetup;
+import com.b3dgs.lionengine.game.feature.tile.TileGroupsConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+
+/**
+ * Test {@link PathFinderPool}.
+ */
+public final class PathFinderPoolTest
+{
+    /** Object configuration. */
+    private static Media config;
+    /** Map pathfinding configuration. */
+    private static Media pathfinding;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        config = UtilSetup.createConfig(PathFinderPoolTest.class);
+
+        final Map<String, PathData> data = new HashMap<>();
+        data.put(UtilMap.GROUND, new PathData(UtilMap.GROUND, 1.0, false, Arrays.asList(MovementTile.values())));
+        data.put(UtilMap.TREE, new PathData(UtilMap.TREE, 1.0, true, Arrays.asList(MovementTile.values())));
+        final Xml root = new Xml(config);
+        root.add(PathfindableConfig.exports(data));
+        root.save(config);
+
+        pathfinding = Medias.create("pathfinding" + PathFinderPoolTest.class.getSimpleName() + ".xml");
+        final Xml categories = new Xml(PathfindingConfig.NODE_PATHFINDING);
+        for (final String category : Arrays.asList(UtilMap.GROUND, UtilMap.TREE))
+        {
+            final Xml node = categories.createChild(PathfindingConfig.NODE_TILE_PATH);
+            node.writeString(PathfindingConfig.ATT_CATEGORY, category);
+            node.createChild(TileGroupsConfig.NODE_GROUP).setText(category);
+        }
+        categories.save(pathfinding);
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        assertTrue(config.getFile().delete());
+        assertTrue(pathfinding.getFile().delete());
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Services services = new Services();
+    private final MapTileGame map = services.add(new MapTileGame());
+    private Setup setup;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void prepare()
+    {
+        setup = new Setup(config);
+        services.add(new Camera());
+        map.addFeature(new MapTileGroupModel());
+        map.create(1, 1, 8, 8);
+        UtilMap.setGroups(map);
+        UtilMap.fill(map, UtilMap.TILE_GROUND);
+        final MapTilePath mapPath = map.addFeatureAndGet(new MapTilePathModel());
+        mapPath.prepare(map);
+        mapPath.loadPathfinding(pathfinding);
+    }
+
+    /**
+     * Clean test.
+     */
+    @AfterEach
+    public void clean()
+    {
+        map.clear();
+    }
+
+    /**
+     * Test pathfindables share the same workspace.
+     */
+    @Test
+    public void testShared()
+    {
+        final Pathfindable first = createObject(0, 0);
+        final Pathfindable second = createObject(7, 0);
+        final PathFinderPool pool = services.get(PathFinderPool.class);
+
+        assertEquals(0, pool.getWorkspaces());
+
+        for (int ty = 1; ty < 7; ty++)
+        {
+            map.setTile(3, ty, UtilMap.TILE_TREE);
+        }
+
+        final PathFinder finder = pool.createPathFinder(16, new HeuristicClosest());
+        final Path path = finder.findPath(first, 7, 7, false);
+
+        assertNotNull(path);
+        assertEquals(7, path.getX(path.getLength() - 1));
+        assertEquals(7, path.getY(path.getLength() - 1));
+
+        for (int i = 0; i < path.getLength(); i++)
+        {
+            assertTrue(path.getX(i) != 3 || path.getY(i) == 0 || path.getY(i) == 7);
+        }
+
+        assertTrue(first.setDestination(4, 4));
+        assertTrue(second.setDestination(0, 7));
+        assertNotNull(finder.findPath(second, 0, 7, false));
+
+        assertEquals(1, pool.getWorkspaces());
+    }
+
+    /**
+     * Test workspaces are recreated when map size changed.
+     */
+    @Test
+    public void testResize()
+    {
+        final Pathfindable mover = createObject(0, 0);
+        final PathFinderPool pool = services.get(PathFinderPool.class);
+        final PathFinder finder = pool.createPathFinder(16, new HeuristicClosest());
+
+        assertNotNull(finder.findPath(mover, 5, 5, false));
+        assertEquals(1, pool.getWorkspaces());
+
+        map.create(1, 1, 4, 4);
+        UtilMap.fill(map, UtilMap.TILE_GROUND);
+
+        assertNotNull(finder.findPath(mover, 3, 3, false));
+        assertNull(finder.findPath(mover, 0, 0, false));
+        assertEquals(1, pool.getWorkspaces());
+
+        pool.clear();
+
+        assertEquals(0, pool.getWorkspaces());
+    }
+
+    /**
+     * Test with <code>null</code> arguments.
+     */
+    @Test
+    public void testNull()
+    {
+        assertThrows(() -> new PathFinderPool(null), "Unexpected null argument !");
+        assertThrows(() -> new PathFinderPool(map).createPathFinder(1, null), "Unexpected null argument !");
+    }
+
+    /**
+     * Create object test.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @return The object test.
+     */
+    private Pathfindable createObject(int tx, int ty)
+    {
+        final FeaturableModel object = new FeaturableModel(services, setup);
+        final Transformable transformable = object.addFeatureAndGet(new TransformableModel(services, setup));
+        transformable.setSize(1, 1);
+
+        final Pathfindable pathfindable = object.addFeatureAndGet(new PathfindableModel(services, setup));
+        pathfindable.prepare(object);
+        pathfindable.setLocation(tx, ty);
+
+        return pathfindable;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.FeaturableModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableModel;
+import com.b3dgs.lionengine.game.feature.UtilSetup;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.Axis;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionCategory;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionCategoryConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionConstraint;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionFormula;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionFormulaConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionFunctionLinear;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionGroup;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionGroupConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionRange;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.MapTileCollision;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.MapTileCollisionModel;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.TileCollidableModel;
+import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Test {@link MapTilePager}.
+ */
+public final class MapTilePagerTest
+{
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setResourcesDirectory(null);
+    }
+
+    private final Camera camera = new Camera();
+    private final MapTileGame map = new MapTileGame(true);
+    private Media level;
+
+    /**
+     * Prepare test.
+     * 
+     * @throws IOException If error.
+     */
+    @BeforeEach
+    public void prepare() throws IOException
+    {
+        final MapTileGame saved = new MapTileGame();
+        saved.addFeature(new MapTilePersisterCompact(2));
+        saved.create(16, 16, 8, 6);
+        saved.loadSheets(new ArrayList<SpriteTiled>());
+        for (int tx = 0; tx < saved.getInTileWidth(); tx++)
+        {
+            for (int ty = 0; ty < saved.getInTileHeight(); ty++)
+            {
+                saved.setTile(tx, ty, tx + ty * 8 + 1);
+            }
+        }
+        level = Medias.create("level_pager");
+        try (FileWriting output = new FileWriting(level))
+        {
+            saved.getFeature(MapTilePersister.class).save(output);
+        }
+
+        camera.setView(0, 0, 32, 32, 32);
+        camera.teleport(0.0, 0.0);
+        map.loadSheets(new ArrayList<SpriteTiled>());
+    }
+
+    /**
+     * Clean test.
+     */
+    @AfterEach
+    public void clean()
+    {
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Test the constructor with invalid arguments.
+     */
+    @Test
+    public void testConstructorInvalid()
+    {
+        assertThrows(() -> new MapTilePager(map, camera, -1), "Invalid argument: -1 is not superior or equal to 0");
+    }
+
+    /**
+     * Test paging around camera, listeners being only notified for paged tiles.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testPaging() throws IOException
+    {
+        final AtomicInteger set = new AtomicInteger();
+        final AtomicInteger removed = new AtomicInteger();
+        map.addListener(new TileSetListener()
+        {
+            @Override
+            public void onTileSet(Tile tile)
+            {
+                set.incrementAndGet();
+            }
+
+            @Override
+            public void onTileRemoved(Tile tile)
+            {
+                removed.incrementAndGet();
+            }
+        });
+
+        try (MapTilePager pager = new MapTilePager(map, camera, 0))
+        {
+            pager.setPrefetch(0);
+            pager.open(level);
+
+            assertEquals(8, map.getInTileWidth());
+            assertEquals(6, map.getInTileHeight());
+            assertNull(map.getTile(0, 0));
+            assertFalse(pager.isResident(0, 0));
+            assertEquals(0, set.get());
+
+            pager.update(1.0);
+            pager.flush();
+
+            assertEquals(4, pager.getResidentCount());
+            assertTrue(pager.isResident(3, 3));
+            assertFalse(pager.isResident(4, 0));
+            assertEquals(1, map.getTile(0, 0).getNumber());
+            assertEquals(3 + 3 * 8 + 1, map.getTile(3, 3).getNumber());
+            assertNull(map.getTile(4, 0));
+            assertEquals(16, set.get());
+            assertEquals(0, removed.get());
+
+            camera.teleport(96.0, 0.0);
+            pager.update(1.0);
+            pager.flush();
+
+            assertEquals(2, pager.getResidentCount());
+            assertFalse(pager.isResident(0, 0));
+            assertNull(map.getTile(0, 0));
+            assertEquals(7 + 1, map.getTile(7, 0).getNumber());
+            assertEquals(16, removed.get());
+            assertEquals(24, set.get());
+        }
+    }
+
+    /**
+     * Test prefetch along camera movement.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testPrefetch() throws IOException
+    {
+        try (MapTilePager pager = new MapTilePager(map, camera, 0))
+        {
+            pager.open(level);
+            camera.moveLocation(1.0, 1.0, 0.0);
+            pager.update(1.0);
+            pager.flush();
+
+            assertEquals(6, pager.getResidentCount());
+            assertTrue(pager.isResident(4, 0));
+            assertEquals(4 + 1, map.getTile(4, 0).getNumber());
+        }
+    }
+
+    /**
+     * Test collisions follow paged tiles, collisions being loaded while no tile is set, and not updated on tile set.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testCollision() throws IOException
+    {
+        final MapTileGame saved = new MapTileGame();
+        saved.addFeature(new MapTilePersisterCompact(3));
+        saved.create(1, 1, 9, 3);
+        saved.loadSheets(new ArrayList<SpriteTiled>());
+        UtilMap.fill(saved, UtilMap.TILE_GROUND);
+        final Media paged = Medias.create("level_pager_collision");
+        try (FileWriting output = new FileWriting(paged))
+        {
+            saved.getFeature(MapTilePersister.class).save(output);
+        }
+
+        final Services services = new Services();
+        services.add(map);
+        map.addFeature(new MapTileGroupModel());
+        UtilMap.setGroups(map);
+        final MapTileCollision mapCollision = map.addFeatureAndGet(new MapTileCollisionModel());
+
+        final CollisionFormula formula = new CollisionFormula("y",
+                                                              new CollisionRange(Axis.Y, 0, 1, 0, 1),
+                                                              new CollisionFunctionLinear(0.0, 0.0),
+                                                              new CollisionConstraint());
+        final CollisionGroup group = new CollisionGroup(UtilMap.GROUND, Arrays.asList(formula));
+        final CollisionCategory category = new CollisionCategory("y", Axis.Y, 0, 0, true, Arrays.asList(group));
+
+        camera.setView(0, 0, 2, 2, 2);
+        try (MapTilePager pager = new MapTilePager(map, camera, 0))
+        {
+            pager.setPrefetch(0);
+            pager.open(paged);
+            mapCollision.loadCollisions(new CollisionFormulaConfig(Collections.singletonMap("y", formula)),
+                                        new CollisionGroupConfig(Collections.singletonMap(UtilMap.GROUND, group)));
+
+            final Media config = UtilSetup.createConfig(MapTilePagerTest.class);
+            final Setup setup = new Setup(config);
+            CollisionCategoryConfig.exports(setup.getRoot(), category);
+            final FeaturableModel object = new FeaturableModel(services, setup);
+            final Transformable transformable = object.addFeatureAndGet(new TransformableModel(services, setup));
+            transformable.setSize(1, 1);
+            object.addFeatureAndGet(new TileCollidableModel(services, setup)).setEnabled(true);
+
+            pager.update(1.0);
+            pager.flush();
+
+            assertTrue(pager.isResident(1, 2));
+            assertFalse(pager.isResident(4, 2));
+
+            transformable.teleport(1.0, 3.0);
+            transformable.moveLocation(1.0, 0.0, -2.0);
+            assertEquals(Double.valueOf(2.0), mapCollision.computeCollision(transformable, category).getY());
+            final Tile tile = map.getTile(1, 2);
+            assertTrue(mapCollision.getCollisionFormulas(tile).contains(formula));
+
+            transformable.teleport(4.0, 3.0);
+            transformable.moveLocation(1.0, 0.0, -2.0);
+            assertNull(mapCollision.computeCollision(transformable, category));
+
+            camera.teleport(6.0, 0.0);
+            pager.update(1.0);
+            pager.flush();
+
+            assertFalse(pager.isResident(1, 2));
+            assertTrue(pager.isResident(7, 2));
+
+            transformable.teleport(7.0, 3.0);
+            transformable.moveLocation(1.0, 0.0, -2.0);
+            assertEquals(Double.valueOf(2.0), mapCollision.computeCollision(transformable, category).getY());
+
+            transformable.teleport(1.0, 3.0);
+            transformable.moveLocation(1.0, 0.0, -2.0);
+            assertNull(mapCollision.computeCollision(transformable, category));
+            assertNull(map.getTile(1, 2));
+            assertTrue(mapCollision.getCollisionFormulas(tile).isEmpty());
+
+            map.setTile(1, 2, UtilMap.TILE_GROUND);
+            assertNull(mapCollision.computeCollision(transformable, category));
+            assertTrue(config.getFile().delete());
+        }
+        assertTrue(paged.getFile().delete());
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.persister;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNull;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertThrowsIo;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilVarint;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSheetsConfig;
+import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Test {@link MapTilePersisterCompact}.
+ */
+public final class MapTilePersisterCompactTest
+{
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setResourcesDirectory(null);
+    }
+
+    /**
+     * Create a map filled with runs of tiles.
+     * 
+     * @param width The width in tile.
+     * @param height The height in tile.
+     * @return The created map.
+     */
+    private static MapTileGame createMap(int width, int height)
+    {
+        final MapTileGame map = new MapTileGame();
+        map.addFeature(new MapTilePersisterCompact(16));
+        map.create(16, 32, width, height);
+        map.loadSheets(new ArrayList<SpriteTiled>());
+
+        for (int tx = 0; tx < width; tx++)
+        {
+            for (int ty = 1; ty < height; ty++)
+            {
+                map.setTile(tx, ty, tx / 10 + ty % 3 * 200);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Check loaded map against original.
+     * 
+     * @param map The original map.
+     * @param loaded The loaded map.
+     */
+    private static void assertMap(MapTile map, MapTile loaded)
+    {
+        assertEquals(map.getTileWidth(), loaded.getTileWidth());
+        assertEquals(map.getTileHeight(), loaded.getTileHeight());
+        assertEquals(map.getInTileWidth(), loaded.getInTileWidth());
+        assertEquals(map.getInTileHeight(), loaded.getInTileHeight());
+        assertEquals(map.getTilesNumber(), loaded.getTilesNumber());
+
+        for (int tx = 0; tx < map.getInTileWidth(); tx++)
+        {
+            assertNull(loaded.getTile(tx, 0));
+            for (int ty = 1; ty < map.getInTileHeight(); ty++)
+            {
+                final Tile tile = loaded.getTile(tx, ty);
+                assertEquals(map.getTile(tx, ty).getNumber(), tile.getNumber());
+                assertEquals(tx * loaded.getTileWidth(), tile.getX());
+                assertEquals(ty * loaded.getTileHeight(), tile.getY());
+            }
+        }
+    }
+
+    /**
+     * Test the save and load map with stream and memory-mapped file.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testSaveLoad() throws IOException
+    {
+        final MapTile map = createMap(70, 37);
+        final Media level = Medias.create("level_compact");
+        try (FileWriting output = new FileWriting(level))
+        {
+            map.getFeature(MapTilePersister.class).save(output);
+        }
+
+        final MapTileGame streamed = new MapTileGame();
+        final AtomicInteger loaded = new AtomicInteger();
+        streamed.addFeatureAndGet(new MapTilePersisterCompact()).addListener(loaded::incrementAndGet);
+        try (FileReading input = new FileReading(level))
+        {
+            streamed.getFeature(MapTilePersister.class).load(input);
+        }
+
+        assertMap(map, streamed);
+        assertEquals(1, loaded.get());
+
+        final MapTileGame mapped = new MapTileGame();
+        mapped.addFeatureAndGet(new MapTilePersisterCompact()).load(level);
+
+        assertMap(map, mapped);
+        assertTrue(level.getFile().length() < 70L * 37L);
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Test the save and load map with sheet config.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testSaveLoadWithConfig() throws IOException
+    {
+        final Media config = Medias.create("config_compact.xml");
+        TileSheetsConfig.exports(config, 16, 32, new ArrayList<String>());
+
+        final MapTileGame map = new MapTileGame();
+        map.addFeature(new MapTilePersisterCompact());
+        map.create(16, 32, 3, 3);
+        map.loadSheets(config);
+
+        final Media level = Medias.create("level_compact");
+        try (FileWriting output = new FileWriting(level))
+        {
+            map.getFeature(MapTilePersister.class).save(output);
+        }
+
+        final MapTileGame loaded = new MapTileGame();
+        loaded.addFeatureAndGet(new MapTilePersisterCompact()).load(level);
+
+        assertEquals(config, loaded.getMedia());
+        assertEquals(0, loaded.getTilesNumber());
+        assertTrue(config.getFile().delete());
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Save a two by two tiles map with a single chunk.
+     * 
+     * @param level The output level.
+     * @param end The chunk data end offset.
+     * @param values The chunk data variable length integers.
+     * @throws IOException If error.
+     */
+    private static void saveChunk(Media level, int end, int... values) throws IOException
+    {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(0);
+        UtilVarint.write(body, 16);
+        UtilVarint.write(body, 16);
+        UtilVarint.write(body, 2);
+        UtilVarint.write(body, 2);
+        UtilVarint.write(body, 16);
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (final int value : values)
+        {
+            UtilVarint.write(data, value);
+        }
+        body.write(ByteBuffer.allocate(Integer.BYTES * 2).putInt(0).putInt(end).array(), 0, Integer.BYTES * 2);
+        body.write(data.toByteArray(), 0, data.size());
+
+        try (FileWriting output = new FileWriting(level))
+        {
+            output.writeInteger(MapTilePersisterCompact.MAGIC);
+            output.writeByte(MapTilePersisterCompact.VERSION);
+            output.writeInteger(body.size());
+            output.writeBytes(body.toByteArray());
+        }
+    }
+
+    /**
+     * Test load with invalid chunk data.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalidChunk() throws IOException
+    {
+        final Media level = Medias.create("level_compact");
+        final MapTilePersisterCompact persister = new MapTileGame().addFeatureAndGet(new MapTilePersisterCompact());
+        final String expected = MapTileChunkFile.ERROR_CHUNK + 0;
+
+        saveChunk(level, 4, 2, 1, 2, 3);
+        persister.load(level);
+
+        saveChunk(level, 4, 0, 1, 4, 1);
+        assertThrows(IOException.class, () -> persister.load(level), expected);
+
+        saveChunk(level, 4, 3, 1, 2, 1);
+        assertThrows(IOException.class, () -> persister.load(level), expected);
+
+        saveChunk(level, 3, 2, 1, 2, 1);
+        assertThrows(IOException.class, () -> persister.load(level), expected);
+
+        saveChunk(level, 5, 2, 1, 2, 1);
+        assertThrows(IOException.class, () -> persister.load(level), expected);
+
+        try (FileReading input = new FileReading(level))
+        {
+            assertThrows(IOException.class, () -> persister.load(input), expected);
+        }
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Test load with invalid format.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testInvalidFormat() throws IOException
+    {
+        final MapTile map = UtilMapTilePersister.createMap();
+        final Media level = Medias.create("level_compact");
+        UtilMapTilePersister.saveMap(map, level);
+
+        final MapTileGame loaded = new MapTileGame();
+        final MapTilePersisterCompact persister = loaded.addFeatureAndGet(new MapTilePersisterCompact());
+
+        assertThrowsIo(() -> persister.load(level), MapTilePersisterCompact.ERROR_FORMAT);
+        assertTrue(level.getFile().delete());
+    }
+
+    /**
+     * Test the constructor with invalid argument.
+     */
+    @Test
+    public void testConstructorInvalid()
+    {
+        assertThrows(() -> new MapTilePersisterCompact(0), "Invalid argument: 0 is not strictly superior to 0");
+    }
+}
@@ -27,6 +27,11 @@ import static com.b3dgs.lionengine.game.feature.tile.map.UtilMap.TRANSITION2;
 import static com.b3dgs.lionengine.game.feature.tile.map.UtilMap.TREE;
 import static com.b3dgs.lionengine.game.feature.tile.map.UtilMap.WATER;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -36,6 +41,7 @@ import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.game.feature.UtilTransformable;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
 import com.b3dgs.lionengine.game.feature.tile.map.UtilMap;
 
@@ -128,4 +134,109 @@ public final class MapTileTransitionModelTest
         testResolution(TILE_TREE, TREE, TILE_GROUND, GROUND, TRANSITION2);
         testResolution(TILE_TREE, TREE, TILE_WATER, WATER, TRANSITION);
     }
+
+    /**
+     * Test the map transition resolution follows a group change.
+     */
+    @Test
+    public void testGroupChanged()
+    {
+        final MapTile map = UtilMap.createMap(12);
+        UtilMap.fill(map, TILE_WATER);
+        map.getFeature(MapTileTransition.class).loadTransitions(config);
+
+        final MapTileGroup mapGroup = map.getFeature(MapTileGroup.class);
+        final MapTileTransition mapTransition = map.getFeature(MapTileTransitionModel.class);
+
+        map.setTile(4, 4, TILE_GROUND);
+        mapTransition.resolve(map.getTile(4, 4));
+
+        assertEquals(TRANSITION, mapGroup.getGroup(map.getTile(3, 3)));
+
+        mapGroup.changeGroup(map.getTile(0, 0), GROUND);
+        map.setTile(8, 8, TILE_GROUND);
+        mapTransition.resolve(map.getTile(8, 8));
+
+        for (final Tile neighbor : map.getNeighbors(map.getTile(8, 8)))
+        {
+            assertEquals(TILE_WATER, neighbor.getNumber());
+            assertEquals(GROUND, mapGroup.getGroup(neighbor));
+        }
+    }
+
+    /**
+     * Test the map transition resolution in a transaction of one tile, compared to a direct resolution.
+     */
+    @Test
+    public void testTransactionTile()
+    {
+        final MapTile expected = UtilMap.createMap(12);
+        final MapTile map = UtilMap.createMap(12);
+        UtilMap.fill(expected, TILE_WATER);
+        UtilMap.fill(map, TILE_WATER);
+        expected.getFeature(MapTileTransition.class).loadTransitions(config);
+        map.getFeature(MapTileTransition.class).loadTransitions(config);
+
+        expected.setTile(6, 6, TILE_GROUND);
+        expected.getFeature(MapTileTransition.class).resolve(expected.getTile(6, 6));
+
+        map.beginTransaction();
+        map.setTile(6, 6, TILE_GROUND);
+        map.commitTransaction();
+
+        for (int tx = 0; tx < map.getInTileWidth(); tx++)
+        {
+            for (int ty = 0; ty < map.getInTileHeight(); ty++)
+            {
+                assertEquals(expected.getTile(tx, ty).getNumber(), map.getTile(tx, ty).getNumber());
+            }
+        }
+    }
+
+    /**
+     * Test the map transition resolution in a transaction of an area.
+     */
+    @Test
+    public void testTransactionArea()
+    {
+        final MapTileGame map = UtilMap.createMap(12);
+        UtilMap.fill(map, TILE_WATER);
+        map.getFeature(MapTileTransition.class).loadTransitions(config);
+        final MapTileGroup mapGroup = map.getFeature(MapTileGroup.class);
+
+        final List<Tile> set = new ArrayList<>();
+        map.addListener(set::add);
+        map.beginTransaction();
+        for (int tx = 4; tx < 8; tx++)
+        {
+            for (int ty = 3; ty < 6; ty++)
+            {
+                map.setTile(tx, ty, TILE_GROUND);
+            }
+        }
+
+        assertTrue(set.isEmpty());
+        assertEquals(WATER, mapGroup.getGroup(map.getTile(3, 4)));
+
+        final Collection<Tile> changed = map.commitTransaction();
+
+        assertEquals(TRANSITION, mapGroup.getGroup(map.getTile(3, 4)));
+        assertEquals(GROUND, mapGroup.getGroup(map.getTile(5, 4)));
+        assertEquals(WATER, mapGroup.getGroup(map.getTile(0, 0)));
+        assertEquals(changed, set);
+        assertEquals(set.size(), new HashSet<>(set).size());
+
+        int count = 0;
+        for (int tx = 0; tx < map.getInTileWidth(); tx++)
+        {
+            for (int ty = 0; ty < map.getInTileHeight(); ty++)
+            {
+                if (map.getTile(tx, ty).getNumber() != TILE_WATER)
+                {
+                    count++;
+                }
+            }
+        }
+        assertEquals(count, set.size());
+    }
 }
@@ -51,6 +51,43 @@ import com.b3dgs.lionengine.graphic.Graphics;
  */
 public final class MapGeneratorTest
 {
+    /**
+     * Assert maps have the same tiles.
+     * 
+     * @param expected The expected map.
+     * @param map The map to check.
+     */
+    private static void assertMapEquals(MapTile expected, MapTile map)
+    {
+        assertEquals(expected.getInTileWidth(), map.getInTileWidth());
+        assertEquals(expected.getInTileHeight(), map.getInTileHeight());
+
+        for (int tx = 0; tx < map.getInTileWidth(); tx++)
+        {
+            for (int ty = 0; ty < map.getInTileHeight(); ty++)
+            {
+                assertEquals(expected.getTile(tx, ty).getNumber(), map.getTile(tx, ty).getNumber());
+            }
+        }
+    }
+
+    /**
+     * Create a map ready for generation.
+     * 
+     * @return The created map.
+     */
+    private static MapTileGame createMap()
+    {
+        final MapTileGame map = new MapTileGame();
+        map.loadSheets(Medias.create("sheets.xml"));
+        map.addFeatureAndGet(new MapTileGroupModel()).loadGroups(Medias.create("groups.xml"));
+        map.addFeatureAndGet(new MapTileTransitionModel())
+           .loadTransitions(Arrays.asList(Medias.create("forest.png")),
+                            Medias.create("sheets.xml"),
+                            Medias.create("groups.xml"));
+        return map;
+    }
+
     /**
      * Prepare test.
      */
@@ -143,4 +180,40 @@ public final class MapGeneratorTest
             }
         }
     }
+
+    /**
+     * Test the map generator with a seed.
+     */
+    @Test
+    public void testGeneratorSeed()
+    {
+        final MapTile expected = generator.generateMap(parameters,
+                                                       Arrays.asList(Medias.create("forest.png")),
+                                                       Medias.create("sheets.xml"),
+                                                       Medias.create("groups.xml"),
+                                                       42L);
+        final MapTile generated = generator.generateMap(parameters,
+                                                        Arrays.asList(Medias.create("forest.png")),
+                                                        Medias.create("sheets.xml"),
+                                                        Medias.create("groups.xml"),
+                                                        42L);
+
+        assertEquals(64, generated.getInTileWidth());
+        assertEquals(48, generated.getInTileHeight());
+        assertMapEquals(expected, generated);
+    }
+
+    /**
+     * Test the map generator by region does not depend on region size.
+     */
+    @Test
+    public void testGeneratorRegions()
+    {
+        final MapTileGame expected = createMap();
+        final MapTileGame map = createMap();
+        parameters.apply(expected, 7L, 64);
+        parameters.apply(map, 7L, 5);
+
+        assertMapEquals(expected, map);
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.generator;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilRandom;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroup;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGroupModel;
+import com.b3dgs.lionengine.game.feature.tile.map.transition.MapTileTransitionModel;
+import com.b3dgs.lionengine.game.feature.tile.map.transition.circuit.MapTileCircuitModel;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
+
+/**
+ * Test {@link PrefMapRegion}.
+ */
+public final class PrefMapRegionTest
+{
+    /** Grass tile. */
+    private static final int GRASS = 0;
+    /** Road tile. */
+    private static final int ROAD = 1;
+    /** Road group. */
+    private static final String GROUP_ROAD = "road";
+
+    /**
+     * Prepare test.
+     */
+    @BeforeAll
+    public static void beforeTests()
+    {
+        Medias.setResourcesDirectory(System.getProperty("java.io.tmpdir"));
+        Medias.setLoadFromJar(PrefMapRegionTest.class);
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+    }
+
+    /**
+     * Clean up test.
+     */
+    @AfterAll
+    public static void afterTests()
+    {
+        Medias.setResourcesDirectory(null);
+        Medias.setLoadFromJar(null);
+        Graphics.setFactoryGraphic(null);
+    }
+
+    /** Map reference. */
+    private final MapTileGame map = new MapTileGame();
+    /** Map groups. */
+    private MapTileGroup mapGroup;
+    /** Isolated road number, before circuit resolution with placed road. */
+    private int isolated;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void before()
+    {
+        map.loadSheets(Medias.create("sheets.xml"));
+        mapGroup = map.addFeatureAndGet(new MapTileGroupModel());
+        mapGroup.loadGroups(Medias.create("groups.xml"));
+        map.addFeatureAndGet(new MapTileTransitionModel()).loadTransitions(Medias.create("transitions.xml"));
+        map.addFeatureAndGet(new MapTileCircuitModel()).loadCircuits(Medias.create("circuits.xml"));
+        map.create(16, 16, 8, 8);
+
+        for (int tx = 0; tx < map.getInTileWidth(); tx++)
+        {
+            for (int ty = 0; ty < map.getInTileHeight(); ty++)
+            {
+                map.setTile(tx, ty, GRASS);
+            }
+        }
+        map.setTile(3, 4, ROAD);
+        isolated = map.getTile(3, 4).getNumber();
+        UtilRandom.setSeed(1L);
+    }
+
+    /**
+     * Test region placement is resolved by map resolvers on commit, as circuit joining placed road to existing one.
+     */
+    @Test
+    public void testApply()
+    {
+        final PrefMapRegion region = new PrefMapRegion(ROAD, new TileArea(4, 4, 4, 4), 1, 20);
+        region.apply(map);
+
+        assertFalse(map.isTransaction());
+        assertEquals(GROUP_ROAD, mapGroup.getGroup(map.getTile(4, 4)));
+        assertEquals(GROUP_ROAD, mapGroup.getGroup(map.getTile(3, 4)));
+        assertNotEquals(isolated, map.getTile(3, 4).getNumber());
+        assertEquals(GRASS, map.getTile(6, 6).getNumber());
+    }
+
+    /**
+     * Test region placement in a started transaction is resolved on its commit only.
+     */
+    @Test
+    public void testApplyInTransaction()
+    {
+        final PrefMapRegion region = new PrefMapRegion(ROAD, new TileArea(4, 4, 4, 4), 1, 20);
+        map.beginTransaction();
+        region.apply(map);
+
+        assertTrue(map.isTransaction());
+        assertEquals(ROAD, map.getTile(4, 4).getNumber());
+        assertEquals(isolated, map.getTile(3, 4).getNumber());
+
+        map.commitTransaction();
+
+        assertFalse(map.isTransaction());
+        assertEquals(GROUP_ROAD, mapGroup.getGroup(map.getTile(4, 4)));
+        assertNotEquals(isolated, map.getTile(3, 4).getNumber());
+    }
+}
@@ -16,11 +16,13 @@
  */
 package com.b3dgs.lionengine.game.feature.tile.map.viewer;
 
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
 import static com.b3dgs.lionengine.UtilAssert.assertFalse;
 import static com.b3dgs.lionengine.UtilAssert.assertTrue;
 
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -31,10 +33,13 @@ import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.ViewerMock;
 import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileRenderer;
+import com.b3dgs.lionengine.graphic.FactoryGraphicMock;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.GraphicMock;
+import com.b3dgs.lionengine.graphic.Graphics;
 import com.b3dgs.lionengine.graphic.ImageBufferMock;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 
@@ -129,4 +134,72 @@ public final class MapTileViewerModelTest
         map.clear();
         mapViewer.render(g);
     }
+
+    /**
+     * Test the chunk cache.
+     */
+    @Test
+    public void testChunkCache()
+    {
+        Graphics.setFactoryGraphic(new FactoryGraphicMock());
+        try
+        {
+            final AtomicInteger rendered = new AtomicInteger();
+            final MapTileViewer chunked = new MapTileViewerModel(services)
+            {
+                @Override
+                public void renderTile(Graphic g, Tile tile, int x, int y)
+                {
+                    rendered.incrementAndGet();
+                    super.renderTile(g, tile, x, y);
+                }
+            };
+            chunked.prepare(map);
+
+            map.loadSheets(Arrays.asList(Drawable.loadSpriteTiled(new ImageBufferMock(80, 80), 40, 40)));
+            map.create(40, 40, 4, 4);
+            for (int ty = 0; ty < 4; ty++)
+            {
+                for (int tx = 0; tx < 4; tx++)
+                {
+                    map.setTile(tx, ty, 0);
+                }
+            }
+            chunked.setChunkCache(2, Long.MAX_VALUE);
+            chunked.render(g);
+
+            assertEquals(16, rendered.get());
+
+            rendered.set(0);
+            chunked.render(g);
+
+            assertEquals(0, rendered.get());
+
+            map.setTile(3, 3, 1);
+            chunked.render(g);
+
+            assertEquals(4, rendered.get());
+
+            chunked.setChunkCache(2, 80 * 80 * 4);
+            rendered.set(0);
+            chunked.render(g);
+
+            assertEquals(16, rendered.get());
+
+            rendered.set(0);
+            chunked.render(g);
+
+            assertEquals(0, rendered.get());
+
+            chunked.setChunkCache(0, 0L);
+            rendered.set(0);
+            chunked.render(g);
+
+            assertEquals(16, rendered.get());
+        }
+        finally
+        {
+            Graphics.setFactoryGraphic(null);
+        }
+    }
 }
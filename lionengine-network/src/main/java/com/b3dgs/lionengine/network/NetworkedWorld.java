@@ -32,12 +32,22 @@ public interface NetworkedWorld extends ClientListener
     void disconnect();
 
     /**
-     * Add a networkable entity to the world.
+     * Add a networkable entity to the world, which receives all messages without entity id.
      * 
      * @param networkable The networkable entity.
      */
     void addNetworkable(Networkable networkable);
 
+    /**
+     * Add a networkable entity to the world, which only receives the
+     * {@link com.b3dgs.lionengine.network.message.NetworkMessageEntity} targeting its entity id. Replaces and
+     * removes any networkable previously routed to this id.
+     * 
+     * @param networkable The networkable entity.
+     * @param entityId The entity id.
+     */
+    void addNetworkable(Networkable networkable, short entityId);
+
     /**
      * Remove a networkable entity to the world.
      * 
@@ -75,4 +85,25 @@ public interface NetworkedWorld extends ClientListener
      * @return The number of bytes sent per second.
      */
     int getBandwidth();
+
+    /**
+     * Get the number of received entity messages delivered to their routed networkable.
+     * 
+     * @return The routed messages number.
+     */
+    long getRoutedMessages();
+
+    /**
+     * Get the number of received messages without entity id, delivered to all networkables added without id.
+     * 
+     * @return The broadcast messages number.
+     */
+    long getBroadcastMessages();
+
+    /**
+     * Get the number of received entity messages without routed networkable, not delivered to any networkable.
+     * 
+     * @return The dropped messages number.
+     */
+    long getDroppedMessages();
 }
@@ -18,29 +18,71 @@ package com.b3dgs.lionengine.network;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 import com.b3dgs.lionengine.network.message.NetworkMessage;
+import com.b3dgs.lionengine.network.message.NetworkMessageEntity;
+import com.b3dgs.lionengine.network.message.NetworkMessageEntityPacked;
 import com.b3dgs.lionengine.network.purview.Networkable;
 
 /**
  * Networked world base implementation.
+ * <p>
+ * Received {@link NetworkMessageEntity} and {@link NetworkMessageEntityPacked} are routed by entity id to the
+ * networkable added with this id only, and dropped if no networkable is added with this id. Other messages are
+ * delivered to all networkables added without id.
+ * </p>
  * 
  * @param <L> Listener type.
  * @param <N> Network implementation.
  */
 abstract class NetworkedWorldModel<L extends ClientListener, N extends NetworkModel<L>> implements NetworkedWorld
 {
+    /**
+     * Get the message entity id.
+     * 
+     * @param message The message reference.
+     * @return The entity id, <code>-1</code> if not an entity message.
+     */
+    private static short getEntityId(NetworkMessage message)
+    {
+        if (message instanceof NetworkMessageEntity)
+        {
+            return ((NetworkMessageEntity<?>) message).getEntityId();
+        }
+        if (message instanceof NetworkMessageEntityPacked)
+        {
+            return ((NetworkMessageEntityPacked) message).getEntityId();
+        }
+        return -1;
+    }
+
     /** List of networkable objects. */
     protected final Collection<Networkable> networkables;
     /** List of networkable objects. */
     protected final Collection<Networkable> toAdd;
+    /** Networkable objects added without entity id, receiving all non entity messages. */
+    private final Collection<Networkable> broadcast = new ArrayList<>();
+    /** Networkable objects by entity id. */
+    private final Map<Short, Networkable> routes = new HashMap<>();
+    /** Entity id by routed networkable object. */
+    private final Map<Networkable, Short> routed = new HashMap<>();
+    /** Networkable objects to add with their entity id. */
+    private final Map<Networkable, Short> toRoute = new HashMap<>();
     /** The client connection listener. */
     protected final Collection<L> listeners;
     /** The network. */
     protected final N network;
     /** Will add. */
     private boolean willAdd;
+    /** Routed messages number. */
+    private long routedMessages;
+    /** Broadcast messages number. */
+    private long broadcastMessages;
+    /** Dropped messages number. */
+    private long droppedMessages;
 
     /**
      * Internal constructor.
@@ -76,6 +118,63 @@ abstract class NetworkedWorldModel<L extends ClientListener, N extends NetworkMo
         listeners.remove(listener);
     }
 
+    /**
+     * Add pending networkable objects.
+     */
+    private void addPending()
+    {
+        for (final Networkable networkable : toAdd)
+        {
+            final Short entityId = toRoute.remove(networkable);
+            detach(networkable);
+            if (entityId == null)
+            {
+                broadcast.add(networkable);
+            }
+            else
+            {
+                final Networkable old = routes.put(entityId, networkable);
+                if (old != null)
+                {
+                    routed.remove(old);
+                    networkables.remove(old);
+                }
+                routed.put(networkable, entityId);
+            }
+            networkables.add(networkable);
+        }
+        toAdd.clear();
+        willAdd = false;
+    }
+
+    /**
+     * Detach networkable object from its broadcast or entity id route.
+     * 
+     * @param networkable The networkable object.
+     */
+    private void detach(Networkable networkable)
+    {
+        broadcast.remove(networkable);
+        final Short entityId = routed.remove(networkable);
+        if (entityId != null)
+        {
+            routes.remove(entityId);
+        }
+    }
+
+    /**
+     * Deliver message to networkable objects added without entity id.
+     * 
+     * @param message The message to deliver.
+     */
+    private void deliverBroadcast(NetworkMessage message)
+    {
+        for (final Networkable networkable : broadcast)
+        {
+            networkable.applyMessage(message);
+        }
+    }
+
     /*
      * NetworkedWorld
      */
@@ -98,10 +197,19 @@ abstract class NetworkedWorldModel<L extends ClientListener, N extends NetworkMo
         willAdd = true;
     }
 
+    @Override
+    public void addNetworkable(Networkable networkable, short entityId)
+    {
+        toAdd.add(networkable);
+        toRoute.put(networkable, Short.valueOf(entityId));
+        willAdd = true;
+    }
+
     @Override
     public void removeNetworkable(Networkable networkable)
     {
         networkables.remove(networkable);
+        detach(networkable);
     }
 
     @Override
@@ -132,19 +240,30 @@ abstract class NetworkedWorldModel<L extends ClientListener, N extends NetworkMo
     {
         if (willAdd)
         {
-            for (final Networkable networkable : toAdd)
-            {
-                networkables.add(networkable);
-            }
-            toAdd.clear();
-            willAdd = false;
+            addPending();
         }
         network.receiveMessages();
         for (final NetworkMessage message : network.getMessages())
         {
-            for (final Networkable networkable : networkables)
+            final short id = getEntityId(message);
+            if (id >= 0)
+            {
+                final Short entityId = Short.valueOf(id);
+                final Networkable networkable = routes.get(entityId);
+                if (networkable != null)
+                {
+                    networkable.applyMessage(message);
+                    routedMessages++;
+                }
+                else
+                {
+                    droppedMessages++;
+                }
+            }
+            else
             {
-                networkable.applyMessage(message);
+                deliverBroadcast(message);
+                broadcastMessages++;
             }
         }
     }
@@ -155,6 +274,24 @@ abstract class NetworkedWorldModel<L extends ClientListener, N extends NetworkMo
         return network.getBandwidth();
     }
 
+    @Override
+    public long getRoutedMessages()
+    {
+        return routedMessages;
+    }
+
+    @Override
+    public long getBroadcastMessages()
+    {
+        return broadcastMessages;
+    }
+
+    @Override
+    public long getDroppedMessages()
+    {
+        return droppedMessages;
+    }
+
     @Override
     public void notifyClientConnected(Byte id, String name)
     {
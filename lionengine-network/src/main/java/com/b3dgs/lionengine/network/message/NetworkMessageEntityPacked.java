@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.message;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilConversion;
+import com.b3dgs.lionengine.UtilVarint;
+
+/**
+ * Entity message with fields described by a {@link NetworkMessageSchema}, stored as primitives and bit-packed on
+ * encoding. Only present fields are sent, preceded by a presence bit per schema field.
+ * <p>
+ * Unlike {@link NetworkMessageEntity}, values are not boxed. Decoded messages are queued before being applied, so
+ * the {@link NetworkMessageDecoder} must return a new instance for each received message.
+ * </p>
+ * <p>
+ * Layout: entity id (short), payload length in bytes (varint), presence bits, present fields bits (most significant
+ * bit first).
+ * </p>
+ */
+public class NetworkMessageEntityPacked extends NetworkMessage
+{
+    /** Invalid length error. */
+    static final String ERROR_LENGTH = "Invalid packed message length: ";
+    /** Bits per byte. */
+    private static final int BYTE_BITS = Byte.SIZE;
+
+    /**
+     * Get the maximum payload bytes of a schema.
+     * 
+     * @param schema The schema reference.
+     * @return The maximum bytes number.
+     */
+    private static int getMaxBytes(NetworkMessageSchema schema)
+    {
+        return (schema.getCount() + schema.getTotalBits() + BYTE_BITS - 1) / BYTE_BITS;
+    }
+
+    /** Fields schema. */
+    private final NetworkMessageSchema schema;
+    /** Quantized fields values. */
+    private final long[] values;
+    /** Packing buffer. */
+    private final byte[] data;
+    /** Present fields mask. */
+    private long present;
+    /** Entity number. */
+    private short entityId;
+
+    /**
+     * Constructor (used in decoding case).
+     * 
+     * @param schema The fields schema (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public NetworkMessageEntityPacked(NetworkMessageSchema schema)
+    {
+        super();
+
+        Check.notNull(schema);
+
+        this.schema = schema;
+        values = new long[schema.getCount()];
+        data = new byte[getMaxBytes(schema)];
+        entityId = -1;
+    }
+
+    /**
+     * Constructor (used to identify an entity from the server).
+     * 
+     * @param schema The fields schema (must not be <code>null</code>).
+     * @param type The message type.
+     * @param entityId The entity id.
+     * @throws LionEngineException If invalid argument.
+     */
+    public NetworkMessageEntityPacked(NetworkMessageSchema schema, byte type, short entityId)
+    {
+        this(schema, type, entityId, (byte) -1);
+    }
+
+    /**
+     * Constructor (used to identify an entity from the server).
+     * 
+     * @param schema The fields schema (must not be <code>null</code>).
+     * @param type The message type.
+     * @param entityId The entity id.
+     * @param destId The client destination.
+     * @throws LionEngineException If invalid argument.
+     */
+    public NetworkMessageEntityPacked(NetworkMessageSchema schema, byte type, short entityId, byte destId)
+    {
+        super(type, (byte) -1, destId);
+
+        Check.notNull(schema);
+
+        this.schema = schema;
+        values = new long[schema.getCount()];
+        data = new byte[getMaxBytes(schema)];
+        this.entityId = entityId;
+    }
+
+    /**
+     * Set a boolean field.
+     * 
+     * @param field The field index.
+     * @param value The field value.
+     */
+    public void setBoolean(int field, boolean value)
+    {
+        set(field, value ? 1L : 0L);
+    }
+
+    /**
+     * Set an integer field. Value is clamped to field range.
+     * 
+     * @param field The field index.
+     * @param value The field value.
+     */
+    public void setInteger(int field, int value)
+    {
+        set(field, schema.quantize(field, value));
+    }
+
+    /**
+     * Set a decimal field. Value is clamped to field range and quantized to field precision.
+     * 
+     * @param field The field index.
+     * @param value The field value.
+     */
+    public void setDouble(int field, double value)
+    {
+        set(field, schema.quantize(field, value));
+    }
+
+    /**
+     * Get a boolean field.
+     * 
+     * @param field The field index.
+     * @return The field value, <code>false</code> if not present.
+     */
+    public boolean getBoolean(int field)
+    {
+        return values[field] != 0L;
+    }
+
+    /**
+     * Get an integer field.
+     * 
+     * @param field The field index.
+     * @return The field value, field minimum if not present.
+     */
+    public int getInteger(int field)
+    {
+        return schema.toInteger(field, values[field]);
+    }
+
+    /**
+     * Get a decimal field.
+     * 
+     * @param field The field index.
+     * @return The quantized field value, field minimum if not present.
+     */
+    public double getDouble(int field)
+    {
+        return schema.toDouble(field, values[field]);
+    }
+
+    /**
+     * Check if field is present.
+     * 
+     * @param field The field index.
+     * @return <code>true</code> if set or decoded, <code>false</code> else.
+     */
+    public boolean has(int field)
+    {
+        return (present & 1L << field) != 0L;
+    }
+
+    /**
+     * Remove all fields.
+     */
+    public void clear()
+    {
+        present = 0L;
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = 0L;
+        }
+    }
+
+    /**
+     * Get the entity id.
+     * 
+     * @return The entity id.
+     */
+    public short getEntityId()
+    {
+        return entityId;
+    }
+
+    /**
+     * Get the fields schema.
+     * 
+     * @return The fields schema.
+     */
+    public NetworkMessageSchema getSchema()
+    {
+        return schema;
+    }
+
+    /**
+     * Set field quantized value.
+     * 
+     * @param field The field index.
+     * @param value The quantized value.
+     */
+    private void set(int field, long value)
+    {
+        values[field] = value;
+        present |= 1L << field;
+    }
+
+    /**
+     * Write bits to packing buffer.
+     * 
+     * @param offset The bit offset.
+     * @param bits The bits number.
+     * @param value The value to write.
+     * @return The next bit offset.
+     */
+    private int writeBits(int offset, int bits, long value)
+    {
+        int current = offset;
+        for (int i = bits - 1; i >= 0; i--)
+        {
+            if ((value >>> i & 1L) != 0L)
+            {
+                data[current / BYTE_BITS] |= 1 << BYTE_BITS - 1 - current % BYTE_BITS;
+            }
+            current++;
+        }
+        return current;
+    }
+
+    /**
+     * Read bits from packing buffer.
+     * 
+     * @param offset The bit offset.
+     * @param bits The bits number.
+     * @return The read value.
+     */
+    private long readBits(int offset, int bits)
+    {
+        long value = 0L;
+        for (int i = 0; i < bits; i++)
+        {
+            final int current = offset + i;
+            final int bit = data[current / BYTE_BITS] >>> BYTE_BITS - 1 - current % BYTE_BITS & 1;
+            value = value << 1 | bit;
+        }
+        return value;
+    }
+
+    /*
+     * NetworkMessage
+     */
+
+    @Override
+    protected void encode(ByteArrayOutputStream buffer) throws IOException
+    {
+        buffer.write(UtilConversion.shortToByteArray(entityId));
+
+        final int count = schema.getCount();
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = 0;
+        }
+
+        int offset = writeBits(0, count, present);
+        for (int i = 0; i < count; i++)
+        {
+            if (has(i))
+            {
+                offset = writeBits(offset, schema.getBits(i), values[i]);
+            }
+        }
+        final int length = (offset + BYTE_BITS - 1) / BYTE_BITS;
+        UtilVarint.write(buffer, length);
+        buffer.write(data, 0, length);
+    }
+
+    @Override
+    protected void decode(DataInputStream buffer) throws IOException
+    {
+        entityId = buffer.readShort();
+
+        final int length = UtilVarint.read(buffer);
+        if (length < 0 || length > data.length)
+        {
+            throw new IOException(ERROR_LENGTH + length);
+        }
+        buffer.readFully(data, 0, length);
+
+        final int count = schema.getCount();
+        present = readBits(0, count);
+        int offset = count;
+        for (int i = 0; i < count; i++)
+        {
+            if (has(i))
+            {
+                final int bits = schema.getBits(i);
+                values[i] = readBits(offset, bits);
+                offset += bits;
+            }
+            else
+            {
+                values[i] = 0L;
+            }
+        }
+    }
+}
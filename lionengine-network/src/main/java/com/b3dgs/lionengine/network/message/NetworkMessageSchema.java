@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.message;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Fields declaration of a {@link NetworkMessageEntityPacked}. Each field is registered once, with its range (and
+ * precision for decimals), which defines the number of bits used to send it. Values are clamped to their range.
+ * <p>
+ * Schema must be fully declared before its first message is encoded, and declared identically on both sides.
+ * </p>
+ */
+public final class NetworkMessageSchema
+{
+    /** Maximum fields number. */
+    public static final int FIELDS_MAX = Long.SIZE;
+    /** Maximum bits per field. */
+    private static final int BITS_MAX = Integer.SIZE;
+
+    /**
+     * Get the number of bits needed to store a range.
+     * 
+     * @param range The range (positive).
+     * @return The bits number.
+     */
+    private static int getBits(long range)
+    {
+        return Long.SIZE - Long.numberOfLeadingZeros(range);
+    }
+
+    /** Fields bits. */
+    private int[] bits = new int[0];
+    /** Fields minimum value. */
+    private double[] min = new double[0];
+    /** Fields maximum steps. */
+    private long[] steps = new long[0];
+    /** Fields step size, <code>0</code> if integer. */
+    private double[] precision = new double[0];
+    /** Fields number. */
+    private int count;
+    /** Sum of fields bits. */
+    private int totalBits;
+
+    /**
+     * Create an empty schema.
+     */
+    public NetworkMessageSchema()
+    {
+        super();
+    }
+
+    /**
+     * Add a boolean field (1 bit).
+     * 
+     * @return The field index.
+     * @throws LionEngineException If too many fields.
+     */
+    public int addBoolean()
+    {
+        return addInteger(0, 1);
+    }
+
+    /**
+     * Add an integer field.
+     * 
+     * @param min The minimum value.
+     * @param max The maximum value (must be superior or equal to min, range up to 32 bits).
+     * @return The field index.
+     * @throws LionEngineException If invalid arguments or too many fields.
+     */
+    public int addInteger(int min, int max)
+    {
+        Check.superiorOrEqual(max, min);
+
+        return add(min, (long) max - min, 0.0);
+    }
+
+    /**
+     * Add a decimal field, quantized with the specified precision.
+     * 
+     * @param min The minimum value.
+     * @param max The maximum value (must be superior to min).
+     * @param precision The quantization step (must be strictly positive, range up to 32 bits).
+     * @return The field index.
+     * @throws LionEngineException If invalid arguments or too many fields.
+     */
+    public int addDouble(double min, double max, double precision)
+    {
+        Check.superiorStrict(max, min);
+        Check.superiorStrict(precision, 0.0);
+
+        return add(min, (long) Math.ceil((max - min) / precision), precision);
+    }
+
+    /**
+     * Get the fields number.
+     * 
+     * @return The fields number.
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Get the maximum encoded bits number (all fields present, excluding presence bits).
+     * 
+     * @return The total bits.
+     */
+    public int getTotalBits()
+    {
+        return totalBits;
+    }
+
+    /**
+     * Get field bits.
+     * 
+     * @param field The field index.
+     * @return The field bits.
+     */
+    int getBits(int field)
+    {
+        return bits[field];
+    }
+
+    /**
+     * Check if field is decimal.
+     * 
+     * @param field The field index.
+     * @return <code>true</code> if decimal, <code>false</code> if integer or boolean.
+     */
+    boolean isDecimal(int field)
+    {
+        return precision[field] > 0.0;
+    }
+
+    /**
+     * Quantize an integer value.
+     * 
+     * @param field The field index.
+     * @param value The value.
+     * @return The quantized value.
+     */
+    long quantize(int field, long value)
+    {
+        return Math.max(0L, Math.min(steps[field], value - (long) min[field]));
+    }
+
+    /**
+     * Quantize a decimal value.
+     * 
+     * @param field The field index.
+     * @param value The value.
+     * @return The quantized value.
+     */
+    long quantize(int field, double value)
+    {
+        final long step = Math.round((value - min[field]) / precision[field]);
+        return Math.max(0L, Math.min(steps[field], step));
+    }
+
+    /**
+     * Get integer value from quantized one.
+     * 
+     * @param field The field index.
+     * @param raw The quantized value.
+     * @return The integer value.
+     */
+    int toInteger(int field, long raw)
+    {
+        return (int) (raw + (long) min[field]);
+    }
+
+    /**
+     * Get decimal value from quantized one.
+     * 
+     * @param field The field index.
+     * @param raw The quantized value.
+     * @return The decimal value.
+     */
+    double toDouble(int field, long raw)
+    {
+        return min[field] + raw * precision[field];
+    }
+
+    /**
+     * Add a field.
+     * 
+     * @param minimum The minimum value.
+     * @param range The steps range.
+     * @param step The step size, <code>0</code> if integer.
+     * @return The field index.
+     * @throws LionEngineException If too many fields or too large range.
+     */
+    private int add(double minimum, long range, double step)
+    {
+        Check.inferiorStrict(count, FIELDS_MAX);
+        final int fieldBits = getBits(range);
+        Check.inferiorOrEqual(fieldBits, BITS_MAX);
+
+        bits = Arrays.copyOf(bits, count + 1);
+        min = Arrays.copyOf(min, count + 1);
+        steps = Arrays.copyOf(steps, count + 1);
+        precision = Arrays.copyOf(precision, count + 1);
+
+        bits[count] = fieldBits;
+        min[count] = minimum;
+        steps[count] = range;
+        precision[count] = step;
+        totalBits += fieldBits;
+
+        return count++;
+    }
+}
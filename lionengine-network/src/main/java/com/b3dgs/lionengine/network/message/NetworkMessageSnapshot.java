@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.message;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import com.b3dgs.lionengine.UtilConversion;
+
+/**
+ * Snapshot delta message, sent by server to a client. Data is the delta between the client acknowledged snapshot
+ * (baseline) and the current snapshot.
+ * 
+ * @see com.b3dgs.lionengine.network.snapshot.SnapshotServer
+ * @see com.b3dgs.lionengine.network.snapshot.SnapshotClient
+ */
+public class NetworkMessageSnapshot extends NetworkMessage
+{
+    /** Baseline tick, <code>-1</code> if full snapshot. */
+    private int baseline;
+    /** Snapshot tick. */
+    private int tick;
+    /** Delta data. */
+    private byte[] data;
+
+    /**
+     * Constructor (used in decoding case).
+     */
+    public NetworkMessageSnapshot()
+    {
+        super();
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param type The message type.
+     * @param clientDestId The client destination.
+     * @param baseline The baseline tick, <code>-1</code> if full snapshot.
+     * @param tick The snapshot tick.
+     * @param data The delta data.
+     */
+    public NetworkMessageSnapshot(byte type, byte clientDestId, int baseline, int tick, byte[] data)
+    {
+        super(type, (byte) -1, clientDestId);
+
+        this.baseline = baseline;
+        this.tick = tick;
+        this.data = data;
+    }
+
+    /**
+     * Get the baseline tick.
+     * 
+     * @return The baseline tick, <code>-1</code> if full snapshot.
+     */
+    public int getBaseline()
+    {
+        return baseline;
+    }
+
+    /**
+     * Get the snapshot tick.
+     * 
+     * @return The snapshot tick.
+     */
+    public int getTick()
+    {
+        return tick;
+    }
+
+    /**
+     * Get the delta data.
+     * 
+     * @return The delta data.
+     */
+    public byte[] getData()
+    {
+        return data;
+    }
+
+    /*
+     * NetworkMessage
+     */
+
+    @Override
+    protected void encode(ByteArrayOutputStream buffer) throws IOException
+    {
+        buffer.write(UtilConversion.intToByteArray(baseline));
+        buffer.write(UtilConversion.intToByteArray(tick));
+        buffer.write(data);
+    }
+
+    @Override
+    protected void decode(DataInputStream buffer) throws IOException
+    {
+        baseline = buffer.readInt();
+        tick = buffer.readInt();
+        data = new byte[buffer.available()];
+        buffer.readFully(data);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.message;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import com.b3dgs.lionengine.UtilConversion;
+
+/**
+ * Snapshot acknowledge message, sent by client to server with its last rebuilt snapshot tick.
+ * 
+ * @see com.b3dgs.lionengine.network.snapshot.SnapshotServer
+ * @see com.b3dgs.lionengine.network.snapshot.SnapshotClient
+ */
+public class NetworkMessageSnapshotAck extends NetworkMessage
+{
+    /** Acknowledged tick. */
+    private int tick;
+
+    /**
+     * Constructor (used in decoding case).
+     */
+    public NetworkMessageSnapshotAck()
+    {
+        super();
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param type The message type.
+     * @param clientId The client id.
+     * @param tick The acknowledged tick.
+     */
+    public NetworkMessageSnapshotAck(byte type, byte clientId, int tick)
+    {
+        super(type, clientId);
+
+        this.tick = tick;
+    }
+
+    /**
+     * Get the acknowledged tick.
+     * 
+     * @return The acknowledged tick.
+     */
+    public int getTick()
+    {
+        return tick;
+    }
+
+    /*
+     * NetworkMessage
+     */
+
+    @Override
+    protected void encode(ByteArrayOutputStream buffer) throws IOException
+    {
+        buffer.write(UtilConversion.intToByteArray(tick));
+    }
+
+    @Override
+    protected void decode(DataInputStream buffer) throws IOException
+    {
+        tick = buffer.readInt();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.snapshot;
+
+/**
+ * Describe an object which state is replicated by snapshot.
+ * 
+ * @see SnapshotServer
+ */
+public interface Replicable
+{
+    /**
+     * Capture the replicated fields (decimals should be stored as fixed point).
+     * 
+     * @param fields The fields to fill, reset to <code>0</code> before each capture.
+     */
+    void capture(int[] fields);
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Entities state at a tick. Entities are sorted by id, each having the same fields number.
+ */
+final class Snapshot
+{
+    /** Default capacity. */
+    private static final int CAPACITY = 16;
+
+    /** Fields per entity. */
+    private final int fields;
+    /** Entities id. */
+    private short[] ids = new short[CAPACITY];
+    /** Entities fields values. */
+    private int[] values;
+    /** Entities number. */
+    private int count;
+    /** Snapshot tick, <code>-1</code> if none. */
+    private int tick = -1;
+
+    /**
+     * Create snapshot.
+     * 
+     * @param fields The fields per entity.
+     */
+    Snapshot(int fields)
+    {
+        super();
+
+        this.fields = fields;
+        values = new int[CAPACITY * fields];
+    }
+
+    /**
+     * Remove all entities and set tick.
+     * 
+     * @param tick The new tick.
+     */
+    void clear(int tick)
+    {
+        this.tick = tick;
+        count = 0;
+    }
+
+    /**
+     * Add an entity after the last one, with all fields set to <code>0</code>.
+     * 
+     * @param id The entity id (must be superior to the last added).
+     * @return The entity index.
+     */
+    int add(short id)
+    {
+        if (count == ids.length)
+        {
+            ids = Arrays.copyOf(ids, count * 2);
+            values = Arrays.copyOf(values, count * 2 * fields);
+        }
+        ids[count] = id;
+        Arrays.fill(values, count * fields, (count + 1) * fields, 0);
+        return count++;
+    }
+
+    /**
+     * Copy snapshot.
+     * 
+     * @param other The snapshot to copy.
+     */
+    void copy(Snapshot other)
+    {
+        if (ids.length < other.count)
+        {
+            ids = new short[other.ids.length];
+            values = new int[other.values.length];
+        }
+        System.arraycopy(other.ids, 0, ids, 0, other.count);
+        System.arraycopy(other.values, 0, values, 0, other.count * fields);
+        count = other.count;
+        tick = other.tick;
+    }
+
+    /**
+     * Find entity index.
+     * 
+     * @param id The entity id.
+     * @return The entity index, negative if not found.
+     */
+    int find(short id)
+    {
+        return Arrays.binarySearch(ids, 0, count, id);
+    }
+
+    /**
+     * Set entity field value.
+     * 
+     * @param index The entity index.
+     * @param field The field index.
+     * @param value The field value.
+     */
+    void setValue(int index, int field, int value)
+    {
+        values[index * fields + field] = value;
+    }
+
+    /**
+     * Get entity field value.
+     * 
+     * @param index The entity index.
+     * @param field The field index.
+     * @return The field value.
+     */
+    int getValue(int index, int field)
+    {
+        return values[index * fields + field];
+    }
+
+    /**
+     * Get entity id.
+     * 
+     * @param index The entity index.
+     * @return The entity id.
+     */
+    short getId(int index)
+    {
+        return ids[index];
+    }
+
+    /**
+     * Get entities number.
+     * 
+     * @return The entities number.
+     */
+    int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Get the snapshot tick.
+     * 
+     * @return The snapshot tick, <code>-1</code> if none.
+     */
+    int getTick()
+    {
+        return tick;
+    }
+}
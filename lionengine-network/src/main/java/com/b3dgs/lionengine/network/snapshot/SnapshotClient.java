@@ -0,0 +1,421 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilVarint;
+import com.b3dgs.lionengine.network.message.NetworkMessageSnapshot;
+import com.b3dgs.lionengine.network.message.NetworkMessageSnapshotAck;
+
+/**
+ * Client side snapshot replication. Received deltas are applied on their baseline to rebuild the server snapshot,
+ * and the two last rebuilt snapshots are kept to interpolate entities state.
+ * <p>
+ * Deltas older than the last rebuilt snapshot, or which baseline is not known anymore, are ignored. The last rebuilt
+ * tick must be acknowledged to server (see {@link #createAck(byte, byte)}).
+ * </p>
+ * 
+ * @see SnapshotServer
+ */
+public class SnapshotClient
+{
+    /** Invalid data error. */
+    static final String ERROR_DATA = "Invalid snapshot data";
+    /** Minimum history size. */
+    private static final int HISTORY_MIN = 2;
+
+    /** Rebuilt snapshots by tick modulo history. */
+    private final Snapshot[] history;
+    /** Previous rebuilt snapshot. */
+    private final Snapshot previous;
+    /** Last rebuilt snapshot. */
+    private final Snapshot latest;
+    /** Fields per entity. */
+    private final int fields;
+    /** Rebuild snapshot, swapped with history. */
+    private Snapshot rebuild;
+    /** Removed entities id. */
+    private short[] removed = new short[0];
+    /** Changed entities id. */
+    private short[] changedIds = new short[0];
+    /** Changed entities fields difference. */
+    private int[] changedValues = new int[0];
+    /** Current delta data. */
+    private ByteBuffer data;
+    /** Rejected deltas number. */
+    private int rejected;
+
+    /**
+     * Create client replication.
+     * 
+     * @param fields The replicated fields per entity, as declared on server (must be strictly positive and inferior or
+     *            equal to {@link SnapshotServer#FIELDS_MAX}).
+     * @param history The rebuilt snapshots history size (must be superior or equal to 2).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public SnapshotClient(int fields, int history)
+    {
+        super();
+
+        Check.superiorStrict(fields, 0);
+        Check.inferiorOrEqual(fields, SnapshotServer.FIELDS_MAX);
+        Check.superiorOrEqual(history, HISTORY_MIN);
+
+        this.fields = fields;
+        this.history = new Snapshot[history];
+        for (int i = 0; i < history; i++)
+        {
+            this.history[i] = new Snapshot(fields);
+        }
+        rebuild = new Snapshot(fields);
+        previous = new Snapshot(fields);
+        latest = new Snapshot(fields);
+    }
+
+    /**
+     * Receive a delta and rebuild its snapshot.
+     * 
+     * @param message The delta message (must not be <code>null</code>).
+     * @return <code>true</code> if rebuilt, <code>false</code> if ignored.
+     * @throws LionEngineException If invalid argument or invalid data.
+     */
+    public boolean receive(NetworkMessageSnapshot message)
+    {
+        Check.notNull(message);
+
+        final int tick = message.getTick();
+        final int baselineTick = message.getBaseline();
+        Snapshot baseline = null;
+        if (baselineTick >= 0)
+        {
+            baseline = history[baselineTick % history.length];
+            if (baseline.getTick() != baselineTick)
+            {
+                baseline = null;
+            }
+        }
+        if (tick <= latest.getTick() || baselineTick >= 0 && baseline == null)
+        {
+            rejected++;
+            return false;
+        }
+
+        data = ByteBuffer.wrap(message.getData());
+        apply(baseline, tick);
+        data = null;
+
+        final int slot = tick % history.length;
+        final Snapshot old = history[slot];
+        history[slot] = rebuild;
+        rebuild = old;
+
+        if (latest.getTick() < 0)
+        {
+            previous.copy(history[slot]);
+        }
+        else
+        {
+            previous.copy(latest);
+        }
+        latest.copy(history[slot]);
+
+        return true;
+    }
+
+    /**
+     * Create the acknowledge message of the last rebuilt snapshot.
+     * 
+     * @param type The message type.
+     * @param clientId The client id.
+     * @return The acknowledge message.
+     */
+    public NetworkMessageSnapshotAck createAck(byte type, byte clientId)
+    {
+        return new NetworkMessageSnapshotAck(type, clientId, latest.getTick());
+    }
+
+    /**
+     * Get the last rebuilt tick.
+     * 
+     * @return The last rebuilt tick, <code>-1</code> if none.
+     */
+    public int getTick()
+    {
+        return latest.getTick();
+    }
+
+    /**
+     * Get the entities number of the last rebuilt snapshot.
+     * 
+     * @return The entities number.
+     */
+    public int getCount()
+    {
+        return latest.getCount();
+    }
+
+    /**
+     * Get an entity id of the last rebuilt snapshot.
+     * 
+     * @param index The entity index (between 0 and {@link #getCount()} excluded).
+     * @return The entity id.
+     */
+    public short getEntityId(int index)
+    {
+        return latest.getId(index);
+    }
+
+    /**
+     * Check if entity is in the last rebuilt snapshot.
+     * 
+     * @param id The entity id.
+     * @return <code>true</code> if present, <code>false</code> else.
+     */
+    public boolean contains(short id)
+    {
+        return latest.find(id) >= 0;
+    }
+
+    /**
+     * Get entity field value of the last rebuilt snapshot.
+     * 
+     * @param id The entity id.
+     * @param field The field index.
+     * @return The field value.
+     * @throws LionEngineException If entity not present.
+     */
+    public int getValue(short id, int field)
+    {
+        return latest.getValue(getIndex(id), field);
+    }
+
+    /**
+     * Get entity field value interpolated between the two last rebuilt snapshots. Entity added in the last snapshot is
+     * not interpolated.
+     * 
+     * @param id The entity id.
+     * @param field The field index.
+     * @param alpha The interpolation factor, from <code>0</code> (previous snapshot) to <code>1</code> (last
+     *            snapshot).
+     * @return The interpolated value.
+     * @throws LionEngineException If entity not present.
+     */
+    public double getValue(short id, int field, double alpha)
+    {
+        final int to = latest.getValue(getIndex(id), field);
+        final int index = previous.find(id);
+        if (index < 0)
+        {
+            return to;
+        }
+        final int from = previous.getValue(index, field);
+        final double factor = Math.max(0.0, Math.min(1.0, alpha));
+        return from + (to - from) * factor;
+    }
+
+    /**
+     * Get the ignored deltas number.
+     * 
+     * @return The ignored deltas number.
+     */
+    public int getRejected()
+    {
+        return rejected;
+    }
+
+    /**
+     * Get entity index in last snapshot.
+     * 
+     * @param id The entity id.
+     * @return The entity index.
+     * @throws LionEngineException If entity not present.
+     */
+    private int getIndex(short id)
+    {
+        final int index = latest.find(id);
+        if (index < 0)
+        {
+            throw new LionEngineException(ERROR_DATA + ", unknown entity: " + id);
+        }
+        return index;
+    }
+
+    /**
+     * Apply current delta data on baseline to the rebuild snapshot.
+     * 
+     * @param baseline The baseline snapshot (<code>null</code> if full snapshot).
+     * @param tick The rebuilt tick.
+     * @throws LionEngineException If invalid data.
+     */
+    private void apply(Snapshot baseline, int tick)
+    {
+        final int removedCount = readRemoved();
+        final int changedCount = readChanged();
+
+        rebuild.clear(tick);
+        final int count = baseline != null ? baseline.getCount() : 0;
+        int i = 0;
+        int k = 0;
+        int r = 0;
+        while (i < count || k < changedCount)
+        {
+            if (i < count && (k >= changedCount || baseline.getId(i) < changedIds[k]))
+            {
+                final short id = baseline.getId(i);
+                if (r < removedCount && removed[r] == id)
+                {
+                    r++;
+                }
+                else
+                {
+                    copy(baseline, i, rebuild.add(id), -1);
+                }
+                i++;
+            }
+            else if (i < count && baseline.getId(i) == changedIds[k])
+            {
+                copy(baseline, i, rebuild.add(changedIds[k]), k);
+                i++;
+                k++;
+            }
+            else
+            {
+                copy(null, -1, rebuild.add(changedIds[k]), k);
+                k++;
+            }
+        }
+    }
+
+    /**
+     * Copy entity fields to rebuild snapshot.
+     * 
+     * @param baseline The baseline snapshot (<code>null</code> if added entity).
+     * @param base The baseline entity index.
+     * @param index The rebuilt entity index.
+     * @param changed The changed entity index, negative if unchanged.
+     */
+    private void copy(Snapshot baseline, int base, int index, int changed)
+    {
+        for (int field = 0; field < fields; field++)
+        {
+            int value = baseline != null ? baseline.getValue(base, field) : 0;
+            if (changed >= 0)
+            {
+                value += changedValues[changed * fields + field];
+            }
+            rebuild.setValue(index, field, value);
+        }
+    }
+
+    /**
+     * Read removed entities.
+     * 
+     * @return The removed entities number.
+     * @throws LionEngineException If invalid data.
+     */
+    private int readRemoved()
+    {
+        final int count = readVarint();
+        if (count > data.remaining())
+        {
+            throw new LionEngineException(ERROR_DATA);
+        }
+        if (removed.length < count)
+        {
+            removed = new short[count];
+        }
+        int last = 0;
+        for (int i = 0; i < count; i++)
+        {
+            last += readSigned();
+            removed[i] = (short) last;
+        }
+        return count;
+    }
+
+    /**
+     * Read changed entities.
+     * 
+     * @return The changed entities number.
+     * @throws LionEngineException If invalid data.
+     */
+    private int readChanged()
+    {
+        final int count = readVarint();
+        if (count > data.remaining())
+        {
+            throw new LionEngineException(ERROR_DATA);
+        }
+        if (changedIds.length < count)
+        {
+            changedIds = new short[count];
+            changedValues = new int[count * fields];
+        }
+        Arrays.fill(changedValues, 0, count * fields, 0);
+
+        int last = 0;
+        for (int i = 0; i < count; i++)
+        {
+            last += readSigned();
+            changedIds[i] = (short) last;
+
+            final int mask = readVarint();
+            for (int field = 0; field < fields; field++)
+            {
+                if ((mask & 1 << field) != 0)
+                {
+                    changedValues[i * fields + field] = readSigned();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Read an unsigned variable length integer from current data.
+     * 
+     * @return The read value.
+     * @throws LionEngineException If invalid data.
+     */
+    private int readVarint()
+    {
+        try
+        {
+            return UtilVarint.read(data);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, ERROR_DATA);
+        }
+    }
+
+    /**
+     * Read a signed variable length integer from current data.
+     * 
+     * @return The read value.
+     * @throws LionEngineException If invalid data.
+     */
+    private int readSigned()
+    {
+        return UtilVarint.decodeSigned(readVarint());
+    }
+}
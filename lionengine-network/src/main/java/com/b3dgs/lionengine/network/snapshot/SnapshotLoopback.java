@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.network.message.NetworkMessage;
+import com.b3dgs.lionengine.network.message.NetworkMessageSnapshot;
+import com.b3dgs.lionengine.network.message.NetworkMessageSnapshotAck;
+
+/**
+ * Loopback link between a {@link SnapshotServer} and a {@link SnapshotClient}, without socket. Messages are encoded
+ * and decoded as on network, and can be dropped with a simulated loss rate, in order to test replication.
+ */
+public class SnapshotLoopback
+{
+    /** Delta message type. */
+    private static final byte TYPE_DELTA = 0;
+    /** Acknowledge message type. */
+    private static final byte TYPE_ACK = 1;
+    /** Message header size (type, client id, destination id). */
+    private static final int HEADER = 3;
+
+    /**
+     * Encode and decode message.
+     * 
+     * @param <M> The message type.
+     * @param message The message to transfer.
+     * @param decoded The decoded message instance.
+     * @return The encoded size in bytes.
+     * @throws LionEngineException If unable to transfer.
+     */
+    private static <M extends NetworkMessage> int transfer(M message, M decoded)
+    {
+        try
+        {
+            final byte[] data = message.encode().toByteArray();
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data)))
+            {
+                final byte type = input.readByte();
+                final byte from = input.readByte();
+                final byte dest = input.readByte();
+                decoded.decode(type, from, dest, input);
+            }
+            return data.length - HEADER;
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /** Server replication. */
+    private final SnapshotServer server;
+    /** Client replication. */
+    private final SnapshotClient client;
+    /** Loss random. */
+    private final Random random;
+    /** Client id. */
+    private final byte clientId;
+    /** Loss rate. */
+    private final double loss;
+    /** Transferred bytes (payloads without header). */
+    private long bytes;
+    /** Lost messages number. */
+    private int lost;
+
+    /**
+     * Create loopback.
+     * 
+     * @param server The server replication (must not be <code>null</code>).
+     * @param client The client replication (must not be <code>null</code>).
+     * @param clientId The client id.
+     * @param loss The loss rate, applied to deltas and acknowledges (between 0 and 1 included).
+     * @param seed The loss random seed.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public SnapshotLoopback(SnapshotServer server, SnapshotClient client, byte clientId, double loss, long seed)
+    {
+        super();
+
+        Check.notNull(server);
+        Check.notNull(client);
+        Check.superiorOrEqual(loss, 0.0);
+        Check.inferiorOrEqual(loss, 1.0);
+
+        this.server = server;
+        this.client = client;
+        this.clientId = clientId;
+        this.loss = loss;
+        random = new Random(seed);
+    }
+
+    /**
+     * Send current server snapshot delta to client, and client acknowledge to server.
+     * 
+     * @return <code>true</code> if client rebuilt the snapshot, <code>false</code> if lost or ignored.
+     * @throws LionEngineException If unable to transfer.
+     */
+    public boolean transfer()
+    {
+        final NetworkMessageSnapshot delta = server.createDelta(TYPE_DELTA, clientId);
+        if (isLost())
+        {
+            return false;
+        }
+        final NetworkMessageSnapshot received = new NetworkMessageSnapshot();
+        bytes += transfer(delta, received);
+        final boolean rebuilt = client.receive(received);
+
+        final NetworkMessageSnapshotAck ack = client.createAck(TYPE_ACK, clientId);
+        if (!isLost())
+        {
+            final NetworkMessageSnapshotAck acknowledged = new NetworkMessageSnapshotAck();
+            bytes += transfer(ack, acknowledged);
+            server.acknowledge(acknowledged);
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Get the transferred bytes, excluding messages header.
+     * 
+     * @return The transferred bytes.
+     */
+    public long getBytes()
+    {
+        return bytes;
+    }
+
+    /**
+     * Get the lost messages number.
+     * 
+     * @return The lost messages number.
+     */
+    public int getLost()
+    {
+        return lost;
+    }
+
+    /**
+     * Check if next message is lost.
+     * 
+     * @return <code>true</code> if lost, <code>false</code> else.
+     */
+    private boolean isLost()
+    {
+        if (random.nextDouble() < loss)
+        {
+            lost++;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilVarint;
+import com.b3dgs.lionengine.network.message.NetworkMessageSnapshot;
+import com.b3dgs.lionengine.network.message.NetworkMessageSnapshotAck;
+
+/**
+ * Server side snapshot replication. Replicated fields of each {@link Replicable} are captured once per tick, and
+ * stored in a ring of recent snapshots. Each client receives the delta between its last acknowledged snapshot and the
+ * current one, or the full snapshot if its acknowledged one is no longer in the ring.
+ * <p>
+ * Delta layout (variable length integers, signed ones zigzag encoded):
+ * </p>
+ * <ul>
+ * <li>removed entities number, then their id difference with the previous removed id (signed)</li>
+ * <li>changed or added entities number, then for each: id difference with the previous one (signed), changed fields
+ * mask, changed fields difference with baseline (signed, from <code>0</code> for added entities)</li>
+ * </ul>
+ * <p>
+ * Unchanged entities are not sent. Lost deltas are recovered by the next one, as it is computed from the last
+ * acknowledged snapshot.
+ * </p>
+ * 
+ * @see SnapshotClient
+ */
+public class SnapshotServer
+{
+    /** Maximum fields per entity. */
+    public static final int FIELDS_MAX = Integer.SIZE;
+    /** Minimum history size. */
+    private static final int HISTORY_MIN = 2;
+    /** Clients number. */
+    private static final int CLIENTS = 256;
+    /** Client id mask. */
+    private static final int CLIENT_MASK = 0xFF;
+
+    /** Replicated entities by id. */
+    private final Map<Short, Replicable> entities = new TreeMap<>();
+    /** Recent snapshots by tick modulo history. */
+    private final Snapshot[] history;
+    /** Acknowledged tick by client id, <code>-1</code> if none. */
+    private final int[] acknowledged = new int[CLIENTS];
+    /** Delta buffer. */
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    /** Captured fields. */
+    private final int[] captured;
+    /** Fields per entity. */
+    private final int fields;
+    /** Changed fields mask by current entity index. */
+    private int[] masks = new int[0];
+    /** Baseline entity index by current entity index, negative if added. */
+    private int[] bases = new int[0];
+    /** Current tick, <code>-1</code> if none captured. */
+    private int tick = -1;
+
+    /**
+     * Create server replication.
+     * 
+     * @param fields The replicated fields per entity (must be strictly positive and inferior or equal to
+     *            {@link #FIELDS_MAX}).
+     * @param history The snapshots history size (must be superior or equal to 2).
+     * @throws LionEngineException If invalid arguments.
+     */
+    public SnapshotServer(int fields, int history)
+    {
+        super();
+
+        Check.superiorStrict(fields, 0);
+        Check.inferiorOrEqual(fields, FIELDS_MAX);
+        Check.superiorOrEqual(history, HISTORY_MIN);
+
+        this.fields = fields;
+        this.history = new Snapshot[history];
+        for (int i = 0; i < history; i++)
+        {
+            this.history[i] = new Snapshot(fields);
+        }
+        captured = new int[fields];
+        Arrays.fill(acknowledged, -1);
+    }
+
+    /**
+     * Add a replicated entity. Replaces any entity previously added with this id.
+     * 
+     * @param id The entity id.
+     * @param replicable The replicated entity (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void add(short id, Replicable replicable)
+    {
+        Check.notNull(replicable);
+
+        entities.put(Short.valueOf(id), replicable);
+    }
+
+    /**
+     * Remove a replicated entity.
+     * 
+     * @param id The entity id.
+     */
+    public void remove(short id)
+    {
+        entities.remove(Short.valueOf(id));
+    }
+
+    /**
+     * Capture replicated entities state as a new tick.
+     */
+    public void capture()
+    {
+        tick++;
+        final Snapshot snapshot = history[tick % history.length];
+        snapshot.clear(tick);
+        for (final Map.Entry<Short, Replicable> entry : entities.entrySet())
+        {
+            Arrays.fill(captured, 0);
+            entry.getValue().capture(captured);
+
+            final int index = snapshot.add(entry.getKey().shortValue());
+            for (int field = 0; field < fields; field++)
+            {
+                snapshot.setValue(index, field, captured[field]);
+            }
+        }
+    }
+
+    /**
+     * Acknowledge a client snapshot.
+     * 
+     * @param message The acknowledge message (must not be <code>null</code>).
+     * @throws LionEngineException If invalid argument.
+     */
+    public void acknowledge(NetworkMessageSnapshotAck message)
+    {
+        Check.notNull(message);
+
+        acknowledge(message.getClientId(), message.getTick());
+    }
+
+    /**
+     * Acknowledge a client snapshot. Older or not yet captured ticks are ignored.
+     * 
+     * @param client The client id.
+     * @param tick The acknowledged tick.
+     */
+    public void acknowledge(byte client, int tick)
+    {
+        final int index = client & CLIENT_MASK;
+        if (tick > acknowledged[index] && tick <= this.tick)
+        {
+            acknowledged[index] = tick;
+        }
+    }
+
+    /**
+     * Forget client acknowledged snapshot. Next delta will be a full snapshot.
+     * 
+     * @param client The client id.
+     */
+    public void removeClient(byte client)
+    {
+        acknowledged[client & CLIENT_MASK] = -1;
+    }
+
+    /**
+     * Get client acknowledged tick.
+     * 
+     * @param client The client id.
+     * @return The acknowledged tick, <code>-1</code> if none.
+     */
+    public int getAcknowledged(byte client)
+    {
+        return acknowledged[client & CLIENT_MASK];
+    }
+
+    /**
+     * Get the current tick.
+     * 
+     * @return The current tick, <code>-1</code> if none captured.
+     */
+    public int getTick()
+    {
+        return tick;
+    }
+
+    /**
+     * Create the delta message of the current snapshot for a client.
+     * 
+     * @param type The message type.
+     * @param client The client id.
+     * @return The delta message.
+     * @throws LionEngineException If no snapshot captured.
+     */
+    public NetworkMessageSnapshot createDelta(byte type, byte client)
+    {
+        Check.superiorOrEqual(tick, 0);
+
+        final Snapshot current = history[tick % history.length];
+        final Snapshot baseline = getBaseline(client);
+
+        buffer.reset();
+        writeRemoved(baseline, current);
+        writeChanged(baseline, current);
+
+        final int baselineTick = baseline != null ? baseline.getTick() : -1;
+        return new NetworkMessageSnapshot(type, client, baselineTick, tick, buffer.toByteArray());
+    }
+
+    /**
+     * Get client baseline snapshot.
+     * 
+     * @param client The client id.
+     * @return The baseline snapshot, <code>null</code> if none or no more in history.
+     */
+    private Snapshot getBaseline(byte client)
+    {
+        final int ack = acknowledged[client & CLIENT_MASK];
+        if (ack >= 0)
+        {
+            final Snapshot snapshot = history[ack % history.length];
+            if (snapshot.getTick() == ack)
+            {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Write entities removed since baseline.
+     * 
+     * @param baseline The baseline snapshot (can be <code>null</code>).
+     * @param current The current snapshot.
+     */
+    private void writeRemoved(Snapshot baseline, Snapshot current)
+    {
+        final int count = baseline != null ? baseline.getCount() : 0;
+        int removed = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if (current.find(baseline.getId(i)) < 0)
+            {
+                removed++;
+            }
+        }
+        UtilVarint.write(buffer, removed);
+
+        int last = 0;
+        for (int i = 0; i < count && removed > 0; i++)
+        {
+            final short id = baseline.getId(i);
+            if (current.find(id) < 0)
+            {
+                UtilVarint.writeSigned(buffer, id - last);
+                last = id;
+                removed--;
+            }
+        }
+    }
+
+    /**
+     * Write entities changed or added since baseline.
+     * 
+     * @param baseline The baseline snapshot (can be <code>null</code>).
+     * @param current The current snapshot.
+     */
+    private void writeChanged(Snapshot baseline, Snapshot current)
+    {
+        final int count = current.getCount();
+        if (masks.length < count)
+        {
+            masks = new int[count * 2];
+            bases = new int[count * 2];
+        }
+
+        int changed = 0;
+        for (int i = 0; i < count; i++)
+        {
+            final int base = baseline != null ? baseline.find(current.getId(i)) : -1;
+            int mask = 0;
+            for (int field = 0; field < fields; field++)
+            {
+                final int old = base >= 0 ? baseline.getValue(base, field) : 0;
+                if (current.getValue(i, field) != old)
+                {
+                    mask |= 1 << field;
+                }
+            }
+            // Added entities are always sent, even if all fields are zero
+            if (mask != 0 || base < 0)
+            {
+                changed++;
+            }
+            masks[i] = mask;
+            bases[i] = base;
+        }
+        UtilVarint.write(buffer, changed);
+
+        int last = 0;
+        for (int i = 0; i < count && changed > 0; i++)
+        {
+            final short id = current.getId(i);
+            final int base = bases[i];
+            if (masks[i] != 0 || base < 0)
+            {
+                UtilVarint.writeSigned(buffer, id - last);
+                UtilVarint.write(buffer, masks[i]);
+                for (int field = 0; field < fields; field++)
+                {
+                    if ((masks[i] & 1 << field) != 0)
+                    {
+                        final int old = base >= 0 ? baseline.getValue(base, field) : 0;
+                        UtilVarint.writeSigned(buffer, current.getValue(i, field) - old);
+                    }
+                }
+                last = id;
+                changed--;
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.network.message.NetworkMessage;
+import com.b3dgs.lionengine.network.message.NetworkMessageEntityPacked;
+import com.b3dgs.lionengine.network.message.NetworkMessageSchema;
+import com.b3dgs.lionengine.network.message.NetworkMessageSnapshot;
+import com.b3dgs.lionengine.network.purview.Networkable;
+
+/**
+ * Test {@link NetworkedWorldModel}.
+ */
+public final class NetworkedWorldModelTest
+{
+    /** Message type. */
+    private static final byte TYPE = 1;
+    /** Client id. */
+    private static final byte CLIENT = 0;
+
+    /**
+     * Create an entity message.
+     * 
+     * @param entityId The entity id.
+     * @return The created message.
+     */
+    private static NetworkMessage entity(int entityId)
+    {
+        return new NetworkMessageEntityPacked(new NetworkMessageSchema(), TYPE, (short) entityId);
+    }
+
+    /**
+     * Create a message without entity id.
+     * 
+     * @return The created message.
+     */
+    private static NetworkMessage global()
+    {
+        return new NetworkMessageSnapshot(TYPE, CLIENT, -1, 0, new byte[0]);
+    }
+
+    /** Network mock. */
+    private final NetworkMock network = new NetworkMock();
+    /** World reference. */
+    private final WorldMock world = new WorldMock(network);
+
+    /**
+     * Test entity messages are only delivered to their route, and others to networkables added without id.
+     */
+    @Test
+    public void testRouting()
+    {
+        final NetworkableMock first = new NetworkableMock();
+        final NetworkableMock second = new NetworkableMock();
+        final NetworkableMock all = new NetworkableMock();
+        world.addNetworkable(first, (short) 1);
+        world.addNetworkable(second, (short) 2);
+        world.addNetworkable(all);
+
+        final NetworkMessage toFirst = entity(1);
+        final NetworkMessage toSecond = entity(2);
+        final NetworkMessage unknown = entity(3);
+        final NetworkMessage message = global();
+        network.receive(toFirst, toSecond, unknown, message);
+        world.receiveMessages();
+
+        assertEquals(Arrays.asList(toFirst), first.applied);
+        assertEquals(Arrays.asList(toSecond), second.applied);
+        assertEquals(Arrays.asList(message), all.applied);
+        assertEquals(2L, world.getRoutedMessages());
+        assertEquals(1L, world.getBroadcastMessages());
+        assertEquals(1L, world.getDroppedMessages());
+    }
+
+    /**
+     * Test entity id replacement removes previous networkable and detaches a networkable from its previous route.
+     */
+    @Test
+    public void testReplace()
+    {
+        final NetworkableMock first = new NetworkableMock();
+        final NetworkableMock second = new NetworkableMock();
+        world.addNetworkable(first, (short) 1);
+        world.addNetworkable(second);
+        world.receiveMessages();
+
+        world.addNetworkable(second, (short) 1);
+        final NetworkMessage toFirst = entity(1);
+        final NetworkMessage message = global();
+        network.receive(toFirst, message);
+        world.receiveMessages();
+
+        assertTrue(first.applied.isEmpty());
+        assertEquals(Arrays.asList(toFirst), second.applied);
+        assertEquals(Arrays.asList(second), new ArrayList<>(world.networkables));
+
+        world.addNetworkable(second, (short) 2);
+        final NetworkMessage old = entity(1);
+        final NetworkMessage toSecond = entity(2);
+        network.receive(old, toSecond);
+        world.receiveMessages();
+
+        assertEquals(Arrays.asList(toFirst, toSecond), second.applied);
+        assertEquals(2L, world.getRoutedMessages());
+        assertEquals(1L, world.getBroadcastMessages());
+        assertEquals(1L, world.getDroppedMessages());
+
+        world.removeNetworkable(second);
+        network.receive(entity(2));
+        world.receiveMessages();
+
+        assertTrue(world.networkables.isEmpty());
+        assertEquals(2L, world.getDroppedMessages());
+    }
+
+    /**
+     * World mock.
+     */
+    private static final class WorldMock extends NetworkedWorldModel<ClientListener, NetworkMock>
+    {
+        /**
+         * Create world.
+         * 
+         * @param network The network mock.
+         */
+        WorldMock(NetworkMock network)
+        {
+            super(network);
+        }
+    }
+
+    /**
+     * Network mock, receiving the provided messages.
+     */
+    private static final class NetworkMock extends NetworkModel<ClientListener>
+    {
+        /** Messages to receive. */
+        private final Collection<NetworkMessage> received = new ArrayList<>();
+
+        /**
+         * Create network.
+         */
+        NetworkMock()
+        {
+            super(type -> null);
+        }
+
+        /**
+         * Set messages received on next call.
+         * 
+         * @param messages The messages to receive.
+         */
+        void receive(NetworkMessage... messages)
+        {
+            received.addAll(Arrays.asList(messages));
+        }
+
+        /*
+         * Networker
+         */
+
+        @Override
+        public void disconnect()
+        {
+            // Mock
+        }
+
+        @Override
+        public void sendMessages()
+        {
+            messagesOut.clear();
+        }
+
+        @Override
+        public void receiveMessages()
+        {
+            messagesIn.clear();
+            messagesIn.addAll(received);
+            received.clear();
+        }
+
+        @Override
+        public int getBandwidth()
+        {
+            return 0;
+        }
+    }
+
+    /**
+     * Networkable mock, storing applied messages.
+     */
+    private static final class NetworkableMock implements Networkable
+    {
+        /** Applied messages. */
+        private final List<NetworkMessage> applied = new ArrayList<>();
+        /** Client id. */
+        private Byte clientId;
+
+        /**
+         * Create networkable.
+         */
+        NetworkableMock()
+        {
+            super();
+        }
+
+        /*
+         * Networkable
+         */
+
+        @Override
+        public void applyMessage(NetworkMessage message)
+        {
+            applied.add(message);
+        }
+
+        @Override
+        public void addNetworkMessage(NetworkMessage message)
+        {
+            // Mock
+        }
+
+        @Override
+        public Collection<NetworkMessage> getNetworkMessages()
+        {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void clearNetworkMessages()
+        {
+            // Mock
+        }
+
+        @Override
+        public void setClientId(Byte id)
+        {
+            clientId = id;
+        }
+
+        @Override
+        public Byte getClientId()
+        {
+            return clientId;
+        }
+    }
+}
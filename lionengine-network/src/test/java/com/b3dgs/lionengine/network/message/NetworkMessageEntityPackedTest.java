@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.message;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link NetworkMessageEntityPacked}.
+ */
+public final class NetworkMessageEntityPackedTest
+{
+    /** Message header length. */
+    private static final int HEADER = 3;
+    /** Message type. */
+    private static final byte TYPE = 1;
+    /** Entity id. */
+    private static final short ENTITY = 42;
+
+    /**
+     * Decode a message data.
+     * 
+     * @param schema The fields schema.
+     * @param data The message data, without header.
+     * @return The decoded message.
+     * @throws IOException If error.
+     */
+    private static NetworkMessageEntityPacked decode(NetworkMessageSchema schema, byte[] data) throws IOException
+    {
+        final NetworkMessageEntityPacked message = new NetworkMessageEntityPacked(schema);
+        message.decode(TYPE, (byte) 0, (byte) -1, new DataInputStream(new ByteArrayInputStream(data)));
+        return message;
+    }
+
+    /**
+     * Encode and decode a message.
+     * 
+     * @param message The message to encode.
+     * @return The decoded message.
+     * @throws IOException If error.
+     */
+    private static NetworkMessageEntityPacked roundTrip(NetworkMessageEntityPacked message) throws IOException
+    {
+        final byte[] data = message.encode().toByteArray();
+        assertEquals(TYPE, data[0]);
+
+        final byte[] body = new byte[data.length - HEADER];
+        System.arraycopy(data, HEADER, body, 0, body.length);
+
+        return decode(message.getSchema(), body);
+    }
+
+    /** Fields schema. */
+    private NetworkMessageSchema schema;
+    /** Boolean field. */
+    private int flag;
+    /** Integer field. */
+    private int integer;
+    /** Decimal field. */
+    private int decimal;
+    /** Not sent field. */
+    private int unused;
+
+    /**
+     * Prepare test.
+     */
+    @BeforeEach
+    public void before()
+    {
+        schema = new NetworkMessageSchema();
+        flag = schema.addBoolean();
+        integer = schema.addInteger(-10, 10);
+        decimal = schema.addDouble(-1.0, 1.0, 0.25);
+        unused = schema.addInteger(0, 1000);
+    }
+
+    /**
+     * Test encode and decode with present and missing fields.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        final NetworkMessageEntityPacked message = new NetworkMessageEntityPacked(schema, TYPE, ENTITY);
+        message.setBoolean(flag, true);
+        message.setInteger(integer, -3);
+        message.setDouble(decimal, 0.3);
+
+        assertTrue(message.has(flag));
+        assertFalse(message.has(unused));
+        assertEquals(0.25, message.getDouble(decimal));
+
+        final byte[] data = message.encode().toByteArray();
+        assertEquals(HEADER + Short.BYTES + 1 + 2, data.length);
+
+        final NetworkMessageEntityPacked decoded = roundTrip(message);
+
+        assertEquals(ENTITY, decoded.getEntityId());
+        assertTrue(decoded.has(flag));
+        assertTrue(decoded.has(integer));
+        assertTrue(decoded.has(decimal));
+        assertFalse(decoded.has(unused));
+        assertTrue(decoded.getBoolean(flag));
+        assertEquals(-3, decoded.getInteger(integer));
+        assertEquals(0.25, decoded.getDouble(decimal));
+        assertEquals(0, decoded.getInteger(unused));
+    }
+
+    /**
+     * Test values are clamped to their range.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testClamp() throws IOException
+    {
+        final NetworkMessageEntityPacked message = new NetworkMessageEntityPacked(schema, TYPE, ENTITY);
+        message.setInteger(integer, 50);
+        message.setDouble(decimal, -5.0);
+        message.setInteger(unused, -1);
+
+        NetworkMessageEntityPacked decoded = roundTrip(message);
+        assertEquals(10, decoded.getInteger(integer));
+        assertEquals(-1.0, decoded.getDouble(decimal));
+        assertEquals(0, decoded.getInteger(unused));
+        assertFalse(decoded.has(flag));
+        assertFalse(decoded.getBoolean(flag));
+
+        message.setInteger(integer, -50);
+        message.setDouble(decimal, 5.0);
+        message.setInteger(unused, 2000);
+
+        decoded = roundTrip(message);
+        assertEquals(-10, decoded.getInteger(integer));
+        assertEquals(1.0, decoded.getDouble(decimal));
+        assertEquals(1000, decoded.getInteger(unused));
+    }
+
+    /**
+     * Test cleared message only sends presence bits.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testClear() throws IOException
+    {
+        final NetworkMessageEntityPacked message = new NetworkMessageEntityPacked(schema, TYPE, ENTITY);
+        message.setInteger(unused, 500);
+        message.clear();
+
+        assertFalse(message.has(unused));
+        assertEquals(HEADER + Short.BYTES + 1 + 1, message.encode().size());
+
+        final NetworkMessageEntityPacked decoded = roundTrip(message);
+        for (int i = 0; i < schema.getCount(); i++)
+        {
+            assertFalse(decoded.has(i));
+        }
+    }
+
+    /**
+     * Test all fields of a full schema.
+     * 
+     * @throws IOException If error.
+     */
+    @Test
+    public void testFullSchema() throws IOException
+    {
+        final NetworkMessageSchema full = new NetworkMessageSchema();
+        for (int i = 0; i < NetworkMessageSchema.FIELDS_MAX; i++)
+        {
+            full.addInteger(0, i);
+        }
+
+        final NetworkMessageEntityPacked message = new NetworkMessageEntityPacked(full, TYPE, ENTITY);
+        for (int i = 0; i < full.getCount(); i++)
+        {
+            message.setInteger(i, i);
+        }
+
+        final NetworkMessageEntityPacked decoded = roundTrip(message);
+        for (int i = 0; i < full.getCount(); i++)
+        {
+            assertTrue(decoded.has(i));
+            assertEquals(i, decoded.getInteger(i));
+        }
+    }
+
+    /**
+     * Test corrupted length.
+     */
+    @Test
+    public void testInvalidLength()
+    {
+        final byte[] tooLong =
+        {
+            0, (byte) ENTITY, 100
+        };
+        assertThrows(IOException.class,
+                     () -> decode(schema, tooLong),
+                     NetworkMessageEntityPacked.ERROR_LENGTH + 100);
+
+        final byte[] negative =
+        {
+            0, (byte) ENTITY, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F
+        };
+        assertThrows(IOException.class, () -> decode(schema, negative), NetworkMessageEntityPacked.ERROR_LENGTH + -1);
+
+        final byte[] truncated =
+        {
+            0, (byte) ENTITY, 2, 0
+        };
+        assertThrows(EOFException.class, () -> decode(schema, truncated), null);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.message;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link NetworkMessageSchema}.
+ */
+public final class NetworkMessageSchemaTest
+{
+    /**
+     * Test fields declaration.
+     */
+    @Test
+    public void testFields()
+    {
+        final NetworkMessageSchema schema = new NetworkMessageSchema();
+
+        assertEquals(0, schema.addBoolean());
+        assertEquals(1, schema.addInteger(-10, 10));
+        assertEquals(2, schema.addDouble(-1.0, 1.0, 0.25));
+        assertEquals(3, schema.addInteger(5, 5));
+
+        assertEquals(4, schema.getCount());
+        assertEquals(1, schema.getBits(0));
+        assertEquals(5, schema.getBits(1));
+        assertEquals(4, schema.getBits(2));
+        assertEquals(0, schema.getBits(3));
+        assertEquals(10, schema.getTotalBits());
+
+        assertFalse(schema.isDecimal(0));
+        assertFalse(schema.isDecimal(1));
+        assertTrue(schema.isDecimal(2));
+    }
+
+    /**
+     * Test values clamping and quantization.
+     */
+    @Test
+    public void testQuantize()
+    {
+        final NetworkMessageSchema schema = new NetworkMessageSchema();
+        final int integer = schema.addInteger(-10, 10);
+        final int decimal = schema.addDouble(-1.0, 1.0, 0.25);
+
+        assertEquals(7, schema.toInteger(integer, schema.quantize(integer, 7)));
+        assertEquals(-10, schema.toInteger(integer, schema.quantize(integer, -50)));
+        assertEquals(10, schema.toInteger(integer, schema.quantize(integer, 50)));
+
+        assertEquals(0.25, schema.toDouble(decimal, schema.quantize(decimal, 0.3)));
+        assertEquals(0.5, schema.toDouble(decimal, schema.quantize(decimal, 0.4)));
+        assertEquals(-1.0, schema.toDouble(decimal, schema.quantize(decimal, -5.0)));
+        assertEquals(1.0, schema.toDouble(decimal, schema.quantize(decimal, 5.0)));
+    }
+
+    /**
+     * Test full range integer field.
+     */
+    @Test
+    public void testFullRange()
+    {
+        final NetworkMessageSchema schema = new NetworkMessageSchema();
+        final int field = schema.addInteger(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        assertEquals(Integer.SIZE, schema.getBits(field));
+        assertEquals(Integer.MIN_VALUE, schema.toInteger(field, schema.quantize(field, Integer.MIN_VALUE)));
+        assertEquals(Integer.MAX_VALUE, schema.toInteger(field, schema.quantize(field, Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Test invalid fields.
+     */
+    @Test
+    public void testInvalid()
+    {
+        final NetworkMessageSchema schema = new NetworkMessageSchema();
+
+        assertThrows(() -> schema.addInteger(1, 0), "Invalid argument: 0 is not superior or equal to 1");
+        assertThrows(() -> schema.addDouble(0.0, 0.0, 1.0), "Invalid argument: 0.0 is not strictly superior to 0.0");
+        assertThrows(() -> schema.addDouble(0.0, 1.0, 0.0), "Invalid argument: 0.0 is not strictly superior to 0.0");
+        assertThrows(() -> schema.addDouble(0.0, 1.0, 1.0E-10), "Invalid argument: 34 is not inferior or equal to 32");
+        assertEquals(0, schema.getCount());
+
+        for (int i = 0; i < NetworkMessageSchema.FIELDS_MAX; i++)
+        {
+            schema.addBoolean();
+        }
+        assertThrows(() -> schema.addBoolean(), "Invalid argument: 64 is not strictly inferior to 64");
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2013-2020 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionengine.network.snapshot;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertThrows;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.network.message.NetworkMessageSnapshot;
+
+/**
+ * Test {@link SnapshotServer}, {@link SnapshotClient} and {@link SnapshotLoopback}.
+ */
+public final class SnapshotTest
+{
+    /** Fields per entity. */
+    private static final int FIELDS = 3;
+    /** History size. */
+    private static final int HISTORY = 4;
+    /** Client id. */
+    private static final byte CLIENT = 2;
+    /** Message type. */
+    private static final byte TYPE = 0;
+
+    /**
+     * Check client last snapshot matches server entities.
+     * 
+     * @param entities The server entities.
+     * @param client The client replication.
+     */
+    private static void assertReplicated(Map<Short, Entity> entities, SnapshotClient client)
+    {
+        assertEquals(entities.size(), client.getCount());
+
+        int index = 0;
+        for (final Map.Entry<Short, Entity> entry : entities.entrySet())
+        {
+            final short id = entry.getKey().shortValue();
+            assertEquals(id, client.getEntityId(index));
+            assertTrue(client.contains(id));
+            for (int field = 0; field < FIELDS; field++)
+            {
+                assertEquals(entry.getValue().values[field], client.getValue(id, field));
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Add an entity to server and expected entities.
+     * 
+     * @param server The server replication.
+     * @param entities The expected entities.
+     * @param id The entity id.
+     * @return The added entity.
+     */
+    private static Entity add(SnapshotServer server, Map<Short, Entity> entities, int id)
+    {
+        final Entity entity = new Entity(id);
+        server.add((short) id, entity);
+        entities.put(Short.valueOf((short) id), entity);
+        return entity;
+    }
+
+    /**
+     * Remove an entity from server and expected entities.
+     * 
+     * @param server The server replication.
+     * @param entities The expected entities.
+     * @param id The entity id.
+     */
+    private static void remove(SnapshotServer server, Map<Short, Entity> entities, int id)
+    {
+        server.remove((short) id);
+        entities.remove(Short.valueOf((short) id));
+    }
+
+    /**
+     * Test replication of added, changed and removed entities with lost messages, recovered by next delta.
+     */
+    @Test
+    public void testLoss()
+    {
+        final SnapshotServer server = new SnapshotServer(FIELDS, HISTORY);
+        final SnapshotClient client = new SnapshotClient(FIELDS, HISTORY);
+        final SnapshotLoopback loopback = new SnapshotLoopback(server, client, CLIENT, 0.4, 1L);
+        final Map<Short, Entity> entities = new TreeMap<>();
+
+        for (int id = 0; id < 5; id++)
+        {
+            add(server, entities, id * 3 - 4);
+        }
+
+        int rebuilt = 0;
+        for (int tick = 0; tick < 60; tick++)
+        {
+            for (final Entity entity : entities.values())
+            {
+                entity.move(tick);
+            }
+            if (tick % 7 == 0)
+            {
+                add(server, entities, 100 + tick);
+            }
+            if (tick % 11 == 5)
+            {
+                remove(server, entities, entities.keySet().iterator().next().intValue());
+            }
+            server.capture();
+            if (loopback.transfer())
+            {
+                rebuilt++;
+                assertReplicated(entities, client);
+            }
+        }
+
+        assertTrue(loopback.getLost() > 0);
+        assertTrue(rebuilt > 0);
+        assertTrue(rebuilt < 60);
+        assertTrue(loopback.getBytes() > 0L);
+
+        final SnapshotLoopback recovery = new SnapshotLoopback(server, client, CLIENT, 0.0, 1L);
+        server.capture();
+        assertTrue(recovery.transfer());
+        assertEquals(server.getTick(), client.getTick());
+        assertEquals(server.getTick(), server.getAcknowledged(CLIENT));
+        assertReplicated(entities, client);
+    }
+
+    /**
+     * Test acknowledged baseline out of history sends a full snapshot, and unchanged entities are not sent else.
+     */
+    @Test
+    public void testStaleBaseline()
+    {
+        final SnapshotServer server = new SnapshotServer(FIELDS, HISTORY);
+        final SnapshotClient client = new SnapshotClient(FIELDS, HISTORY);
+        final SnapshotLoopback loopback = new SnapshotLoopback(server, client, CLIENT, 0.0, 1L);
+        final Map<Short, Entity> entities = new TreeMap<>();
+        final Entity moving = add(server, entities, 1);
+        add(server, entities, 2);
+
+        server.capture();
+        final NetworkMessageSnapshot first = server.createDelta(TYPE, CLIENT);
+        assertEquals(-1, first.getBaseline());
+        assertTrue(loopback.transfer());
+        assertEquals(0, server.getAcknowledged(CLIENT));
+
+        moving.move(2);
+        server.capture();
+        final NetworkMessageSnapshot delta = server.createDelta(TYPE, CLIENT);
+        assertEquals(0, delta.getBaseline());
+        assertTrue(delta.getData().length < first.getData().length);
+        assertTrue(loopback.transfer());
+        assertReplicated(entities, client);
+
+        moving.move(5);
+        remove(server, entities, 2);
+        add(server, entities, 3).move(3);
+        for (int i = 0; i < HISTORY; i++)
+        {
+            server.capture();
+        }
+        assertEquals(1, server.getAcknowledged(CLIENT));
+
+        final NetworkMessageSnapshot full = server.createDelta(TYPE, CLIENT);
+        assertEquals(-1, full.getBaseline());
+        assertEquals(server.getTick(), full.getTick());
+
+        assertTrue(loopback.transfer());
+        assertEquals(server.getTick(), client.getTick());
+        assertFalse(client.contains((short) 2));
+        assertReplicated(entities, client);
+    }
+
+    /**
+     * Test delta with unknown baseline or older than last rebuilt one is rejected.
+     */
+    @Test
+    public void testRejected()
+    {
+        final SnapshotServer server = new SnapshotServer(FIELDS, HISTORY);
+        final SnapshotClient client = new SnapshotClient(FIELDS, HISTORY);
+        final Map<Short, Entity> entities = new TreeMap<>();
+        add(server, entities, 1).move(1);
+
+        server.capture();
+        final NetworkMessageSnapshot old = server.createDelta(TYPE, CLIENT);
+        server.capture();
+        assertTrue(client.receive(server.createDelta(TYPE, CLIENT)));
+        assertFalse(client.receive(old));
+
+        server.acknowledge(CLIENT, 0);
+        server.capture();
+        assertFalse(client.receive(server.createDelta(TYPE, CLIENT)));
+        assertEquals(2, client.getRejected());
+        assertEquals(1, client.getTick());
+        assertReplicated(entities, client);
+    }
+
+    /**
+     * Test invalid delta data.
+     */
+    @Test
+    public void testInvalidData()
+    {
+        final SnapshotClient client = new SnapshotClient(FIELDS, HISTORY);
+        final byte[] truncated =
+        {
+            (byte) 0x80
+        };
+        final byte[] count =
+        {
+            0, 100
+        };
+
+        assertThrows(LionEngineException.class,
+                     () -> client.receive(new NetworkMessageSnapshot(TYPE, CLIENT, -1, 0, truncated)),
+                     SnapshotClient.ERROR_DATA);
+        assertThrows(LionEngineException.class,
+                     () -> client.receive(new NetworkMessageSnapshot(TYPE, CLIENT, -1, 0, count)),
+                     SnapshotClient.ERROR_DATA);
+    }
+
+    /**
+     * Replicated entity mock.
+     */
+    private static final class Entity implements Replicable
+    {
+        /** Fields values. */
+        private final int[] values = new int[FIELDS];
+
+        /**
+         * Create entity.
+         * 
+         * @param seed The initial values seed.
+         */
+        Entity(int seed)
+        {
+            super();
+
+            values[0] = seed;
+            values[2] = -seed;
+        }
+
+        /**
+         * Change some fields.
+         * 
+         * @param tick The current tick.
+         */
+        void move(int tick)
+        {
+            values[0] += tick % 3 - 1;
+            if (tick % 4 == 0)
+            {
+                values[1] = -values[1] - tick;
+            }
+        }
+
+        /*
+         * Replicable
+         */
+
+        @Override
+        public void capture(int[] fields)
+        {
+            System.arraycopy(values, 0, fields, 0, FIELDS);
+        }
+    }
+}